@@ -2,6 +2,7 @@ package com.bidstream;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -25,13 +26,15 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
  * <li>Async processing for non-blocking operations</li>
  * <li>Scheduling for auction management tasks</li>
  * <li>Transaction management for data consistency</li>
+ * <li>Type-safe binding of {@code bidstream.*} configuration</li>
  * </ul>
  *
  * @author Carlos Salguero
  * @version 1.0.0
  * @since 1.0.0
  */
-@SpringBootApplication
+@SpringBootApplication(proxyBeanMethods = false)
+@ConfigurationPropertiesScan
 @EnableJpaAuditing
 @EnableCaching
 @EnableAsync
@@ -0,0 +1,120 @@
+package com.bidstream.config;
+
+import java.math.BigDecimal;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Auction rule settings bound from {@code bidstream.auction.*}.
+ * Shared by the bid engine and the auction lifecycle components.
+ */
+@ConfigurationProperties(prefix = "bidstream.auction")
+public class AuctionProperties {
+
+  /** Default minimum increment between consecutive bids. */
+  private static final String DEFAULT_MIN_BID_INCREMENT = "1.00";
+
+  /** Default maximum auction duration in days. */
+  private static final int DEFAULT_MAX_AUCTION_DURATION = 7;
+
+  /** Default soft-close extension in seconds. */
+  private static final int DEFAULT_SOFT_CLOSE_EXTENSION_SECONDS = 120;
+
+  /**
+   * Minimum amount a new bid must exceed the current price by.
+   */
+  private BigDecimal minBidIncrement =
+      new BigDecimal(DEFAULT_MIN_BID_INCREMENT);
+
+  /**
+   * Maximum auction duration in days.
+   */
+  private int maxAuctionDuration = DEFAULT_MAX_AUCTION_DURATION;
+
+  /**
+   * Final seconds of an auction in which a bid extends the end time.
+   * Zero disables soft close.
+   */
+  private int softCloseWindowSeconds;
+
+  /**
+   * Seconds of bidding guaranteed after a bid placed in the soft-close
+   * window.
+   */
+  private int softCloseExtensionSeconds =
+      DEFAULT_SOFT_CLOSE_EXTENSION_SECONDS;
+
+  /**
+   * Gets the minimum bid increment.
+   *
+   * @return the minimum bid increment
+   */
+  public BigDecimal getMinBidIncrement() {
+    return minBidIncrement;
+  }
+
+  /**
+   * Sets the minimum bid increment.
+   *
+   * @param newMinBidIncrement the increment to set
+   */
+  public void setMinBidIncrement(final BigDecimal newMinBidIncrement) {
+    this.minBidIncrement = newMinBidIncrement;
+  }
+
+  /**
+   * Gets the maximum auction duration in days.
+   *
+   * @return the maximum duration in days
+   */
+  public int getMaxAuctionDuration() {
+    return maxAuctionDuration;
+  }
+
+  /**
+   * Sets the maximum auction duration in days.
+   *
+   * @param newMaxAuctionDuration the maximum duration in days
+   */
+  public void setMaxAuctionDuration(final int newMaxAuctionDuration) {
+    this.maxAuctionDuration = newMaxAuctionDuration;
+  }
+
+  /**
+   * Gets the soft-close window in seconds.
+   *
+   * @return the window, zero when soft close is disabled
+   */
+  public int getSoftCloseWindowSeconds() {
+    return softCloseWindowSeconds;
+  }
+
+  /**
+   * Sets the soft-close window in seconds.
+   *
+   * @param newSoftCloseWindowSeconds the window, zero to disable
+   */
+  public void setSoftCloseWindowSeconds(
+      final int newSoftCloseWindowSeconds) {
+    this.softCloseWindowSeconds = newSoftCloseWindowSeconds;
+  }
+
+  /**
+   * Gets the soft-close extension in seconds.
+   *
+   * @return the extension
+   */
+  public int getSoftCloseExtensionSeconds() {
+    return softCloseExtensionSeconds;
+  }
+
+  /**
+   * Sets the soft-close extension in seconds.
+   *
+   * @param newSoftCloseExtensionSeconds the extension
+   */
+  public void setSoftCloseExtensionSeconds(
+      final int newSoftCloseExtensionSeconds) {
+    this.softCloseExtensionSeconds = newSoftCloseExtensionSeconds;
+  }
+}
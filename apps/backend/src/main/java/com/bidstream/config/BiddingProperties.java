@@ -0,0 +1,166 @@
+package com.bidstream.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Bid engine tuning settings bound from {@code bidstream.bidding.*}.
+ */
+@ConfigurationProperties(prefix = "bidstream.bidding")
+public class BiddingProperties {
+
+  /** Default capacity of the bid engine mailbox. */
+  private static final int DEFAULT_MAILBOX_CAPACITY = 65_536;
+
+  /** Default maximum number of commands drained per writer pass. */
+  private static final int DEFAULT_DRAIN_BATCH_SIZE = 256;
+
+  /** Default utilization multiple of the mean that marks a hot shard. */
+  private static final double DEFAULT_HOT_SHARD_FACTOR = 2.0;
+
+  /** Default minimum utilization before a shard can be considered hot. */
+  private static final double DEFAULT_HOT_SHARD_MIN_UTILIZATION = 0.5;
+
+  /** Default consecutive hot passes before an auction is migrated. */
+  private static final int DEFAULT_HOT_SHARD_PASSES = 3;
+
+  /**
+   * Number of shard event loops; zero or less means one per core.
+   */
+  private int shards;
+
+  /**
+   * Maximum number of pending commands per shard before new bids are
+   * rejected.
+   */
+  private int mailboxCapacity = DEFAULT_MAILBOX_CAPACITY;
+
+  /**
+   * Maximum number of commands the writer drains per pass.
+   */
+  private int drainBatchSize = DEFAULT_DRAIN_BATCH_SIZE;
+
+  /**
+   * How many times the mean utilization a shard must reach to be hot.
+   */
+  private double hotShardFactor = DEFAULT_HOT_SHARD_FACTOR;
+
+  /**
+   * Minimum utilization (busy time per wall time) of a hot shard.
+   */
+  private double hotShardMinUtilization = DEFAULT_HOT_SHARD_MIN_UTILIZATION;
+
+  /**
+   * Consecutive rebalance passes a shard must stay hot before one of its
+   * auctions is migrated.
+   */
+  private int hotShardPasses = DEFAULT_HOT_SHARD_PASSES;
+
+  /**
+   * Gets the number of shards.
+   *
+   * @return the shard count, zero or less for one per core
+   */
+  public int getShards() {
+    return shards;
+  }
+
+  /**
+   * Sets the number of shards.
+   *
+   * @param newShards the shard count
+   */
+  public void setShards(final int newShards) {
+    this.shards = newShards;
+  }
+
+  /**
+   * Gets the mailbox capacity.
+   *
+   * @return the mailbox capacity
+   */
+  public int getMailboxCapacity() {
+    return mailboxCapacity;
+  }
+
+  /**
+   * Sets the mailbox capacity.
+   *
+   * @param newMailboxCapacity the capacity to set
+   */
+  public void setMailboxCapacity(final int newMailboxCapacity) {
+    this.mailboxCapacity = newMailboxCapacity;
+  }
+
+  /**
+   * Gets the drain batch size.
+   *
+   * @return the drain batch size
+   */
+  public int getDrainBatchSize() {
+    return drainBatchSize;
+  }
+
+  /**
+   * Sets the drain batch size.
+   *
+   * @param newDrainBatchSize the batch size to set
+   */
+  public void setDrainBatchSize(final int newDrainBatchSize) {
+    this.drainBatchSize = newDrainBatchSize;
+  }
+
+  /**
+   * Gets the hot shard factor.
+   *
+   * @return the hot shard factor
+   */
+  public double getHotShardFactor() {
+    return hotShardFactor;
+  }
+
+  /**
+   * Sets the hot shard factor.
+   *
+   * @param newHotShardFactor the factor to set
+   */
+  public void setHotShardFactor(final double newHotShardFactor) {
+    this.hotShardFactor = newHotShardFactor;
+  }
+
+  /**
+   * Gets the minimum utilization of a hot shard.
+   *
+   * @return the minimum utilization
+   */
+  public double getHotShardMinUtilization() {
+    return hotShardMinUtilization;
+  }
+
+  /**
+   * Sets the minimum utilization of a hot shard.
+   *
+   * @param newHotShardMinUtilization the utilization to set
+   */
+  public void setHotShardMinUtilization(
+      final double newHotShardMinUtilization) {
+    this.hotShardMinUtilization = newHotShardMinUtilization;
+  }
+
+  /**
+   * Gets the consecutive hot passes required for migration.
+   *
+   * @return the number of passes
+   */
+  public int getHotShardPasses() {
+    return hotShardPasses;
+  }
+
+  /**
+   * Sets the consecutive hot passes required for migration.
+   *
+   * @param newHotShardPasses the number of passes
+   */
+  public void setHotShardPasses(final int newHotShardPasses) {
+    this.hotShardPasses = newHotShardPasses;
+  }
+}
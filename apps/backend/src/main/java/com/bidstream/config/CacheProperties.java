@@ -0,0 +1,113 @@
+package com.bidstream.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Read cache settings bound from {@code bidstream.cache.*}.
+ */
+@ConfigurationProperties(prefix = "bidstream.cache")
+public class CacheProperties {
+
+  /** Default number of entries each near-cache holds. */
+  private static final long DEFAULT_NEAR_MAXIMUM_SIZE = 10_000L;
+
+  /** Default near-cache entry lifetime, in milliseconds. */
+  private static final long DEFAULT_NEAR_TTL_MS = 2_000L;
+
+  /** Default Redis entry lifetime, in milliseconds. */
+  private static final long DEFAULT_FAR_TTL_MS = 300_000L;
+
+  /**
+   * Most entries each in-process near-cache holds before evicting.
+   */
+  private long nearMaximumSize = DEFAULT_NEAR_MAXIMUM_SIZE;
+
+  /**
+   * How long a near-cache entry is served without asking Redis; the most
+   * a node can lag behind a write it did not see.
+   */
+  private long nearTtlMs = DEFAULT_NEAR_TTL_MS;
+
+  /**
+   * How long an entry lives in Redis; bounds staleness if an
+   * invalidation is lost.
+   */
+  private long farTtlMs = DEFAULT_FAR_TTL_MS;
+
+  /**
+   * Whether Redis backs the near-caches; when off each node caches alone.
+   */
+  private boolean farEnabled = true;
+
+  /**
+   * Gets the near-cache capacity.
+   *
+   * @return the number of entries
+   */
+  public long getNearMaximumSize() {
+    return nearMaximumSize;
+  }
+
+  /**
+   * Sets the near-cache capacity.
+   *
+   * @param newNearMaximumSize the number of entries
+   */
+  public void setNearMaximumSize(final long newNearMaximumSize) {
+    this.nearMaximumSize = newNearMaximumSize;
+  }
+
+  /**
+   * Gets the near-cache entry lifetime.
+   *
+   * @return the lifetime in milliseconds
+   */
+  public long getNearTtlMs() {
+    return nearTtlMs;
+  }
+
+  /**
+   * Sets the near-cache entry lifetime.
+   *
+   * @param newNearTtlMs the lifetime in milliseconds
+   */
+  public void setNearTtlMs(final long newNearTtlMs) {
+    this.nearTtlMs = newNearTtlMs;
+  }
+
+  /**
+   * Gets the Redis entry lifetime.
+   *
+   * @return the lifetime in milliseconds
+   */
+  public long getFarTtlMs() {
+    return farTtlMs;
+  }
+
+  /**
+   * Sets the Redis entry lifetime.
+   *
+   * @param newFarTtlMs the lifetime in milliseconds
+   */
+  public void setFarTtlMs(final long newFarTtlMs) {
+    this.farTtlMs = newFarTtlMs;
+  }
+
+  /**
+   * Gets whether Redis backs the near-caches.
+   *
+   * @return true if Redis is used
+   */
+  public boolean isFarEnabled() {
+    return farEnabled;
+  }
+
+  /**
+   * Sets whether Redis backs the near-caches.
+   *
+   * @param newFarEnabled true to use Redis
+   */
+  public void setFarEnabled(final boolean newFarEnabled) {
+    this.farEnabled = newFarEnabled;
+  }
+}
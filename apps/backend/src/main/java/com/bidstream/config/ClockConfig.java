@@ -0,0 +1,31 @@
+package com.bidstream.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.bidstream.model.time.AuctionClock;
+import com.bidstream.model.time.CoarseEpochClock;
+
+/**
+ * Configuration class for the shared application clock.
+ * The same cached clock is injected into the bid engine and lifecycle
+ * scheduler and installed for entities, so every time check in the
+ * process agrees.
+ */
+@Configuration
+public class ClockConfig {
+
+  /**
+   * Creates the shared clock.
+   *
+   * @param properties the clock settings
+   * @return the clock
+   */
+  @Bean(destroyMethod = "close")
+  public CoarseEpochClock epochClock(final ClockProperties properties) {
+    CoarseEpochClock clock =
+        new CoarseEpochClock(properties.getResolutionMs());
+    AuctionClock.install(clock);
+    return clock;
+  }
+}
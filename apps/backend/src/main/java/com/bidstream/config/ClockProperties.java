@@ -0,0 +1,37 @@
+package com.bidstream.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Application clock settings bound from {@code bidstream.clock.*}.
+ */
+@ConfigurationProperties(prefix = "bidstream.clock")
+public class ClockProperties {
+
+  /** Default clock resolution, in milliseconds. */
+  private static final long DEFAULT_RESOLUTION_MS = 1L;
+
+  /**
+   * How often the cached clock re-reads the system clock; time checks may
+   * lag real time by up to this much.
+   */
+  private long resolutionMs = DEFAULT_RESOLUTION_MS;
+
+  /**
+   * Gets the clock resolution.
+   *
+   * @return the resolution in milliseconds
+   */
+  public long getResolutionMs() {
+    return resolutionMs;
+  }
+
+  /**
+   * Sets the clock resolution.
+   *
+   * @param newResolutionMs the resolution in milliseconds
+   */
+  public void setResolutionMs(final long newResolutionMs) {
+    this.resolutionMs = newResolutionMs;
+  }
+}
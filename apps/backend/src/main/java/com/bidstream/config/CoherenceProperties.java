@@ -0,0 +1,119 @@
+package com.bidstream.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Cross-node cache invalidation settings bound from
+ * {@code bidstream.coherence.*}.
+ */
+@ConfigurationProperties(prefix = "bidstream.coherence")
+public class CoherenceProperties {
+
+  /** Default transport. */
+  private static final String DEFAULT_TRANSPORT = "postgres";
+
+  /** Default channel name. */
+  private static final String DEFAULT_CHANNEL = "bidstream_cache";
+
+  /** Default time invalidations are batched for, in milliseconds. */
+  private static final long DEFAULT_BATCH_WINDOW_MS = 20L;
+
+  /** Default delay before resubscribing to a lost channel. */
+  private static final long DEFAULT_RECONNECT_INTERVAL_MS = 1_000L;
+
+  /**
+   * How invalidations reach the other nodes: {@code postgres} for
+   * LISTEN/NOTIFY, {@code redis} for pub/sub, or {@code none} to rely on
+   * near-cache expiry alone.
+   */
+  private String transport = DEFAULT_TRANSPORT;
+
+  /**
+   * Channel name; nodes sharing it invalidate each other. Must be a plain
+   * lowercase SQL identifier.
+   */
+  private String channel = DEFAULT_CHANNEL;
+
+  /**
+   * How long invalidations are collected before they are sent, so a
+   * burst of writes costs one message per cache.
+   */
+  private long batchWindowMs = DEFAULT_BATCH_WINDOW_MS;
+
+  /**
+   * How long to wait before subscribing again after the channel dropped.
+   */
+  private long reconnectIntervalMs = DEFAULT_RECONNECT_INTERVAL_MS;
+
+  /**
+   * Gets the transport.
+   *
+   * @return {@code postgres}, {@code redis} or {@code none}
+   */
+  public String getTransport() {
+    return transport;
+  }
+
+  /**
+   * Sets the transport.
+   *
+   * @param newTransport {@code postgres}, {@code redis} or {@code none}
+   */
+  public void setTransport(final String newTransport) {
+    this.transport = newTransport;
+  }
+
+  /**
+   * Gets the channel name.
+   *
+   * @return the channel name
+   */
+  public String getChannel() {
+    return channel;
+  }
+
+  /**
+   * Sets the channel name.
+   *
+   * @param newChannel the channel name
+   */
+  public void setChannel(final String newChannel) {
+    this.channel = newChannel;
+  }
+
+  /**
+   * Gets the batching window.
+   *
+   * @return the window in milliseconds
+   */
+  public long getBatchWindowMs() {
+    return batchWindowMs;
+  }
+
+  /**
+   * Sets the batching window.
+   *
+   * @param newBatchWindowMs the window in milliseconds
+   */
+  public void setBatchWindowMs(final long newBatchWindowMs) {
+    this.batchWindowMs = newBatchWindowMs;
+  }
+
+  /**
+   * Gets the reconnect interval.
+   *
+   * @return the interval in milliseconds
+   */
+  public long getReconnectIntervalMs() {
+    return reconnectIntervalMs;
+  }
+
+  /**
+   * Sets the reconnect interval.
+   *
+   * @param newReconnectIntervalMs the interval in milliseconds
+   */
+  public void setReconnectIntervalMs(final long newReconnectIntervalMs) {
+    this.reconnectIntervalMs = newReconnectIntervalMs;
+  }
+}
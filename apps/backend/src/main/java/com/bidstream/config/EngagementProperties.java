@@ -0,0 +1,37 @@
+package com.bidstream.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * View and watch counter settings bound from {@code bidstream.engagement.*}.
+ */
+@ConfigurationProperties(prefix = "bidstream.engagement")
+public class EngagementProperties {
+
+  /** Default interval between counter flushes, in milliseconds. */
+  private static final long DEFAULT_FLUSH_INTERVAL_MS = 2_000L;
+
+  /**
+   * How often buffered view and watch increments are written to Postgres;
+   * also the most a crash can lose.
+   */
+  private long flushIntervalMs = DEFAULT_FLUSH_INTERVAL_MS;
+
+  /**
+   * Gets the counter flush interval.
+   *
+   * @return the interval in milliseconds
+   */
+  public long getFlushIntervalMs() {
+    return flushIntervalMs;
+  }
+
+  /**
+   * Sets the counter flush interval.
+   *
+   * @param newFlushIntervalMs the interval in milliseconds
+   */
+  public void setFlushIntervalMs(final long newFlushIntervalMs) {
+    this.flushIntervalMs = newFlushIntervalMs;
+  }
+}
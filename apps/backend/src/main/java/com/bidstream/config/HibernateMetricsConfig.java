@@ -0,0 +1,129 @@
+package com.bidstream.config;
+
+import java.util.function.ToDoubleFunction;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Configuration class exporting Hibernate statistics as
+ * {@code hibernate.*} metrics: prepared statements, entity loads and the
+ * hits, misses and puts of the second-level and query caches.
+ *
+ * <p>
+ * Spring Boot binds them only with Hibernate's own micrometer module,
+ * which is not published for the Hibernate version in use, and
+ * Micrometer's {@code HibernateMetrics} is still compiled against
+ * {@code javax.persistence}, so they are read from {@link Statistics}
+ * here. {@code hibernate.generate_statistics} must be on. Per-region
+ * meters cover the regions that exist at startup, which are the entity
+ * regions; query regions are counted in the query cache totals.
+ * </p>
+ */
+@Configuration
+public class HibernateMetricsConfig {
+
+  /**
+   * Creates the binder of the Hibernate statistics, which Spring Boot
+   * registers with every meter registry.
+   *
+   * @param entityManagerFactory the entity manager factory
+   * @return the binder
+   */
+  @Bean
+  public MeterBinder hibernateMetrics(
+      final EntityManagerFactory entityManagerFactory) {
+    Statistics statistics = entityManagerFactory
+        .unwrap(SessionFactory.class).getStatistics();
+    return registry -> bind(statistics, registry);
+  }
+
+  /**
+   * Registers the meters.
+   *
+   * @param statistics the statistics
+   * @param registry   the meter registry
+   */
+  private static void bind(final Statistics statistics,
+      final MeterRegistry registry) {
+    counter(registry, "hibernate.statements", Tags.of("status", "prepared"),
+        "Statements prepared", statistics,
+        Statistics::getPrepareStatementCount);
+    counter(registry, "hibernate.entities.loads", Tags.empty(),
+        "Entities loaded from the database", statistics,
+        Statistics::getEntityLoadCount);
+    cacheCounters(registry, "hibernate.query.cache", Tags.empty(),
+        statistics, Statistics::getQueryCacheHitCount,
+        Statistics::getQueryCacheMissCount,
+        Statistics::getQueryCachePutCount);
+    cacheCounters(registry, "hibernate.second.level.cache", Tags.empty(),
+        statistics, Statistics::getSecondLevelCacheHitCount,
+        Statistics::getSecondLevelCacheMissCount,
+        Statistics::getSecondLevelCachePutCount);
+
+    for (String region : statistics.getSecondLevelCacheRegionNames()) {
+      CacheRegionStatistics regionStatistics =
+          statistics.getCacheRegionStatistics(region);
+      if (regionStatistics != null) {
+        cacheCounters(registry, "hibernate.second.level.cache.region",
+            Tags.of("region", region), regionStatistics,
+            CacheRegionStatistics::getHitCount,
+            CacheRegionStatistics::getMissCount,
+            CacheRegionStatistics::getPutCount);
+      }
+    }
+  }
+
+  /**
+   * Registers the hit, miss and put counters of a cache.
+   *
+   * @param <T>      the statistics type
+   * @param registry the meter registry
+   * @param name     the meter name prefix
+   * @param tags     the tags
+   * @param source   the statistics
+   * @param hits     reads the hits
+   * @param misses   reads the misses
+   * @param puts     reads the puts
+   */
+  private static <T> void cacheCounters(final MeterRegistry registry,
+      final String name, final Tags tags, final T source,
+      final ToDoubleFunction<T> hits, final ToDoubleFunction<T> misses,
+      final ToDoubleFunction<T> puts) {
+    counter(registry, name + ".requests", tags.and("result", "hit"),
+        "Cache lookups that found an entry", source, hits);
+    counter(registry, name + ".requests", tags.and("result", "miss"),
+        "Cache lookups that found no entry", source, misses);
+    counter(registry, name + ".puts", tags,
+        "Entries put into the cache", source, puts);
+  }
+
+  /**
+   * Registers a counter read from the statistics.
+   *
+   * @param <T>         the statistics type
+   * @param registry    the meter registry
+   * @param name        the meter name
+   * @param tags        the tags
+   * @param description the description
+   * @param source      the statistics
+   * @param count       reads the count
+   */
+  private static <T> void counter(final MeterRegistry registry,
+      final String name, final Tags tags, final String description,
+      final T source, final ToDoubleFunction<T> count) {
+    FunctionCounter.builder(name, source, count)
+        .tags(tags)
+        .description(description)
+        .register(registry);
+  }
+}
@@ -0,0 +1,163 @@
+package com.bidstream.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Bid journal settings bound from {@code bidstream.journal.*}.
+ */
+@ConfigurationProperties(prefix = "bidstream.journal")
+public class JournalProperties {
+
+  /** Default journal directory. */
+  private static final String DEFAULT_DIRECTORY = "data/journal";
+
+  /** Default maximum number of bids committed per batch. */
+  private static final int DEFAULT_MAX_BATCH_SIZE = 512;
+
+  /** Default maximum time a batch waits for more bids, in microseconds. */
+  private static final long DEFAULT_MAX_LINGER_MICROS = 200L;
+
+  /** Default size of one journal segment, in mebibytes. */
+  private static final int DEFAULT_SEGMENT_SIZE_MB = 64;
+
+  /**
+   * Whether accepted bids are journaled before they are acknowledged.
+   */
+  private boolean enabled = true;
+
+  /**
+   * Directory holding the journal files.
+   */
+  private String directory = DEFAULT_DIRECTORY;
+
+  /**
+   * Maximum number of bids committed with a single write and fsync.
+   */
+  private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+
+  /**
+   * Maximum time the first bid of a batch waits for others to join it.
+   */
+  private long maxLingerMicros = DEFAULT_MAX_LINGER_MICROS;
+
+  /**
+   * Size of one memory-mapped journal segment, in mebibytes.
+   */
+  private int segmentSizeMb = DEFAULT_SEGMENT_SIZE_MB;
+
+  /**
+   * Key of this journal's row in the checkpoint table. Must be unique per
+   * node when several nodes share a database. When blank, an id generated
+   * on first start is kept in the journal directory, so it follows the
+   * journal files and a node that lost them starts a new checkpoint row.
+   */
+  private String id = "";
+
+  /**
+   * Checks whether journaling is enabled.
+   *
+   * @return true if enabled
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Enables or disables journaling.
+   *
+   * @param isEnabled true to enable
+   */
+  public void setEnabled(final boolean isEnabled) {
+    this.enabled = isEnabled;
+  }
+
+  /**
+   * Gets the journal directory.
+   *
+   * @return the directory path
+   */
+  public String getDirectory() {
+    return directory;
+  }
+
+  /**
+   * Sets the journal directory.
+   *
+   * @param newDirectory the directory path
+   */
+  public void setDirectory(final String newDirectory) {
+    this.directory = newDirectory;
+  }
+
+  /**
+   * Gets the maximum batch size.
+   *
+   * @return the maximum number of bids per batch
+   */
+  public int getMaxBatchSize() {
+    return maxBatchSize;
+  }
+
+  /**
+   * Sets the maximum batch size.
+   *
+   * @param newMaxBatchSize the maximum number of bids per batch
+   */
+  public void setMaxBatchSize(final int newMaxBatchSize) {
+    this.maxBatchSize = newMaxBatchSize;
+  }
+
+  /**
+   * Gets the maximum batch linger time.
+   *
+   * @return the linger time in microseconds
+   */
+  public long getMaxLingerMicros() {
+    return maxLingerMicros;
+  }
+
+  /**
+   * Sets the maximum batch linger time.
+   *
+   * @param newMaxLingerMicros the linger time in microseconds
+   */
+  public void setMaxLingerMicros(final long newMaxLingerMicros) {
+    this.maxLingerMicros = newMaxLingerMicros;
+  }
+
+  /**
+   * Gets the segment size.
+   *
+   * @return the segment size in mebibytes
+   */
+  public int getSegmentSizeMb() {
+    return segmentSizeMb;
+  }
+
+  /**
+   * Sets the segment size.
+   *
+   * @param newSegmentSizeMb the segment size in mebibytes
+   */
+  public void setSegmentSizeMb(final int newSegmentSizeMb) {
+    this.segmentSizeMb = newSegmentSizeMb;
+  }
+
+  /**
+   * Gets the configured checkpoint key.
+   *
+   * @return the journal id, or blank to derive one per journal directory
+   */
+  public String getId() {
+    return id;
+  }
+
+  /**
+   * Sets the checkpoint key.
+   *
+   * @param newId the journal id
+   */
+  public void setId(final String newId) {
+    this.id = newId;
+  }
+}
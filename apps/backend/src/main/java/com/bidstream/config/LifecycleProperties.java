@@ -0,0 +1,144 @@
+package com.bidstream.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Auction lifecycle scheduler settings bound from
+ * {@code bidstream.lifecycle.*}.
+ */
+@ConfigurationProperties(prefix = "bidstream.lifecycle")
+public class LifecycleProperties {
+
+  /** Default timing wheel resolution, in milliseconds. */
+  private static final long DEFAULT_TICK_MS = 5L;
+
+  /** Default number of slots per timing wheel level. */
+  private static final int DEFAULT_WHEEL_SLOTS = 512;
+
+  /** Default number of timing wheel levels. */
+  private static final int DEFAULT_WHEEL_LEVELS = 4;
+
+  /** Default delay before the first retry of a failed transition. */
+  private static final long DEFAULT_RETRY_BACKOFF_MS = 1_000L;
+
+  /** Default cap on the delay between retries of a failed transition. */
+  private static final long DEFAULT_MAX_RETRY_BACKOFF_MS = 60_000L;
+
+  /**
+   * Timing wheel resolution; transitions fire at most this long after
+   * their deadline.
+   */
+  private long tickMs = DEFAULT_TICK_MS;
+
+  /**
+   * Slots per timing wheel level; must be a power of two.
+   */
+  private int wheelSlots = DEFAULT_WHEEL_SLOTS;
+
+  /**
+   * Number of timing wheel levels. Each level covers {@code wheel-slots}
+   * times the span of the level below it.
+   */
+  private int wheelLevels = DEFAULT_WHEEL_LEVELS;
+
+  /**
+   * Delay before a failed start or end transition is retried; doubles on
+   * every further failure.
+   */
+  private long retryBackoffMs = DEFAULT_RETRY_BACKOFF_MS;
+
+  /**
+   * Cap on the delay between retries of a failed transition.
+   */
+  private long maxRetryBackoffMs = DEFAULT_MAX_RETRY_BACKOFF_MS;
+
+  /**
+   * Gets the timing wheel resolution.
+   *
+   * @return the tick in milliseconds
+   */
+  public long getTickMs() {
+    return tickMs;
+  }
+
+  /**
+   * Sets the timing wheel resolution.
+   *
+   * @param newTickMs the tick in milliseconds
+   */
+  public void setTickMs(final long newTickMs) {
+    this.tickMs = newTickMs;
+  }
+
+  /**
+   * Gets the number of slots per level.
+   *
+   * @return the slot count
+   */
+  public int getWheelSlots() {
+    return wheelSlots;
+  }
+
+  /**
+   * Sets the number of slots per level.
+   *
+   * @param newWheelSlots the slot count, a power of two
+   */
+  public void setWheelSlots(final int newWheelSlots) {
+    this.wheelSlots = newWheelSlots;
+  }
+
+  /**
+   * Gets the number of levels.
+   *
+   * @return the level count
+   */
+  public int getWheelLevels() {
+    return wheelLevels;
+  }
+
+  /**
+   * Sets the number of levels.
+   *
+   * @param newWheelLevels the level count
+   */
+  public void setWheelLevels(final int newWheelLevels) {
+    this.wheelLevels = newWheelLevels;
+  }
+
+  /**
+   * Gets the delay before the first retry of a failed transition.
+   *
+   * @return the delay in milliseconds
+   */
+  public long getRetryBackoffMs() {
+    return retryBackoffMs;
+  }
+
+  /**
+   * Sets the delay before the first retry of a failed transition.
+   *
+   * @param newRetryBackoffMs the delay in milliseconds
+   */
+  public void setRetryBackoffMs(final long newRetryBackoffMs) {
+    this.retryBackoffMs = newRetryBackoffMs;
+  }
+
+  /**
+   * Gets the cap on the delay between retries.
+   *
+   * @return the cap in milliseconds
+   */
+  public long getMaxRetryBackoffMs() {
+    return maxRetryBackoffMs;
+  }
+
+  /**
+   * Sets the cap on the delay between retries.
+   *
+   * @param newMaxRetryBackoffMs the cap in milliseconds
+   */
+  public void setMaxRetryBackoffMs(final long newMaxRetryBackoffMs) {
+    this.maxRetryBackoffMs = newMaxRetryBackoffMs;
+  }
+}
@@ -0,0 +1,63 @@
+package com.bidstream.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * In-memory ranking settings bound from {@code bidstream.ranking.*}.
+ */
+@ConfigurationProperties(prefix = "bidstream.ranking")
+public class RankingProperties {
+
+  /** Default interval between leaderboard refreshes, in milliseconds. */
+  private static final long DEFAULT_REFRESH_INTERVAL_MS = 1_000L;
+
+  /** Default refresh look-back, in milliseconds. */
+  private static final long DEFAULT_REFRESH_OVERLAP_MS = 5_000L;
+
+  /**
+   * How often leaderboard scores are refreshed from changed auction rows.
+   */
+  private long refreshIntervalMs = DEFAULT_REFRESH_INTERVAL_MS;
+
+  /**
+   * How far before the last seen update a refresh looks again, so rows
+   * committed late by long transactions are not missed.
+   */
+  private long refreshOverlapMs = DEFAULT_REFRESH_OVERLAP_MS;
+
+  /**
+   * Gets the leaderboard refresh interval.
+   *
+   * @return the interval in milliseconds
+   */
+  public long getRefreshIntervalMs() {
+    return refreshIntervalMs;
+  }
+
+  /**
+   * Sets the leaderboard refresh interval.
+   *
+   * @param newRefreshIntervalMs the interval in milliseconds
+   */
+  public void setRefreshIntervalMs(final long newRefreshIntervalMs) {
+    this.refreshIntervalMs = newRefreshIntervalMs;
+  }
+
+  /**
+   * Gets the refresh look-back.
+   *
+   * @return the look-back in milliseconds
+   */
+  public long getRefreshOverlapMs() {
+    return refreshOverlapMs;
+  }
+
+  /**
+   * Sets the refresh look-back.
+   *
+   * @param newRefreshOverlapMs the look-back in milliseconds
+   */
+  public void setRefreshOverlapMs(final long newRefreshOverlapMs) {
+    this.refreshOverlapMs = newRefreshOverlapMs;
+  }
+}
@@ -0,0 +1,94 @@
+package com.bidstream.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * In-process search settings bound from {@code bidstream.search.*}.
+ */
+@ConfigurationProperties(prefix = "bidstream.search")
+public class SearchProperties {
+
+  /** Default number of suggestions kept per prefix. */
+  private static final int DEFAULT_SUGGESTIONS_PER_PREFIX = 10;
+
+  /** Default interval between autocomplete refreshes, in milliseconds. */
+  private static final long DEFAULT_SUGGEST_REFRESH_INTERVAL_MS = 1_000L;
+
+  /** Default refresh look-back, in milliseconds. */
+  private static final long DEFAULT_SUGGEST_REFRESH_OVERLAP_MS = 5_000L;
+
+  /**
+   * Suggestions cached per prefix; the most an autocomplete request can
+   * return.
+   */
+  private int suggestionsPerPrefix = DEFAULT_SUGGESTIONS_PER_PREFIX;
+
+  /**
+   * How often autocomplete weights are refreshed from changed auction
+   * rows.
+   */
+  private long suggestRefreshIntervalMs =
+      DEFAULT_SUGGEST_REFRESH_INTERVAL_MS;
+
+  /**
+   * How far before the last seen update a refresh looks again, so rows
+   * committed late by long transactions are not missed.
+   */
+  private long suggestRefreshOverlapMs = DEFAULT_SUGGEST_REFRESH_OVERLAP_MS;
+
+  /**
+   * Gets the number of suggestions kept per prefix.
+   *
+   * @return the suggestion count
+   */
+  public int getSuggestionsPerPrefix() {
+    return suggestionsPerPrefix;
+  }
+
+  /**
+   * Sets the number of suggestions kept per prefix.
+   *
+   * @param newSuggestionsPerPrefix the suggestion count
+   */
+  public void setSuggestionsPerPrefix(final int newSuggestionsPerPrefix) {
+    this.suggestionsPerPrefix = newSuggestionsPerPrefix;
+  }
+
+  /**
+   * Gets the autocomplete refresh interval.
+   *
+   * @return the interval in milliseconds
+   */
+  public long getSuggestRefreshIntervalMs() {
+    return suggestRefreshIntervalMs;
+  }
+
+  /**
+   * Sets the autocomplete refresh interval.
+   *
+   * @param newSuggestRefreshIntervalMs the interval in milliseconds
+   */
+  public void setSuggestRefreshIntervalMs(
+      final long newSuggestRefreshIntervalMs) {
+    this.suggestRefreshIntervalMs = newSuggestRefreshIntervalMs;
+  }
+
+  /**
+   * Gets the refresh look-back.
+   *
+   * @return the look-back in milliseconds
+   */
+  public long getSuggestRefreshOverlapMs() {
+    return suggestRefreshOverlapMs;
+  }
+
+  /**
+   * Sets the refresh look-back.
+   *
+   * @param newSuggestRefreshOverlapMs the look-back in milliseconds
+   */
+  public void setSuggestRefreshOverlapMs(
+      final long newSuggestRefreshOverlapMs) {
+    this.suggestRefreshOverlapMs = newSuggestRefreshOverlapMs;
+  }
+}
@@ -0,0 +1,37 @@
+package com.bidstream.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Platform statistics settings bound from {@code bidstream.stats.*}.
+ */
+@ConfigurationProperties(prefix = "bidstream.stats")
+public class StatsProperties {
+
+  /** Default interval between reconciliations, in milliseconds. */
+  private static final long DEFAULT_RECONCILE_INTERVAL_MS = 300_000L;
+
+  /**
+   * How often the running aggregates are recomputed from Postgres and
+   * their drift reported.
+   */
+  private long reconcileIntervalMs = DEFAULT_RECONCILE_INTERVAL_MS;
+
+  /**
+   * Gets the reconciliation interval.
+   *
+   * @return the interval in milliseconds
+   */
+  public long getReconcileIntervalMs() {
+    return reconcileIntervalMs;
+  }
+
+  /**
+   * Sets the reconciliation interval.
+   *
+   * @param newReconcileIntervalMs the interval in milliseconds
+   */
+  public void setReconcileIntervalMs(final long newReconcileIntervalMs) {
+    this.reconcileIntervalMs = newReconcileIntervalMs;
+  }
+}
@@ -0,0 +1,53 @@
+package com.bidstream.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.web.socket.config.annotation
+    .EnableWebSocketMessageBroker;
+import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
+import org.springframework.web.socket.config.annotation
+    .WebSocketMessageBrokerConfigurer;
+
+/**
+ * Configuration class for STOMP over WebSocket messaging.
+ * Clients connect to {@value #ENDPOINT} and subscribe to
+ * {@code /topic/auctions/{auctionId}} to follow live auction updates.
+ */
+@Configuration
+@EnableWebSocketMessageBroker
+public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+
+  /** STOMP handshake endpoint. */
+  public static final String ENDPOINT = "/ws";
+
+  /** Prefix of broadcast destinations. */
+  public static final String TOPIC_PREFIX = "/topic";
+
+  /** Prefix of destinations handled by application controllers. */
+  private static final String APPLICATION_PREFIX = "/app";
+
+  /** WebSocket settings. */
+  private final WebSocketProperties properties;
+
+  /**
+   * Creates the configuration.
+   *
+   * @param newProperties the WebSocket settings
+   */
+  public WebSocketConfig(final WebSocketProperties newProperties) {
+    this.properties = newProperties;
+  }
+
+  @Override
+  public void registerStompEndpoints(final StompEndpointRegistry registry) {
+    registry.addEndpoint(ENDPOINT)
+        .setAllowedOriginPatterns(
+            properties.getAllowedOrigins().toArray(String[]::new));
+  }
+
+  @Override
+  public void configureMessageBroker(final MessageBrokerRegistry registry) {
+    registry.enableSimpleBroker(TOPIC_PREFIX);
+    registry.setApplicationDestinationPrefixes(APPLICATION_PREFIX);
+  }
+}
@@ -0,0 +1,36 @@
+package com.bidstream.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * WebSocket settings bound from {@code bidstream.websocket.*}.
+ */
+@ConfigurationProperties(prefix = "bidstream.websocket")
+public class WebSocketProperties {
+
+  /**
+   * Origin patterns allowed to open a WebSocket connection.
+   */
+  private List<String> allowedOrigins = new ArrayList<>();
+
+  /**
+   * Gets the allowed origin patterns.
+   *
+   * @return the origin patterns
+   */
+  public List<String> getAllowedOrigins() {
+    return allowedOrigins;
+  }
+
+  /**
+   * Sets the allowed origin patterns.
+   *
+   * @param newAllowedOrigins the origin patterns
+   */
+  public void setAllowedOrigins(final List<String> newAllowedOrigins) {
+    this.allowedOrigins = newAllowedOrigins;
+  }
+}
@@ -0,0 +1,570 @@
+package com.bidstream.controller;
+
+import com.bidstream.dto.response.AuctionResponse;
+import com.bidstream.dto.response.AuctionSummaryResponse;
+import com.bidstream.dto.response.CursorPageResponse;
+import com.bidstream.dto.response.EngagementResponse;
+import com.bidstream.dto.response.PopularityRankResponse;
+import com.bidstream.model.entity.AuctionStatus;
+import com.bidstream.model.time.AuctionClock;
+import com.bidstream.repository.AuctionListView;
+import com.bidstream.repository.AuctionRepository;
+import com.bidstream.repository.KeysetCursor;
+import com.bidstream.repository.UserRepository;
+import com.bidstream.service.cache.AuctionCache;
+import com.bidstream.service.cache.CachedAuction;
+import com.bidstream.service.cache.FeaturedAuctions;
+import com.bidstream.service.engagement.EngagementCounters;
+import com.bidstream.service.lifecycle.EndingAuction;
+import com.bidstream.service.lifecycle.EndingSoonIndex;
+import com.bidstream.service.ranking.LeaderboardEntry;
+import com.bidstream.service.ranking.PopularityLeaderboard;
+import com.bidstream.service.stats.PlatformStatistics;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * REST Controller for browsing auctions.
+ * Every listing is keyset-paginated: a response carries an opaque
+ * {@code nextCursor} that is passed back as {@code cursor} to get the
+ * following page, so each page costs one index seek however deep the
+ * client pages.
+ */
+@RestController
+@RequestMapping("/auctions")
+@Tag(name = "Auctions",
+    description = "API for browsing auctions")
+@CrossOrigin(origins = "*")
+public class AuctionController {
+
+  /** Default number of auctions per page. */
+  private static final String DEFAULT_PAGE_SIZE = "20";
+
+  /** Maximum number of auctions per page. */
+  private static final int MAX_PAGE_SIZE = 100;
+
+  /** Number of categories listed in the statistics. */
+  private static final int TOP_CATEGORIES = 10;
+
+  /** Default "ending soon" window in minutes. */
+  private static final String DEFAULT_ENDING_WITHIN_MINUTES = "60";
+
+  /** Repository for auction data operations. */
+  @Autowired
+  private AuctionRepository auctionRepository;
+
+  /** Cached auction listing fields. */
+  @Autowired
+  private AuctionCache auctionCache;
+
+  /** Featured auction pages. */
+  @Autowired
+  private FeaturedAuctions featuredAuctions;
+
+  /** Repository used to resolve seller references. */
+  @Autowired
+  private UserRepository userRepository;
+
+  /** In-memory popularity ranking. */
+  @Autowired
+  private PopularityLeaderboard leaderboard;
+
+  /** In-memory end time order of active auctions. */
+  @Autowired
+  private EndingSoonIndex endingSoonIndex;
+
+  /** Running auction aggregates. */
+  @Autowired
+  private PlatformStatistics platformStatistics;
+
+  /** Buffered view and watch counters. */
+  @Autowired
+  private EngagementCounters engagementCounters;
+
+  /**
+   * Lists auctions by status and optionally category, soonest ending
+   * first. Active auctions of every category are listed from the
+   * in-memory ending-soon index, which skips those already past their end.
+   *
+   * @param status   the status to filter by
+   * @param category the category to filter by, or null
+   * @param cursor   the cursor of the page to return, or null
+   * @param size     the page size
+   * @return one page of auctions
+   */
+  @GetMapping
+  @Operation(summary = "List auctions",
+      description = "List auctions by status and category, soonest ending "
+          + "first")
+  @ApiResponse(responseCode = "200",
+      description = "Page returned")
+  @ApiResponse(responseCode = "400",
+      description = "Invalid cursor")
+  public final ResponseEntity<CursorPageResponse<AuctionSummaryResponse>>
+      listAuctions(
+          @Parameter(description = "Auction status")
+          @RequestParam(defaultValue = "ACTIVE") final AuctionStatus status,
+          @Parameter(description = "Auction category")
+          @RequestParam(required = false) final String category,
+          @Parameter(description = "Cursor from the previous page")
+          @RequestParam(required = false) final String cursor,
+          @Parameter(description = "Page size")
+          @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) final int size) {
+    KeysetCursor after = decode(cursor);
+    if (status == AuctionStatus.ACTIVE && category == null) {
+      return ResponseEntity.ok(ending(Long.MAX_VALUE, after, page(size)));
+    }
+
+    Slice<AuctionListView> slice = category == null
+        ? auctionRepository.findViewsByStatus(status, afterTime(after),
+            afterId(after), page(size))
+        : auctionRepository.findByCategoryAndStatus(category, status,
+            afterTime(after), afterId(after), page(size));
+    return ResponseEntity.ok(respond(slice, AuctionController::byEndTime));
+  }
+
+  /**
+   * Lists featured active auctions, soonest ending first. Concurrent
+   * requests for the same page share one query.
+   *
+   * @param cursor the cursor of the page to return, or null
+   * @param size   the page size
+   * @return one page of auctions
+   */
+  @GetMapping("/featured")
+  @Operation(summary = "List featured auctions",
+      description = "List featured active auctions, soonest ending first")
+  @ApiResponse(responseCode = "200",
+      description = "Page returned")
+  public final ResponseEntity<CursorPageResponse<AuctionSummaryResponse>>
+      listFeatured(
+          @Parameter(description = "Cursor from the previous page")
+          @RequestParam(required = false) final String cursor,
+          @Parameter(description = "Page size")
+          @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) final int size) {
+    KeysetCursor after = decode(cursor);
+    return ResponseEntity.ok(respond(
+        featuredAuctions.page(afterTime(after), afterId(after), page(size)),
+        AuctionController::byEndTime));
+  }
+
+  /**
+   * Lists active auctions ending within a window, soonest first. Served
+   * from the in-memory ending-soon index.
+   *
+   * @param withinMinutes the window in minutes
+   * @param cursor        the cursor of the page to return, or null
+   * @param size          the page size
+   * @return one page of auctions
+   */
+  @GetMapping("/ending-soon")
+  @Operation(summary = "List auctions ending soon",
+      description = "List active auctions ending within a window")
+  @ApiResponse(responseCode = "200",
+      description = "Page returned")
+  public final ResponseEntity<CursorPageResponse<AuctionSummaryResponse>>
+      listEndingSoon(
+          @Parameter(description = "Window in minutes")
+          @RequestParam(defaultValue = DEFAULT_ENDING_WITHIN_MINUTES)
+          final long withinMinutes,
+          @Parameter(description = "Cursor from the previous page")
+          @RequestParam(required = false) final String cursor,
+          @Parameter(description = "Page size")
+          @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) final int size) {
+    return ResponseEntity.ok(ending(AuctionClock.millis()
+        + TimeUnit.MINUTES.toMillis(withinMinutes), decode(cursor),
+        page(size)));
+  }
+
+  /**
+   * Lists active auctions without bids, soonest ending first.
+   *
+   * @param cursor the cursor of the page to return, or null
+   * @param size   the page size
+   * @return one page of auctions
+   */
+  @GetMapping("/no-bids")
+  @Operation(summary = "List auctions without bids",
+      description = "List active auctions nobody has bid on yet")
+  @ApiResponse(responseCode = "200",
+      description = "Page returned")
+  public final ResponseEntity<CursorPageResponse<AuctionSummaryResponse>>
+      listNoBids(
+          @Parameter(description = "Cursor from the previous page")
+          @RequestParam(required = false) final String cursor,
+          @Parameter(description = "Page size")
+          @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) final int size) {
+    KeysetCursor after = decode(cursor);
+    return ResponseEntity.ok(respond(
+        auctionRepository.findNoBidAuctions(afterTime(after),
+            afterId(after), page(size)),
+        AuctionController::byEndTime));
+  }
+
+  /**
+   * Lists auctions by popularity, most popular first. Served from the
+   * in-memory leaderboard; only the page's auctions are read through the
+   * auction cache.
+   *
+   * @param status   the status to filter by, or null for any
+   * @param category the category to filter by, or null for any
+   * @param cursor   the cursor of the page to return, or null
+   * @param size     the page size
+   * @return one page of auctions
+   */
+  @GetMapping("/popular")
+  @Operation(summary = "List popular auctions",
+      description = "List auctions by bids, watchers and views")
+  @ApiResponse(responseCode = "200",
+      description = "Page returned")
+  public final ResponseEntity<CursorPageResponse<AuctionSummaryResponse>>
+      listPopular(
+          @Parameter(description = "Auction status")
+          @RequestParam(required = false) final AuctionStatus status,
+          @Parameter(description = "Auction category")
+          @RequestParam(required = false) final String category,
+          @Parameter(description = "Cursor from the previous page")
+          @RequestParam(required = false) final String cursor,
+          @Parameter(description = "Page size")
+          @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) final int size) {
+    KeysetCursor after = decode(cursor);
+    Pageable page = page(size);
+    List<LeaderboardEntry> entries = after == null
+        ? leaderboard.top(status, category, 0, page.getPageSize() + 1)
+        : leaderboard.after(status, category, after.key(), after.id(),
+            page.getPageSize() + 1);
+    boolean hasNext = entries.size() > page.getPageSize();
+    if (hasNext) {
+      entries = entries.subList(0, page.getPageSize());
+    }
+
+    Map<UUID, Long> scores = new HashMap<>();
+    for (LeaderboardEntry entry : entries) {
+      scores.put(entry.auctionId(), entry.score());
+    }
+    Map<UUID, CachedAuction> byId = auctionCache.getAll(scores.keySet());
+    List<CachedAuction> auctions = entries.stream()
+        .map(entry -> byId.get(entry.auctionId()))
+        .filter(Objects::nonNull)
+        .toList();
+    return ResponseEntity.ok(respond(new SliceImpl<>(auctions, page, hasNext),
+        AuctionSummaryResponse::from,
+        auction -> new KeysetCursor(scores.get(auction.id()), auction.id())));
+  }
+
+  /**
+   * Retrieves an auction from the auction cache.
+   *
+   * @param id the auction UUID
+   * @return the auction if it exists
+   */
+  @GetMapping("/{id}")
+  @Operation(summary = "Get auction by ID",
+      description = "Retrieve a specific auction by its UUID")
+  @ApiResponse(responseCode = "200",
+      description = "Auction found")
+  @ApiResponse(responseCode = "404",
+      description = "Auction not found")
+  public final ResponseEntity<AuctionSummaryResponse> getAuction(
+      @Parameter(description = "Auction UUID") @PathVariable final UUID id) {
+    return auctionCache.get(id)
+        .map(auction -> ResponseEntity.ok(AuctionSummaryResponse.from(auction)))
+        .orElseGet(() -> ResponseEntity.notFound().build());
+  }
+
+  /**
+   * Retrieves the full detail of an auction. The auction, its seller and
+   * its highest bidder are read by one statement.
+   *
+   * @param id the auction UUID
+   * @return the auction if it exists
+   */
+  @GetMapping("/{id}/details")
+  @Operation(summary = "Get auction details",
+      description = "Retrieve an auction with its description, seller and "
+          + "highest bidder")
+  @ApiResponse(responseCode = "200",
+      description = "Auction found")
+  @ApiResponse(responseCode = "404",
+      description = "Auction not found")
+  public final ResponseEntity<AuctionResponse> getAuctionDetails(
+      @Parameter(description = "Auction UUID") @PathVariable final UUID id) {
+    return auctionRepository.findDetailById(id)
+        .map(auction -> ResponseEntity.ok(AuctionResponse.from(auction)))
+        .orElseGet(() -> ResponseEntity.notFound().build());
+  }
+
+  /**
+   * Retrieves where an auction ranks by popularity.
+   *
+   * @param id         the auction UUID
+   * @param byStatus   whether to rank within the auction's status
+   * @param byCategory whether to rank within the auction's category
+   * @return the rank if the auction exists
+   */
+  @GetMapping("/{id}/popularity")
+  @Operation(summary = "Get popularity rank",
+      description = "Get an auction's rank by bids, watchers and views")
+  @ApiResponse(responseCode = "200",
+      description = "Rank returned")
+  @ApiResponse(responseCode = "404",
+      description = "Auction not found")
+  public final ResponseEntity<PopularityRankResponse> getPopularityRank(
+      @Parameter(description = "Auction UUID") @PathVariable final UUID id,
+      @Parameter(description = "Rank within the auction's status")
+      @RequestParam(defaultValue = "false") final boolean byStatus,
+      @Parameter(description = "Rank within the auction's category")
+      @RequestParam(defaultValue = "false") final boolean byCategory) {
+    return leaderboard.rank(id, byStatus, byCategory)
+        .map(entry -> ResponseEntity.ok(PopularityRankResponse.from(entry)))
+        .orElseGet(() -> ResponseEntity.notFound().build());
+  }
+
+  /**
+   * Lists a seller's auctions, newest first.
+   *
+   * @param sellerId the seller's UUID
+   * @param cursor   the cursor of the page to return, or null
+   * @param size     the page size
+   * @return one page of auctions
+   */
+  @GetMapping("/sellers/{sellerId}")
+  @Operation(summary = "List a seller's auctions",
+      description = "List the auctions created by a seller, newest first")
+  @ApiResponse(responseCode = "200",
+      description = "Page returned")
+  public final ResponseEntity<CursorPageResponse<AuctionSummaryResponse>>
+      listBySeller(
+          @Parameter(description = "Seller UUID")
+          @PathVariable final UUID sellerId,
+          @Parameter(description = "Cursor from the previous page")
+          @RequestParam(required = false) final String cursor,
+          @Parameter(description = "Page size")
+          @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) final int size) {
+    KeysetCursor before = decode(cursor);
+    return ResponseEntity.ok(respond(
+        auctionRepository.findBySeller(
+            userRepository.getReferenceById(sellerId),
+            before == null ? KeysetCursor.MAX_TIME : before.time(),
+            before == null ? KeysetCursor.MAX_ID : before.id(), page(size)),
+        auction -> KeysetCursor.of(auction.createdAt(), auction.id())));
+  }
+
+  /**
+   * Retrieves auction statistics from the running aggregates.
+   *
+   * @return the statistics
+   */
+  @GetMapping("/stats")
+  @Operation(summary = "Get auction statistics",
+      description = "Retrieve auction counts, active value and top "
+          + "categories")
+  @ApiResponse(responseCode = "200",
+      description = "Statistics retrieved successfully")
+  public final ResponseEntity<Map<String, Object>> getAuctionStats() {
+    Map<String, Long> byStatus = new LinkedHashMap<>();
+    for (AuctionStatus status : AuctionStatus.values()) {
+      byStatus.put(status.name(), platformStatistics.countByStatus(status));
+    }
+
+    Map<String, Object> stats = new HashMap<>();
+    stats.put("activeAuctions", platformStatistics.countActive());
+    stats.put("totalActiveValue", platformStatistics.totalActiveValue());
+    stats.put("averageActivePrice", platformStatistics.averageActivePrice());
+    stats.put("auctionsByStatus", byStatus);
+    stats.put("popularCategories",
+        platformStatistics.mostPopularCategories(TOP_CATEGORIES));
+    stats.put("timestamp", LocalDateTime.now());
+    return ResponseEntity.ok(stats);
+  }
+
+  /**
+   * Counts a view of an auction. Views are buffered and written in
+   * batches, so a view may take a few seconds to reach the database.
+   *
+   * @param id the auction UUID
+   * @return an empty accepted response
+   */
+  @PostMapping("/{id}/views")
+  @Operation(summary = "Record a view",
+      description = "Count one view of an auction")
+  @ApiResponse(responseCode = "202",
+      description = "View recorded")
+  public final ResponseEntity<Void> recordView(
+      @Parameter(description = "Auction UUID") @PathVariable final UUID id) {
+    engagementCounters.recordView(id);
+    return ResponseEntity.accepted().build();
+  }
+
+  /**
+   * Retrieves the view and watch counts of an auction, including views
+   * not yet written to the database.
+   *
+   * @param id the auction UUID
+   * @return the counts if the auction exists
+   */
+  @GetMapping("/{id}/engagement")
+  @Operation(summary = "Get engagement",
+      description = "Get the view and watch counts of an auction")
+  @ApiResponse(responseCode = "200",
+      description = "Counts returned")
+  @ApiResponse(responseCode = "404",
+      description = "Auction not found")
+  public final ResponseEntity<EngagementResponse> getEngagement(
+      @Parameter(description = "Auction UUID") @PathVariable final UUID id) {
+    return engagementCounters.counts(id)
+        .map(counts -> ResponseEntity.ok(EngagementResponse.from(counts)))
+        .orElseGet(() -> ResponseEntity.notFound().build());
+  }
+
+  /**
+   * Lists started active auctions from the in-memory ending-soon index,
+   * soonest ending first.
+   *
+   * @param cutoffMs the latest end time returned
+   * @param after    the position, or null for the first page
+   * @param page     the page size
+   * @return one page of auctions
+   */
+  private CursorPageResponse<AuctionSummaryResponse> ending(
+      final long cutoffMs, final KeysetCursor after, final Pageable page) {
+    List<EndingAuction> ending = endingSoonIndex.endingBetween(
+        AuctionClock.millis(), cutoffMs,
+        after == null
+            ? Long.MIN_VALUE
+            : AuctionClock.toEpochMs(after.time()),
+        after == null ? null : after.id(), page.getPageSize() + 1);
+    boolean hasNext = ending.size() > page.getPageSize();
+    if (hasNext) {
+      ending = ending.subList(0, page.getPageSize());
+    }
+
+    Map<UUID, CachedAuction> byId = auctionCache.getAll(
+        ending.stream().map(EndingAuction::auctionId).toList());
+    Map<UUID, Long> endTimes = new HashMap<>();
+    List<CachedAuction> auctions = new ArrayList<>(ending.size());
+    for (EndingAuction entry : ending) {
+      CachedAuction auction = byId.get(entry.auctionId());
+      if (auction != null) {
+        auctions.add(auction);
+        endTimes.put(entry.auctionId(), entry.endTimeMs());
+      }
+    }
+    return respond(new SliceImpl<>(auctions, page, hasNext),
+        AuctionSummaryResponse::from,
+        auction -> KeysetCursor.of(AuctionClock.toLocalDateTime(
+            endTimes.get(auction.id())), auction.id()));
+  }
+
+  /**
+   * Builds the response of a slice of listing rows.
+   *
+   * @param slice    the slice
+   * @param position position of a row in the slice's order
+   * @return the page with the cursor of its last row, if more follow
+   */
+  private static CursorPageResponse<AuctionSummaryResponse> respond(
+      final Slice<AuctionListView> slice,
+      final Function<AuctionListView, KeysetCursor> position) {
+    return respond(slice, AuctionSummaryResponse::from, position);
+  }
+
+  /**
+   * Builds the response of a slice of any auction representation.
+   *
+   * @param slice    the slice
+   * @param summary  converts a row to its summary
+   * @param position position of a row in the slice's order
+   * @param <T>      the row type
+   * @return the page with the cursor of its last row, if more follow
+   */
+  private static <T> CursorPageResponse<AuctionSummaryResponse> respond(
+      final Slice<T> slice,
+      final Function<T, AuctionSummaryResponse> summary,
+      final Function<T, KeysetCursor> position) {
+    List<T> auctions = slice.getContent();
+    String next = slice.hasNext() && !auctions.isEmpty()
+        ? position.apply(auctions.get(auctions.size() - 1)).encode()
+        : null;
+    return new CursorPageResponse<>(
+        auctions.stream().map(summary).toList(), next);
+  }
+
+  /**
+   * Position of a listing row in end time order.
+   *
+   * @param auction the listing row
+   * @return the position
+   */
+  private static KeysetCursor byEndTime(final AuctionListView auction) {
+    return KeysetCursor.of(auction.endTime(), auction.id());
+  }
+
+  /**
+   * Decodes an optional cursor.
+   *
+   * @param cursor the token, or null for the first page
+   * @return the position, or null for the first page
+   */
+  private static KeysetCursor decode(final String cursor) {
+    return cursor == null || cursor.isBlank()
+        ? null
+        : KeysetCursor.decode(cursor);
+  }
+
+  /**
+   * Gets the time to continue an ascending time order after.
+   *
+   * @param after the position, or null for the first page
+   * @return the time
+   */
+  private static LocalDateTime afterTime(final KeysetCursor after) {
+    return after == null ? KeysetCursor.MIN_TIME : after.time();
+  }
+
+  /**
+   * Gets the id to continue an ascending order after.
+   *
+   * @param after the position, or null for the first page
+   * @return the id
+   */
+  private static UUID afterId(final KeysetCursor after) {
+    return after == null ? KeysetCursor.MIN_ID : after.id();
+  }
+
+  /**
+   * Builds a page request of a bounded size.
+   *
+   * @param size the requested size
+   * @return the unsorted first page of that size
+   */
+  private static Pageable page(final int size) {
+    return PageRequest.ofSize(Math.clamp(size, 1, MAX_PAGE_SIZE));
+  }
+}
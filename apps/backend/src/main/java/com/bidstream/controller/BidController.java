@@ -0,0 +1,98 @@
+package com.bidstream.controller;
+
+import com.bidstream.dto.request.PlaceBidRequest;
+import com.bidstream.dto.request.PlaceProxyBidRequest;
+import com.bidstream.dto.response.BidResponse;
+import com.bidstream.service.bidding.BidEngine;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * REST Controller for placing bids.
+ * Bids are handed to the in-memory bid engine; the request completes
+ * asynchronously once the engine has accepted or rejected the bid.
+ */
+@RestController
+@RequestMapping("/auctions/{auctionId}/bids")
+@Tag(name = "Bidding",
+    description = "API for placing bids on auctions")
+@CrossOrigin(origins = "*")
+public class BidController {
+
+  /** Engine that validates and applies bids. */
+  @Autowired
+  private BidEngine bidEngine;
+
+  /**
+   * Places a bid on an auction.
+   *
+   * @param auctionId the UUID of the auction
+   * @param request   the bid request
+   * @return future completing with the accepted bid
+   */
+  @PostMapping
+  @Operation(summary = "Place bid",
+      description = "Place a bid on an active auction")
+  @ApiResponse(responseCode = "201",
+      description = "Bid accepted")
+  @ApiResponse(responseCode = "404",
+      description = "Auction not found")
+  @ApiResponse(responseCode = "409",
+      description = "Bid rejected by a bidding rule")
+  @ApiResponse(responseCode = "429",
+      description = "Bid engine is saturated")
+  public final CompletableFuture<ResponseEntity<BidResponse>> placeBid(
+      @Parameter(description = "Auction UUID")
+      @PathVariable final UUID auctionId,
+      @Valid @RequestBody final PlaceBidRequest request) {
+    return bidEngine.placeBid(auctionId, request.getBidderId(),
+            request.getAmount())
+        .thenApply(bid -> ResponseEntity.status(HttpStatus.CREATED)
+            .body(BidResponse.from(bid)));
+  }
+
+  /**
+   * Registers a proxy bid on an auction, or raises the bidder's maximum.
+   * The response shows the resulting price and highest bidder, never the
+   * maximum.
+   *
+   * @param auctionId the UUID of the auction
+   * @param request   the proxy bid request
+   * @return future completing with the resulting bid
+   */
+  @PostMapping("/proxy")
+  @Operation(summary = "Place proxy bid",
+      description = "Bid automatically up to a hidden maximum")
+  @ApiResponse(responseCode = "201",
+      description = "Proxy accepted")
+  @ApiResponse(responseCode = "404",
+      description = "Auction not found")
+  @ApiResponse(responseCode = "409",
+      description = "Proxy rejected by a bidding rule")
+  @ApiResponse(responseCode = "429",
+      description = "Bid engine is saturated")
+  public final CompletableFuture<ResponseEntity<BidResponse>> placeProxyBid(
+      @Parameter(description = "Auction UUID")
+      @PathVariable final UUID auctionId,
+      @Valid @RequestBody final PlaceProxyBidRequest request) {
+    return bidEngine.placeProxyBid(auctionId, request.getBidderId(),
+            request.getMaxAmount())
+        .thenApply(bid -> ResponseEntity.status(HttpStatus.CREATED)
+            .body(BidResponse.from(bid)));
+  }
+}
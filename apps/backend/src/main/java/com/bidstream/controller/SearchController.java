@@ -0,0 +1,121 @@
+package com.bidstream.controller;
+
+import com.bidstream.dto.response.AuctionSummaryResponse;
+import com.bidstream.dto.response.SuggestionResponse;
+import com.bidstream.model.entity.AuctionStatus;
+import com.bidstream.service.cache.AuctionCache;
+import com.bidstream.service.cache.CachedAuction;
+import com.bidstream.service.search.AuctionAutocomplete;
+import com.bidstream.service.search.AuctionSearchIndex;
+import com.bidstream.service.search.SearchHit;
+import com.bidstream.service.search.SearchOrder;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * REST Controller for auction search and search-as-you-type.
+ * Matches and suggestions are served from memory; only the listing
+ * columns of the matched auctions are read, through the auction cache.
+ */
+@RestController
+@RequestMapping("/search")
+@Tag(name = "Search",
+    description = "API for auction search and suggestions")
+@CrossOrigin(origins = "*")
+public class SearchController {
+
+  /** Default number of suggestions returned. */
+  private static final String DEFAULT_LIMIT = "10";
+
+  /** Default number of auctions returned. */
+  private static final String DEFAULT_RESULT_LIMIT = "20";
+
+  /** Maximum number of auctions returned. */
+  private static final int MAX_RESULT_LIMIT = 100;
+
+  /** In-memory autocomplete. */
+  @Autowired
+  private AuctionAutocomplete autocomplete;
+
+  /** In-memory inverted index. */
+  @Autowired
+  private AuctionSearchIndex searchIndex;
+
+  /** Listing columns of the matched auctions. */
+  @Autowired
+  private AuctionCache auctionCache;
+
+  /**
+   * Searches auction titles, descriptions, categories, conditions and
+   * locations for every word of a query.
+   *
+   * @param query  the words to search for
+   * @param status the status to filter by, or null for any status
+   * @param order  the order of the results
+   * @param limit  the maximum number of auctions
+   * @return the matching auctions, best first
+   */
+  @GetMapping("/auctions")
+  @Operation(summary = "Search auctions",
+      description = "Auctions containing every word of the query, by "
+          + "relevance or end time")
+  @ApiResponse(responseCode = "200",
+      description = "Matching auctions returned")
+  public final ResponseEntity<List<AuctionSummaryResponse>> search(
+      @Parameter(description = "Words to search for")
+      @RequestParam("q") final String query,
+      @Parameter(description = "Auction status")
+      @RequestParam(required = false) final AuctionStatus status,
+      @Parameter(description = "Result order")
+      @RequestParam(defaultValue = "RELEVANCE") final SearchOrder order,
+      @Parameter(description = "Maximum number of auctions")
+      @RequestParam(defaultValue = DEFAULT_RESULT_LIMIT) final int limit) {
+    List<SearchHit> hits = searchIndex.search(query, status, order,
+        Math.clamp(limit, 1, MAX_RESULT_LIMIT));
+    Map<UUID, CachedAuction> byId = auctionCache.getAll(hits.stream()
+        .map(SearchHit::auctionId)
+        .toList());
+    return ResponseEntity.ok(hits.stream()
+        .map(hit -> byId.get(hit.auctionId()))
+        .filter(Objects::nonNull)
+        .map(AuctionSummaryResponse::from)
+        .toList());
+  }
+
+  /**
+   * Suggests auction titles and categories for a partial query.
+   *
+   * @param query the text typed so far
+   * @param limit the maximum number of suggestions
+   * @return the suggestions, most popular first
+   */
+  @GetMapping("/suggestions")
+  @Operation(summary = "Suggest",
+      description = "Titles and categories with a word starting with the "
+          + "query, most popular first")
+  @ApiResponse(responseCode = "200",
+      description = "Suggestions returned")
+  public final ResponseEntity<List<SuggestionResponse>> suggest(
+      @Parameter(description = "Text typed so far")
+      @RequestParam("q") final String query,
+      @Parameter(description = "Maximum number of suggestions")
+      @RequestParam(defaultValue = DEFAULT_LIMIT) final int limit) {
+    return ResponseEntity.ok(autocomplete.suggest(query, limit).stream()
+        .map(SuggestionResponse::from)
+        .toList());
+  }
+}
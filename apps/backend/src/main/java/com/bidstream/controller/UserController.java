@@ -1,14 +1,23 @@
 package com.bidstream.controller;
 
+import com.bidstream.dto.response.CursorPageResponse;
+import com.bidstream.dto.response.UserSummaryResponse;
 import com.bidstream.model.entity.User;
+import com.bidstream.repository.KeysetCursor;
 import com.bidstream.repository.UserRepository;
+import com.bidstream.service.cache.UserCache;
+import com.bidstream.service.stats.PlatformStatistics;
+import com.bidstream.service.user.UserExporter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -19,6 +28,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation
+    .StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -47,31 +58,97 @@ public class UserController {
   /** Minimum password length constant. */
   private static final int MIN_PASSWORD_LENGTH = 6;
 
+  /** Default number of users per page. */
+  private static final String DEFAULT_PAGE_SIZE = "20";
+
+  /** Maximum number of users per page. */
+  private static final int MAX_PAGE_SIZE = 100;
+
+  /** Media type of the user export. */
+  private static final MediaType NDJSON =
+      MediaType.parseMediaType("application/x-ndjson");
+
   /** Repository for user data operations. */
   @Autowired
   private UserRepository userRepository;
 
+  /** Cached user profiles. */
+  @Autowired
+  private UserCache userCache;
+
+  /** Running user counts. */
+  @Autowired
+  private PlatformStatistics platformStatistics;
+
+  /** Streams the user export. */
+  @Autowired
+  private UserExporter userExporter;
+
   /** Password encoder for securing user credentials. */
   @Autowired
   private PasswordEncoder passwordEncoder;
 
   /**
-   * Retrieves all registered users.
+   * Lists registered users in registration order.
+   * Pages are keyset-paginated: pass a response's {@code nextCursor} back
+   * as {@code cursor} to get the following page. Only summary columns are
+   * read, so credentials are never loaded.
    *
-   * @return ResponseEntity containing list of all users
+   * @param cursor the cursor of the page to return, or null
+   * @param size   the page size
+   * @return one page of users
    */
   @GetMapping
   @Operation(summary = "Get all users",
-      description = "Retrieve a list of all registered users")
+      description = "Retrieve one page of registered users")
   @ApiResponse(responseCode = "200",
       description = "Successfully retrieved users")
-  public final ResponseEntity<List<User>> getAllUsers() {
-    List<User> users = userRepository.findAll();
-    return ResponseEntity.ok(users);
+  @ApiResponse(responseCode = "400",
+      description = "Invalid cursor")
+  public final ResponseEntity<CursorPageResponse<UserSummaryResponse>>
+      getAllUsers(
+          @Parameter(description = "Cursor from the previous page")
+          @RequestParam(required = false) final String cursor,
+          @Parameter(description = "Page size")
+          @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) final int size) {
+    KeysetCursor after = cursor == null || cursor.isBlank()
+        ? null
+        : KeysetCursor.decode(cursor);
+    Slice<UserSummaryResponse> slice = userRepository.findSummaries(
+        after == null ? KeysetCursor.MIN_TIME : after.time(),
+        after == null ? KeysetCursor.MIN_ID : after.id(),
+        PageRequest.ofSize(Math.clamp(size, 1, MAX_PAGE_SIZE)));
+
+    List<UserSummaryResponse> users = slice.getContent();
+    String next = null;
+    if (slice.hasNext() && !users.isEmpty()) {
+      UserSummaryResponse last = users.get(users.size() - 1);
+      next = KeysetCursor.of(last.getCreatedAt(), last.getId()).encode();
+    }
+    return ResponseEntity.ok(new CursorPageResponse<>(users, next));
   }
 
   /**
-   * Retrieves a specific user by their unique identifier.
+   * Exports every registered user as newline-delimited JSON.
+   * Rows are streamed from a database cursor as they are read, so the
+   * export runs in constant memory however many users there are.
+   *
+   * @return the streamed export
+   */
+  @GetMapping("/export")
+  @Operation(summary = "Export users",
+      description = "Stream every registered user as newline-delimited JSON")
+  @ApiResponse(responseCode = "200",
+      description = "Export streamed")
+  public final ResponseEntity<StreamingResponseBody> exportUsers() {
+    return ResponseEntity.ok()
+        .contentType(NDJSON)
+        .body(userExporter::export);
+  }
+
+  /**
+   * Retrieves a specific user by their unique identifier, from the user
+   * cache.
    *
    * @param id the UUID of the user to retrieve
    * @return ResponseEntity containing the user if found
@@ -83,10 +160,10 @@ public class UserController {
       description = "User found")
   @ApiResponse(responseCode = "404",
       description = "User not found")
-  public final ResponseEntity<User> getUserById(
+  public final ResponseEntity<UserSummaryResponse> getUserById(
       @Parameter(description = "User UUID") @PathVariable final UUID id) {
-    Optional<User> user = userRepository.findById(id);
-    return user.map(ResponseEntity::ok)
+    return userCache.get(id)
+        .map(user -> ResponseEntity.ok(UserSummaryResponse.from(user)))
         .orElseGet(() -> ResponseEntity.notFound().build());
   }
 
@@ -162,8 +239,8 @@ public class UserController {
       description = "Statistics retrieved successfully")
   public final ResponseEntity<Map<String, Object>> getUserStats() {
     Map<String, Object> stats = new HashMap<>();
-    stats.put("totalUsers", userRepository.countTotalUsers());
-    stats.put("verifiedUsers", userRepository.countVerifiedUsers());
+    stats.put("totalUsers", platformStatistics.countUsers());
+    stats.put("verifiedUsers", platformStatistics.countVerifiedUsers());
     stats.put("timestamp", LocalDateTime.now());
 
     return ResponseEntity.ok(stats);
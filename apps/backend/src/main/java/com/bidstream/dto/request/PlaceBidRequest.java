@@ -0,0 +1,83 @@
+package com.bidstream.dto.request;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Request DTO for placing a bid on an auction.
+ */
+public class PlaceBidRequest {
+
+  /** Minimum price value for validation. */
+  private static final String MIN_PRICE_VALUE = "0.01";
+
+  /** Maximum integer digits matching the entity price precision. */
+  private static final int MAX_INTEGER_DIGITS = 17;
+
+  /** Maximum fraction digits matching the entity price scale. */
+  private static final int MAX_FRACTION_DIGITS = 2;
+
+  /**
+   * User placing the bid. Required field.
+   */
+  @NotNull(message = "Bidder is required")
+  private UUID bidderId;
+
+  /**
+   * Bid amount. Required field with minimum value and precision validation.
+   */
+  @NotNull(message = "Bid amount is required")
+  @DecimalMin(value = MIN_PRICE_VALUE,
+      message = "Bid amount must be at least $0.01")
+  @Digits(integer = MAX_INTEGER_DIGITS, fraction = MAX_FRACTION_DIGITS,
+      message = "Bid amount must have at most two decimal places")
+  private BigDecimal amount;
+
+  /**
+   * Default constructor.
+   */
+  public PlaceBidRequest() {
+  }
+
+  // Getters and Setters
+
+  /**
+   * Gets the bidder id.
+   *
+   * @return the bidder id
+   */
+  public UUID getBidderId() {
+    return bidderId;
+  }
+
+  /**
+   * Sets the bidder id.
+   *
+   * @param newBidderId the bidder id to set
+   */
+  public void setBidderId(final UUID newBidderId) {
+    this.bidderId = newBidderId;
+  }
+
+  /**
+   * Gets the bid amount.
+   *
+   * @return the bid amount
+   */
+  public BigDecimal getAmount() {
+    return amount;
+  }
+
+  /**
+   * Sets the bid amount.
+   *
+   * @param newAmount the bid amount to set
+   */
+  public void setAmount(final BigDecimal newAmount) {
+    this.amount = newAmount;
+  }
+}
@@ -0,0 +1,86 @@
+package com.bidstream.dto.request;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Request DTO for registering or raising a proxy bid on an auction.
+ * The maximum stays hidden; the engine only ever bids as much of it as
+ * is needed to lead.
+ */
+public class PlaceProxyBidRequest {
+
+  /** Minimum price value for validation. */
+  private static final String MIN_PRICE_VALUE = "0.01";
+
+  /** Maximum integer digits matching the entity price precision. */
+  private static final int MAX_INTEGER_DIGITS = 17;
+
+  /** Maximum fraction digits matching the entity price scale. */
+  private static final int MAX_FRACTION_DIGITS = 2;
+
+  /**
+   * User placing the bid. Required field.
+   */
+  @NotNull(message = "Bidder is required")
+  private UUID bidderId;
+
+  /**
+   * Maximum the proxy may bid. Required field with minimum value and
+   * precision validation.
+   */
+  @NotNull(message = "Maximum bid is required")
+  @DecimalMin(value = MIN_PRICE_VALUE,
+      message = "Maximum bid must be at least $0.01")
+  @Digits(integer = MAX_INTEGER_DIGITS, fraction = MAX_FRACTION_DIGITS,
+      message = "Maximum bid must have at most two decimal places")
+  private BigDecimal maxAmount;
+
+  /**
+   * Default constructor.
+   */
+  public PlaceProxyBidRequest() {
+  }
+
+  // Getters and Setters
+
+  /**
+   * Gets the bidder id.
+   *
+   * @return the bidder id
+   */
+  public UUID getBidderId() {
+    return bidderId;
+  }
+
+  /**
+   * Sets the bidder id.
+   *
+   * @param newBidderId the bidder id to set
+   */
+  public void setBidderId(final UUID newBidderId) {
+    this.bidderId = newBidderId;
+  }
+
+  /**
+   * Gets the maximum bid.
+   *
+   * @return the maximum bid
+   */
+  public BigDecimal getMaxAmount() {
+    return maxAmount;
+  }
+
+  /**
+   * Sets the maximum bid.
+   *
+   * @param newMaxAmount the maximum bid to set
+   */
+  public void setMaxAmount(final BigDecimal newMaxAmount) {
+    this.maxAmount = newMaxAmount;
+  }
+}
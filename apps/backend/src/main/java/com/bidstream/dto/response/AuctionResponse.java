@@ -1,7 +1,333 @@
 package com.bidstream.dto.response;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.bidstream.model.entity.Auction;
+import com.bidstream.model.entity.AuctionStatus;
+import com.bidstream.model.entity.User;
+
 /**
- * AuctionResponse DTO.
+ * Response DTO of an auction's detail page.
+ *
+ * <p>
+ * Built from an auction loaded with its seller and highest bidder, so
+ * nothing is lazily loaded while it is copied. The reserve price itself
+ * is never exposed, only whether it has been met.
+ * </p>
  */
-public class AuctionResponse {
+public final class AuctionResponse {
+
+  /** Auction id. */
+  private final UUID id;
+
+  /** Auction title. */
+  private final String title;
+
+  /** Auction description. */
+  private final String description;
+
+  /** Auction category. */
+  private final String category;
+
+  /** Item condition. */
+  private final String condition;
+
+  /** Item location. */
+  private final String location;
+
+  /** Starting price. */
+  private final BigDecimal startingPrice;
+
+  /** Current price, or the starting price before the first bid. */
+  private final BigDecimal currentPrice;
+
+  /** Buy-now price, or null if the auction has none. */
+  private final BigDecimal buyNowPrice;
+
+  /** Whether the reserve price has been met. */
+  private final Boolean reserveMet;
+
+  /** Number of bids placed. */
+  private final Integer bidCount;
+
+  /** Number of views, as of the last counter flush. */
+  private final Integer viewCount;
+
+  /** Number of watchers, as of the last counter flush. */
+  private final Integer watchCount;
+
+  /** Auction status. */
+  private final AuctionStatus status;
+
+  /** Whether the auction is featured. */
+  private final Boolean featured;
+
+  /** When bidding starts. */
+  private final LocalDateTime startTime;
+
+  /** When bidding ends. */
+  private final LocalDateTime endTime;
+
+  /** Seller id. */
+  private final UUID sellerId;
+
+  /** Seller username. */
+  private final String sellerUsername;
+
+  /** Highest bidder id, or null before the first bid. */
+  private final UUID highestBidderId;
+
+  /** Highest bidder username, or null before the first bid. */
+  private final String highestBidderUsername;
+
+  /** When the auction was created. */
+  private final LocalDateTime createdAt;
+
+  /**
+   * Creates the detail of an auction.
+   *
+   * @param auction the auction, with its seller and highest bidder loaded
+   */
+  private AuctionResponse(final Auction auction) {
+    User seller = auction.getSeller();
+    User highestBidder = auction.getHighestBidder();
+    this.id = auction.getId();
+    this.title = auction.getTitle();
+    this.description = auction.getDescription();
+    this.category = auction.getCategory();
+    this.condition = auction.getCondition();
+    this.location = auction.getLocation();
+    this.startingPrice = auction.getStartingPrice();
+    this.currentPrice = auction.getCurrentPrice() != null
+        ? auction.getCurrentPrice()
+        : auction.getStartingPrice();
+    this.buyNowPrice = auction.getBuyNowPrice();
+    this.reserveMet = auction.isReserveMet();
+    this.bidCount = auction.getBidCount();
+    this.viewCount = auction.getViewCount();
+    this.watchCount = auction.getWatchCount();
+    this.status = auction.getStatus();
+    this.featured = auction.isFeatured();
+    this.startTime = auction.getStartTime();
+    this.endTime = auction.getEndTime();
+    this.sellerId = seller.getId();
+    this.sellerUsername = seller.getUsername();
+    this.highestBidderId = highestBidder != null
+        ? highestBidder.getId()
+        : null;
+    this.highestBidderUsername = highestBidder != null
+        ? highestBidder.getUsername()
+        : null;
+    this.createdAt = auction.getCreatedAt();
+  }
+
+  /**
+   * Converts an auction into its detail representation.
+   *
+   * @param auction the auction, with its seller and highest bidder loaded
+   * @return the response DTO
+   */
+  public static AuctionResponse from(final Auction auction) {
+    return new AuctionResponse(auction);
+  }
+
+  /**
+   * Gets the auction id.
+   *
+   * @return the id
+   */
+  public UUID getId() {
+    return id;
+  }
+
+  /**
+   * Gets the title.
+   *
+   * @return the title
+   */
+  public String getTitle() {
+    return title;
+  }
+
+  /**
+   * Gets the description.
+   *
+   * @return the description
+   */
+  public String getDescription() {
+    return description;
+  }
+
+  /**
+   * Gets the category.
+   *
+   * @return the category
+   */
+  public String getCategory() {
+    return category;
+  }
+
+  /**
+   * Gets the item condition.
+   *
+   * @return the condition
+   */
+  public String getCondition() {
+    return condition;
+  }
+
+  /**
+   * Gets the item location.
+   *
+   * @return the location
+   */
+  public String getLocation() {
+    return location;
+  }
+
+  /**
+   * Gets the starting price.
+   *
+   * @return the starting price
+   */
+  public BigDecimal getStartingPrice() {
+    return startingPrice;
+  }
+
+  /**
+   * Gets the current price.
+   *
+   * @return the current price
+   */
+  public BigDecimal getCurrentPrice() {
+    return currentPrice;
+  }
+
+  /**
+   * Gets the buy-now price.
+   *
+   * @return the buy-now price, or null
+   */
+  public BigDecimal getBuyNowPrice() {
+    return buyNowPrice;
+  }
+
+  /**
+   * Gets whether the reserve price has been met.
+   *
+   * @return true if met
+   */
+  public Boolean getReserveMet() {
+    return reserveMet;
+  }
+
+  /**
+   * Gets the bid count.
+   *
+   * @return the bid count
+   */
+  public Integer getBidCount() {
+    return bidCount;
+  }
+
+  /**
+   * Gets the view count.
+   *
+   * @return the view count
+   */
+  public Integer getViewCount() {
+    return viewCount;
+  }
+
+  /**
+   * Gets the watcher count.
+   *
+   * @return the watcher count
+   */
+  public Integer getWatchCount() {
+    return watchCount;
+  }
+
+  /**
+   * Gets the status.
+   *
+   * @return the status
+   */
+  public AuctionStatus getStatus() {
+    return status;
+  }
+
+  /**
+   * Gets whether the auction is featured.
+   *
+   * @return true if featured
+   */
+  public Boolean getFeatured() {
+    return featured;
+  }
+
+  /**
+   * Gets the start time.
+   *
+   * @return when bidding starts
+   */
+  public LocalDateTime getStartTime() {
+    return startTime;
+  }
+
+  /**
+   * Gets the end time.
+   *
+   * @return when bidding ends
+   */
+  public LocalDateTime getEndTime() {
+    return endTime;
+  }
+
+  /**
+   * Gets the seller id.
+   *
+   * @return the seller id
+   */
+  public UUID getSellerId() {
+    return sellerId;
+  }
+
+  /**
+   * Gets the seller username.
+   *
+   * @return the seller username
+   */
+  public String getSellerUsername() {
+    return sellerUsername;
+  }
+
+  /**
+   * Gets the highest bidder id.
+   *
+   * @return the highest bidder id, or null
+   */
+  public UUID getHighestBidderId() {
+    return highestBidderId;
+  }
+
+  /**
+   * Gets the highest bidder username.
+   *
+   * @return the highest bidder username, or null
+   */
+  public String getHighestBidderUsername() {
+    return highestBidderUsername;
+  }
+
+  /**
+   * Gets the creation time.
+   *
+   * @return when the auction was created
+   */
+  public LocalDateTime getCreatedAt() {
+    return createdAt;
+  }
 }
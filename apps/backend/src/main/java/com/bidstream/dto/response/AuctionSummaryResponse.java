@@ -0,0 +1,151 @@
+package com.bidstream.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.bidstream.model.entity.AuctionStatus;
+import com.bidstream.model.money.Money;
+import com.bidstream.model.time.AuctionClock;
+import com.bidstream.repository.AuctionListView;
+import com.bidstream.service.cache.CachedAuction;
+
+/**
+ * Response DTO summarizing an auction in listings.
+ */
+public final class AuctionSummaryResponse {
+
+  /** Auction id. */
+  private final UUID id;
+
+  /** Auction title. */
+  private final String title;
+
+  /** Auction category. */
+  private final String category;
+
+  /** Current price, or the starting price before the first bid. */
+  private final BigDecimal currentPrice;
+
+  /** Number of bids placed. */
+  private final Integer bidCount;
+
+  /** Auction status. */
+  private final AuctionStatus status;
+
+  /** When bidding ends. */
+  private final LocalDateTime endTime;
+
+  /**
+   * Creates a summary of a listing row.
+   *
+   * @param auction the listing row
+   */
+  private AuctionSummaryResponse(final AuctionListView auction) {
+    this.id = auction.id();
+    this.title = auction.title();
+    this.category = auction.category();
+    this.currentPrice = auction.price();
+    this.bidCount = auction.bidCount();
+    this.status = auction.status();
+    this.endTime = auction.endTime();
+  }
+
+  /**
+   * Creates a summary of a cached auction.
+   *
+   * @param auction the cached auction
+   */
+  private AuctionSummaryResponse(final CachedAuction auction) {
+    this.id = auction.id();
+    this.title = auction.title();
+    this.category = auction.category();
+    this.currentPrice = Money.toDecimal(auction.priceCents());
+    this.bidCount = auction.bidCount();
+    this.status = auction.status();
+    this.endTime = AuctionClock.toLocalDateTime(auction.endTimeMs());
+  }
+
+  /**
+   * Converts a listing row into its summary representation.
+   *
+   * @param auction the listing row
+   * @return the response DTO
+   */
+  public static AuctionSummaryResponse from(final AuctionListView auction) {
+    return new AuctionSummaryResponse(auction);
+  }
+
+  /**
+   * Converts a cached auction into its summary representation.
+   *
+   * @param auction the cached auction
+   * @return the response DTO
+   */
+  public static AuctionSummaryResponse from(final CachedAuction auction) {
+    return new AuctionSummaryResponse(auction);
+  }
+
+  /**
+   * Gets the auction id.
+   *
+   * @return the id
+   */
+  public UUID getId() {
+    return id;
+  }
+
+  /**
+   * Gets the title.
+   *
+   * @return the title
+   */
+  public String getTitle() {
+    return title;
+  }
+
+  /**
+   * Gets the category.
+   *
+   * @return the category
+   */
+  public String getCategory() {
+    return category;
+  }
+
+  /**
+   * Gets the current price.
+   *
+   * @return the current price
+   */
+  public BigDecimal getCurrentPrice() {
+    return currentPrice;
+  }
+
+  /**
+   * Gets the bid count.
+   *
+   * @return the bid count
+   */
+  public Integer getBidCount() {
+    return bidCount;
+  }
+
+  /**
+   * Gets the status.
+   *
+   * @return the status
+   */
+  public AuctionStatus getStatus() {
+    return status;
+  }
+
+  /**
+   * Gets the end time.
+   *
+   * @return when bidding ends
+   */
+  public LocalDateTime getEndTime() {
+    return endTime;
+  }
+}
@@ -0,0 +1,125 @@
+package com.bidstream.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.bidstream.model.entity.AuctionStatus;
+import com.bidstream.model.money.Money;
+import com.bidstream.model.time.AuctionClock;
+import com.bidstream.service.bidding.AcceptedBid;
+
+/**
+ * Live auction update pushed to WebSocket watchers of an auction.
+ */
+public final class AuctionUpdateMessage {
+
+  /** Auction the update is about. */
+  private final UUID auctionId;
+
+  /** Current highest bid. */
+  private final BigDecimal currentPrice;
+
+  /** Number of accepted bids. */
+  private final int bidCount;
+
+  /** Whether the reserve price is met. */
+  private final boolean reserveMet;
+
+  /** Current auction status. */
+  private final AuctionStatus status;
+
+  /** Current end time, including soft-close extensions. */
+  private final LocalDateTime endTime;
+
+  /** Whether the end time moved since the previous update. */
+  private final boolean extended;
+
+  /**
+   * Creates a message from an accepted bid.
+   *
+   * @param bid the accepted bid
+   */
+  private AuctionUpdateMessage(final AcceptedBid bid) {
+    this.auctionId = bid.auctionId();
+    this.currentPrice = Money.toDecimal(bid.amount());
+    this.bidCount = bid.bidCount();
+    this.reserveMet = bid.reserveMet();
+    this.status = bid.status();
+    this.endTime = AuctionClock.toLocalDateTime(bid.endTimeMs());
+    this.extended = bid.extended();
+  }
+
+  /**
+   * Converts an accepted bid into an update message.
+   *
+   * @param bid the accepted bid
+   * @return the message
+   */
+  public static AuctionUpdateMessage from(final AcceptedBid bid) {
+    return new AuctionUpdateMessage(bid);
+  }
+
+  /**
+   * Gets the auction id.
+   *
+   * @return the auction id
+   */
+  public UUID getAuctionId() {
+    return auctionId;
+  }
+
+  /**
+   * Gets the current price.
+   *
+   * @return the current price
+   */
+  public BigDecimal getCurrentPrice() {
+    return currentPrice;
+  }
+
+  /**
+   * Gets the bid count.
+   *
+   * @return the bid count
+   */
+  public int getBidCount() {
+    return bidCount;
+  }
+
+  /**
+   * Checks whether the reserve is met.
+   *
+   * @return true if the reserve is met
+   */
+  public boolean isReserveMet() {
+    return reserveMet;
+  }
+
+  /**
+   * Gets the auction status.
+   *
+   * @return the status
+   */
+  public AuctionStatus getStatus() {
+    return status;
+  }
+
+  /**
+   * Gets the end time.
+   *
+   * @return the end time
+   */
+  public LocalDateTime getEndTime() {
+    return endTime;
+  }
+
+  /**
+   * Checks whether the end time was extended.
+   *
+   * @return true if soft close moved the end time
+   */
+  public boolean isExtended() {
+    return extended;
+  }
+}
@@ -0,0 +1,138 @@
+package com.bidstream.dto.response;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.bidstream.model.entity.AuctionStatus;
+import com.bidstream.model.money.Money;
+import com.bidstream.model.time.AuctionClock;
+import com.bidstream.service.bidding.AcceptedBid;
+
+/**
+ * Response DTO confirming an accepted bid.
+ */
+public final class BidResponse {
+
+  /** Auction the bid was placed on. */
+  private final UUID auctionId;
+
+  /** User holding the highest bid, possibly through a proxy. */
+  private final UUID bidderId;
+
+  /** Accepted amount, now the auction's current price. */
+  private final BigDecimal amount;
+
+  /** Auction bid count including this bid. */
+  private final int bidCount;
+
+  /** Whether the reserve price is met after this bid. */
+  private final boolean reserveMet;
+
+  /** Auction status after this bid. */
+  private final AuctionStatus auctionStatus;
+
+  /** Auction end time after this bid, including soft-close extensions. */
+  private final LocalDateTime auctionEndTime;
+
+  /** When the bid was accepted. */
+  private final LocalDateTime acceptedAt;
+
+  /**
+   * Creates a response from an accepted bid.
+   *
+   * @param bid the accepted bid
+   */
+  private BidResponse(final AcceptedBid bid) {
+    this.auctionId = bid.auctionId();
+    this.bidderId = bid.bidderId();
+    this.amount = Money.toDecimal(bid.amount());
+    this.bidCount = bid.bidCount();
+    this.reserveMet = bid.reserveMet();
+    this.auctionStatus = bid.status();
+    this.auctionEndTime = AuctionClock.toLocalDateTime(bid.endTimeMs());
+    this.acceptedAt = AuctionClock.toLocalDateTime(bid.acceptedAtMs());
+  }
+
+  /**
+   * Converts an accepted bid into its response representation.
+   *
+   * @param bid the accepted bid
+   * @return the response DTO
+   */
+  public static BidResponse from(final AcceptedBid bid) {
+    return new BidResponse(bid);
+  }
+
+  /**
+   * Gets the auction id.
+   *
+   * @return the auction id
+   */
+  public UUID getAuctionId() {
+    return auctionId;
+  }
+
+  /**
+   * Gets the bidder id.
+   *
+   * @return the bidder id
+   */
+  public UUID getBidderId() {
+    return bidderId;
+  }
+
+  /**
+   * Gets the accepted amount.
+   *
+   * @return the amount
+   */
+  public BigDecimal getAmount() {
+    return amount;
+  }
+
+  /**
+   * Gets the auction bid count.
+   *
+   * @return the bid count
+   */
+  public int getBidCount() {
+    return bidCount;
+  }
+
+  /**
+   * Checks whether the reserve is met.
+   *
+   * @return true if the reserve is met
+   */
+  public boolean isReserveMet() {
+    return reserveMet;
+  }
+
+  /**
+   * Gets the auction status after the bid.
+   *
+   * @return the auction status
+   */
+  public AuctionStatus getAuctionStatus() {
+    return auctionStatus;
+  }
+
+  /**
+   * Gets the auction end time after the bid.
+   *
+   * @return the auction end time
+   */
+  public LocalDateTime getAuctionEndTime() {
+    return auctionEndTime;
+  }
+
+  /**
+   * Gets the acceptance timestamp.
+   *
+   * @return when the bid was accepted
+   */
+  public LocalDateTime getAcceptedAt() {
+    return acceptedAt;
+  }
+}
@@ -0,0 +1,47 @@
+package com.bidstream.dto.response;
+
+import java.util.List;
+
+/**
+ * Response DTO for one page of a keyset-paginated listing.
+ *
+ * @param <T> the item type
+ */
+public final class CursorPageResponse<T> {
+
+  /** Items of this page. */
+  private final List<T> items;
+
+  /** Token requesting the next page, or null on the last page. */
+  private final String nextCursor;
+
+  /**
+   * Creates a page.
+   *
+   * @param newItems      the items
+   * @param newNextCursor the next page token, or null
+   */
+  public CursorPageResponse(final List<T> newItems,
+      final String newNextCursor) {
+    this.items = newItems;
+    this.nextCursor = newNextCursor;
+  }
+
+  /**
+   * Gets the items of this page.
+   *
+   * @return the items
+   */
+  public List<T> getItems() {
+    return items;
+  }
+
+  /**
+   * Gets the token of the next page.
+   *
+   * @return the token, or null if this is the last page
+   */
+  public String getNextCursor() {
+    return nextCursor;
+  }
+}
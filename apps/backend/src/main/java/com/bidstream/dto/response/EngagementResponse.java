@@ -0,0 +1,53 @@
+package com.bidstream.dto.response;
+
+import com.bidstream.service.engagement.EngagementCounts;
+
+/**
+ * Response DTO for the view and watch counts of an auction.
+ */
+public final class EngagementResponse {
+
+  /** Number of views. */
+  private final long viewCount;
+
+  /** Number of watchers. */
+  private final long watchCount;
+
+  /**
+   * Creates a response from counts.
+   *
+   * @param counts the counts
+   */
+  private EngagementResponse(final EngagementCounts counts) {
+    this.viewCount = counts.views();
+    this.watchCount = counts.watches();
+  }
+
+  /**
+   * Converts counts into their response representation.
+   *
+   * @param counts the counts
+   * @return the response DTO
+   */
+  public static EngagementResponse from(final EngagementCounts counts) {
+    return new EngagementResponse(counts);
+  }
+
+  /**
+   * Gets the number of views.
+   *
+   * @return the view count
+   */
+  public long getViewCount() {
+    return viewCount;
+  }
+
+  /**
+   * Gets the number of watchers.
+   *
+   * @return the watch count
+   */
+  public long getWatchCount() {
+    return watchCount;
+  }
+}
@@ -0,0 +1,53 @@
+package com.bidstream.dto.response;
+
+import com.bidstream.service.ranking.LeaderboardEntry;
+
+/**
+ * Response DTO for an auction's place on the popularity leaderboard.
+ */
+public final class PopularityRankResponse {
+
+  /** One-based rank; 1 is the most popular. */
+  private final int rank;
+
+  /** Popularity score the auction is ranked by. */
+  private final long score;
+
+  /**
+   * Creates a response from a leaderboard entry.
+   *
+   * @param entry the entry
+   */
+  private PopularityRankResponse(final LeaderboardEntry entry) {
+    this.rank = entry.rank() + 1;
+    this.score = entry.score();
+  }
+
+  /**
+   * Converts a leaderboard entry into its response representation.
+   *
+   * @param entry the entry
+   * @return the response DTO
+   */
+  public static PopularityRankResponse from(final LeaderboardEntry entry) {
+    return new PopularityRankResponse(entry);
+  }
+
+  /**
+   * Gets the rank.
+   *
+   * @return the one-based rank
+   */
+  public int getRank() {
+    return rank;
+  }
+
+  /**
+   * Gets the popularity score.
+   *
+   * @return the score
+   */
+  public long getScore() {
+    return score;
+  }
+}
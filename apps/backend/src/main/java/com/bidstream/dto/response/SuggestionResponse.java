@@ -0,0 +1,66 @@
+package com.bidstream.dto.response;
+
+import com.bidstream.service.search.Suggestion;
+
+/**
+ * Response DTO for one autocomplete suggestion.
+ */
+public final class SuggestionResponse {
+
+  /** Suggested title or category. */
+  private final String text;
+
+  /** Whether the text is a title or a category. */
+  private final Suggestion.Kind kind;
+
+  /** Popularity the suggestion is ranked by. */
+  private final long score;
+
+  /**
+   * Creates a response from a suggestion.
+   *
+   * @param suggestion the suggestion
+   */
+  private SuggestionResponse(final Suggestion suggestion) {
+    this.text = suggestion.text();
+    this.kind = suggestion.kind();
+    this.score = suggestion.score();
+  }
+
+  /**
+   * Converts a suggestion into its response representation.
+   *
+   * @param suggestion the suggestion
+   * @return the response DTO
+   */
+  public static SuggestionResponse from(final Suggestion suggestion) {
+    return new SuggestionResponse(suggestion);
+  }
+
+  /**
+   * Gets the suggested text.
+   *
+   * @return the text
+   */
+  public String getText() {
+    return text;
+  }
+
+  /**
+   * Gets the kind of suggestion.
+   *
+   * @return the kind
+   */
+  public Suggestion.Kind getKind() {
+    return kind;
+  }
+
+  /**
+   * Gets the popularity score.
+   *
+   * @return the score
+   */
+  public long getScore() {
+    return score;
+  }
+}
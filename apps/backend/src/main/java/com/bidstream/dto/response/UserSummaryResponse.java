@@ -0,0 +1,134 @@
+package com.bidstream.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.bidstream.service.cache.CachedUser;
+
+/**
+ * Response DTO summarizing a user in listings.
+ * Built directly by the repository query, so listings never load the
+ * {@code User} entity or its credentials.
+ */
+public final class UserSummaryResponse {
+
+  /** User id. */
+  private final UUID id;
+
+  /** Unique username. */
+  private final String username;
+
+  /** Email address. */
+  private final String email;
+
+  /** First name. */
+  private final String firstName;
+
+  /** Last name. */
+  private final String lastName;
+
+  /** Whether the email address is verified. */
+  private final Boolean emailVerified;
+
+  /** When the user registered. */
+  private final LocalDateTime createdAt;
+
+  /**
+   * Creates a summary; used as a JPQL constructor expression.
+   *
+   * @param newId            the user id
+   * @param newUsername      the username
+   * @param newEmail         the email address
+   * @param newFirstName     the first name
+   * @param newLastName      the last name
+   * @param newEmailVerified whether the email is verified
+   * @param newCreatedAt     the registration time
+   */
+  public UserSummaryResponse(final UUID newId, final String newUsername,
+      final String newEmail, final String newFirstName,
+      final String newLastName, final Boolean newEmailVerified,
+      final LocalDateTime newCreatedAt) {
+    this.id = newId;
+    this.username = newUsername;
+    this.email = newEmail;
+    this.firstName = newFirstName;
+    this.lastName = newLastName;
+    this.emailVerified = newEmailVerified;
+    this.createdAt = newCreatedAt;
+  }
+
+  /**
+   * Converts a cached user into its summary representation.
+   *
+   * @param user the cached user
+   * @return the response DTO
+   */
+  public static UserSummaryResponse from(final CachedUser user) {
+    return new UserSummaryResponse(user.id(), user.username(), user.email(),
+        user.firstName(), user.lastName(), user.emailVerified(),
+        user.createdAt());
+  }
+
+  /**
+   * Gets the user id.
+   *
+   * @return the id
+   */
+  public UUID getId() {
+    return id;
+  }
+
+  /**
+   * Gets the username.
+   *
+   * @return the username
+   */
+  public String getUsername() {
+    return username;
+  }
+
+  /**
+   * Gets the email address.
+   *
+   * @return the email address
+   */
+  public String getEmail() {
+    return email;
+  }
+
+  /**
+   * Gets the first name.
+   *
+   * @return the first name
+   */
+  public String getFirstName() {
+    return firstName;
+  }
+
+  /**
+   * Gets the last name.
+   *
+   * @return the last name
+   */
+  public String getLastName() {
+    return lastName;
+  }
+
+  /**
+   * Gets whether the email address is verified.
+   *
+   * @return true if verified
+   */
+  public Boolean getEmailVerified() {
+    return emailVerified;
+  }
+
+  /**
+   * Gets the registration time.
+   *
+   * @return when the user registered
+   */
+  public LocalDateTime getCreatedAt() {
+    return createdAt;
+  }
+}
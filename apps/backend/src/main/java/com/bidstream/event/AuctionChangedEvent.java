@@ -0,0 +1,32 @@
+package com.bidstream.event;
+
+import com.bidstream.model.entity.Auction;
+
+/**
+ * Published whenever an auction entity is inserted, updated or deleted
+ * through JPA. Bulk JPQL updates do not raise it.
+ *
+ * <p>
+ * The auction is the managed instance at the time of the change. Listeners
+ * should only read its basic attributes and must not modify it.
+ * </p>
+ *
+ * @param auction the changed auction
+ * @param type    the kind of change
+ */
+public record AuctionChangedEvent(Auction auction, ChangeType type) {
+
+  /**
+   * Kind of entity change.
+   */
+  public enum ChangeType {
+    /** The auction was inserted. */
+    CREATED,
+
+    /** The auction was updated. */
+    UPDATED,
+
+    /** The auction was deleted. */
+    DELETED
+  }
+}
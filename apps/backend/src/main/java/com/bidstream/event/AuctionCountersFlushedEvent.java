@@ -0,0 +1,14 @@
+package com.bidstream.event;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Published after buffered view and watch increments were written. The
+ * counters live in their own table, so these writes neither raise an
+ * {@link AuctionChangedEvent} nor move the auction's {@code updated_at}.
+ *
+ * @param auctionIds the auctions whose counters changed
+ */
+public record AuctionCountersFlushedEvent(List<UUID> auctionIds) {
+}
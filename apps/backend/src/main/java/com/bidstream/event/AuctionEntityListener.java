@@ -0,0 +1,63 @@
+package com.bidstream.event;
+
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.bidstream.event.AuctionChangedEvent.ChangeType;
+import com.bidstream.model.entity.Auction;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA entity listener that republishes auction changes as
+ * {@link AuctionChangedEvent}s. Instantiated by Hibernate through Spring's
+ * bean container, so its dependencies are injected.
+ */
+public class AuctionEntityListener {
+
+  /** Publisher of application events. */
+  private final ApplicationEventPublisher publisher;
+
+  /**
+   * Creates the listener.
+   *
+   * @param newPublisher the event publisher
+   */
+  public AuctionEntityListener(final ApplicationEventPublisher newPublisher) {
+    this.publisher = newPublisher;
+  }
+
+  /**
+   * Publishes an insert.
+   *
+   * @param auction the inserted auction
+   */
+  @PostPersist
+  public void onPersist(final Auction auction) {
+    publisher.publishEvent(new AuctionChangedEvent(auction,
+        ChangeType.CREATED));
+  }
+
+  /**
+   * Publishes an update.
+   *
+   * @param auction the updated auction
+   */
+  @PostUpdate
+  public void onUpdate(final Auction auction) {
+    publisher.publishEvent(new AuctionChangedEvent(auction,
+        ChangeType.UPDATED));
+  }
+
+  /**
+   * Publishes a delete.
+   *
+   * @param auction the deleted auction
+   */
+  @PostRemove
+  public void onRemove(final Auction auction) {
+    publisher.publishEvent(new AuctionChangedEvent(auction,
+        ChangeType.DELETED));
+  }
+}
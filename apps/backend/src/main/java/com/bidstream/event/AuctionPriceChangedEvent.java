@@ -0,0 +1,16 @@
+package com.bidstream.event;
+
+import java.util.UUID;
+
+/**
+ * Published after an accepted bid was written to an auction. Bids are
+ * written by a bulk update, so they never raise an
+ * {@link AuctionChangedEvent}.
+ *
+ * @param auctionId  the auction
+ * @param priceCents the current price after the bid, in cents
+ * @param bidCount   the bid count after the bid
+ */
+public record AuctionPriceChangedEvent(UUID auctionId, long priceCents,
+    int bidCount) {
+}
@@ -0,0 +1,19 @@
+package com.bidstream.event;
+
+import java.util.UUID;
+
+import com.bidstream.model.entity.AuctionStatus;
+
+/**
+ * Published after a bulk update changed the status or end time of an
+ * auction. These updates bypass the entity, so they never raise an
+ * {@link AuctionChangedEvent}.
+ *
+ * @param auctionId the auction
+ * @param status    the auction status after the change
+ * @param endTimeMs the auction end time after the change, in epoch
+ *                  milliseconds
+ */
+public record AuctionStateChangedEvent(UUID auctionId, AuctionStatus status,
+    long endTimeMs) {
+}
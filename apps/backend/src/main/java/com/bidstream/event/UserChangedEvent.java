@@ -0,0 +1,11 @@
+package com.bidstream.event;
+
+import java.util.UUID;
+
+/**
+ * Published whenever a user is updated or deleted through JPA.
+ *
+ * @param userId the changed user
+ */
+public record UserChangedEvent(UUID userId) {
+}
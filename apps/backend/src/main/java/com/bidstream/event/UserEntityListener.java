@@ -0,0 +1,61 @@
+package com.bidstream.event;
+
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.bidstream.model.entity.User;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA entity listener that republishes user inserts as
+ * {@link UserRegisteredEvent}s and updates and deletes as
+ * {@link UserChangedEvent}s. Instantiated by Hibernate through Spring's
+ * bean container, so its dependencies are injected.
+ */
+public class UserEntityListener {
+
+  /** Publisher of application events. */
+  private final ApplicationEventPublisher publisher;
+
+  /**
+   * Creates the listener.
+   *
+   * @param newPublisher the event publisher
+   */
+  public UserEntityListener(final ApplicationEventPublisher newPublisher) {
+    this.publisher = newPublisher;
+  }
+
+  /**
+   * Publishes an insert.
+   *
+   * @param user the inserted user
+   */
+  @PostPersist
+  public void onPersist(final User user) {
+    publisher.publishEvent(new UserRegisteredEvent(user.getId(),
+        Boolean.TRUE.equals(user.isEmailVerified())));
+  }
+
+  /**
+   * Publishes an update.
+   *
+   * @param user the updated user
+   */
+  @PostUpdate
+  public void onUpdate(final User user) {
+    publisher.publishEvent(new UserChangedEvent(user.getId()));
+  }
+
+  /**
+   * Publishes a delete.
+   *
+   * @param user the deleted user
+   */
+  @PostRemove
+  public void onRemove(final User user) {
+    publisher.publishEvent(new UserChangedEvent(user.getId()));
+  }
+}
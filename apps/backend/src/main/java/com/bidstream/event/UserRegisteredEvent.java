@@ -0,0 +1,12 @@
+package com.bidstream.event;
+
+import java.util.UUID;
+
+/**
+ * Published whenever a user is inserted through JPA.
+ *
+ * @param userId        the new user
+ * @param emailVerified whether the user's email is already verified
+ */
+public record UserRegisteredEvent(UUID userId, boolean emailVerified) {
+}
@@ -0,0 +1,8 @@
+/**
+ * Package containing application events.
+ * Events are published through Spring's application event bus so that
+ * in-memory structures such as schedulers and indexes can follow changes
+ * to persisted entities without polling the database.
+ */
+
+package com.bidstream.event;
@@ -21,6 +21,9 @@ public class BiddingException extends BusinessException {
   /** Error code for duplicate bid. */
   public static final String DUPLICATE_BID = "DUPLICATE_BID";
 
+  /** Error code for an amount the engine cannot represent. */
+  public static final String AMOUNT_OUT_OF_RANGE = "AMOUNT_OUT_OF_RANGE";
+
   /**
    * Constructor with message only.
    *
@@ -4,8 +4,12 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+import com.bidstream.event.AuctionEntityListener;
+import com.bidstream.model.time.AuctionClock;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
@@ -14,15 +18,20 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PostLoad;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 
+import org.hibernate.annotations.Formula;
+
 /**
  * Auction entity representing individual auctions in the BidStream
  * platform. Contains auction details, timing information, pricing
@@ -30,6 +39,7 @@ import jakarta.validation.constraints.Size;
  */
 @Entity
 @Table(name = "auctions")
+@EntityListeners(AuctionEntityListener.class)
 public class Auction {
   /**
    * Maximum allowed length for auction title (200 characters).
@@ -85,6 +95,16 @@ public class Auction {
    */
   public static final int MAX_AUCTION_STATUS_LENGTH = 20;
 
+  /**
+   * Weight of one bid in the popularity score.
+   */
+  public static final int POPULARITY_BID_WEIGHT = 3;
+
+  /**
+   * Weight of one watcher in the popularity score.
+   */
+  public static final int POPULARITY_WATCH_WEIGHT = 2;
+
   /**
    * Unique identifier for the auction.
    * Automatically generated by JPA.
@@ -216,16 +236,22 @@ public class Auction {
 
   /**
    * Number of users watching this auction.
-   * Used for popularity tracking and notifications.
+   * Used for popularity tracking and notifications. Read from the
+   * {@code auction_counters} table and written only through the
+   * engagement counters, never by saving the entity.
    */
-  @Column(name = "watch_count")
+  @Formula("(SELECT c.watch_count FROM auction_counters c "
+      + "WHERE c.auction_id = id)")
   private Integer watchCount = 0;
 
   /**
    * Number of times this auction has been viewed.
-   * Used for analytics and trending calculations.
+   * Used for analytics and trending calculations. Read from the
+   * {@code auction_counters} table and written only through the
+   * engagement counters, never by saving the entity.
    */
-  @Column(name = "view_count")
+  @Formula("(SELECT c.view_count FROM auction_counters c "
+      + "WHERE c.auction_id = id)")
   private Integer viewCount = 0;
 
   /**
@@ -252,6 +278,20 @@ public class Auction {
   @NotNull(message = "Auction end time is required")
   private LocalDateTime endTime;
 
+  /**
+   * Start time in epoch milliseconds, mirrored from {@link #startTime} for
+   * allocation-free time checks.
+   */
+  @Transient
+  private long startMs;
+
+  /**
+   * End time in epoch milliseconds, mirrored from {@link #endTime} for
+   * allocation-free time checks.
+   */
+  @Transient
+  private long endMs;
+
   /**
    * Current status of the auction.
    * Controls auction behavior and bidding availability.
@@ -319,6 +359,17 @@ public class Auction {
   @Column(name = "updated_at")
   private LocalDateTime updatedAt;
 
+  /**
+   * Optimistic locking version.
+   * Incremented by every entity update and by every bulk bid or status
+   * update, so concurrent writers can detect lost updates.
+   *
+   * @see jakarta.persistence.Version
+   */
+  @Version
+  @Column(name = "version", nullable = false)
+  private Long version;
+
   /**
    * Default constructor.
    */
@@ -345,6 +396,7 @@ public class Auction {
     this.startTime = newStartTime;
     this.endTime = newEndTime;
     this.seller = newSeller;
+    mirrorTimes();
   }
 
   /**
@@ -378,16 +430,29 @@ public class Auction {
     this.updatedAt = LocalDateTime.now();
   }
 
+  /**
+   * JPA lifecycle callback that executes after the entity is loaded.
+   * Mirrors the start and end times as epoch milliseconds.
+   *
+   * @see jakarta.persistence.PostLoad
+   */
+  @PostLoad
+  protected void onLoad() {
+    mirrorTimes();
+  }
+
   /**
    * Checks if the auction is currently active for bidding.
+   * Reads the shared {@link AuctionClock} and compares epoch milliseconds,
+   * so the check neither allocates nor reads the system clock.
    *
    * @return true if auction is active and within time window
    */
   public boolean isActive() {
-    LocalDateTime now = LocalDateTime.now();
+    long now = AuctionClock.millis();
     return status == AuctionStatus.ACTIVE
-        && now.isAfter(startTime)
-        && now.isBefore(endTime);
+        && now > startMs
+        && now < endMs;
   }
 
   /**
@@ -396,7 +461,7 @@ public class Auction {
    * @return true if auction end time has passed
    */
   public boolean hasEnded() {
-    return LocalDateTime.now().isAfter(endTime);
+    return AuctionClock.millis() > endMs;
   }
 
   /**
@@ -408,18 +473,51 @@ public class Auction {
     return buyNowPrice != null && isActive();
   }
 
+  /**
+   * Gets the popularity score used to rank auctions: three points per
+   * bid, two per watcher and one per view.
+   *
+   * @return the popularity score
+   */
+  public long getPopularityScore() {
+    return popularityScore(bidCount, viewCount, watchCount);
+  }
+
+  /**
+   * Computes the popularity score from raw counters.
+   *
+   * @param bids    the bid count, null counts as zero
+   * @param views   the view count, null counts as zero
+   * @param watches the watch count, null counts as zero
+   * @return the popularity score
+   */
+  public static long popularityScore(final Integer bids, final Integer views,
+      final Integer watches) {
+    return (bids == null ? 0L : (long) bids) * POPULARITY_BID_WEIGHT
+        + (views == null ? 0L : (long) views)
+        + (watches == null ? 0L : (long) watches) * POPULARITY_WATCH_WEIGHT;
+  }
+
   /**
    * Gets the time remaining in the auction.
    *
    * @return duration until auction ends, or null if already ended
    */
   public java.time.Duration getTimeRemaining() {
-    LocalDateTime now = LocalDateTime.now();
-    if (now.isAfter(endTime)) {
+    long remaining = endMs - AuctionClock.millis();
+    if (remaining < 0) {
       return null;
     }
 
-    return java.time.Duration.between(now, endTime);
+    return java.time.Duration.ofMillis(remaining);
+  }
+
+  /**
+   * Recomputes the epoch millisecond mirrors of the start and end times.
+   */
+  private void mirrorTimes() {
+    this.startMs = startTime != null ? AuctionClock.toEpochMs(startTime) : 0L;
+    this.endMs = endTime != null ? AuctionClock.toEpochMs(endTime) : 0L;
   }
 
   // Getters and setters
@@ -631,7 +729,8 @@ public class Auction {
   }
 
   /**
-   * Sets the number of watchers.
+   * Sets the number of watchers. Not persisted; see
+   * {@code EngagementCounters}.
    *
    * @param newWatchCount the watch count to set
    */
@@ -649,7 +748,7 @@ public class Auction {
   }
 
   /**
-   * Sets the view count.
+   * Sets the view count. Not persisted; see {@code EngagementCounters}.
    *
    * @param newViewCount the view count to set
    */
@@ -673,6 +772,16 @@ public class Auction {
    */
   public void setStartTime(final LocalDateTime newStartTime) {
     this.startTime = newStartTime;
+    mirrorTimes();
+  }
+
+  /**
+   * Gets the auction start time in epoch milliseconds.
+   *
+   * @return the start time in epoch milliseconds
+   */
+  public long getStartMs() {
+    return startMs;
   }
 
   /**
@@ -691,6 +800,16 @@ public class Auction {
    */
   public void setEndTime(final LocalDateTime newEndTime) {
     this.endTime = newEndTime;
+    mirrorTimes();
+  }
+
+  /**
+   * Gets the auction end time in epoch milliseconds.
+   *
+   * @return the end time in epoch milliseconds
+   */
+  public long getEndMs() {
+    return endMs;
   }
 
   /**
@@ -801,6 +920,15 @@ public class Auction {
     return updatedAt;
   }
 
+  /**
+   * Gets the optimistic locking version.
+   *
+   * @return the version (null before the auction is first persisted)
+   */
+  public Long getVersion() {
+    return version;
+  }
+
   // Class overloads
   /**
    * Returns a string representation of the auction.
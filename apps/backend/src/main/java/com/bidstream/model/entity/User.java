@@ -1,7 +1,9 @@
 package com.bidstream.model.entity;
 
 import jakarta.persistence.Id;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Table;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -14,15 +16,37 @@ import jakarta.validation.constraints.Size;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.bidstream.event.UserEntityListener;
+
 /**
  * User entity representing users in the BidStream platform.
  * Contains user authentication details, personal information,
  * and account status information.
+ *
+ * <p>
+ * Held in the Hibernate second-level cache, so resolving the seller and
+ * highest bidder of a page of auctions reads memory instead of issuing a
+ * SELECT per user. Writes go through the cache under a soft lock. The
+ * region is named {@value #CACHE_REGION}, as Caffeine cannot configure a
+ * region whose name contains dots.
+ * </p>
  */
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE,
+    region = User.CACHE_REGION)
+@EntityListeners(UserEntityListener.class)
 public class User {
 
+  /**
+   * Second-level cache region of users, sized in {@code application.conf}.
+   */
+  public static final String CACHE_REGION = "users";
+
   /**
    * Minimum allowed length for username (3 characters).
    * Used in {@code @Size} validation for username field.
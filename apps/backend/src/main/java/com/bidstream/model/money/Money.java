@@ -0,0 +1,88 @@
+package com.bidstream.model.money;
+
+import java.math.BigDecimal;
+
+import com.bidstream.model.entity.Auction;
+
+/**
+ * Conversions and arithmetic for amounts held as {@code long} cents.
+ *
+ * <p>
+ * Comparing or adding two amounts is a primitive operation, so the bid
+ * engine validates and resolves bids without allocating. Every operation
+ * that could leave the {@code long} range throws instead of wrapping.
+ * </p>
+ */
+public final class Money {
+
+  /** Number of decimal places in the minor unit, as stored in Postgres. */
+  public static final int SCALE = Auction.PRICE_SCALE;
+
+  /** Marker for an absent optional amount, such as a missing reserve. */
+  public static final long NONE = Long.MIN_VALUE;
+
+  /**
+   * Prevents instantiation.
+   */
+  private Money() {
+  }
+
+  /**
+   * Converts an amount to cents.
+   *
+   * @param amount the amount, with at most {@link #SCALE} decimal places
+   * @return the amount in cents
+   * @throws ArithmeticException if the amount has finer precision than a
+   *                             cent or does not fit in a {@code long}
+   */
+  public static long toCents(final BigDecimal amount) {
+    long cents = amount.movePointRight(SCALE).longValueExact();
+    if (cents == NONE) {
+      throw new ArithmeticException("Amount out of range: " + amount);
+    }
+    return cents;
+  }
+
+  /**
+   * Converts an optional amount to cents.
+   *
+   * @param amount the amount, or null
+   * @return the amount in cents, or {@link #NONE} if null
+   * @throws ArithmeticException if the amount cannot be held in cents
+   */
+  public static long toCentsOrNone(final BigDecimal amount) {
+    return amount != null ? toCents(amount) : NONE;
+  }
+
+  /**
+   * Converts cents to an amount.
+   *
+   * @param cents the amount in cents
+   * @return the amount, with a scale of {@link #SCALE}
+   */
+  public static BigDecimal toDecimal(final long cents) {
+    return BigDecimal.valueOf(cents, SCALE);
+  }
+
+  /**
+   * Converts optional cents to an amount.
+   *
+   * @param cents the amount in cents, or {@link #NONE}
+   * @return the amount, or null if absent
+   */
+  public static BigDecimal toDecimalOrNull(final long cents) {
+    return cents != NONE ? toDecimal(cents) : null;
+  }
+
+  /**
+   * Adds two amounts.
+   *
+   * @param cents     the first amount in cents
+   * @param moreCents the second amount in cents
+   * @return the sum in cents
+   * @throws ArithmeticException if the sum overflows
+   */
+  public static long add(final long cents, final long moreCents) {
+    return Math.addExact(cents, moreCents);
+  }
+}
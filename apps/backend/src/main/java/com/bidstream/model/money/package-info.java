@@ -0,0 +1,8 @@
+/**
+ * Fixed-point money representation used on the bid hot path.
+ * Amounts are held as {@code long} counts of minor currency units (cents)
+ * and converted to {@link java.math.BigDecimal} only at the API and
+ * database boundary.
+ */
+
+package com.bidstream.model.money;
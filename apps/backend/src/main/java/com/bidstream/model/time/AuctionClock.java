@@ -0,0 +1,68 @@
+package com.bidstream.model.time;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Clock consulted by entities, which are not managed by Spring, and the
+ * conversions between auction times and epoch milliseconds.
+ *
+ * <p>
+ * Reads the system clock directly until the application installs its
+ * shared {@link EpochClock}. Tests install their own clock to drive
+ * auction time.
+ * </p>
+ */
+public final class AuctionClock {
+
+  /** Zone in which auction times are expressed. */
+  private static final ZoneId ZONE = ZoneId.systemDefault();
+
+  /** The installed clock. */
+  private static volatile EpochClock clock = System::currentTimeMillis;
+
+  /**
+   * Prevents instantiation.
+   */
+  private AuctionClock() {
+  }
+
+  /**
+   * Installs the clock.
+   *
+   * @param newClock the clock
+   */
+  public static void install(final EpochClock newClock) {
+    clock = newClock;
+  }
+
+  /**
+   * Gets the current time.
+   *
+   * @return the current time in epoch milliseconds
+   */
+  public static long millis() {
+    return clock.millis();
+  }
+
+  /**
+   * Converts an auction time to epoch milliseconds.
+   *
+   * @param time the local time
+   * @return the epoch milliseconds
+   */
+  public static long toEpochMs(final LocalDateTime time) {
+    return time.atZone(ZONE).toInstant().toEpochMilli();
+  }
+
+  /**
+   * Converts epoch milliseconds to an auction time.
+   *
+   * @param epochMs the epoch milliseconds
+   * @return the local time
+   */
+  public static LocalDateTime toLocalDateTime(final long epochMs) {
+    return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMs), ZONE);
+  }
+}
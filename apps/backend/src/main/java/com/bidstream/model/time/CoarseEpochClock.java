@@ -0,0 +1,69 @@
+package com.bidstream.model.time;
+
+/**
+ * Epoch clock that reads the system clock on a background thread and
+ * serves the cached value.
+ *
+ * <p>
+ * Reading the clock is a single volatile load, however many times a
+ * request or bid consults it. The value is refreshed every resolution
+ * period and never moves backwards, even if the system clock is stepped
+ * back.
+ * </p>
+ */
+public final class CoarseEpochClock implements EpochClock, AutoCloseable {
+
+  /** Cached time in epoch milliseconds. */
+  private volatile long now = System.currentTimeMillis();
+
+  /** Refresh period in milliseconds. */
+  private final long resolutionMs;
+
+  /** The refresh thread. */
+  private final Thread thread;
+
+  /** Whether the refresh thread keeps running. */
+  private volatile boolean running = true;
+
+  /**
+   * Creates the clock and starts its refresh thread.
+   *
+   * @param newResolutionMs the refresh period in milliseconds
+   */
+  public CoarseEpochClock(final long newResolutionMs) {
+    this.resolutionMs = Math.max(1L, newResolutionMs);
+    this.thread = new Thread(this::run, "epoch-clock");
+    this.thread.setDaemon(true);
+    this.thread.start();
+  }
+
+  @Override
+  public long millis() {
+    return now;
+  }
+
+  /**
+   * Stops the refresh thread. The clock keeps serving its last value.
+   */
+  @Override
+  public void close() {
+    running = false;
+    thread.interrupt();
+  }
+
+  /**
+   * Refresh loop.
+   */
+  private void run() {
+    while (running) {
+      now = Math.max(now, System.currentTimeMillis());
+
+      try {
+        Thread.sleep(resolutionMs);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+}
@@ -0,0 +1,20 @@
+package com.bidstream.model.time;
+
+/**
+ * Source of the current wall-clock time in epoch milliseconds.
+ *
+ * <p>
+ * Implementations must never move backwards. Tests can supply any lambda,
+ * for example one reading an {@code AtomicLong} they advance by hand.
+ * </p>
+ */
+@FunctionalInterface
+public interface EpochClock {
+
+  /**
+   * Gets the current time.
+   *
+   * @return the current time in epoch milliseconds
+   */
+  long millis();
+}
@@ -0,0 +1,8 @@
+/**
+ * Wall-clock time as seen by auctions and the bid engine.
+ * Time is read as epoch milliseconds from an injectable
+ * {@link com.bidstream.model.time.EpochClock}, so hot-path time checks are
+ * primitive comparisons and tests can drive time deterministically.
+ */
+
+package com.bidstream.model.time;
@@ -0,0 +1,46 @@
+package com.bidstream.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.bidstream.model.entity.AuctionStatus;
+
+/**
+ * The columns an auction listing needs, read by a JPQL constructor
+ * expression instead of loading the entity. Leaves out the description
+ * and every association, so a page is one narrow query however it is
+ * rendered.
+ *
+ * @param id            the auction id
+ * @param title         the title
+ * @param category      the category
+ * @param currentPrice  the current price, or null before the first bid
+ * @param startingPrice the starting price
+ * @param bidCount      the number of bids placed
+ * @param status        the status
+ * @param endTime       when bidding ends
+ * @param createdAt     when the auction was created
+ */
+public record AuctionListView(UUID id, String title, String category,
+    BigDecimal currentPrice, BigDecimal startingPrice, Integer bidCount,
+    AuctionStatus status, LocalDateTime endTime, LocalDateTime createdAt) {
+
+  /**
+   * Selects the view; append the {@code WHERE} clause. The entity alias
+   * is {@code a}.
+   */
+  public static final String SELECT =
+      "SELECT new com.bidstream.repository.AuctionListView(a.id, a.title, "
+          + "a.category, a.currentPrice, a.startingPrice, a.bidCount, "
+          + "a.status, a.endTime, a.createdAt) FROM Auction a ";
+
+  /**
+   * Gets the price shown in listings.
+   *
+   * @return the current price, or the starting price before the first bid
+   */
+  public BigDecimal price() {
+    return currentPrice != null ? currentPrice : startingPrice;
+  }
+}
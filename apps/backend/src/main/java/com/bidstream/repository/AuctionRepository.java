@@ -2,9 +2,17 @@ package com.bidstream.repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -24,138 +32,277 @@ import com.bidstream.model.entity.User;
 @Repository
 public interface AuctionRepository extends JpaRepository<Auction, UUID> {
        /**
-        * Finds all auctions by their current status.
+        * Finds auctions by their current status, one keyset page at a time.
+        * Pass {@link KeysetCursor#MIN_TIME} and {@link KeysetCursor#MIN_ID}
+        * for the first page.
+        *
+        * @param status       the auction status to filter by
+        * @param afterEndTime end time of the last auction already returned
+        * @param afterId      id of the last auction already returned
+        * @param page         the page size; its sort is ignored
+        * @return slice of auctions with the specified status ordered by end
+        *         time
+        */
+       @Query("SELECT a FROM Auction a WHERE a.status = :status "
+                     + "AND (a.endTime, a.id) > (:afterEndTime, :afterId) "
+                     + "ORDER BY a.endTime ASC, a.id ASC")
+       Slice<Auction> findByStatus(@Param("status") AuctionStatus status,
+                     @Param("afterEndTime") LocalDateTime afterEndTime,
+                     @Param("afterId") UUID afterId, Pageable page);
+
+       /**
+        * Streams every auction with a status, reading one keyset page per
+        * batch. Each batch is loaded in its own short read and handed out
+        * detached, so memory stays bounded by the batch size no matter how
+        * many auctions match and no cursor or transaction stays open.
+        *
+        * @param status    the auction status to filter by
+        * @param batchSize the number of auctions read per query
+        * @return lazy stream of auctions ordered by end time
+        */
+       default Stream<Auction> streamByStatus(AuctionStatus status,
+                     int batchSize) {
+              Pageable page = PageRequest.ofSize(batchSize);
+              return Stream.iterate(
+                            findByStatus(status, KeysetCursor.MIN_TIME,
+                                          KeysetCursor.MIN_ID, page),
+                            Objects::nonNull,
+                            slice -> slice.hasNext()
+                                          ? nextByStatus(status, slice, page)
+                                          : null)
+                            .flatMap(Slice::stream);
+       }
+
+       /**
+        * Reads the keyset page following a slice of
+        * {@link #streamByStatus(AuctionStatus, int)}.
         *
         * @param status the auction status to filter by
-        * @return list of auctions with the specified status
+        * @param slice  the previous, non-empty slice
+        * @param page   the page size
+        * @return the next slice
         */
-       List<Auction> findByStatus(AuctionStatus status);
+       private Slice<Auction> nextByStatus(AuctionStatus status,
+                     Slice<Auction> slice, Pageable page) {
+              Auction last = slice.getContent()
+                            .get(slice.getNumberOfElements() - 1);
+              return findByStatus(status, last.getEndTime(), last.getId(),
+                            page);
+       }
 
        /**
-        * Finds all active auctions that are currently accepting bids.
+        * Lists auctions with a status, one keyset page at a time, reading
+        * only the listing columns.
+        *
+        * @param status       the auction status to filter by
+        * @param afterEndTime end time of the last auction already returned
+        * @param afterId      id of the last auction already returned
+        * @param page         the page size; its sort is ignored
+        * @return slice of listings ordered by end time
+        */
+       @Query(AuctionListView.SELECT + "WHERE a.status = :status "
+                     + "AND (a.endTime, a.id) > (:afterEndTime, :afterId) "
+                     + "ORDER BY a.endTime ASC, a.id ASC")
+       Slice<AuctionListView> findViewsByStatus(
+                     @Param("status") AuctionStatus status,
+                     @Param("afterEndTime") LocalDateTime afterEndTime,
+                     @Param("afterId") UUID afterId, Pageable page);
+
+       /**
+        * Reads the listing columns of the given auctions.
+        *
+        * @param ids the auction ids
+        * @return the listings of the auctions that exist, in no order
+        */
+       @Query(AuctionListView.SELECT + "WHERE a.id IN :ids")
+       List<AuctionListView> findViewsByIdIn(
+                     @Param("ids") Collection<UUID> ids);
+
+       /**
+        * Loads an auction for its detail page, with its seller and highest
+        * bidder fetched by the same statement.
+        *
+        * @param id the auction id
+        * @return the auction, or empty if it does not exist
+        */
+       @EntityGraph(attributePaths = {"seller", "highestBidder"})
+       @Query("SELECT a FROM Auction a WHERE a.id = :id")
+       Optional<Auction> findDetailById(@Param("id") UUID id);
+
+       /**
+        * Finds active auctions that are currently accepting bids.
         * Filters by status and time window.
         *
-        * @param now current timestamp for time comparison
-        * @return list of active auctions withing biding window
+        * @param now          current timestamp for time comparison
+        * @param afterEndTime end time of the last auction already returned
+        * @param afterId      id of the last auction already returned
+        * @param page         the page size; its sort is ignored
+        * @return slice of active auctions within bidding window
         */
        @Query("SELECT a FROM Auction a WHERE a.status = 'ACTIVE' "
                      + "AND a.startTime <= :now AND a.endTime > :now "
-                     + "ORDER BY a.endTime ASC")
-       List<Auction> findActiveAuctions(@Param("now") LocalDateTime now);
+                     + "AND (a.endTime, a.id) > (:afterEndTime, :afterId) "
+                     + "ORDER BY a.endTime ASC, a.id ASC")
+       Slice<Auction> findActiveAuctions(@Param("now") LocalDateTime now,
+                     @Param("afterEndTime") LocalDateTime afterEndTime,
+                     @Param("afterId") UUID afterId, Pageable page);
 
        /**
         * Finds auctions ending soon (within specified time window).
         * Useful for urgent notifications and featured listings.
         *
-        * @param now        current timestmap
-        * @param cutoffTime time limit for "ending soon"
-        * @return list of auctions ending within the time window
+        * @param now          current timestamp
+        * @param cutoffTime   time limit for "ending soon"
+        * @param afterEndTime end time of the last auction already returned
+        * @param afterId      id of the last auction already returned
+        * @param page         the page size; its sort is ignored
+        * @return slice of auctions ending within the time window
         */
        @Query("SELECT a FROM Auction a WHERE a.status = 'ACTIVE' "
                      + "AND a.endTime BETWEEN :now AND :cutoffTime "
-                     + "ORDER BY a.endTime ASC")
-       List<Auction> findAuctionsEndingSoon(
+                     + "AND (a.endTime, a.id) > (:afterEndTime, :afterId) "
+                     + "ORDER BY a.endTime ASC, a.id ASC")
+       Slice<Auction> findAuctionsEndingSoon(
                      @Param("now") LocalDateTime now,
-                     @Param("cutoffTime") LocalDateTime cutoffTime);
+                     @Param("cutoffTime") LocalDateTime cutoffTime,
+                     @Param("afterEndTime") LocalDateTime afterEndTime,
+                     @Param("afterId") UUID afterId, Pageable page);
 
        /**
-        * Finds all auctions created by a specific seller.
+        * Finds auctions created by a specific seller, newest first.
+        * Pass {@link KeysetCursor#MAX_TIME} and {@link KeysetCursor#MAX_ID}
+        * for the first page.
         *
-        * @param seller the user who created the auction
-        * @return list of auctions created by the seller, ordered by
+        * @param seller          the user who created the auction
+        * @param beforeCreatedAt creation time of the last auction already
+        *                        returned
+        * @param beforeId        id of the last auction already returned
+        * @param page            the page size; its sort is ignored
+        * @return slice of auctions created by the seller, ordered by
         *         creation date.
         */
-       @Query("SELECT a FROM Auction a WHERE a.seller = :seller "
-                     + "ORDER BY a.createdAt DESC")
-       List<Auction> findBySeller(@Param("seller") User seller);
+       @Query(AuctionListView.SELECT + "WHERE a.seller = :seller "
+                     + "AND (a.createdAt, a.id) "
+                     + "< (:beforeCreatedAt, :beforeId) "
+                     + "ORDER BY a.createdAt DESC, a.id DESC")
+       Slice<AuctionListView> findBySeller(@Param("seller") User seller,
+                     @Param("beforeCreatedAt") LocalDateTime beforeCreatedAt,
+                     @Param("beforeId") UUID beforeId, Pageable page);
 
        /**
-        * Finds auctions by category with optional status filtering.
+        * Finds auctions by category.
         *
-        * @param category the auction category to filter by
-        * @return list of auctions in the specified category
+        * @param category     the auction category to filter by
+        * @param afterEndTime end time of the last auction already returned
+        * @param afterId      id of the last auction already returned
+        * @param page         the page size; its sort is ignored
+        * @return slice of auctions in the specified category
         */
-       List<Auction> findByCategory(String category);
+       @Query("SELECT a FROM Auction a WHERE a.category = :category "
+                     + "AND (a.endTime, a.id) > (:afterEndTime, :afterId) "
+                     + "ORDER BY a.endTime ASC, a.id ASC")
+       Slice<Auction> findByCategory(@Param("category") String category,
+                     @Param("afterEndTime") LocalDateTime afterEndTime,
+                     @Param("afterId") UUID afterId, Pageable page);
 
        /**
         * Finds auctions by category and status.
         *
-        * @param category the auction category
-        * @param status   the auction status
-        * @return list of auctions matching both criteria
-        */
-       List<Auction> findByCategoryAndStatus(String category,
-                     AuctionStatus status);
-
-       /**
-        * Finds featured auctions that are currently active. \
+        * @param category     the auction category
+        * @param status       the auction status
+        * @param afterEndTime end time of the last auction already returned
+        * @param afterId      id of the last auction already returned
+        * @param page         the page size; its sort is ignored
+        * @return slice of auctions matching both criteria
+        */
+       @Query(AuctionListView.SELECT + "WHERE a.category = :category "
+                     + "AND a.status = :status "
+                     + "AND (a.endTime, a.id) > (:afterEndTime, :afterId) "
+                     + "ORDER BY a.endTime ASC, a.id ASC")
+       Slice<AuctionListView> findByCategoryAndStatus(
+                     @Param("category") String category,
+                     @Param("status") AuctionStatus status,
+                     @Param("afterEndTime") LocalDateTime afterEndTime,
+                     @Param("afterId") UUID afterId, Pageable page);
+
+       /**
+        * Finds featured auctions that are currently active.
         * Used for homepage and promotional displays.
         *
-        * @return list of featured active auctions ordered by end time
+        * @param afterEndTime end time of the last auction already returned
+        * @param afterId      id of the last auction already returned
+        * @param page         the page size; its sort is ignored
+        * @return slice of featured active auctions ordered by end time
         */
-       @Query("SELECT a FROM Auction a WHERE a.featured = true "
+       @Query(AuctionListView.SELECT + "WHERE a.featured = true "
                      + "AND a.status = 'ACTIVE' "
-                     + "ORDER BY a.endTime ASC")
-       List<Auction> findFeaturedActiveAuctions();
+                     + "AND (a.endTime, a.id) > (:afterEndTime, :afterId) "
+                     + "ORDER BY a.endTime ASC, a.id ASC")
+       Slice<AuctionListView> findFeaturedActiveAuctions(
+                     @Param("afterEndTime") LocalDateTime afterEndTime,
+                     @Param("afterId") UUID afterId, Pageable page);
 
        /**
         * Finds auctions where a specific user is the highest bidder.
         *
-        * @param bidder the user who is currently winning
-        * @return list of auctions where user has highest bid
+        * @param bidder       the user who is currently winning
+        * @param afterEndTime end time of the last auction already returned
+        * @param afterId      id of the last auction already returned
+        * @param page         the page size; its sort is ignored
+        * @return slice of auctions where user has highest bid
         */
        @Query("SELECT a FROM Auction a WHERE a.highestBidder = :bidder "
                      + "AND a.status IN ('ACTIVE', 'COMPLETED') "
-                     + "ORDER BY a.endTime ASC")
-       List<Auction> findByHighestBidder(@Param("bidder") User bidder);
+                     + "AND (a.endTime, a.id) > (:afterEndTime, :afterId) "
+                     + "ORDER BY a.endTime ASC, a.id ASC")
+       Slice<Auction> findByHighestBidder(@Param("bidder") User bidder,
+                     @Param("afterEndTime") LocalDateTime afterEndTime,
+                     @Param("afterId") UUID afterId, Pageable page);
 
        /**
-        * Searches auctions by title and description content.
-        * Case-insensitive search across multiple fields.
+        * Finds auctions within a price range, cheapest first.
+        * Pass {@code minPrice} and {@link KeysetCursor#MIN_ID} as the
+        * keyset of the first page.
         *
-        * @param searchTerm the text to search for
+        * @param minPrice   minimum current price
+        * @param maxPrice   maximum current price
         * @param status     optional status filter
-        * @return list of matching auctions ordered by relevance
-        */
-       @Query("SELECT a FROM Auction a WHERE "
-                     + "(LOWER(a.title) LIKE "
-                     + "LOWER(CONCAT('%', :searchTerm, '%')) "
-                     + "OR LOWER(a.description) LIKE "
-                     + "LOWER(CONCAT('%', :searchTerm, '%'))) "
-                     + "AND (:status IS NULL OR a.status = :status) "
-                     + "ORDER BY a.createdAt DESC")
-       List<Auction> searchAuctions(@Param("searchTerm") String searchTerm,
-                     @Param("status") AuctionStatus status);
-
-       /**
-        * Finds auctions within a price range.
-        *
-        * @param minPrice minimum current price
-        * @param maxPrice maximum current price
-        * @param status   optional status filter
-        * @return list of auctions within price range
+        * @param afterPrice current price of the last auction already
+        *                   returned
+        * @param afterId    id of the last auction already returned
+        * @param page       the page size; its sort is ignored
+        * @return slice of auctions within price range
         */
        @Query("SELECT a FROM Auction a WHERE "
                      + "a.currentPrice BETWEEN :minPrice AND :maxPrice "
                      + "AND (:status IS NULL OR a.status = :status) "
-                     + "ORDER BY a.currentPrice ASC")
-       List<Auction> findByPriceRange(@Param("minPrice") BigDecimal minPrice,
+                     + "AND (a.currentPrice, a.id) > (:afterPrice, :afterId) "
+                     + "ORDER BY a.currentPrice ASC, a.id ASC")
+       Slice<Auction> findByPriceRange(@Param("minPrice") BigDecimal minPrice,
                      @Param("maxPrice") BigDecimal maxPrice,
-                     @Param("status") AuctionStatus status);
+                     @Param("status") AuctionStatus status,
+                     @Param("afterPrice") BigDecimal afterPrice,
+                     @Param("afterId") UUID afterId, Pageable page);
 
        /**
         * Finds auctions ending within a specific time range.
         *
-        * @param startTime earliest end time
-        * @param endTime   latest end time
-        * @return list of auctions ending within the time range
+        * @param startTime    earliest end time
+        * @param endTime      latest end time
+        * @param afterEndTime end time of the last auction already returned
+        * @param afterId      id of the last auction already returned
+        * @param page         the page size; its sort is ignored
+        * @return slice of auctions ending within the time range
         */
        @Query("SELECT a FROM Auction a WHERE a.endTime "
                      + "BETWEEN :startTime AND :endTime "
-                     + "ORDER BY a.endTime ASC")
-       List<Auction> findByEndTimeBetween(
+                     + "AND (a.endTime, a.id) > (:afterEndTime, :afterId) "
+                     + "ORDER BY a.endTime ASC, a.id ASC")
+       Slice<Auction> findByEndTimeBetween(
                      @Param("startTime") LocalDateTime startTime,
-                     @Param("endTime") LocalDateTime endTime);
+                     @Param("endTime") LocalDateTime endTime,
+                     @Param("afterEndTime") LocalDateTime afterEndTime,
+                     @Param("afterId") UUID afterId, Pageable page);
 
        /**
         * Counts total number of auctions by status.
@@ -221,33 +368,6 @@ public interface AuctionRepository extends JpaRepository<Auction, UUID> {
                      + "LIMIT :limit")
        List<String> findMostPopularCategories(@Param("limit") int limit);
 
-       /**
-        * Updates the view count for a specific auction.
-        * Increments the current view count by 1.
-        *
-        * @param auctionId the ID of the auction to update
-        * @return number of affected rows (should be 1 if successful)
-        */
-       @Modifying
-       @Transactional
-       @Query("UPDATE Auction a SET a.viewCount = a.viewCount + 1 "
-                     + "WHERE a.id = :auctionId")
-       int incrementViewCount(@Param("auctionId") UUID auctionId);
-
-       /**
-        * Updates the watch count for a specific auction.
-        *
-        * @param auctionId the ID of the auction to update
-        * @param increment the amount to add to watch count (can be negative)
-        * @return number of affected rows (should be 1 if successful)
-        */
-       @Modifying
-       @Transactional
-       @Query("UPDATE Auction a SET a.watchCount = a.watchCount + :increment "
-                     + "WHERE a.id = :auctionId")
-       int updateWatchCount(@Param("auctionId") UUID auctionId,
-                     @Param("increment") int increment);
-
        /**
         * Updates the current price and highest bidder for an auction.
         * Used when a new highest bid is placed.
@@ -264,6 +384,7 @@ public interface AuctionRepository extends JpaRepository<Auction, UUID> {
                      + "a.currentPrice = :newPrice, "
                      + "a.highestBidder = :newBidder, "
                      + "a.bidCount = :bidCount, "
+                     + "a.version = a.version + 1, "
                      + "a.updatedAt = CURRENT_TIMESTAMP "
                      + "WHERE a.id = :auctionId")
        int updateBidInfo(@Param("auctionId") UUID auctionId,
@@ -271,6 +392,68 @@ public interface AuctionRepository extends JpaRepository<Auction, UUID> {
                      @Param("newBidder") User newBidder,
                      @Param("bidCount") Integer bidCount);
 
+       /**
+        * Conditionally commits a new highest bid.
+        * The update only applies while the stored price still equals the
+        * expected price and is lower than the new price, so concurrent
+        * writers cannot overwrite each other without a row lock.
+        *
+        * @param auctionId     the ID of the auction to update
+        * @param expectedPrice the current price the bid was validated against
+        * @param newPrice      the new current price
+        * @param newBidder     the new highest bidder
+        * @param bidCount      the new total bid count
+        * @return number of affected rows (1 if the bid won, 0 otherwise)
+        */
+       @Modifying
+       @Transactional
+       @Query("UPDATE Auction a SET "
+                     + "a.currentPrice = :newPrice, "
+                     + "a.highestBidder = :newBidder, "
+                     + "a.bidCount = :bidCount, "
+                     + "a.version = a.version + 1, "
+                     + "a.updatedAt = CURRENT_TIMESTAMP "
+                     + "WHERE a.id = :auctionId "
+                     + "AND COALESCE(a.currentPrice, a.startingPrice) "
+                     + "= :expectedPrice "
+                     + "AND COALESCE(a.currentPrice, a.startingPrice) "
+                     + "< :newPrice")
+       int compareAndSetBid(@Param("auctionId") UUID auctionId,
+                     @Param("expectedPrice") BigDecimal expectedPrice,
+                     @Param("newPrice") BigDecimal newPrice,
+                     @Param("newBidder") User newBidder,
+                     @Param("bidCount") Integer bidCount);
+
+       /**
+        * Commits a new highest bid if the stored price is still the one the
+        * bid was validated against.
+        *
+        * @param auctionId     the ID of the auction to update
+        * @param expectedPrice the current price the bid was validated against
+        * @param newPrice      the new current price
+        * @param newBidder     the new highest bidder
+        * @param bidCount      the new total bid count
+        * @return true if the bid won, false if another write got there first
+        * @see #compareAndSetBid(UUID, BigDecimal, BigDecimal, User, Integer)
+        */
+       default boolean tryCommitBid(UUID auctionId, BigDecimal expectedPrice,
+                     BigDecimal newPrice, User newBidder, Integer bidCount) {
+              return compareAndSetBid(auctionId, expectedPrice, newPrice,
+                            newBidder, bidCount) == 1;
+       }
+
+       /**
+        * Reads the price a new bid is committed against.
+        *
+        * @param auctionId the ID of the auction
+        * @return the current price, or the starting price before the first
+        *         bid; empty if the auction does not exist
+        */
+       @Query("SELECT COALESCE(a.currentPrice, a.startingPrice) "
+                     + "FROM Auction a WHERE a.id = :auctionId")
+       Optional<BigDecimal> findCommittedPrice(
+                     @Param("auctionId") UUID auctionId);
+
        /**
         * Updates the reserve met status for an auction.
         *
@@ -281,6 +464,7 @@ public interface AuctionRepository extends JpaRepository<Auction, UUID> {
        @Modifying
        @Transactional
        @Query("UPDATE Auction a SET a.reserveMet = :reserveMet, "
+                     + "a.version = a.version + 1, "
                      + "a.updatedAt = CURRENT_TIMESTAMP "
                      + "WHERE a.id = :auctionId")
        int updateReserveStatus(@Param("auctionId") UUID auctionId,
@@ -296,64 +480,50 @@ public interface AuctionRepository extends JpaRepository<Auction, UUID> {
        @Modifying
        @Transactional
        @Query("UPDATE Auction a SET a.status = :status, "
+                     + "a.version = a.version + 1, "
                      + "a.updatedAt = CURRENT_TIMESTAMP "
                      + "WHERE a.id = :auctionId")
        int updateStatus(@Param("auctionId") UUID auctionId,
                      @Param("status") AuctionStatus status);
 
        /**
-        * Finds auctions that should be automatically ended.
-        * Used by scheduled tasks to close expired auctions.
-        *
-        * @param now current timestamp
-        * @return list of auctions that need to be ended
-        */
-       @Query("SELECT a FROM Auction a WHERE a.status = 'ACTIVE' "
-                     + "AND a.endTime <= :now")
-       List<Auction> findAuctionsToEnd(@Param("now") LocalDateTime now);
-
-       /**
-        * Finds auctions that should be automatically started.
-        * Used by scheduled tasks to activate scheduled auctions.
+        * Moves the end time of an auction later.
+        * Used by soft close; an end time is never moved earlier, so
+        * concurrent or out-of-order extensions keep the latest one.
         *
-        * @param now current timestamp
-        * @return list of auctions that need to be started
-        */
-       @Query("SELECT a FROM Auction a WHERE a.status = 'SCHEDULED' "
-                     + "AND a.startTime <= :now")
-       List<Auction> findAuctionsToStart(@Param("now") LocalDateTime now);
-
-       /**
-        * Batch updates auction statuses for expired auctions.
-        *
-        * @param now current timestamp
-        * @return number of auctions updated
+        * @param auctionId the ID of the auction to update
+        * @param endTime   the new end time
+        * @return number of affected rows (1 if the end time moved)
         */
        @Modifying
        @Transactional
-       @Query("UPDATE Auction a SET a.status = "
-                     + "CASE "
-                     + "  WHEN a.bidCount = 0 THEN 'ENDED_NO_SALE' "
-                     + "  WHEN a.reservePrice IS NULL OR "
-                     + "a.reserveMet = true THEN 'COMPLETED' "
-                     + "  ELSE 'ENDED_NO_SALE' "
-                     + "END, "
+       @Query("UPDATE Auction a SET a.endTime = :endTime, "
+                     + "a.version = a.version + 1, "
                      + "a.updatedAt = CURRENT_TIMESTAMP "
-                     + "WHERE a.status = 'ACTIVE' AND a.endTime <= :now")
-       int batchEndExpiredAuctions(@Param("now") LocalDateTime now);
+                     + "WHERE a.id = :auctionId AND a.endTime < :endTime")
+       int extendEndTime(@Param("auctionId") UUID auctionId,
+                     @Param("endTime") LocalDateTime endTime);
 
        /**
-        * Batch activates scheduled auctions whose start time has arrived.
+        * Moves a single auction from one status to another.
+        * The update only applies while the auction is still in the expected
+        * status, so a transition never overrides a concurrent change such
+        * as a cancellation.
         *
-        * @param now current timestamp
-        * @return number of auctions activated
+        * @param auctionId the ID of the auction to update
+        * @param from      the status the auction must currently have
+        * @param to        the new status
+        * @return number of affected rows (1 if the transition applied)
         */
        @Modifying
        @Transactional
-       @Query("UPDATE Auction a SET a.status = 'ACTIVE', "
+       @Query("UPDATE Auction a SET a.status = :to, "
+                     + "a.version = a.version + 1, "
                      + "a.updatedAt = CURRENT_TIMESTAMP "
-                     + "WHERE a.status = 'SCHEDULED' AND a.startTime <= :now")
-       int batchActivateScheduledAuctions(@Param("now") LocalDateTime now);
+                     + "WHERE a.id = :auctionId AND a.status = :from")
+       int transitionStatus(@Param("auctionId") UUID auctionId,
+                     @Param("from") AuctionStatus from,
+                     @Param("to") AuctionStatus to);
 
        /**
         * Checks if a user has any active auctions.
@@ -384,16 +554,35 @@ public interface AuctionRepository extends JpaRepository<Auction, UUID> {
 
        /**
         * Finds auctions ordered by popularity (combination of bids, views, and
-        * watches).
-        *
-        * @param status optional status filter
-        * @return list of auctions ordered by popularity score
+        * watches), most popular first.
+        * Pass {@link Long#MAX_VALUE} and {@link KeysetCursor#MIN_ID} for the
+        * first page. Counters keep moving between pages, so an auction may
+        * appear twice or not at all across a long walk.
+        *
+        * @param status      optional status filter
+        * @param beforeScore popularity score of the last auction already
+        *                    returned
+        * @param afterId     id of the last auction already returned
+        * @param page        the page size; its sort is ignored
+        * @return slice of auctions ordered by popularity score
+        * @see Auction#getPopularityScore()
         */
        @Query("SELECT a FROM Auction a WHERE "
                      + "(:status IS NULL OR a.status = :status) "
-                     + "ORDER BY (a.bidCount * 3 + a.viewCount "
-                     + "+ a.watchCount * 2) DESC")
-       List<Auction> findByPopularity(@Param("status") AuctionStatus status);
+                     + "AND ((a.bidCount * " + Auction.POPULARITY_BID_WEIGHT
+                     + " + a.viewCount + a.watchCount * "
+                     + Auction.POPULARITY_WATCH_WEIGHT + ") < :beforeScore "
+                     + "OR ((a.bidCount * " + Auction.POPULARITY_BID_WEIGHT
+                     + " + a.viewCount + a.watchCount * "
+                     + Auction.POPULARITY_WATCH_WEIGHT + ") = :beforeScore "
+                     + "AND a.id > :afterId)) "
+                     + "ORDER BY (a.bidCount * "
+                     + Auction.POPULARITY_BID_WEIGHT + " + a.viewCount "
+                     + "+ a.watchCount * " + Auction.POPULARITY_WATCH_WEIGHT
+                     + ") DESC, a.id ASC")
+       Slice<Auction> findByPopularity(@Param("status") AuctionStatus status,
+                     @Param("beforeScore") long beforeScore,
+                     @Param("afterId") UUID afterId, Pageable page);
 
        /**
         * Finds recently created auctions.
@@ -432,10 +621,16 @@ public interface AuctionRepository extends JpaRepository<Auction, UUID> {
        /**
         * Finds auctions with no bids yet (potential bargains).
         *
-        * @return list of active auctions with no bids
+        * @param afterEndTime end time of the last auction already returned
+        * @param afterId      id of the last auction already returned
+        * @param page         the page size; its sort is ignored
+        * @return slice of active auctions with no bids
         */
-       @Query("SELECT a FROM Auction a WHERE a.status = 'ACTIVE' "
+       @Query(AuctionListView.SELECT + "WHERE a.status = 'ACTIVE' "
                      + "AND a.bidCount = 0 "
-                     + "ORDER BY a.endTime ASC")
-       List<Auction> findNoBidAuctions();
+                     + "AND (a.endTime, a.id) > (:afterEndTime, :afterId) "
+                     + "ORDER BY a.endTime ASC, a.id ASC")
+       Slice<AuctionListView> findNoBidAuctions(
+                     @Param("afterEndTime") LocalDateTime afterEndTime,
+                     @Param("afterId") UUID afterId, Pageable page);
 }
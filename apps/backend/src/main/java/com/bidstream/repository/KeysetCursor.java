@@ -0,0 +1,113 @@
+package com.bidstream.repository;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.UUID;
+
+import com.bidstream.exceptions.ValidationException;
+
+/**
+ * Position of a keyset page: the sort key and id of the last row returned.
+ *
+ * <p>
+ * The next page starts strictly after this position, so it costs one index
+ * seek however deep the client has paged, and rows inserted meanwhile never
+ * shift it. Clients receive the position as an opaque URL-safe token.
+ * </p>
+ *
+ * <p>
+ * Time keys are held as UTC epoch microseconds, the precision of Postgres
+ * timestamps, so a position converts back to the exact column value.
+ * </p>
+ *
+ * @param key the sort key of the last row: epoch microseconds for time
+ *            orders, cents for price orders, the score for popularity
+ * @param id  the id of the last row, breaking ties between equal keys
+ */
+public record KeysetCursor(long key, UUID id) {
+
+  /** Time below every stored timestamp; starts ascending time orders. */
+  public static final LocalDateTime MIN_TIME =
+      LocalDateTime.of(1970, 1, 1, 0, 0);
+
+  /** Time above every stored timestamp; starts descending time orders. */
+  public static final LocalDateTime MAX_TIME =
+      LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+  /** Lowest id in Postgres ordering; starts ascending id orders. */
+  public static final UUID MIN_ID = new UUID(0L, 0L);
+
+  /** Highest id in Postgres ordering; starts descending id orders. */
+  public static final UUID MAX_ID = new UUID(-1L, -1L);
+
+  /** Microseconds per second. */
+  private static final long MICROS_PER_SECOND = 1_000_000L;
+
+  /** Nanoseconds per microsecond. */
+  private static final int NANOS_PER_MICRO = 1_000;
+
+  /** Encoded length: the key and both halves of the id. */
+  private static final int ENCODED_BYTES = 3 * Long.BYTES;
+
+  /**
+   * Creates the position of a row ordered by a time column.
+   *
+   * @param time the row's time value
+   * @param id   the row's id
+   * @return the position
+   */
+  public static KeysetCursor of(final LocalDateTime time, final UUID id) {
+    return new KeysetCursor(time.toEpochSecond(ZoneOffset.UTC)
+        * MICROS_PER_SECOND + time.getNano() / NANOS_PER_MICRO, id);
+  }
+
+  /**
+   * Gets the key as a time.
+   *
+   * @return the time value of the last row
+   */
+  public LocalDateTime time() {
+    return LocalDateTime.ofEpochSecond(
+        Math.floorDiv(key, MICROS_PER_SECOND),
+        (int) Math.floorMod(key, MICROS_PER_SECOND) * NANOS_PER_MICRO,
+        ZoneOffset.UTC);
+  }
+
+  /**
+   * Encodes the position as an opaque token.
+   *
+   * @return the URL-safe token
+   */
+  public String encode() {
+    ByteBuffer buffer = ByteBuffer.allocate(ENCODED_BYTES)
+        .putLong(key)
+        .putLong(id.getMostSignificantBits())
+        .putLong(id.getLeastSignificantBits());
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(buffer.array());
+  }
+
+  /**
+   * Decodes a token produced by {@link #encode()}.
+   *
+   * @param token the token
+   * @return the position
+   * @throws ValidationException if the token is malformed
+   */
+  public static KeysetCursor decode(final String token) {
+    try {
+      ByteBuffer buffer =
+          ByteBuffer.wrap(Base64.getUrlDecoder().decode(token));
+      if (buffer.remaining() != ENCODED_BYTES) {
+        throw new ValidationException("cursor", "is not a valid cursor");
+      }
+      return new KeysetCursor(buffer.getLong(),
+          new UUID(buffer.getLong(), buffer.getLong()));
+    } catch (IllegalArgumentException | BufferUnderflowException ex) {
+      throw new ValidationException("Invalid cursor", ex);
+    }
+  }
+}
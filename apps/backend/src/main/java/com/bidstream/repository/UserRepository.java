@@ -1,11 +1,18 @@
 package com.bidstream.repository;
 
+import com.bidstream.dto.response.UserSummaryResponse;
 import com.bidstream.model.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -17,19 +24,35 @@ import java.util.UUID;
 public interface UserRepository extends JpaRepository<User, UUID> {
 
   /**
-   * Find user by email address.
+   * Query cache region of the user finders, sized in
+   * {@code application.conf}.
+   */
+  String LOOKUP_REGION = "user-lookups";
+
+  /**
+   * Find user by email address. Cached in the query cache; any write to
+   * the users table invalidates it.
    *
    * @param email the email address to search for
    * @return Optional containing the user if found
    */
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+      @QueryHint(name = HibernateHints.HINT_CACHE_REGION,
+          value = LOOKUP_REGION)})
   Optional<User> findByEmail(String email);
 
   /**
-   * Find user by username.
+   * Find user by username. Cached in the query cache; any write to the
+   * users table invalidates it.
    *
    * @param username the username to search for
    * @return Optional containing the user if found
    */
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+      @QueryHint(name = HibernateHints.HINT_CACHE_REGION,
+          value = LOOKUP_REGION)})
   Optional<User> findByUsername(String username);
 
   /**
@@ -49,11 +72,16 @@ public interface UserRepository extends JpaRepository<User, UUID> {
   boolean existsByUsername(String username);
 
   /**
-   * Finds a user by either email or username (useful for login).
+   * Finds a user by either email or username (useful for login). Cached
+   * in the query cache; any write to the users table invalidates it.
    *
    * @param identifier the email or username to search for
    * @return Optional containing the user if found
    */
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+      @QueryHint(name = HibernateHints.HINT_CACHE_REGION,
+          value = LOOKUP_REGION)})
   @Query("SELECT u FROM User u WHERE u.email = :identifier OR "
       + "u.username = :identifier")
   Optional<User> findByEmailOrUsername(@Param("identifier") String identifier);
@@ -81,4 +109,25 @@ public interface UserRepository extends JpaRepository<User, UUID> {
    */
   @Query("SELECT COUNT(u) FROM User u WHERE u.emailVerified = true")
   long countVerifiedUsers();
+
+  /**
+   * Lists user summaries in registration order, one keyset page at a
+   * time. Only the summary columns are selected and no entity is
+   * managed. Pass {@link KeysetCursor#MIN_TIME} and
+   * {@link KeysetCursor#MIN_ID} for the first page.
+   *
+   * @param afterCreatedAt registration time of the last user already
+   *                       returned
+   * @param afterId        id of the last user already returned
+   * @param page           the page size; its sort is ignored
+   * @return slice of user summaries
+   */
+  @Query("SELECT new com.bidstream.dto.response.UserSummaryResponse("
+      + "u.id, u.username, u.email, u.firstName, u.lastName, "
+      + "u.emailVerified, u.createdAt) FROM User u "
+      + "WHERE (u.createdAt, u.id) > (:afterCreatedAt, :afterId) "
+      + "ORDER BY u.createdAt ASC, u.id ASC")
+  Slice<UserSummaryResponse> findSummaries(
+      @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+      @Param("afterId") UUID afterId, Pageable page);
 }
@@ -0,0 +1,43 @@
+package com.bidstream.service.bidding;
+
+import java.util.UUID;
+
+import com.bidstream.model.entity.AuctionStatus;
+
+/**
+ * Immutable record of a bid accepted by the bid engine.
+ *
+ * <p>
+ * When a proxy answers the bid in the same step, the record describes the
+ * proxy's bid, which is what the auction now holds.
+ * </p>
+ *
+ * @param auctionId       the auction the bid was placed on
+ * @param bidderId        the user now holding the highest bid
+ * @param amount          the accepted amount in cents, now the current
+ *                        price
+ * @param previousPrice   the current price in cents the bid was validated
+ *                        against
+ * @param bidCount        the auction's bid count including this bid
+ * @param reserveMet      whether the reserve is met after this bid
+ * @param reserveNewlyMet whether this bid is the one that met the reserve
+ * @param status          the auction status after this bid
+ * @param endTimeMs       the auction end time after this bid, in epoch
+ *                        milliseconds
+ * @param extended        whether this bid extended the end time
+ * @param acceptedAtMs    when the engine accepted the bid, in epoch
+ *                        milliseconds
+ */
+public record AcceptedBid(
+    UUID auctionId,
+    UUID bidderId,
+    long amount,
+    long previousPrice,
+    int bidCount,
+    boolean reserveMet,
+    boolean reserveNewlyMet,
+    AuctionStatus status,
+    long endTimeMs,
+    boolean extended,
+    long acceptedAtMs) {
+}
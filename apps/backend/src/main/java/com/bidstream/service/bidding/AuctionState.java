@@ -0,0 +1,498 @@
+package com.bidstream.service.bidding;
+
+import java.util.UUID;
+
+import com.bidstream.exceptions.AuctionException;
+import com.bidstream.exceptions.BiddingException;
+import com.bidstream.model.entity.Auction;
+import com.bidstream.model.entity.AuctionStatus;
+import com.bidstream.model.entity.User;
+import com.bidstream.model.money.Money;
+
+/**
+ * In-memory hot state of a single auction owned by the bid engine.
+ *
+ * <p>
+ * Instances are not thread-safe. Every read and write must happen on the
+ * engine writer thread that owns the auction, which is what allows bids
+ * to be validated and applied without locks or database round trips.
+ * </p>
+ *
+ * <p>
+ * Prices are held as {@link Money} cents, with {@link Money#NONE} for an
+ * absent reserve, Buy Now price or proxy maximum, so validating a bid and
+ * checking the reserve and Buy Now price never allocate. Times are epoch
+ * milliseconds read from the engine's
+ * {@link com.bidstream.model.time.EpochClock} for the same reason.
+ * </p>
+ */
+final class AuctionState {
+
+  /** Auction identifier. */
+  private final UUID auctionId;
+
+  /** Seller identifier, used to reject self-bidding. */
+  private final UUID sellerId;
+
+  /** Starting price in cents; the first bid must reach it. */
+  private final long startingPrice;
+
+  /** Reserve price in cents, or {@link Money#NONE} without a reserve. */
+  private final long reservePrice;
+
+  /** Buy Now price in cents, or {@link Money#NONE} without Buy Now. */
+  private final long buyNowPrice;
+
+  /** When bidding opens, in epoch milliseconds. */
+  private final long startMs;
+
+  /** When bidding closes, in epoch milliseconds; moved by soft close. */
+  private long endMs;
+
+  /** Current highest bid in cents. */
+  private long currentPrice;
+
+  /** Current highest bidder, or null before the first bid. */
+  private UUID highestBidderId;
+
+  /** Number of accepted bids. */
+  private int bidCount;
+
+  /** Whether the reserve price has been reached. */
+  private boolean reserveMet;
+
+  /** Current auction status. */
+  private AuctionStatus status;
+
+  /** Price in cents last read from the database. */
+  private final long persistedPrice;
+
+  /** Reserve flag last read from the database. */
+  private final boolean persistedReserveMet;
+
+  /** Bidder of the highest proxy maximum, or null without proxies. */
+  private UUID proxyLeaderId;
+
+  /** Highest proxy maximum in cents, or {@link Money#NONE}. */
+  private long proxyLeaderMax = Money.NONE;
+
+  /** Second highest proxy maximum in cents, or {@link Money#NONE}. */
+  private long proxyRunnerUpMax = Money.NONE;
+
+  /** End time last read from the database, in epoch milliseconds. */
+  private final long persistedEndMs;
+
+  /** Whether journal replay moved the state past the database row. */
+  private boolean replayed;
+
+  /**
+   * Creates the hot state from a loaded auction entity.
+   *
+   * @param auction the persisted auction
+   */
+  AuctionState(final Auction auction) {
+    this.auctionId = auction.getId();
+    this.sellerId = idOf(auction.getSeller());
+    this.startingPrice = Money.toCents(auction.getStartingPrice());
+    this.reservePrice = Money.toCentsOrNone(auction.getReservePrice());
+    this.buyNowPrice = Money.toCentsOrNone(auction.getBuyNowPrice());
+    this.startMs = auction.getStartMs();
+    this.endMs = auction.getEndMs();
+    this.currentPrice = auction.getCurrentPrice() != null
+        ? Money.toCents(auction.getCurrentPrice())
+        : startingPrice;
+    this.highestBidderId = idOf(auction.getHighestBidder());
+    this.bidCount = auction.getBidCount() != null
+        ? auction.getBidCount()
+        : 0;
+    this.reserveMet = Boolean.TRUE.equals(auction.isReserveMet());
+    this.status = auction.getStatus();
+    this.persistedPrice = currentPrice;
+    this.persistedReserveMet = reserveMet;
+    this.persistedEndMs = endMs;
+  }
+
+  /**
+   * Validates a bid against the current state and applies it. If a proxy
+   * of another bidder can still beat the bid, the proxy answers it in the
+   * same step and the returned bid is the proxy's.
+   *
+   * @param bidderId the bidding user
+   * @param amount   the bid amount in cents
+   * @param rules    the bidding rules
+   * @param now      the time the bid is processed, in epoch milliseconds
+   * @return the accepted bid
+   * @throws AuctionException if the auction is not open for bidding
+   * @throws BiddingException if the bid violates a bidding rule
+   */
+  AcceptedBid apply(final UUID bidderId, final long amount,
+      final BidRules rules, final long now) {
+    checkOpen(bidderId, now);
+    checkAmount(amount, rules);
+
+    boolean reserveWasMet = reserveMet;
+    long previousPrice = currentPrice;
+    currentPrice = amount;
+    highestBidderId = bidderId;
+    resolveProxies(rules);
+    return accept(previousPrice, reserveWasMet, rules, now);
+  }
+
+  /**
+   * Registers or raises a bidder's proxy and lets the proxies settle the
+   * price. The price jumps straight to the runner-up maximum plus one
+   * increment, capped at the leading maximum, however far apart the
+   * maxima are.
+   *
+   * @param bidderId  the bidding user
+   * @param maxAmount the most the proxy may bid, in cents
+   * @param rules     the bidding rules
+   * @param now       the time the proxy is processed, in epoch
+   *                  milliseconds
+   * @return the accepted bid, or null if the proxy was recorded without
+   *         moving the price or the highest bidder
+   * @throws AuctionException if the auction is not open for bidding
+   * @throws BiddingException if the maximum violates a bidding rule
+   */
+  AcceptedBid applyProxy(final UUID bidderId, final long maxAmount,
+      final BidRules rules, final long now) {
+    checkOpen(bidderId, now);
+
+    if (bidCount > 0 && bidderId.equals(highestBidderId)) {
+      long floor = bidderId.equals(proxyLeaderId)
+          ? proxyLeaderMax
+          : currentPrice;
+      if (maxAmount <= floor) {
+        throw new BiddingException("Maximum bid must be higher than "
+            + Money.toDecimal(floor), BiddingException.BID_TOO_LOW);
+      }
+    } else {
+      checkAmount(maxAmount, rules);
+    }
+
+    boolean reserveWasMet = reserveMet;
+    long previousPrice = currentPrice;
+    UUID previousBidderId = highestBidderId;
+    restoreProxy(bidderId, maxAmount);
+    resolveProxies(rules);
+
+    if (bidCount > 0 && currentPrice == previousPrice
+        && highestBidderId.equals(previousBidderId)) {
+      return null;
+    }
+    return accept(previousPrice, reserveWasMet, rules, now);
+  }
+
+  /**
+   * Folds a stored proxy into the leading and runner-up maxima without
+   * bidding. Maxima only ever rise, so the two highest are all that can
+   * still affect the price; a tie keeps the earlier proxy ahead.
+   *
+   * @param bidderId  the bidder
+   * @param maxAmount the proxy maximum in cents
+   */
+  void restoreProxy(final UUID bidderId, final long maxAmount) {
+    if (bidderId.equals(proxyLeaderId)) {
+      proxyLeaderMax = Math.max(proxyLeaderMax, maxAmount);
+    } else if (maxAmount > proxyLeaderMax) {
+      proxyRunnerUpMax = proxyLeaderMax;
+      proxyLeaderId = bidderId;
+      proxyLeaderMax = maxAmount;
+    } else if (maxAmount > proxyRunnerUpMax) {
+      proxyRunnerUpMax = maxAmount;
+    }
+  }
+
+  /**
+   * Describes the current state as a bid result, for a request that was
+   * accepted without moving the auction.
+   *
+   * @param now the time the request was processed, in epoch milliseconds
+   * @return the current state
+   */
+  AcceptedBid snapshot(final long now) {
+    return new AcceptedBid(auctionId, highestBidderId, currentPrice,
+        currentPrice, bidCount, reserveMet, false, status, endMs, false,
+        now);
+  }
+
+  /**
+   * Closes bidding once the end time has passed. An auction with a winning
+   * bid and a met (or absent) reserve is completed; any other ends without
+   * a sale. An auction that is no longer active keeps its status.
+   *
+   * <p>
+   * Soft close only moves {@link #endMs}; the lifecycle timer keeps the
+   * original deadline. When that timer fires early, the auction is left
+   * open and the outcome carries the new end time to re-arm for, so any
+   * number of extensions costs one re-arm per firing.
+   * </p>
+   *
+   * @param now the current time in epoch milliseconds
+   * @return the outcome
+   */
+  CloseOutcome close(final long now) {
+    if (status == AuctionStatus.ACTIVE && now >= endMs) {
+      status = bidCount > 0 && (reservePrice == Money.NONE || reserveMet)
+          ? AuctionStatus.COMPLETED
+          : AuctionStatus.ENDED_NO_SALE;
+    }
+    return new CloseOutcome(status, endMs);
+  }
+
+  /**
+   * Re-applies a journaled bid during recovery. No rule is re-checked,
+   * since the bid was valid when accepted; a bid not above the current
+   * price is already reflected in the database and is skipped, which makes
+   * replaying the same record twice harmless.
+   *
+   * @param bidderId the bidding user
+   * @param amount   the bid amount in cents
+   * @return true if the bid moved the state forward
+   */
+  boolean replay(final UUID bidderId, final long amount) {
+    if (amount < currentPrice || amount == currentPrice && bidCount > 0) {
+      return false;
+    }
+
+    currentPrice = amount;
+    highestBidderId = bidderId;
+    bidCount++;
+    reserveMet = reservePrice == Money.NONE || currentPrice >= reservePrice;
+
+    if (buyNowPrice != Money.NONE && amount >= buyNowPrice) {
+      status = AuctionStatus.COMPLETED;
+    }
+    replayed = true;
+    return true;
+  }
+
+  /**
+   * Builds the write that brings the database row up to the replayed
+   * state. Journal records carry no wall-clock time, so soft-close
+   * extensions are not replayed; instead an auction whose replayed bids
+   * leave it open inside the soft-close window is extended from the
+   * recovery time, which never ends it earlier than before the crash.
+   *
+   * @param rules the bidding rules
+   * @param now   the recovery time in epoch milliseconds
+   * @return the bid to persist, or null if nothing was replayed
+   */
+  AcceptedBid recoveredBid(final BidRules rules, final long now) {
+    if (!replayed) {
+      return null;
+    }
+
+    softClose(rules, now);
+    return new AcceptedBid(auctionId, highestBidderId, currentPrice,
+        persistedPrice, bidCount, reserveMet,
+        reserveMet && !persistedReserveMet, status, endMs,
+        endMs > persistedEndMs, now);
+  }
+
+  /**
+   * Rejects a bid on an auction that is not open or by its seller.
+   *
+   * @param bidderId the bidding user
+   * @param now      the time the bid is processed, in epoch milliseconds
+   */
+  private void checkOpen(final UUID bidderId, final long now) {
+    if (status != AuctionStatus.ACTIVE || now < startMs) {
+      throw new AuctionException("Auction " + auctionId
+          + " is not accepting bids", AuctionException.AUCTION_NOT_ACTIVE);
+    }
+
+    if (now >= endMs) {
+      throw new BiddingException("Bidding has ended for auction "
+          + auctionId, BiddingException.BIDDING_ENDED);
+    }
+
+    if (bidderId.equals(sellerId)) {
+      throw new BiddingException("Sellers cannot bid on their own auction",
+          BiddingException.SELF_BIDDING_NOT_ALLOWED);
+    }
+  }
+
+  /**
+   * Rejects an amount below the starting price or the next increment.
+   *
+   * @param amount the bid amount in cents
+   * @param rules  the bidding rules
+   */
+  private void checkAmount(final long amount, final BidRules rules) {
+    if (bidCount == 0) {
+      if (amount < startingPrice) {
+        throw new BiddingException("Bid must be at least the starting price "
+            + Money.toDecimal(startingPrice), BiddingException.BID_TOO_LOW);
+      }
+    } else {
+      if (amount <= currentPrice) {
+        throw new BiddingException("Bid must be higher than the current price "
+            + Money.toDecimal(currentPrice), BiddingException.BID_TOO_LOW);
+      }
+
+      if (amount < Money.add(currentPrice, rules.minIncrement())) {
+        throw new BiddingException("Bid must exceed the current price by at "
+            + "least " + Money.toDecimal(rules.minIncrement()),
+            BiddingException.INVALID_BID_INCREMENT);
+      }
+    }
+  }
+
+  /**
+   * Lets the leading proxy answer whatever currently holds the auction.
+   *
+   * <p>
+   * When the leading proxy already holds, only the runner-up maximum can
+   * push the price up. Otherwise the leader outbids the holder unless the
+   * holder's bid is above its maximum, and a bid equal to the maximum
+   * loses to the proxy registered before it. Either way the price is the
+   * lowest that beats every competitor, and reaches the reserve when the
+   * leading maximum allows.
+   * </p>
+   *
+   * @param rules the bidding rules
+   */
+  private void resolveProxies(final BidRules rules) {
+    if (proxyLeaderId == null) {
+      return;
+    }
+
+    boolean leaderHolds = proxyLeaderId.equals(highestBidderId);
+    long target;
+    if (leaderHolds) {
+      if (proxyRunnerUpMax == Money.NONE) {
+        return;
+      }
+      target = Money.add(proxyRunnerUpMax, rules.minIncrement());
+    } else {
+      if (highestBidderId != null && proxyLeaderMax < currentPrice) {
+        return;
+      }
+
+      target = highestBidderId == null
+          ? startingPrice
+          : Money.add(currentPrice, rules.minIncrement());
+      if (proxyRunnerUpMax != Money.NONE) {
+        target = Math.max(target,
+            Money.add(proxyRunnerUpMax, rules.minIncrement()));
+      }
+    }
+
+    if (reservePrice != Money.NONE && proxyLeaderMax >= reservePrice) {
+      target = Math.max(target, reservePrice);
+    }
+    target = Math.min(target, proxyLeaderMax);
+
+    if (leaderHolds && target <= currentPrice) {
+      return;
+    }
+    currentPrice = target;
+    highestBidderId = proxyLeaderId;
+  }
+
+  /**
+   * Counts the bid now reflected in the state and builds its result.
+   *
+   * @param previousPrice the price in cents before the bid
+   * @param reserveWasMet whether the reserve was met before the bid
+   * @param rules         the bidding rules
+   * @param now           the time the bid is processed, in epoch
+   *                      milliseconds
+   * @return the accepted bid
+   */
+  private AcceptedBid accept(final long previousPrice,
+      final boolean reserveWasMet, final BidRules rules,
+      final long now) {
+    bidCount++;
+    reserveMet = reservePrice == Money.NONE || currentPrice >= reservePrice;
+
+    if (buyNowPrice != Money.NONE && currentPrice >= buyNowPrice) {
+      status = AuctionStatus.COMPLETED;
+    }
+    boolean extended = softClose(rules, now);
+
+    return new AcceptedBid(auctionId, highestBidderId, currentPrice,
+        previousPrice, bidCount, reserveMet, reserveMet && !reserveWasMet,
+        status, endMs, extended, now);
+  }
+
+  /**
+   * Extends the end time when a bid lands in the soft-close window, so at
+   * least the extension is left to respond to it.
+   *
+   * @param rules the bidding rules
+   * @param now   the time of the bid in epoch milliseconds
+   * @return true if the end time moved
+   */
+  private boolean softClose(final BidRules rules, final long now) {
+    if (!rules.softCloseEnabled() || status != AuctionStatus.ACTIVE
+        || now >= endMs || now + rules.softCloseWindowMs() < endMs) {
+      return false;
+    }
+
+    long extendedEnd = now + rules.softCloseExtensionMs();
+    if (extendedEnd <= endMs) {
+      return false;
+    }
+
+    endMs = extendedEnd;
+    return true;
+  }
+
+  /**
+   * Gets the auction identifier.
+   *
+   * @return the auction id
+   */
+  UUID getAuctionId() {
+    return auctionId;
+  }
+
+  /**
+   * Gets the end time, including soft-close extensions.
+   *
+   * @return the end time in epoch milliseconds
+   */
+  long getEndMs() {
+    return endMs;
+  }
+
+  /**
+   * Gets the current highest bid.
+   *
+   * @return the current price in cents
+   */
+  long getCurrentPrice() {
+    return currentPrice;
+  }
+
+  /**
+   * Gets the number of accepted bids.
+   *
+   * @return the bid count
+   */
+  int getBidCount() {
+    return bidCount;
+  }
+
+  /**
+   * Gets the current status.
+   *
+   * @return the auction status
+   */
+  AuctionStatus getStatus() {
+    return status;
+  }
+
+  /**
+   * Resolves a user reference to its identifier without initializing
+   * lazy proxies.
+   *
+   * @param user the user reference, may be null
+   * @return the user id, or null
+   */
+  private static UUID idOf(final User user) {
+    return user != null ? user.getId() : null;
+  }
+}
@@ -0,0 +1,530 @@
+package com.bidstream.service.bidding;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.bidstream.config.AuctionProperties;
+import com.bidstream.config.BiddingProperties;
+import com.bidstream.exceptions.BidStreamException;
+import com.bidstream.exceptions.BiddingException;
+import com.bidstream.model.entity.Auction;
+import com.bidstream.model.entity.AuctionStatus;
+import com.bidstream.model.money.Money;
+import com.bidstream.model.time.EpochClock;
+import com.bidstream.repository.AuctionRepository;
+import com.bidstream.service.journal.BidJournal;
+import com.bidstream.service.journal.JournalCheckpointStore;
+import com.bidstream.service.journal.JournalRecord;
+import com.bidstream.service.notification.AuctionNotifier;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Sharded bid processing engine.
+ *
+ * <p>
+ * Auction ids are hash-sharded onto a fixed set of {@link BidShard} event
+ * loops, one per core by default. Each shard owns the hot state and mailbox
+ * of its auctions, so bids are serialized per auction and validated without
+ * locks or database access. Accepted bids are group-committed to the
+ * {@link BidJournal} and acknowledged once durable; the {@link BidPersister}
+ * then writes them to Postgres asynchronously.
+ * </p>
+ *
+ * <p>
+ * On startup the engine loads every active auction and replays the journal
+ * records past the last Postgres checkpoint on top of it, so bids that were
+ * acknowledged but not yet written before a crash are back in the hot
+ * state, and queued for persistence, before the first new bid arrives.
+ * </p>
+ *
+ * <p>
+ * With soft close enabled, a bid in the final
+ * {@code bidstream.auction.soft-close-window-seconds} of an auction moves
+ * its end time in the hot state; the lifecycle scheduler learns about it
+ * lazily when the original deadline fires and {@link #close} reports the
+ * auction still open.
+ * </p>
+ *
+ * <p>
+ * Proxy bids are resolved in the hot state as well. Each auction keeps only
+ * its two highest proxy maxima, which are all that can move the price, so
+ * a proxy or a manual bid is answered in one step without a database read;
+ * the maxima themselves are loaded once with the auction and written
+ * behind through the {@link ProxyBidStore}.
+ * </p>
+ *
+ * <p>
+ * A periodic rebalance pass compares shard utilization. When one shard
+ * stays above {@code bidstream.bidding.hot-shard-factor} times the mean for
+ * several consecutive passes, one of its auctions is migrated to the least
+ * loaded shard through an override in the routing table.
+ * </p>
+ */
+@Component
+public class BidEngine {
+
+  /** Logger for this class. */
+  private static final Logger LOGGER =
+      LoggerFactory.getLogger(BidEngine.class);
+
+  /** Number of auctions read per query during recovery. */
+  private static final int LOAD_BATCH_SIZE = 1_000;
+
+  /** Maximum time to wait for each shard on shutdown, in milliseconds. */
+  private static final long SHUTDOWN_TIMEOUT_MS = 5_000L;
+
+  /** The shard event loops. */
+  private final BidShard[] shards;
+
+  /** Routing overrides for auctions migrated by rebalancing. */
+  private final Map<UUID, BidShard> overrides = new ConcurrentHashMap<>();
+
+  /** Busy time per shard observed by the previous rebalance pass. */
+  private final long[] lastBusyNanos;
+
+  /** Consecutive passes each shard has been considered hot. */
+  private final int[] hotStreaks;
+
+  /** Bidding rules resolved from the auction settings. */
+  private final BidRules rules;
+
+  /** Engine tuning settings. */
+  private final BiddingProperties biddingProperties;
+
+  /** Repository used to load auctions on first touch. */
+  private final AuctionRepository auctionRepository;
+
+  /** Asynchronous persistence of accepted bids. */
+  private final BidPersister bidPersister;
+
+  /** Durable journal that must hold a bid before it is acknowledged. */
+  private final BidJournal bidJournal;
+
+  /** Postgres checkpoint of the journal, read once on recovery. */
+  private final JournalCheckpointStore checkpointStore;
+
+  /** Live push of accepted bids to watchers. */
+  private final AuctionNotifier notifier;
+
+  /** Stored proxy maxima, read when an auction is loaded. */
+  private final ProxyBidStore proxyBidStore;
+
+  /** Clock every bid and close is timed against. */
+  private final EpochClock clock;
+
+  /** Monotonic time of the previous rebalance pass. */
+  private long lastRebalanceNanos = System.nanoTime();
+
+  /**
+   * Creates the engine and its shards.
+   *
+   * @param newAuctionProperties the auction rule settings
+   * @param newBiddingProperties the engine tuning settings
+   * @param newAuctionRepository the auction repository
+   * @param newBidPersister      the bid persister
+   * @param newBidJournal        the bid journal
+   * @param newCheckpointStore   the journal checkpoint store
+   * @param newNotifier          the auction notifier
+   * @param newProxyBidStore     the proxy bid store
+   * @param newClock             the clock
+   * @param registry             the meter registry
+   */
+  public BidEngine(final AuctionProperties newAuctionProperties,
+      final BiddingProperties newBiddingProperties,
+      final AuctionRepository newAuctionRepository,
+      final BidPersister newBidPersister, final BidJournal newBidJournal,
+      final JournalCheckpointStore newCheckpointStore,
+      final AuctionNotifier newNotifier,
+      final ProxyBidStore newProxyBidStore, final EpochClock newClock,
+      final MeterRegistry registry) {
+    this.rules = BidRules.from(newAuctionProperties);
+    this.biddingProperties = newBiddingProperties;
+    this.auctionRepository = newAuctionRepository;
+    this.bidPersister = newBidPersister;
+    this.bidPersister.onConflict(this::evict);
+    this.bidJournal = newBidJournal;
+    this.checkpointStore = newCheckpointStore;
+    this.notifier = newNotifier;
+    this.proxyBidStore = newProxyBidStore;
+    this.clock = newClock;
+
+    int shardCount = newBiddingProperties.getShards() > 0
+        ? newBiddingProperties.getShards()
+        : Runtime.getRuntime().availableProcessors();
+    this.shards = new BidShard[shardCount];
+    for (int i = 0; i < shardCount; i++) {
+      shards[i] = new BidShard(i, this,
+          newBiddingProperties.getMailboxCapacity(),
+          newBiddingProperties.getDrainBatchSize(), registry);
+    }
+    this.lastBusyNanos = new long[shardCount];
+    this.hotStreaks = new int[shardCount];
+
+    Gauge.builder("bidstream.bid.shard.overrides", overrides, Map::size)
+        .description("Auctions routed away from their hash shard")
+        .register(registry);
+  }
+
+  /**
+   * Starts every shard and recovers the hot state.
+   */
+  @PostConstruct
+  public void start() {
+    for (BidShard shard : shards) {
+      shard.start();
+    }
+    LOGGER.info("Bid engine started with {} shards", shards.length);
+    recover();
+  }
+
+  /**
+   * Stops every shard after draining its mailbox.
+   */
+  @PreDestroy
+  public void stop() {
+    for (BidShard shard : shards) {
+      shard.stop(SHUTDOWN_TIMEOUT_MS);
+    }
+  }
+
+  /**
+   * Submits a bid for processing on the auction's shard.
+   *
+   * @param auctionId the auction to bid on
+   * @param bidderId  the bidding user
+   * @param amount    the bid amount
+   * @return future completed with the accepted bid, or exceptionally with a
+   *         {@link BidStreamException} if the bid is rejected
+   */
+  public CompletableFuture<AcceptedBid> placeBid(final UUID auctionId,
+      final UUID bidderId, final BigDecimal amount) {
+    CompletableFuture<AcceptedBid> result = new CompletableFuture<>();
+    try {
+      shardFor(auctionId).placeBid(auctionId, bidderId,
+          Money.toCents(amount), result);
+    } catch (ArithmeticException ex) {
+      result.completeExceptionally(outOfRange(amount));
+    }
+    return result;
+  }
+
+  /**
+   * Registers a proxy bid, or raises the bidder's existing maximum, on the
+   * auction's shard. The proxy bids on the bidder's behalf, one increment
+   * above the competition, until the maximum is reached.
+   *
+   * @param auctionId the auction to bid on
+   * @param bidderId  the bidding user
+   * @param maxAmount the most the proxy may bid
+   * @return future completed with the resulting bid, or exceptionally with
+   *         a {@link BidStreamException} if the proxy is rejected
+   */
+  public CompletableFuture<AcceptedBid> placeProxyBid(final UUID auctionId,
+      final UUID bidderId, final BigDecimal maxAmount) {
+    CompletableFuture<AcceptedBid> result = new CompletableFuture<>();
+    try {
+      shardFor(auctionId).placeProxyBid(new ProxyBid(auctionId, bidderId,
+          Money.toCents(maxAmount)), result);
+    } catch (ArithmeticException ex) {
+      result.completeExceptionally(outOfRange(maxAmount));
+    }
+    return result;
+  }
+
+  /**
+   * Closes bidding on an auction whose end time has passed, after every
+   * bid already queued for it. The hot state is dropped once closed; an
+   * auction extended by soft close is left open.
+   *
+   * @param auctionId the auction to close
+   * @return future completed with the outcome, or exceptionally if the
+   *         auction does not exist or the engine is saturated
+   */
+  public CompletableFuture<CloseOutcome> close(final UUID auctionId) {
+    CompletableFuture<CloseOutcome> result = new CompletableFuture<>();
+    shardFor(auctionId).close(auctionId, result);
+    return result;
+  }
+
+  /**
+   * Loads or replaces the hot state of an auction.
+   *
+   * @param auction the persisted auction
+   */
+  public void register(final Auction auction) {
+    if (!shardFor(auction.getId()).register(new AuctionState(auction))) {
+      LOGGER.warn("Mailbox full, auction {} will load on first bid",
+          auction.getId());
+    }
+  }
+
+  /**
+   * Drops the hot state of an auction so it is reloaded on next use.
+   *
+   * @param auctionId the auction to evict
+   */
+  public void evict(final UUID auctionId) {
+    if (!shardFor(auctionId).evict(auctionId)) {
+      LOGGER.warn("Mailbox full, could not evict auction {}", auctionId);
+    }
+  }
+
+  /**
+   * Gets the number of commands waiting across all shards.
+   *
+   * @return the total mailbox depth
+   */
+  public int getQueueDepth() {
+    int depth = 0;
+    for (BidShard shard : shards) {
+      depth += shard.getQueueDepth();
+    }
+    return depth;
+  }
+
+  /**
+   * Compares shard utilization and migrates work off persistently hot
+   * shards. Every shard also resets its per-auction load sample.
+   */
+  @Scheduled(fixedDelayString =
+      "${bidstream.bidding.rebalance-interval-ms:5000}")
+  public void rebalance() {
+    long now = System.nanoTime();
+    long elapsed = Math.max(1L, now - lastRebalanceNanos);
+    lastRebalanceNanos = now;
+
+    double[] utilization = new double[shards.length];
+    double total = 0;
+    int coolest = 0;
+
+    for (int i = 0; i < shards.length; i++) {
+      long busy = shards[i].getBusyNanos();
+      utilization[i] = (double) (busy - lastBusyNanos[i]) / elapsed;
+      lastBusyNanos[i] = busy;
+      total += utilization[i];
+
+      if (utilization[i] < utilization[coolest]) {
+        coolest = i;
+      }
+    }
+
+    double mean = total / shards.length;
+    for (int i = 0; i < shards.length; i++) {
+      boolean hot = i != coolest
+          && utilization[i] >= biddingProperties.getHotShardMinUtilization()
+          && utilization[i] > mean * biddingProperties.getHotShardFactor();
+      hotStreaks[i] = hot ? hotStreaks[i] + 1 : 0;
+
+      BidShard target = null;
+      if (hotStreaks[i] >= biddingProperties.getHotShardPasses()) {
+        target = shards[coolest];
+        hotStreaks[i] = 0;
+      }
+      shards[i].rebalance(target);
+    }
+  }
+
+  /**
+   * Loads every active auction and its proxies into memory, so the first
+   * bid on each auction does not pay for a database read, and replays the
+   * journal tail on top. Runs before the engine is handed to any caller.
+   */
+  private void recover() {
+    Map<UUID, AuctionState> states = new HashMap<>();
+    try (Stream<Auction> active = auctionRepository.streamByStatus(
+        AuctionStatus.ACTIVE, LOAD_BATCH_SIZE)) {
+      active.forEach(auction ->
+          states.put(auction.getId(), new AuctionState(auction)));
+    }
+    int preloaded = states.size();
+
+    int proxies = 0;
+    for (ProxyBid proxy : proxyBidStore.findActive()) {
+      AuctionState state = states.get(proxy.auctionId());
+      if (state != null) {
+        state.restoreProxy(proxy.bidderId(), proxy.maxAmount());
+        proxies++;
+      }
+    }
+
+    long checkpoint = checkpointStore.load();
+    long started = System.nanoTime();
+    long replayed = bidJournal.replay(checkpoint,
+        journaled -> replay(states, journaled));
+
+    long now = clock.millis();
+    int recovered = 0;
+    for (AuctionState state : states.values()) {
+      AcceptedBid pending = state.recoveredBid(rules, now);
+      if (pending != null) {
+        bidPersister.enqueue(pending, checkpoint + 1);
+        recovered++;
+      }
+
+      if (!shardFor(state.getAuctionId()).register(state)) {
+        LOGGER.warn("Mailbox full, auction {} will load on first bid",
+            state.getAuctionId());
+      }
+    }
+
+    LOGGER.info("Bid engine preloaded {} active auctions with {} proxies "
+        + "and replayed {} journaled bids after checkpoint {} in {} ms, {} "
+        + "auctions ahead of Postgres", preloaded, proxies, replayed,
+        checkpoint,
+        (System.nanoTime() - started) / 1_000_000L, recovered);
+  }
+
+  /**
+   * Applies one journal record to the recovering hot state, loading
+   * auctions that were not active.
+   *
+   * @param states    the hot state being recovered
+   * @param journaled the journal record
+   */
+  private void replay(final Map<UUID, AuctionState> states,
+      final JournalRecord journaled) {
+    AuctionState state = states.computeIfAbsent(journaled.auctionId(),
+        id -> auctionRepository.findById(id).map(AuctionState::new)
+            .orElse(null));
+
+    if (state == null) {
+      LOGGER.warn("Skipping journaled bid {} on unknown auction {}",
+          journaled.sequence(), journaled.auctionId());
+      return;
+    }
+    state.replay(journaled.bidderId(), journaled.amountMinor());
+  }
+
+  /**
+   * Resolves the shard that currently owns an auction.
+   *
+   * @param auctionId the auction id
+   * @return the owning shard
+   */
+  BidShard shardFor(final UUID auctionId) {
+    if (!overrides.isEmpty()) {
+      BidShard override = overrides.get(auctionId);
+      if (override != null) {
+        return override;
+      }
+    }
+
+    return shards[hashShard(auctionId)];
+  }
+
+  /**
+   * Routes an auction to a new owner after a migration.
+   *
+   * @param auctionId the migrated auction
+   * @param target    the new owner
+   */
+  void reroute(final UUID auctionId, final BidShard target) {
+    if (shards[hashShard(auctionId)] == target) {
+      overrides.remove(auctionId);
+    } else {
+      overrides.put(auctionId, target);
+    }
+  }
+
+  /**
+   * Gets the bidding rules.
+   *
+   * @return the bidding rules
+   */
+  BidRules getRules() {
+    return rules;
+  }
+
+  /**
+   * Gets the auction notifier.
+   *
+   * @return the auction notifier
+   */
+  AuctionNotifier getNotifier() {
+    return notifier;
+  }
+
+  /**
+   * Gets the clock.
+   *
+   * @return the clock
+   */
+  EpochClock getClock() {
+    return clock;
+  }
+
+  /**
+   * Gets the proxy bid store.
+   *
+   * @return the proxy bid store
+   */
+  ProxyBidStore getProxyBidStore() {
+    return proxyBidStore;
+  }
+
+  /**
+   * Gets the bid persister.
+   *
+   * @return the bid persister
+   */
+  BidPersister getBidPersister() {
+    return bidPersister;
+  }
+
+  /**
+   * Gets the bid journal.
+   *
+   * @return the bid journal
+   */
+  BidJournal getBidJournal() {
+    return bidJournal;
+  }
+
+  /**
+   * Gets the auction repository.
+   *
+   * @return the auction repository
+   */
+  AuctionRepository getAuctionRepository() {
+    return auctionRepository;
+  }
+
+  /**
+   * Builds the rejection of an amount that does not fit in cents.
+   *
+   * @param amount the rejected amount
+   * @return the exception
+   */
+  private static BiddingException outOfRange(final BigDecimal amount) {
+    return new BiddingException("Bid amount " + amount
+        + " is out of range", BiddingException.AMOUNT_OUT_OF_RANGE);
+  }
+
+  /**
+   * Computes the hash shard of an auction id.
+   *
+   * @param auctionId the auction id
+   * @return the shard index
+   */
+  private int hashShard(final UUID auctionId) {
+    long bits = auctionId.getMostSignificantBits()
+        ^ auctionId.getLeastSignificantBits();
+    int hash = (int) (bits ^ (bits >>> 32));
+    hash ^= hash >>> 16;
+    return Math.floorMod(hash, shards.length);
+  }
+}
@@ -0,0 +1,473 @@
+package com.bidstream.service.bidding;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bidstream.event.AuctionPriceChangedEvent;
+import com.bidstream.event.AuctionStateChangedEvent;
+import com.bidstream.model.entity.AuctionStatus;
+import com.bidstream.model.entity.User;
+import com.bidstream.model.money.Money;
+import com.bidstream.model.time.AuctionClock;
+import com.bidstream.repository.AuctionRepository;
+import com.bidstream.repository.UserRepository;
+import com.bidstream.service.journal.BidJournal;
+import com.bidstream.service.journal.JournalCheckpointStore;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Write-behind persistence for bids accepted by the {@link BidEngine}.
+ *
+ * <p>
+ * Accepted bids are coalesced per auction: only the latest accepted bid of
+ * each auction is written, since it already carries the final price, bidder
+ * and bid count. Writes run on a dedicated thread so the engine writer never
+ * waits on the database.
+ * </p>
+ *
+ * <p>
+ * Each write is a compare-and-set against the price the oldest coalesced
+ * bid was validated against, so no row lock is taken. A write that loses
+ * means the row was changed outside this engine. The bid was already
+ * acknowledged, so while the stored price is still below it the write is
+ * retried against that price; if the price keeps moving the write stays
+ * pending, holding back the checkpoint, and is retried on the next pass.
+ * Only a bid the stored price has already reached is dropped, since it
+ * has been outbid; the auction's hot state is then handed to the conflict
+ * handler to be reloaded.
+ * </p>
+ *
+ * <p>
+ * Proxy maxima are written behind in the same pass, keeping the highest
+ * maximum per bidder. They are not journaled: a crash before the write
+ * loses the hidden maximum, never a bid it placed.
+ * </p>
+ *
+ * <p>
+ * Every pending write remembers the journal sequence of the oldest bid it
+ * covers. The persister periodically advances the journal checkpoint to
+ * just below the oldest unwritten sequence, so recovery never replays more
+ * than the bids that had not yet reached Postgres.
+ * </p>
+ */
+@Component
+public class BidPersister {
+
+  /** Logger for this class. */
+  private static final Logger LOGGER =
+      LoggerFactory.getLogger(BidPersister.class);
+
+  /** Delay before retrying after a failed write, in milliseconds. */
+  private static final long RETRY_DELAY_MS = 1_000L;
+
+  /** Maximum time to wait for pending writes on shutdown, in seconds. */
+  private static final long SHUTDOWN_TIMEOUT_SECONDS = 10L;
+
+  /**
+   * Compare-and-set attempts per write before it is left pending for the
+   * next pass.
+   */
+  private static final int MAX_COMMIT_ATTEMPTS = 3;
+
+  /** No write in flight. */
+  private static final long NONE_IN_FLIGHT = Long.MAX_VALUE;
+
+  /** Latest unpersisted bid per auction. */
+  private final ConcurrentMap<UUID, PendingWrite> pending =
+      new ConcurrentHashMap<>();
+
+  /** Latest unpersisted proxy maximum per auction and bidder. */
+  private final ConcurrentMap<ProxyKey, ProxyBid> pendingProxies =
+      new ConcurrentHashMap<>();
+
+  /** Whether a drain pass is already scheduled. */
+  private final AtomicBoolean drainScheduled = new AtomicBoolean();
+
+  /** Single thread that performs all database writes. */
+  private final ScheduledExecutorService executor =
+      Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "bid-persister");
+        thread.setDaemon(true);
+        return thread;
+      });
+
+  /** Repository used to write bid information. */
+  private final AuctionRepository auctionRepository;
+
+  /** Repository used to resolve bidder references. */
+  private final UserRepository userRepository;
+
+  /** Transaction template wrapping each auction write. */
+  private final TransactionTemplate transactionTemplate;
+
+  /** Journal whose checkpoint this persister advances. */
+  private final BidJournal bidJournal;
+
+  /** Postgres record of the journal checkpoint. */
+  private final JournalCheckpointStore checkpointStore;
+
+  /** Postgres record of proxy maxima. */
+  private final ProxyBidStore proxyBidStore;
+
+  /** Publisher of the prices, end times and statuses written. */
+  private final ApplicationEventPublisher publisher;
+
+  /** Bids dropped because a concurrent write had outbid them. */
+  private final Counter conflicts;
+
+  /** Oldest journal sequence of the write in flight. */
+  private volatile long inFlightSequence = NONE_IN_FLIGHT;
+
+  /** Last checkpoint saved. */
+  private long lastCheckpoint;
+
+  /** Callback notified with the auction id of every dropped write. */
+  private volatile Consumer<UUID> conflictHandler = auctionId -> { };
+
+  /**
+   * Creates the persister.
+   *
+   * @param newAuctionRepository   the auction repository
+   * @param newUserRepository      the user repository
+   * @param newTransactionTemplate the transaction template
+   * @param newBidJournal          the bid journal
+   * @param newCheckpointStore     the journal checkpoint store
+   * @param newProxyBidStore       the proxy bid store
+   * @param newPublisher           the event publisher
+   * @param registry               the meter registry
+   */
+  public BidPersister(final AuctionRepository newAuctionRepository,
+      final UserRepository newUserRepository,
+      final TransactionTemplate newTransactionTemplate,
+      final BidJournal newBidJournal,
+      final JournalCheckpointStore newCheckpointStore,
+      final ProxyBidStore newProxyBidStore,
+      final ApplicationEventPublisher newPublisher,
+      final MeterRegistry registry) {
+    this.auctionRepository = newAuctionRepository;
+    this.userRepository = newUserRepository;
+    this.transactionTemplate = newTransactionTemplate;
+    this.bidJournal = newBidJournal;
+    this.checkpointStore = newCheckpointStore;
+    this.proxyBidStore = newProxyBidStore;
+    this.publisher = newPublisher;
+    this.conflicts = Counter.builder("bidstream.bid.persist.conflicts")
+        .description("Bid writes outbid by a concurrent write")
+        .register(registry);
+  }
+
+  /**
+   * Sets the callback notified when a bid write is dropped because a
+   * concurrent write outbid it.
+   *
+   * @param handler the callback receiving the auction id
+   */
+  public void onConflict(final Consumer<UUID> handler) {
+    this.conflictHandler = handler;
+  }
+
+  /**
+   * Queues an accepted bid for persistence.
+   *
+   * @param bid      the accepted bid
+   * @param sequence the journal sequence of the bid
+   */
+  public void enqueue(final AcceptedBid bid, final long sequence) {
+    pending.merge(bid.auctionId(), new PendingWrite(bid, sequence),
+        BidPersister::latest);
+    scheduleDrain(0L);
+  }
+
+  /**
+   * Queues a proxy maximum for persistence.
+   *
+   * @param proxy the proxy
+   */
+  public void enqueueProxy(final ProxyBid proxy) {
+    pendingProxies.merge(new ProxyKey(proxy.auctionId(), proxy.bidderId()),
+        proxy, BidPersister::higher);
+    scheduleDrain(0L);
+  }
+
+  /**
+   * Advances the journal checkpoint past every bid already written and
+   * releases the journal segments it covers.
+   *
+   * <p>
+   * The durable sequence is read before the pending writes: the journal
+   * hands every bid up to that sequence to {@link #enqueue} before
+   * publishing it, so any such bid not yet written is still visible here.
+   * </p>
+   */
+  @Scheduled(fixedDelayString =
+      "${bidstream.journal.checkpoint-interval-ms:1000}")
+  public synchronized void checkpoint() {
+    long durable = bidJournal.durableSequence();
+    long checkpoint = Math.min(durable, oldestUnwrittenSequence() - 1);
+    if (checkpoint <= lastCheckpoint) {
+      return;
+    }
+
+    try {
+      checkpointStore.save(checkpoint);
+      lastCheckpoint = checkpoint;
+      bidJournal.release(checkpoint);
+    } catch (DataAccessException ex) {
+      LOGGER.warn("Failed to save bid journal checkpoint {}", checkpoint,
+          ex);
+    }
+  }
+
+  /**
+   * Flushes all pending bids and the checkpoint before the application
+   * stops.
+   */
+  @PreDestroy
+  public void shutdown() {
+    executor.execute(this::drain);
+    executor.execute(this::checkpoint);
+    executor.shutdown();
+
+    try {
+      if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS,
+          TimeUnit.SECONDS)) {
+        LOGGER.warn("{} auctions still had unpersisted bids at shutdown",
+            pending.size());
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Schedules a drain pass unless one is already pending.
+   *
+   * @param delayMs delay before the pass, in milliseconds
+   */
+  private void scheduleDrain(final long delayMs) {
+    if (drainScheduled.compareAndSet(false, true)
+        && !executor.isShutdown()) {
+      executor.schedule(this::drain, delayMs, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Writes every pending proxy and bid, retrying failed writes later.
+   */
+  private void drain() {
+    drainScheduled.set(false);
+    boolean failed = false;
+
+    for (ProxyKey key : pendingProxies.keySet()) {
+      ProxyBid proxy = pendingProxies.remove(key);
+      if (proxy == null) {
+        continue;
+      }
+
+      try {
+        proxyBidStore.save(proxy);
+      } catch (RuntimeException ex) {
+        LOGGER.error("Failed to persist proxy bid for auction {}",
+            key.auctionId(), ex);
+        pendingProxies.merge(key, proxy, BidPersister::higher);
+        failed = true;
+      }
+    }
+
+    for (UUID auctionId : pending.keySet()) {
+      PendingWrite queued = pending.get(auctionId);
+      if (queued == null) {
+        continue;
+      }
+
+      inFlightSequence = queued.firstSequence();
+      PendingWrite next = pending.remove(auctionId);
+      try {
+        write(next.bid());
+      } catch (RuntimeException ex) {
+        LOGGER.error("Failed to persist bid for auction {}", auctionId, ex);
+        pending.merge(auctionId, next, BidPersister::latest);
+        failed = true;
+      } finally {
+        inFlightSequence = NONE_IN_FLIGHT;
+      }
+    }
+
+    if (failed) {
+      scheduleDrain(RETRY_DELAY_MS);
+    }
+  }
+
+  /**
+   * Writes a single accepted bid in its own transaction.
+   *
+   * @param bid the bid to write
+   */
+  private void write(final AcceptedBid bid) {
+    Boolean won = transactionTemplate.execute(tx -> {
+      if (!commitBid(bid)) {
+        return false;
+      }
+
+      if (bid.reserveNewlyMet()) {
+        auctionRepository.updateReserveStatus(bid.auctionId(), true);
+      }
+
+      if (bid.extended()) {
+        auctionRepository.extendEndTime(bid.auctionId(),
+            AuctionClock.toLocalDateTime(bid.endTimeMs()));
+      }
+
+      if (bid.status() != AuctionStatus.ACTIVE) {
+        auctionRepository.updateStatus(bid.auctionId(), bid.status());
+      }
+      return true;
+    });
+
+    if (Boolean.TRUE.equals(won)) {
+      publisher.publishEvent(new AuctionPriceChangedEvent(bid.auctionId(),
+          bid.amount(), bid.bidCount()));
+      if (bid.extended() || bid.status() != AuctionStatus.ACTIVE) {
+        publisher.publishEvent(new AuctionStateChangedEvent(bid.auctionId(),
+            bid.status(), bid.endTimeMs()));
+      }
+    } else {
+      conflicts.increment();
+      LOGGER.warn("Bid of {} on auction {} was outbid by a concurrent "
+          + "write, reloading auction state", Money.toDecimal(bid.amount()),
+          bid.auctionId());
+      conflictHandler.accept(bid.auctionId());
+    }
+  }
+
+  /**
+   * Commits a bid's price, bidder and count. A lost compare-and-set is
+   * retried against the price now stored while that price is below the
+   * bid.
+   *
+   * @param bid the bid to commit
+   * @return true if committed, false if the stored price has already
+   *         reached the bid or the auction is gone
+   * @throws OptimisticLockingFailureException if the price changed on
+   *                                           every attempt
+   */
+  private boolean commitBid(final AcceptedBid bid) {
+    BigDecimal expected = Money.toDecimal(bid.previousPrice());
+    BigDecimal amount = Money.toDecimal(bid.amount());
+    User bidder = userRepository.getReferenceById(bid.bidderId());
+    for (int attempt = 0; attempt < MAX_COMMIT_ATTEMPTS; attempt++) {
+      if (auctionRepository.tryCommitBid(bid.auctionId(), expected, amount,
+          bidder, bid.bidCount())) {
+        return true;
+      }
+
+      Optional<BigDecimal> stored =
+          auctionRepository.findCommittedPrice(bid.auctionId());
+      if (stored.isEmpty() || stored.get().compareTo(amount) >= 0) {
+        return false;
+      }
+      expected = stored.get();
+    }
+    throw new OptimisticLockingFailureException("Price of auction "
+        + bid.auctionId() + " changed on every commit attempt");
+  }
+
+  /**
+   * Finds the oldest journal sequence not yet written. Pending writes are
+   * scanned before the in-flight marker, which the drain sets before
+   * removing a write from the map, so a write moving between the two is
+   * never missed.
+   *
+   * @return the oldest unwritten sequence, or {@link Long#MAX_VALUE}
+   */
+  private long oldestUnwrittenSequence() {
+    long oldest = NONE_IN_FLIGHT;
+    for (PendingWrite write : pending.values()) {
+      oldest = Math.min(oldest, write.firstSequence());
+    }
+    return Math.min(oldest, inFlightSequence);
+  }
+
+  /**
+   * Merges two pending writes of the same auction. The newest bid is kept,
+   * but it must be committed against the price the oldest bid was
+   * validated against, a reserve transition or end time extension of
+   * either bid is preserved, and the oldest journal sequence is retained.
+   *
+   * @param current  the write already pending
+   * @param incoming the newly accepted write
+   * @return the write to keep pending
+   */
+  private static PendingWrite latest(final PendingWrite current,
+      final PendingWrite incoming) {
+    AcceptedBid newer;
+    AcceptedBid older;
+    if (incoming.bid().bidCount() >= current.bid().bidCount()) {
+      newer = incoming.bid();
+      older = current.bid();
+    } else {
+      newer = current.bid();
+      older = incoming.bid();
+    }
+
+    return new PendingWrite(new AcceptedBid(newer.auctionId(),
+        newer.bidderId(), newer.amount(), older.previousPrice(),
+        newer.bidCount(), newer.reserveMet(),
+        newer.reserveNewlyMet() || older.reserveNewlyMet(),
+        newer.status(), newer.endTimeMs(),
+        newer.extended() || older.extended(), newer.acceptedAtMs()),
+        Math.min(current.firstSequence(), incoming.firstSequence()));
+  }
+
+  /**
+   * Merges two pending maxima of the same proxy, keeping the higher.
+   *
+   * @param current  the maximum already pending
+   * @param incoming the new maximum
+   * @return the maximum to keep pending
+   */
+  private static ProxyBid higher(final ProxyBid current,
+      final ProxyBid incoming) {
+    return incoming.maxAmount() >= current.maxAmount()
+        ? incoming
+        : current;
+  }
+
+  /**
+   * A coalesced write waiting to be persisted.
+   *
+   * @param bid           the bid to write
+   * @param firstSequence the journal sequence of the oldest bid covered
+   */
+  private record PendingWrite(AcceptedBid bid, long firstSequence) {
+  }
+
+  /**
+   * Identifies one bidder's proxy on one auction.
+   *
+   * @param auctionId the auction
+   * @param bidderId  the bidder
+   */
+  private record ProxyKey(UUID auctionId, UUID bidderId) {
+  }
+}
@@ -0,0 +1,46 @@
+package com.bidstream.service.bidding;
+
+import com.bidstream.config.AuctionProperties;
+import com.bidstream.model.money.Money;
+
+/**
+ * Bidding rules applied by the engine, resolved once from
+ * {@link AuctionProperties}.
+ *
+ * @param minIncrement       the minimum increment over the current price,
+ *                           in cents
+ * @param softCloseWindowMs    the final stretch of an auction in which a
+ *                             bid extends it, in milliseconds, zero when
+ *                             soft close is disabled
+ * @param softCloseExtensionMs the bidding time guaranteed after such a
+ *                             bid, in milliseconds
+ */
+record BidRules(
+    long minIncrement,
+    long softCloseWindowMs,
+    long softCloseExtensionMs) {
+
+  /** Milliseconds per second. */
+  private static final long MS_PER_SECOND = 1_000L;
+
+  /**
+   * Resolves the rules from the auction settings.
+   *
+   * @param properties the auction settings
+   * @return the rules
+   */
+  static BidRules from(final AuctionProperties properties) {
+    return new BidRules(Money.toCents(properties.getMinBidIncrement()),
+        properties.getSoftCloseWindowSeconds() * MS_PER_SECOND,
+        properties.getSoftCloseExtensionSeconds() * MS_PER_SECOND);
+  }
+
+  /**
+   * Checks whether soft close is enabled.
+   *
+   * @return true if bids near the end extend the auction
+   */
+  boolean softCloseEnabled() {
+    return softCloseWindowMs > 0 && softCloseExtensionMs > 0;
+  }
+}
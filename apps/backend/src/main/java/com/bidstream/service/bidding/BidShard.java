@@ -0,0 +1,659 @@
+package com.bidstream.service.bidding;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.bidstream.exceptions.BidStreamException;
+import com.bidstream.exceptions.RateLimitException;
+import com.bidstream.exceptions.ResourceNotFoundException;
+import com.bidstream.model.entity.Auction;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * One event loop of the bid engine.
+ *
+ * <p>
+ * A shard owns the hot state and the mailbox of every auction routed to it
+ * and processes its commands on a single thread, so no locks are needed on
+ * the bid path. Commands that reach a shard which no longer owns their
+ * auction (because it was migrated by a rebalance) are forwarded to the
+ * current owner.
+ * </p>
+ */
+final class BidShard {
+
+  /** Logger for this class. */
+  private static final Logger LOGGER = LoggerFactory.getLogger(BidShard.class);
+
+  /** How long the loop waits for work before re-checking shutdown. */
+  private static final long POLL_TIMEOUT_MS = 100L;
+
+  /** Share of a shard's load above which an auction counts as dominant. */
+  private static final double DOMINANT_SHARE = 0.5;
+
+  /** Index of this shard. */
+  private final int index;
+
+  /** Engine that routes auctions to shards. */
+  private final BidEngine engine;
+
+  /** Bounded mailbox of pending commands. */
+  private final BlockingQueue<Command> mailbox;
+
+  /** Hot auction state owned by this shard. */
+  private final Map<UUID, AuctionState> auctions = new HashMap<>();
+
+  /** Commands processed per auction since the last rebalance pass. */
+  private final Map<UUID, int[]> recentLoad = new HashMap<>();
+
+  /** Maximum number of commands drained per loop pass. */
+  private final int drainBatchSize;
+
+  /** Service time of every processed command. */
+  private final Timer serviceTimer;
+
+  /** Number of auctions migrated away from this shard. */
+  private final Counter migrations;
+
+  /** The event loop thread. */
+  private final Thread thread;
+
+  /** Total time spent processing commands, written by the loop only. */
+  private volatile long busyNanos;
+
+  /** Whether the shard accepts new commands. */
+  private volatile boolean running;
+
+  /**
+   * Creates a shard.
+   *
+   * @param newIndex          the shard index
+   * @param newEngine         the owning engine
+   * @param mailboxCapacity   the mailbox capacity
+   * @param newDrainBatchSize the maximum commands drained per pass
+   * @param registry          the meter registry
+   */
+  BidShard(final int newIndex, final BidEngine newEngine,
+      final int mailboxCapacity, final int newDrainBatchSize,
+      final MeterRegistry registry) {
+    this.index = newIndex;
+    this.engine = newEngine;
+    this.mailbox = new ArrayBlockingQueue<>(mailboxCapacity);
+    this.drainBatchSize = newDrainBatchSize;
+
+    String shardTag = Integer.toString(newIndex);
+    Gauge.builder("bidstream.bid.shard.queue.depth", mailbox,
+            BlockingQueue::size)
+        .description("Commands waiting in the shard mailbox")
+        .tag("shard", shardTag)
+        .register(registry);
+    Gauge.builder("bidstream.bid.shard.auctions", auctions, Map::size)
+        .description("Auctions owned by the shard")
+        .tag("shard", shardTag)
+        .register(registry);
+    this.serviceTimer = Timer.builder("bidstream.bid.shard.service.time")
+        .description("Time spent processing one shard command")
+        .tag("shard", shardTag)
+        .publishPercentiles(0.5, 0.99)
+        .register(registry);
+    this.migrations = Counter.builder("bidstream.bid.shard.migrations")
+        .description("Auctions migrated away by rebalancing")
+        .tag("shard", shardTag)
+        .register(registry);
+
+    this.thread = new Thread(this::run, "bid-shard-" + newIndex);
+    this.thread.setDaemon(true);
+  }
+
+  /**
+   * Starts the event loop.
+   */
+  void start() {
+    running = true;
+    thread.start();
+  }
+
+  /**
+   * Stops accepting commands and waits for the mailbox to drain.
+   *
+   * @param timeoutMs maximum time to wait, in milliseconds
+   */
+  void stop(final long timeoutMs) {
+    running = false;
+
+    try {
+      thread.join(timeoutMs);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Gets the shard index.
+   *
+   * @return the index
+   */
+  int getIndex() {
+    return index;
+  }
+
+  /**
+   * Gets the number of commands waiting in the mailbox.
+   *
+   * @return the mailbox depth
+   */
+  int getQueueDepth() {
+    return mailbox.size();
+  }
+
+  /**
+   * Gets the total time spent processing commands.
+   *
+   * @return busy time in nanoseconds
+   */
+  long getBusyNanos() {
+    return busyNanos;
+  }
+
+  /**
+   * Submits a bid.
+   *
+   * @param auctionId the auction to bid on
+   * @param bidderId  the bidding user
+   * @param amount    the bid amount in cents
+   * @param result    future completed with the outcome
+   */
+  void placeBid(final UUID auctionId, final UUID bidderId,
+      final long amount, final CompletableFuture<AcceptedBid> result) {
+    PlaceBid bid = new PlaceBid(auctionId, bidderId, amount, result);
+    if (!offer(bid)) {
+      rejectSaturated(bid.result());
+    }
+  }
+
+  /**
+   * Submits a proxy bid.
+   *
+   * @param proxy  the proxy to register or raise
+   * @param result future completed with the outcome
+   */
+  void placeProxyBid(final ProxyBid proxy,
+      final CompletableFuture<AcceptedBid> result) {
+    PlaceProxyBid bid = new PlaceProxyBid(proxy, result);
+    if (!offer(bid)) {
+      rejectSaturated(bid.result());
+    }
+  }
+
+  /**
+   * Closes bidding on an auction.
+   *
+   * @param auctionId the auction to close
+   * @param result    future completed with the final status
+   */
+  void close(final UUID auctionId,
+      final CompletableFuture<CloseOutcome> result) {
+    if (!offer(new Close(auctionId, result))) {
+      result.completeExceptionally(new RateLimitException(
+          "Bid engine is saturated. Please retry the close."));
+    }
+  }
+
+  /**
+   * Loads or replaces the hot state of an auction.
+   *
+   * @param state the new state
+   * @return true if the command was queued
+   */
+  boolean register(final AuctionState state) {
+    return offer(new Register(state));
+  }
+
+  /**
+   * Drops the hot state of an auction.
+   *
+   * @param auctionId the auction to evict
+   * @return true if the command was queued
+   */
+  boolean evict(final UUID auctionId) {
+    return offer(new Evict(auctionId));
+  }
+
+  /**
+   * Runs a rebalance pass, optionally migrating one auction to another
+   * shard, and resets the per-auction load sample.
+   *
+   * @param target the shard to migrate to, or null to only reset the sample
+   * @return true if the command was queued
+   */
+  boolean rebalance(final BidShard target) {
+    return offer(new Rebalance(target));
+  }
+
+  /**
+   * Offers a command to the mailbox.
+   *
+   * @param command the command
+   * @return true if the command was accepted
+   */
+  private boolean offer(final Command command) {
+    return running && mailbox.offer(command);
+  }
+
+  /**
+   * Event loop: drains commands in batches and processes them in order.
+   */
+  private void run() {
+    List<Command> batch = new ArrayList<>(drainBatchSize);
+
+    while (running || !mailbox.isEmpty()) {
+      try {
+        Command first = mailbox.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+
+        batch.add(first);
+        mailbox.drainTo(batch, drainBatchSize - 1);
+
+        for (Command command : batch) {
+          long started = System.nanoTime();
+          process(command);
+          long elapsed = System.nanoTime() - started;
+          busyNanos += elapsed;
+          serviceTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        }
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        return;
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  /**
+   * Processes a single command, forwarding it if the auction has moved.
+   *
+   * @param command the command
+   */
+  private void process(final Command command) {
+    if (command instanceof AuctionCommand routed) {
+      BidShard owner = engine.shardFor(routed.auctionId());
+      if (owner != this) {
+        forward(routed, owner);
+        return;
+      }
+    }
+
+    switch (command) {
+      case PlaceBid bid -> processBid(bid);
+      case PlaceProxyBid bid -> processProxyBid(bid);
+      case Register register ->
+          auctions.put(register.auctionId(), register.state());
+      case Evict evict -> {
+        auctions.remove(evict.auctionId());
+        recentLoad.remove(evict.auctionId());
+      }
+      case Close close -> processClose(close);
+      case Adopt adopt -> auctions.put(adopt.state().getAuctionId(),
+          adopt.state());
+      case Rebalance rebalance -> processRebalance(rebalance.target());
+    }
+  }
+
+  /**
+   * Validates and applies a bid, completing its future.
+   *
+   * @param bid the bid command
+   */
+  private void processBid(final PlaceBid bid) {
+    try {
+      AuctionState state = auctions.get(bid.auctionId());
+      if (state == null) {
+        state = load(bid.auctionId());
+      }
+
+      recentLoad.computeIfAbsent(bid.auctionId(), id -> new int[1])[0]++;
+      AcceptedBid accepted = state.apply(bid.bidderId(), bid.amount(),
+          engine.getRules(), engine.getClock().millis());
+      engine.getBidJournal().append(accepted,
+          (sequence, failure) -> acknowledge(bid.result(), accepted, null,
+              sequence, failure));
+    } catch (BidStreamException ex) {
+      bid.result().completeExceptionally(ex);
+    } catch (RuntimeException ex) {
+      LOGGER.error("Unexpected failure processing bid on auction {}",
+          bid.auctionId(), ex);
+      bid.result().completeExceptionally(ex);
+    }
+  }
+
+  /**
+   * Registers or raises a proxy bid, completing its future. A proxy that
+   * moves the auction is journaled like any bid; one that only raises the
+   * holder's own maximum is recorded straight away.
+   *
+   * @param bid the proxy bid command
+   */
+  private void processProxyBid(final PlaceProxyBid bid) {
+    ProxyBid proxy = bid.proxy();
+    try {
+      AuctionState state = auctions.get(proxy.auctionId());
+      if (state == null) {
+        state = load(proxy.auctionId());
+      }
+
+      recentLoad.computeIfAbsent(proxy.auctionId(), id -> new int[1])[0]++;
+      long now = engine.getClock().millis();
+      AcceptedBid accepted = state.applyProxy(proxy.bidderId(),
+          proxy.maxAmount(), engine.getRules(), now);
+      if (accepted == null) {
+        engine.getBidPersister().enqueueProxy(proxy);
+        bid.result().complete(state.snapshot(now));
+        return;
+      }
+
+      engine.getBidJournal().append(accepted,
+          (sequence, failure) -> acknowledge(bid.result(), accepted, proxy,
+              sequence, failure));
+    } catch (BidStreamException ex) {
+      bid.result().completeExceptionally(ex);
+    } catch (RuntimeException ex) {
+      LOGGER.error("Unexpected failure processing proxy bid on auction {}",
+          proxy.auctionId(), ex);
+      bid.result().completeExceptionally(ex);
+    }
+  }
+
+  /**
+   * Closes an auction whose end time has passed and drops its hot state.
+   * Later bids reload it and are rejected by the end time check. An
+   * auction extended by soft close stays open and loaded.
+   *
+   * @param close the close command
+   */
+  private void processClose(final Close close) {
+    try {
+      AuctionState state = auctions.get(close.auctionId());
+      if (state == null) {
+        state = load(close.auctionId());
+      }
+
+      CloseOutcome outcome = state.close(engine.getClock().millis());
+      if (!outcome.stillOpen()) {
+        auctions.remove(close.auctionId());
+        recentLoad.remove(close.auctionId());
+      }
+      close.result().complete(outcome);
+    } catch (RuntimeException ex) {
+      close.result().completeExceptionally(ex);
+    }
+  }
+
+  /**
+   * Acknowledges a bid once the journal has made it durable. Runs on the
+   * journal committer thread. If the bid could not be journaled, the
+   * auction's hot state is evicted so it reloads from the database.
+   *
+   * @param result   the future of the bid
+   * @param accepted the bid as applied to the hot state
+   * @param proxy    the proxy that placed the bid, or null
+   * @param sequence the journal sequence of the bid
+   * @param failure  the journal failure, or null on success
+   */
+  private void acknowledge(final CompletableFuture<AcceptedBid> result,
+      final AcceptedBid accepted, final ProxyBid proxy, final long sequence,
+      final Throwable failure) {
+    if (failure != null) {
+      engine.evict(accepted.auctionId());
+      result.completeExceptionally(failure);
+      return;
+    }
+
+    if (proxy != null) {
+      engine.getBidPersister().enqueueProxy(proxy);
+    }
+    engine.getBidPersister().enqueue(accepted, sequence);
+    result.complete(accepted);
+    engine.getNotifier().bidAccepted(accepted);
+  }
+
+  /**
+   * Migrates one auction to the target shard if this shard has more than
+   * one busy auction, then resets the load sample.
+   *
+   * <p>
+   * When a single auction dominates the shard it stays put and the next
+   * busiest auction is moved instead, so the bid storm keeps a shard to
+   * itself while the auctions sharing it move to quieter loops.
+   * </p>
+   *
+   * @param target the shard to migrate to, or null
+   */
+  private void processRebalance(final BidShard target) {
+    try {
+      if (target == null || recentLoad.size() < 2) {
+        return;
+      }
+
+      UUID hottest = null;
+      UUID runnerUp = null;
+      int hottestLoad = 0;
+      int runnerUpLoad = 0;
+      long totalLoad = 0;
+
+      for (Map.Entry<UUID, int[]> entry : recentLoad.entrySet()) {
+        int load = entry.getValue()[0];
+        totalLoad += load;
+
+        if (load > hottestLoad) {
+          runnerUp = hottest;
+          runnerUpLoad = hottestLoad;
+          hottest = entry.getKey();
+          hottestLoad = load;
+        } else if (load > runnerUpLoad) {
+          runnerUp = entry.getKey();
+          runnerUpLoad = load;
+        }
+      }
+
+      UUID candidate = hottestLoad > totalLoad * DOMINANT_SHARE
+          ? runnerUp
+          : hottest;
+      if (candidate != null) {
+        migrate(candidate, target);
+      }
+    } finally {
+      recentLoad.clear();
+    }
+  }
+
+  /**
+   * Hands an auction's state over to another shard. The adopt command is
+   * queued on the target before the routing table changes, so every
+   * command routed to the target afterwards is processed after it, and
+   * commands still queued here are forwarded.
+   *
+   * @param auctionId the auction to migrate
+   * @param target    the new owner
+   */
+  private void migrate(final UUID auctionId, final BidShard target) {
+    AuctionState state = auctions.get(auctionId);
+    if (state == null || !target.offer(new Adopt(state))) {
+      return;
+    }
+
+    auctions.remove(auctionId);
+    engine.reroute(auctionId, target);
+    migrations.increment();
+    LOGGER.info("Migrated auction {} from bid shard {} to {}", auctionId,
+        index, target.getIndex());
+  }
+
+  /**
+   * Forwards a command to the shard that now owns its auction.
+   *
+   * @param command the command
+   * @param owner   the owning shard
+   */
+  private void forward(final AuctionCommand command, final BidShard owner) {
+    if (owner.offer(command)) {
+      return;
+    }
+
+    if (command instanceof PlaceBid bid) {
+      rejectSaturated(bid.result());
+    } else if (command instanceof PlaceProxyBid bid) {
+      rejectSaturated(bid.result());
+    } else {
+      if (command instanceof Close close) {
+        close.result().completeExceptionally(new RateLimitException(
+            "Bid engine is saturated. Please retry the close."));
+      }
+      LOGGER.warn("Dropped {} for auction {}: shard {} mailbox full",
+          command.getClass().getSimpleName(), command.auctionId(),
+          owner.getIndex());
+    }
+  }
+
+  /**
+   * Loads an auction that is not yet in memory, with its proxies. Only
+   * happens for auctions missed by the startup preload.
+   *
+   * @param auctionId the auction to load
+   * @return the loaded hot state
+   */
+  private AuctionState load(final UUID auctionId) {
+    Auction auction = engine.getAuctionRepository().findById(auctionId)
+        .orElseThrow(() -> new ResourceNotFoundException("Auction", auctionId));
+    AuctionState state = new AuctionState(auction);
+    for (ProxyBid proxy
+        : engine.getProxyBidStore().findByAuction(auctionId)) {
+      state.restoreProxy(proxy.bidderId(), proxy.maxAmount());
+    }
+    auctions.put(auctionId, state);
+    return state;
+  }
+
+  /**
+   * Fails a bid because the owning shard cannot accept more work.
+   *
+   * @param result the future of the rejected bid
+   */
+  private static void rejectSaturated(
+      final CompletableFuture<AcceptedBid> result) {
+    result.completeExceptionally(new RateLimitException(
+        "Bid engine is saturated. Please retry the bid."));
+  }
+
+  /**
+   * Commands accepted by a shard.
+   */
+  private sealed interface Command
+      permits AuctionCommand, Adopt, Rebalance {
+  }
+
+  /**
+   * Commands addressed to a single auction.
+   */
+  private sealed interface AuctionCommand extends Command
+      permits PlaceBid, PlaceProxyBid, Register, Evict, Close {
+
+    /**
+     * Gets the auction the command is addressed to.
+     *
+     * @return the auction id
+     */
+    UUID auctionId();
+  }
+
+  /**
+   * Places a bid.
+   *
+   * @param auctionId the auction to bid on
+   * @param bidderId  the bidding user
+   * @param amount    the bid amount in cents
+   * @param result    future completed with the outcome
+   */
+  private record PlaceBid(UUID auctionId, UUID bidderId, long amount,
+      CompletableFuture<AcceptedBid> result) implements AuctionCommand {
+  }
+
+  /**
+   * Registers or raises a proxy bid.
+   *
+   * @param proxy  the proxy
+   * @param result future completed with the outcome
+   */
+  private record PlaceProxyBid(ProxyBid proxy,
+      CompletableFuture<AcceptedBid> result) implements AuctionCommand {
+
+    @Override
+    public UUID auctionId() {
+      return proxy.auctionId();
+    }
+  }
+
+  /**
+   * Loads or replaces an auction's hot state.
+   *
+   * @param state the new state
+   */
+  private record Register(AuctionState state) implements AuctionCommand {
+
+    @Override
+    public UUID auctionId() {
+      return state.getAuctionId();
+    }
+  }
+
+  /**
+   * Evicts an auction's hot state.
+   *
+   * @param auctionId the auction to evict
+   */
+  private record Evict(UUID auctionId) implements AuctionCommand {
+  }
+
+  /**
+   * Closes bidding on an auction.
+   *
+   * @param auctionId the auction to close
+   * @param result    future completed with the final status
+   */
+  private record Close(UUID auctionId,
+      CompletableFuture<CloseOutcome> result) implements AuctionCommand {
+  }
+
+  /**
+   * Takes over an auction migrated from another shard. Not subject to the
+   * ownership check, since it is queued before the routing table changes.
+   *
+   * @param state the migrated state
+   */
+  private record Adopt(AuctionState state) implements Command {
+  }
+
+  /**
+   * Samples load and optionally migrates one auction.
+   *
+   * @param target the shard to migrate to, or null
+   */
+  private record Rebalance(BidShard target) implements Command {
+  }
+}
@@ -0,0 +1,27 @@
+package com.bidstream.service.bidding;
+
+import com.bidstream.model.entity.AuctionStatus;
+
+/**
+ * Result of asking the bid engine to close an auction.
+ *
+ * <p>
+ * A status of {@link AuctionStatus#ACTIVE} means the auction was extended
+ * by soft close and is still open until {@code endTimeMs}; the caller should
+ * try again then.
+ * </p>
+ *
+ * @param status    the auction status after the request
+ * @param endTimeMs the auction's current end time in epoch milliseconds
+ */
+public record CloseOutcome(AuctionStatus status, long endTimeMs) {
+
+  /**
+   * Checks whether the auction is still open.
+   *
+   * @return true if the auction was extended past the request
+   */
+  public boolean stillOpen() {
+    return status == AuctionStatus.ACTIVE;
+  }
+}
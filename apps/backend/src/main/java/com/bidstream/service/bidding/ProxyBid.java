@@ -0,0 +1,13 @@
+package com.bidstream.service.bidding;
+
+import java.util.UUID;
+
+/**
+ * Hidden maximum a bidder registered for automatic bidding.
+ *
+ * @param auctionId the auction the proxy bids on
+ * @param bidderId  the bidder the proxy bids for
+ * @param maxAmount the most the proxy may bid, in cents
+ */
+public record ProxyBid(UUID auctionId, UUID bidderId, long maxAmount) {
+}
@@ -0,0 +1,101 @@
+package com.bidstream.service.bidding;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.bidstream.model.money.Money;
+
+/**
+ * Postgres record of proxy bid maxima.
+ *
+ * <p>
+ * Maxima live in their own table rather than on the auction row, so they
+ * never reach the {@code Auction} entity or any response built from it.
+ * The bid engine reads them only when it loads an auction into memory.
+ * </p>
+ */
+@Component
+public class ProxyBidStore {
+
+  /** Reads the proxies of every active auction, oldest first. */
+  private static final String SELECT_ACTIVE_SQL =
+      "SELECT p.auction_id, p.bidder_id, p.max_amount FROM proxy_bids p "
+          + "JOIN auctions a ON a.id = p.auction_id "
+          + "WHERE a.status = 'ACTIVE' ORDER BY p.updated_at";
+
+  /** Reads the proxies of one auction, oldest first. */
+  private static final String SELECT_AUCTION_SQL =
+      "SELECT auction_id, bidder_id, max_amount FROM proxy_bids "
+          + "WHERE auction_id = ? ORDER BY updated_at";
+
+  /** Records a maximum, never lowering an existing one. */
+  private static final String UPSERT_SQL =
+      "INSERT INTO proxy_bids (auction_id, bidder_id, max_amount) "
+          + "VALUES (?, ?, ?) "
+          + "ON CONFLICT (auction_id, bidder_id) DO UPDATE "
+          + "SET max_amount = EXCLUDED.max_amount, "
+          + "updated_at = CURRENT_TIMESTAMP "
+          + "WHERE proxy_bids.max_amount < EXCLUDED.max_amount";
+
+  /** JDBC access. */
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Creates the store.
+   *
+   * @param newJdbcTemplate the JDBC template
+   */
+  public ProxyBidStore(final JdbcTemplate newJdbcTemplate) {
+    this.jdbcTemplate = newJdbcTemplate;
+  }
+
+  /**
+   * Loads the proxies of every active auction in registration order.
+   *
+   * @return the proxies
+   */
+  public List<ProxyBid> findActive() {
+    return jdbcTemplate.query(SELECT_ACTIVE_SQL, ProxyBidStore::map);
+  }
+
+  /**
+   * Loads the proxies of one auction in registration order.
+   *
+   * @param auctionId the auction
+   * @return the proxies
+   */
+  public List<ProxyBid> findByAuction(final UUID auctionId) {
+    return jdbcTemplate.query(SELECT_AUCTION_SQL, ProxyBidStore::map,
+        auctionId);
+  }
+
+  /**
+   * Records a proxy maximum.
+   *
+   * @param proxy the proxy
+   */
+  public void save(final ProxyBid proxy) {
+    jdbcTemplate.update(UPSERT_SQL, proxy.auctionId(), proxy.bidderId(),
+        Money.toDecimal(proxy.maxAmount()));
+  }
+
+  /**
+   * Maps a row to a proxy.
+   *
+   * @param rs     the result set
+   * @param rowNum the row number
+   * @return the proxy
+   * @throws SQLException if a column cannot be read
+   */
+  private static ProxyBid map(final ResultSet rs, final int rowNum)
+      throws SQLException {
+    return new ProxyBid(rs.getObject("auction_id", UUID.class),
+        rs.getObject("bidder_id", UUID.class),
+        Money.toCents(rs.getBigDecimal("max_amount")));
+  }
+}
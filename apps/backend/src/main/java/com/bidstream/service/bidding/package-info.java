@@ -0,0 +1,14 @@
+/**
+ * In-memory bid processing engine.
+ *
+ * <p>
+ * The engine hash-shards auctions onto per-core event loops. Each loop owns
+ * the hot state of its auctions and applies bids on a single thread, so
+ * validation never touches the database and concurrent bidders cannot race
+ * each other. Accepted bids are acknowledged once the bid journal has made
+ * them durable and are written to Postgres asynchronously by
+ * {@link com.bidstream.service.bidding.BidPersister}.
+ * </p>
+ */
+
+package com.bidstream.service.bidding;
@@ -0,0 +1,136 @@
+package com.bidstream.service.cache;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.bidstream.config.CacheProperties;
+import com.bidstream.event.AuctionChangedEvent;
+import com.bidstream.event.AuctionPriceChangedEvent;
+import com.bidstream.event.AuctionStateChangedEvent;
+import com.bidstream.repository.AuctionListView;
+import com.bidstream.repository.AuctionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Two-tier cache of the listing fields of auctions.
+ *
+ * <p>
+ * Every write to those fields raises an event this cache follows: entity
+ * saves an {@link AuctionChangedEvent} once committed, accepted bids
+ * ({@code tryCommitBid}, {@code updateReserveStatus}) an
+ * {@link AuctionPriceChangedEvent}, and status changes and soft-close
+ * extensions ({@code updateStatus}, {@code transitionStatus},
+ * {@code extendEndTime}) an {@link AuctionStateChangedEvent}. View and
+ * watch counter flushes do not touch any cached field, so they are not
+ * followed and do not cost hot auctions their entries.
+ * </p>
+ */
+@Component
+public class AuctionCache {
+
+  /** Cache name, used in Redis keys and metric tags. */
+  private static final String NAME = "auctions";
+
+  /** The cached auctions. */
+  private final TwoTierCache<CachedAuction> cache;
+
+  /** Repository loading misses. */
+  private final AuctionRepository auctionRepository;
+
+  /**
+   * Creates the cache.
+   *
+   * @param newAuctionRepository the auction repository
+   * @param properties           the cache settings
+   * @param redis                the Redis template
+   * @param coherence            the cross-node invalidation broadcaster
+   * @param objectMapper         the object mapper
+   * @param registry             the meter registry
+   */
+  public AuctionCache(final AuctionRepository newAuctionRepository,
+      final CacheProperties properties, final StringRedisTemplate redis,
+      final CacheCoherence coherence, final ObjectMapper objectMapper,
+      final MeterRegistry registry) {
+    this.auctionRepository = newAuctionRepository;
+    this.cache = new TwoTierCache<>(NAME, CachedAuction.class, properties,
+        redis, coherence, objectMapper, registry);
+  }
+
+  /**
+   * Reads one auction.
+   *
+   * @param auctionId the auction
+   * @return the auction, or empty if it does not exist
+   */
+  public Optional<CachedAuction> get(final UUID auctionId) {
+    return Optional.ofNullable(cache.get(auctionId, this::load));
+  }
+
+  /**
+   * Reads several auctions.
+   *
+   * @param auctionIds the auctions
+   * @return the auctions that exist, by id
+   */
+  public Map<UUID, CachedAuction> getAll(
+      final Collection<UUID> auctionIds) {
+    return cache.getAll(auctionIds, this::load);
+  }
+
+  /**
+   * Drops an auction saved through JPA.
+   *
+   * @param event the change
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onAuctionChanged(final AuctionChangedEvent event) {
+    cache.invalidate(List.of(event.auction().getId()));
+  }
+
+  /**
+   * Drops an auction whose price changed.
+   *
+   * @param event the change
+   */
+  @EventListener
+  public void onAuctionPriceChanged(final AuctionPriceChangedEvent event) {
+    cache.invalidate(List.of(event.auctionId()));
+  }
+
+  /**
+   * Drops an auction whose status or end time changed.
+   *
+   * @param event the change
+   */
+  @EventListener
+  public void onAuctionStateChanged(final AuctionStateChangedEvent event) {
+    cache.invalidate(List.of(event.auctionId()));
+  }
+
+  /**
+   * Loads the listing columns of auctions from the database.
+   *
+   * @param auctionIds the auctions
+   * @return the auctions that exist, by id
+   */
+  private Map<UUID, CachedAuction> load(final Set<UUID> auctionIds) {
+    Map<UUID, CachedAuction> auctions = new HashMap<>();
+    for (AuctionListView auction
+        : auctionRepository.findViewsByIdIn(auctionIds)) {
+      auctions.put(auction.id(), CachedAuction.from(auction));
+    }
+    return auctions;
+  }
+}
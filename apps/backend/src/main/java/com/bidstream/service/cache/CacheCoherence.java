@@ -0,0 +1,240 @@
+package com.bidstream.service.cache;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Keeps the near-caches of all nodes coherent by broadcasting every
+ * local invalidation over an {@link InvalidationChannel}.
+ *
+ * <p>
+ * Invalidations are collected for {@code batch-window-ms} and sent as
+ * one compact message per cache, {@code node|cache|id:version,...}, so a
+ * burst of bids on one auction costs a single message carrying its newest
+ * version. A receiving node drops its entry of each id unless the entry
+ * was loaded at or after that version, so a message that arrives after
+ * the node already reloaded the row does not evict it again. Version 0
+ * means the sender had no shared version and always drops.
+ * </p>
+ *
+ * <p>
+ * Each instance has its own node id and ignores its own messages, so two
+ * application contexts in one JVM sharing a channel behave like two
+ * nodes. If the channel is down, messages are lost and entries expire
+ * after {@code bidstream.cache.near-ttl-ms} as without it.
+ * </p>
+ */
+@Component
+public class CacheCoherence {
+
+  /** Logger for this class. */
+  private static final Logger LOGGER =
+      LoggerFactory.getLogger(CacheCoherence.class);
+
+  /** Separates the node, the cache and the ids of a message. */
+  private static final char FIELD_SEPARATOR = '|';
+
+  /** Separates the ids of a message. */
+  private static final char ID_SEPARATOR = ',';
+
+  /** Separates an id from its version. */
+  private static final char VERSION_SEPARATOR = ':';
+
+  /**
+   * Most ids per message, keeping it under the 8000 byte NOTIFY payload
+   * limit even with 19 digit versions.
+   */
+  private static final int MAX_IDS_PER_MESSAGE = 120;
+
+  /** This node's id. */
+  private final String nodeId = UUID.randomUUID().toString();
+
+  /** Drops near-cache entries, by cache name. */
+  private final Map<String, Consumer<Map<UUID, Long>>> caches =
+      new ConcurrentHashMap<>();
+
+  /** Unsent invalidations by cache, then id, with the newest version. */
+  private final Map<String, Map<UUID, Long>> pending = new HashMap<>();
+
+  /** The channel. */
+  private final InvalidationChannel channel;
+
+  /** Messages sent. */
+  private final Counter sent;
+
+  /** Messages received from other nodes. */
+  private final Counter received;
+
+  /** Ids other nodes invalidated. */
+  private final Counter invalidations;
+
+  /**
+   * Creates the coherence broadcaster and subscribes to the channel.
+   *
+   * @param newChannel the channel
+   * @param registry   the meter registry
+   */
+  public CacheCoherence(final InvalidationChannel newChannel,
+      final MeterRegistry registry) {
+    this.channel = newChannel;
+    this.sent = Counter.builder("bidstream.coherence.messages")
+        .description("Cache invalidation messages")
+        .tag("direction", "sent")
+        .register(registry);
+    this.received = Counter.builder("bidstream.coherence.messages")
+        .description("Cache invalidation messages")
+        .tag("direction", "received")
+        .register(registry);
+    this.invalidations = Counter.builder("bidstream.coherence.invalidations")
+        .description("Cache entries other nodes invalidated")
+        .register(registry);
+    Gauge.builder("bidstream.coherence.connected", newChannel,
+            c -> c.isConnected() ? 1 : 0)
+        .description("Whether invalidations from other nodes are received")
+        .register(registry);
+    newChannel.subscribe(this::receive);
+  }
+
+  /**
+   * Registers a cache to be told about other nodes' invalidations.
+   *
+   * @param cache the cache name
+   * @param drop  drops the given ids unless loaded at or after the
+   *              given versions
+   */
+  public void register(final String cache,
+      final Consumer<Map<UUID, Long>> drop) {
+    caches.put(cache, drop);
+  }
+
+  /**
+   * Queues invalidations for the other nodes.
+   *
+   * @param cache    the cache name
+   * @param versions the invalidated ids and their new versions
+   */
+  public void publish(final String cache, final Map<UUID, Long> versions) {
+    synchronized (pending) {
+      Map<UUID, Long> ids =
+          pending.computeIfAbsent(cache, name -> new LinkedHashMap<>());
+      versions.forEach((id, version) -> ids.merge(id, version, Math::max));
+    }
+  }
+
+  /**
+   * Sends the queued invalidations. A failed send is not retried: by the
+   * time a retry could succeed the entries have expired anyway.
+   */
+  @Scheduled(fixedDelayString =
+      "${bidstream.coherence.batch-window-ms:20}")
+  @PreDestroy
+  public void flush() {
+    Map<String, Map<UUID, Long>> batch;
+    synchronized (pending) {
+      if (pending.isEmpty()) {
+        return;
+      }
+      batch = new HashMap<>(pending);
+      pending.clear();
+    }
+
+    batch.forEach((cache, versions) -> {
+      for (String message : encode(cache, versions)) {
+        try {
+          channel.publish(message);
+          sent.increment();
+        } catch (RuntimeException ex) {
+          LOGGER.warn("Could not send {} invalidations, other nodes rely on "
+              + "expiry", cache, ex);
+        }
+      }
+    });
+  }
+
+  /**
+   * Applies a message from another node.
+   *
+   * @param message the message
+   */
+  private void receive(final String message) {
+    int node = message.indexOf(FIELD_SEPARATOR);
+    int cache = message.indexOf(FIELD_SEPARATOR, node + 1);
+    if (node < 0 || cache < 0) {
+      LOGGER.warn("Ignoring malformed cache invalidation: {}", message);
+      return;
+    }
+    if (node == nodeId.length() && message.startsWith(nodeId)) {
+      return;
+    }
+    Consumer<Map<UUID, Long>> drop =
+        caches.get(message.substring(node + 1, cache));
+    if (drop == null) {
+      return;
+    }
+
+    Map<UUID, Long> versions = new HashMap<>();
+    try {
+      for (String id : message.substring(cache + 1).split(
+          String.valueOf(ID_SEPARATOR))) {
+        int version = id.indexOf(VERSION_SEPARATOR);
+        versions.put(UUID.fromString(id.substring(0, version)),
+            Long.parseLong(id.substring(version + 1)));
+      }
+    } catch (RuntimeException ex) {
+      LOGGER.warn("Ignoring malformed cache invalidation: {}", message);
+      return;
+    }
+    received.increment();
+    invalidations.increment(versions.size());
+    drop.accept(versions);
+  }
+
+  /**
+   * Encodes the invalidations of one cache.
+   *
+   * @param cache    the cache name
+   * @param versions the ids and their versions
+   * @return the messages, each within the size limit
+   */
+  private List<String> encode(final String cache,
+      final Map<UUID, Long> versions) {
+    List<String> messages = new ArrayList<>();
+    StringBuilder message = null;
+    int ids = 0;
+    for (Map.Entry<UUID, Long> version : versions.entrySet()) {
+      if (message == null || ids == MAX_IDS_PER_MESSAGE) {
+        if (message != null) {
+          messages.add(message.toString());
+        }
+        message = new StringBuilder(nodeId).append(FIELD_SEPARATOR)
+            .append(cache).append(FIELD_SEPARATOR);
+        ids = 0;
+      } else {
+        message.append(ID_SEPARATOR);
+      }
+      message.append(version.getKey()).append(VERSION_SEPARATOR)
+          .append(version.getValue());
+      ids++;
+    }
+    if (message != null) {
+      messages.add(message.toString());
+    }
+    return messages;
+  }
+}
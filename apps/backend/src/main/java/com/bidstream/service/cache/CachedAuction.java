@@ -0,0 +1,37 @@
+package com.bidstream.service.cache;
+
+import java.util.UUID;
+
+import com.bidstream.model.entity.AuctionStatus;
+import com.bidstream.model.money.Money;
+import com.bidstream.model.time.AuctionClock;
+import com.bidstream.repository.AuctionListView;
+
+/**
+ * The listing fields of an auction, as held by {@link AuctionCache}.
+ *
+ * @param id         the auction id
+ * @param title      the title
+ * @param category   the category
+ * @param priceCents the current price, or the starting price before the
+ *                   first bid, in cents
+ * @param bidCount   the number of bids placed
+ * @param status     the status
+ * @param endTimeMs  when bidding ends, in epoch milliseconds
+ */
+public record CachedAuction(UUID id, String title, String category,
+    long priceCents, int bidCount, AuctionStatus status, long endTimeMs) {
+
+  /**
+   * Copies a listing row.
+   *
+   * @param auction the listing row
+   * @return the cached form
+   */
+  public static CachedAuction from(final AuctionListView auction) {
+    return new CachedAuction(auction.id(), auction.title(),
+        auction.category(), Money.toCents(auction.price()),
+        auction.bidCount() == null ? 0 : auction.bidCount(),
+        auction.status(), AuctionClock.toEpochMs(auction.endTime()));
+  }
+}
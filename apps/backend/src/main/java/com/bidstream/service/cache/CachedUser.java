@@ -0,0 +1,35 @@
+package com.bidstream.service.cache;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.bidstream.model.entity.User;
+
+/**
+ * The public profile of a user, as held by {@link UserCache}. Never
+ * includes credentials, so nothing secret is copied to Redis.
+ *
+ * @param id            the user id
+ * @param username      the username
+ * @param email         the email address
+ * @param firstName     the first name
+ * @param lastName      the last name
+ * @param emailVerified whether the email address is verified
+ * @param createdAt     when the user registered
+ */
+public record CachedUser(UUID id, String username, String email,
+    String firstName, String lastName, boolean emailVerified,
+    LocalDateTime createdAt) {
+
+  /**
+   * Copies the public profile of a user.
+   *
+   * @param user the user
+   * @return the cached form
+   */
+  public static CachedUser from(final User user) {
+    return new CachedUser(user.getId(), user.getUsername(), user.getEmail(),
+        user.getFirstName(), user.getLastName(),
+        Boolean.TRUE.equals(user.isEmailVerified()), user.getCreatedAt());
+  }
+}
@@ -0,0 +1,67 @@
+package com.bidstream.service.cache;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import com.bidstream.repository.AuctionListView;
+import com.bidstream.repository.AuctionRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Featured auction pages, with concurrent requests for the same page
+ * sharing one query. The first page of a freshly promoted auction is what
+ * every client asks for at once.
+ */
+@Component
+public class FeaturedAuctions {
+
+  /** Repository running the query. */
+  private final AuctionRepository auctionRepository;
+
+  /** Coalesces concurrent queries of the same page. */
+  private final SingleFlight<PageKey, Slice<AuctionListView>> pages;
+
+  /**
+   * Creates the featured auction pages.
+   *
+   * @param newAuctionRepository the auction repository
+   * @param registry             the meter registry
+   */
+  public FeaturedAuctions(final AuctionRepository newAuctionRepository,
+      final MeterRegistry registry) {
+    this.auctionRepository = newAuctionRepository;
+    this.pages = new SingleFlight<>("featured", registry);
+  }
+
+  /**
+   * Reads one page of featured active auctions, soonest ending first.
+   *
+   * @param afterEndTime end time of the last auction already returned
+   * @param afterId      id of the last auction already returned
+   * @param page         the page size
+   * @return the page
+   */
+  public Slice<AuctionListView> page(final LocalDateTime afterEndTime,
+      final UUID afterId, final Pageable page) {
+    return pages.execute(
+        new PageKey(afterEndTime, afterId, page.getPageSize()),
+        () -> auctionRepository.findFeaturedActiveAuctions(afterEndTime,
+            afterId, page));
+  }
+
+  /**
+   * Identifies a page.
+   *
+   * @param afterEndTime end time of the last auction already returned
+   * @param afterId      id of the last auction already returned
+   * @param size         the page size
+   */
+  private record PageKey(LocalDateTime afterEndTime, UUID afterId,
+      int size) {
+  }
+}
@@ -0,0 +1,37 @@
+package com.bidstream.service.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Broadcast channel carrying cache invalidations between nodes.
+ *
+ * <p>
+ * Delivery is best effort: messages sent while a node is disconnected
+ * are lost to it, and its near-cache entries then go stale for at most
+ * {@code bidstream.cache.near-ttl-ms}.
+ * </p>
+ */
+public interface InvalidationChannel {
+
+  /**
+   * Sends a message to every subscribed node, including this one.
+   *
+   * @param payload the message
+   */
+  void publish(String payload);
+
+  /**
+   * Sets the receiver of incoming messages. Called once, before the
+   * channel starts.
+   *
+   * @param receiver called with each message, on the channel's thread
+   */
+  void subscribe(Consumer<String> receiver);
+
+  /**
+   * Gets whether messages are currently being received.
+   *
+   * @return true if subscribed
+   */
+  boolean isConnected();
+}
@@ -0,0 +1,32 @@
+package com.bidstream.service.cache;
+
+import java.util.function.Consumer;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Channel used when {@code bidstream.coherence.transport} is
+ * {@code none}. Drops every message, so other nodes' writes only become
+ * visible as near-cache entries expire.
+ */
+@Component
+@ConditionalOnProperty(prefix = "bidstream.coherence", name = "transport",
+    havingValue = "none")
+public class NoOpInvalidationChannel implements InvalidationChannel {
+
+  @Override
+  public void publish(final String payload) {
+    // Nobody listens
+  }
+
+  @Override
+  public void subscribe(final Consumer<String> receiver) {
+    // Nothing is ever received
+  }
+
+  @Override
+  public boolean isConnected() {
+    return false;
+  }
+}
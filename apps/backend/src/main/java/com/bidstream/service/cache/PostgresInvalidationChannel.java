@@ -0,0 +1,227 @@
+package com.bidstream.service.cache;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.bidstream.config.CoherenceProperties;
+import com.bidstream.exceptions.ConfigurationException;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Channel over Postgres LISTEN/NOTIFY, so nodes need nothing beyond the
+ * database they already share.
+ *
+ * <p>
+ * A listener thread holds one pooled connection for as long as it is
+ * subscribed and polls it for notifications. When the connection breaks
+ * it logs, reports itself disconnected and subscribes again after
+ * {@code reconnect-interval-ms}; notifications sent in between are lost
+ * and the near-caches fall back to expiry. Messages are sent with
+ * {@code pg_notify} outside any transaction, so they go out at once.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "bidstream.coherence", name = "transport",
+    havingValue = "postgres", matchIfMissing = true)
+public class PostgresInvalidationChannel implements InvalidationChannel {
+
+  /** Logger for this class. */
+  private static final Logger LOGGER =
+      LoggerFactory.getLogger(PostgresInvalidationChannel.class);
+
+  /** Channel names accepted, since LISTEN cannot take a parameter. */
+  private static final Pattern IDENTIFIER =
+      Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+
+  /** Sends a notification. */
+  private static final String NOTIFY_SQL = "SELECT pg_notify(?, ?)";
+
+  /** How long one poll waits for notifications, in milliseconds. */
+  private static final int POLL_TIMEOUT_MS = 500;
+
+  /** Maximum time to wait for the listener on shutdown, in milliseconds. */
+  private static final long SHUTDOWN_TIMEOUT_MS = 5_000L;
+
+  /** Source of the listening connection. */
+  private final DataSource dataSource;
+
+  /** Sends notifications. */
+  private final JdbcTemplate jdbcTemplate;
+
+  /** Channel settings. */
+  private final CoherenceProperties properties;
+
+  /** The listener thread. */
+  private final Thread listener;
+
+  /** Receiver of incoming messages. */
+  private volatile Consumer<String> receiver = payload -> { };
+
+  /** Whether the listener keeps subscribing. */
+  private volatile boolean running;
+
+  /** Whether the listener is currently subscribed. */
+  private volatile boolean connected;
+
+  /**
+   * Creates the channel.
+   *
+   * @param newDataSource   the data source
+   * @param newJdbcTemplate the JDBC template
+   * @param newProperties   the channel settings
+   */
+  public PostgresInvalidationChannel(final DataSource newDataSource,
+      final JdbcTemplate newJdbcTemplate,
+      final CoherenceProperties newProperties) {
+    if (!IDENTIFIER.matcher(newProperties.getChannel()).matches()) {
+      throw new ConfigurationException("Invalid coherence channel name: "
+          + newProperties.getChannel());
+    }
+    this.dataSource = newDataSource;
+    this.jdbcTemplate = newJdbcTemplate;
+    this.properties = newProperties;
+    this.listener = new Thread(this::listen, "cache-invalidation-listener");
+    this.listener.setDaemon(true);
+  }
+
+  /**
+   * Starts the listener.
+   */
+  @PostConstruct
+  public void start() {
+    running = true;
+    listener.start();
+  }
+
+  /**
+   * Stops the listener and releases its connection.
+   */
+  @PreDestroy
+  public void stop() {
+    running = false;
+    try {
+      listener.join(SHUTDOWN_TIMEOUT_MS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public void publish(final String payload) {
+    jdbcTemplate.queryForList(NOTIFY_SQL, properties.getChannel(), payload);
+  }
+
+  @Override
+  public void subscribe(final Consumer<String> newReceiver) {
+    this.receiver = newReceiver;
+  }
+
+  @Override
+  public boolean isConnected() {
+    return connected;
+  }
+
+  /**
+   * Subscribes and delivers notifications until stopped, resubscribing
+   * whenever the connection breaks.
+   */
+  private void listen() {
+    while (running) {
+      try (Connection connection = dataSource.getConnection()) {
+        try {
+          poll(connection);
+        } finally {
+          unlisten(connection);
+        }
+      } catch (SQLException ex) {
+        if (running) {
+          LOGGER.warn("Cache invalidation channel lost, near-caches rely on "
+              + "expiry until it is back; retrying in {} ms",
+              properties.getReconnectIntervalMs(), ex);
+        }
+      } finally {
+        connected = false;
+      }
+
+      if (running) {
+        try {
+          Thread.sleep(properties.getReconnectIntervalMs());
+        } catch (InterruptedException ex) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+    }
+  }
+
+  /**
+   * Subscribes a connection and delivers its notifications until stopped.
+   *
+   * @param connection the listening connection
+   * @throws SQLException if the connection breaks
+   */
+  private void poll(final Connection connection) throws SQLException {
+    PGConnection notifications = connection.unwrap(PGConnection.class);
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("LISTEN " + properties.getChannel());
+    }
+    connected = true;
+    LOGGER.info("Listening for cache invalidations on {}",
+        properties.getChannel());
+
+    while (running) {
+      PGNotification[] received =
+          notifications.getNotifications(POLL_TIMEOUT_MS);
+      if (received != null) {
+        for (PGNotification notification : received) {
+          deliver(notification.getParameter());
+        }
+      }
+    }
+  }
+
+  /**
+   * Hands one message to the receiver. A receiver failure drops only that
+   * message, so the listener keeps its subscription.
+   *
+   * @param payload the message
+   */
+  private void deliver(final String payload) {
+    try {
+      receiver.accept(payload);
+    } catch (RuntimeException ex) {
+      LOGGER.error("Failed to apply cache invalidation {}", payload, ex);
+    }
+  }
+
+  /**
+   * Drops every subscription of a connection before it returns to the
+   * pool, so no later borrower queues notifications it never reads. A
+   * broken connection cannot be unsubscribed, but then the pool discards
+   * it.
+   *
+   * @param connection the listening connection
+   */
+  private void unlisten(final Connection connection) {
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("UNLISTEN *");
+    } catch (SQLException ex) {
+      LOGGER.debug("Could not unsubscribe the invalidation connection", ex);
+    }
+  }
+}
@@ -0,0 +1,89 @@
+package com.bidstream.service.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import com.bidstream.config.CoherenceProperties;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Channel over Redis pub/sub, for deployments that already run Redis
+ * behind the caches and would rather not hold a Postgres connection per
+ * node. The listener container resubscribes on its own after
+ * {@code reconnect-interval-ms} when the connection drops.
+ */
+@Component
+@ConditionalOnProperty(prefix = "bidstream.coherence", name = "transport",
+    havingValue = "redis")
+public class RedisInvalidationChannel implements InvalidationChannel {
+
+  /** Sends messages. */
+  private final StringRedisTemplate redis;
+
+  /** Receives messages. */
+  private final RedisMessageListenerContainer container;
+
+  /** The channel. */
+  private final ChannelTopic topic;
+
+  /**
+   * Creates the channel.
+   *
+   * @param newRedis          the Redis template
+   * @param connectionFactory the Redis connection factory
+   * @param properties        the channel settings
+   */
+  public RedisInvalidationChannel(final StringRedisTemplate newRedis,
+      final RedisConnectionFactory connectionFactory,
+      final CoherenceProperties properties) {
+    this.redis = newRedis;
+    this.topic = new ChannelTopic(properties.getChannel());
+    this.container = new RedisMessageListenerContainer();
+    this.container.setConnectionFactory(connectionFactory);
+    this.container.setRecoveryInterval(properties.getReconnectIntervalMs());
+  }
+
+  /**
+   * Starts listening.
+   */
+  @PostConstruct
+  public void start() {
+    container.afterPropertiesSet();
+    container.start();
+  }
+
+  /**
+   * Stops listening.
+   *
+   * @throws Exception if the container fails to stop
+   */
+  @PreDestroy
+  public void stop() throws Exception {
+    container.destroy();
+  }
+
+  @Override
+  public void publish(final String payload) {
+    redis.convertAndSend(topic.getTopic(), payload);
+  }
+
+  @Override
+  public void subscribe(final Consumer<String> receiver) {
+    container.addMessageListener((message, pattern) -> receiver.accept(
+        new String(message.getBody(), StandardCharsets.UTF_8)), topic);
+  }
+
+  @Override
+  public boolean isConnected() {
+    return container.isListening();
+  }
+}
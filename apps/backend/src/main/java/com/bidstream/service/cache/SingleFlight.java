@@ -0,0 +1,159 @@
+package com.bidstream.service.cache;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Coalesces concurrent lookups of the same key into one call.
+ *
+ * <p>
+ * The first caller of a key runs the call; callers arriving while it is
+ * in flight wait for and share its result, or its exception, instead of
+ * issuing their own. Nothing is kept once the call returns, so this
+ * bounds a stampede on a cold key to one database round trip without
+ * caching anything itself.
+ * </p>
+ *
+ * <p>
+ * Results are handed to several threads, so they must be immutable; in
+ * particular they must not be JPA entities. A batched lookup first runs
+ * the keys it leads and only then waits for the others, so two batches
+ * sharing keys cannot wait on each other.
+ * </p>
+ *
+ * @param <K> the key type
+ * @param <V> the result type
+ */
+public final class SingleFlight<K, V> {
+
+  /** Calls in flight, by key. */
+  private final ConcurrentMap<K, CompletableFuture<V>> flights =
+      new ConcurrentHashMap<>();
+
+  /** Calls run. */
+  private final Counter calls;
+
+  /** Lookups that joined a call already in flight. */
+  private final Counter coalesced;
+
+  /**
+   * Creates a single-flight group.
+   *
+   * @param name     the group name, used as metric tag
+   * @param registry the meter registry
+   */
+  public SingleFlight(final String name, final MeterRegistry registry) {
+    this.calls = Counter.builder("bidstream.singleflight.calls")
+        .description("Lookups that ran their call")
+        .tag("flight", name)
+        .register(registry);
+    this.coalesced = Counter.builder("bidstream.singleflight.coalesced")
+        .description("Lookups that joined a call already in flight")
+        .tag("flight", name)
+        .register(registry);
+  }
+
+  /**
+   * Looks up one key.
+   *
+   * @param key  the key
+   * @param call computes the result if no call for the key is in flight
+   * @return the result, possibly computed for another caller
+   */
+  public V execute(final K key, final Supplier<V> call) {
+    return executeAll(Set.of(key), keys -> {
+      Map<K, V> result = new HashMap<>();
+      result.put(key, call.get());
+      return result;
+    }).get(key);
+  }
+
+  /**
+   * Looks up several keys, running one call for those not in flight.
+   *
+   * @param keys the keys
+   * @param call computes the results of the given keys, omitting keys
+   *             without one
+   * @return the results of the keys that have one
+   */
+  public Map<K, V> executeAll(final Collection<K> keys,
+      final Function<Set<K>, Map<K, V>> call) {
+    Map<K, CompletableFuture<V>> led = new LinkedHashMap<>();
+    Map<K, CompletableFuture<V>> joined = new HashMap<>();
+    for (K key : keys) {
+      CompletableFuture<V> flight = new CompletableFuture<>();
+      CompletableFuture<V> running = flights.putIfAbsent(key, flight);
+      if (running == null) {
+        led.put(key, flight);
+      } else {
+        joined.put(key, running);
+      }
+    }
+
+    Map<K, V> results = new HashMap<>();
+    if (!led.isEmpty()) {
+      calls.increment();
+      Map<K, V> computed;
+      try {
+        try {
+          computed = call.apply(Set.copyOf(led.keySet()));
+        } finally {
+          // Before completing, so no caller can join a finished call and
+          // take a result that predates its lookup.
+          led.forEach(flights::remove);
+        }
+      } catch (RuntimeException | Error ex) {
+        led.values().forEach(flight -> flight.completeExceptionally(ex));
+        throw ex;
+      }
+      led.forEach((key, flight) -> {
+        V value = computed.get(key);
+        flight.complete(value);
+        if (value != null) {
+          results.put(key, value);
+        }
+      });
+    }
+
+    coalesced.increment(joined.size());
+    joined.forEach((key, flight) -> {
+      V value = await(flight);
+      if (value != null) {
+        results.put(key, value);
+      }
+    });
+    return results;
+  }
+
+  /**
+   * Waits for another caller's call.
+   *
+   * @param flight the call
+   * @return its result
+   */
+  private V await(final CompletableFuture<V> flight) {
+    try {
+      return flight.join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      if (ex.getCause() instanceof Error cause) {
+        throw cause;
+      }
+      throw ex;
+    }
+  }
+}
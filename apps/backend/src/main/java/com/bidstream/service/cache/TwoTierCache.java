@@ -0,0 +1,463 @@
+package com.bidstream.service.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import com.bidstream.config.CacheProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Read-through cache of values keyed by id, with a bounded in-process
+ * near-cache in front of Redis.
+ *
+ * <p>
+ * The near-cache is a Caffeine cache, whose W-TinyLFU policy admits a new
+ * entry only if it is likely to be read more often than the one it would
+ * evict, so a scan of cold ids cannot flush the hot set. Its entries live
+ * for {@code near-ttl-ms} without asking Redis.
+ * </p>
+ *
+ * <p>
+ * Every id has a version in Redis, bumped by each invalidation together
+ * with deleting the shared entry. A loader reads the version before going
+ * to the database and stores its result only if the version is unchanged,
+ * in one script, so a load that raced with a write can never repopulate
+ * Redis with the value the write replaced. Redis therefore only holds
+ * current entries, and a near-cache entry is at most {@code near-ttl-ms}
+ * behind a write. If an invalidation cannot reach Redis, the entry expires
+ * after {@code far-ttl-ms}.
+ * </p>
+ *
+ * <p>
+ * Each invalidation is also broadcast through {@link CacheCoherence}
+ * with the new versions, so other nodes drop their near-cache entries
+ * instead of serving them until they expire.
+ * </p>
+ *
+ * <p>
+ * Concurrent misses of the same id share one database load through a
+ * {@link SingleFlight}, so an auction going live does not send every
+ * request that missed it to Postgres at once.
+ * </p>
+ *
+ * <p>
+ * Redis failures degrade to reading the database; they never fail a
+ * read. Near-cache hits, misses and evictions are published as the
+ * standard {@code cache.*} meters, and Redis outcomes as
+ * {@code bidstream.cache.far.*}, all tagged with the cache name.
+ * </p>
+ *
+ * @param <V> the cached value type, serialized to Redis as JSON
+ */
+public final class TwoTierCache<V> {
+
+  /** Logger for this class. */
+  private static final Logger LOGGER =
+      LoggerFactory.getLogger(TwoTierCache.class);
+
+  /** Prefix of every Redis key. */
+  private static final String KEY_PREFIX = "bidstream:cache:";
+
+  /** Suffix of the Redis key holding an id's version. */
+  private static final String VERSION_SUFFIX = ":v";
+
+  /** Separates the version from the JSON value in a Redis entry. */
+  private static final char VERSION_SEPARATOR = ':';
+
+  /**
+   * Stores each entry only if its id's version is still the one read
+   * before loading. KEYS are entry and version key pairs; ARGV[1] is the
+   * lifetime, followed by the expected version and entry of each pair.
+   */
+  @SuppressWarnings("rawtypes")
+  private static final RedisScript<List> STORE = RedisScript.of("""
+      local stored = {}
+      for i = 1, #KEYS, 2 do
+        local v = i + 1
+        if (redis.call('GET', KEYS[v]) or '0') == ARGV[v] then
+          redis.call('SET', KEYS[i], ARGV[v + 1], 'PX', ARGV[1])
+          redis.call('PEXPIRE', KEYS[v], ARGV[1])
+          stored[#stored + 1] = 1
+        else
+          stored[#stored + 1] = 0
+        end
+      end
+      return stored
+      """, List.class);
+
+  /**
+   * Deletes each entry and bumps its version. KEYS are entry and version
+   * key pairs; ARGV[1] is the lifetime of the versions. Returns the new
+   * versions.
+   */
+  @SuppressWarnings("rawtypes")
+  private static final RedisScript<List> INVALIDATE = RedisScript.of("""
+      local versions = {}
+      for i = 1, #KEYS, 2 do
+        redis.call('DEL', KEYS[i])
+        versions[#versions + 1] = redis.call('INCR', KEYS[i + 1])
+        redis.call('PEXPIRE', KEYS[i + 1], ARGV[1])
+      end
+      return versions
+      """, List.class);
+
+  /** Cache name, used in keys and metric tags. */
+  private final String name;
+
+  /** Type of the cached values. */
+  private final Class<V> type;
+
+  /** In-process entries. */
+  private final Cache<UUID, Versioned<V>> near;
+
+  /** Shared entries, or null if Redis is disabled. */
+  private final StringRedisTemplate redis;
+
+  /** Broadcasts invalidations to the other nodes. */
+  private final CacheCoherence coherence;
+
+  /** Serializes values to Redis. */
+  private final ObjectMapper objectMapper;
+
+  /** Coalesces concurrent database loads of the same id. */
+  private final SingleFlight<UUID, V> loads;
+
+  /** Lifetime of Redis entries and versions, in milliseconds. */
+  private final String farTtlMs;
+
+  /** Near-cache misses answered by Redis. */
+  private final Counter farHits;
+
+  /** Near-cache misses Redis could not answer. */
+  private final Counter farMisses;
+
+  /** Failed Redis calls. */
+  private final Counter farErrors;
+
+  /**
+   * Creates a cache.
+   *
+   * @param newName         the cache name
+   * @param newType         the type of the cached values
+   * @param properties      the cache settings
+   * @param newRedis        the Redis template
+   * @param newCoherence    the cross-node invalidation broadcaster
+   * @param newObjectMapper the object mapper
+   * @param registry        the meter registry
+   */
+  public TwoTierCache(final String newName, final Class<V> newType,
+      final CacheProperties properties, final StringRedisTemplate newRedis,
+      final CacheCoherence newCoherence, final ObjectMapper newObjectMapper,
+      final MeterRegistry registry) {
+    this.name = newName;
+    this.type = newType;
+    this.near = Caffeine.newBuilder()
+        .maximumSize(properties.getNearMaximumSize())
+        .expireAfterWrite(Duration.ofMillis(properties.getNearTtlMs()))
+        .recordStats()
+        .build();
+    this.redis = properties.isFarEnabled() ? newRedis : null;
+    this.coherence = newCoherence;
+    this.objectMapper = newObjectMapper;
+    this.farTtlMs = Long.toString(properties.getFarTtlMs());
+    this.loads = new SingleFlight<>(newName, registry);
+    CaffeineCacheMetrics.monitor(registry, near, newName);
+    this.farHits = farCounter("bidstream.cache.far.gets", "hit",
+        "Near-cache misses answered by Redis", registry);
+    this.farMisses = farCounter("bidstream.cache.far.gets", "miss",
+        "Near-cache misses that went to the database", registry);
+    this.farErrors = farCounter("bidstream.cache.far.errors", null,
+        "Redis calls that failed", registry);
+    newCoherence.register(newName, this::drop);
+  }
+
+  /**
+   * Reads one value, loading it on a miss.
+   *
+   * @param id     the id
+   * @param loader loads the values of the given ids from the database,
+   *               omitting ids that do not exist
+   * @return the value, or null if the id does not exist
+   */
+  public V get(final UUID id,
+      final Function<Set<UUID>, Map<UUID, V>> loader) {
+    return getAll(List.of(id), loader).get(id);
+  }
+
+  /**
+   * Reads several values, loading the misses in one call.
+   *
+   * @param ids    the ids
+   * @param loader loads the values of the given ids from the database,
+   *               omitting ids that do not exist
+   * @return the values of the ids that exist
+   */
+  public Map<UUID, V> getAll(final Collection<UUID> ids,
+      final Function<Set<UUID>, Map<UUID, V>> loader) {
+    Map<UUID, V> found = new HashMap<>();
+    Map<UUID, Long> missing = new LinkedHashMap<>();
+    for (UUID id : ids) {
+      Versioned<V> entry = near.getIfPresent(id);
+      if (entry != null) {
+        found.put(id, entry.value());
+      } else {
+        missing.put(id, 0L);
+      }
+    }
+    if (missing.isEmpty()) {
+      return found;
+    }
+
+    boolean shared = redis != null && readFar(missing, found);
+    if (missing.isEmpty()) {
+      return found;
+    }
+
+    found.putAll(loads.executeAll(missing.keySet(), batch -> {
+      Map<UUID, V> loaded = loader.apply(batch);
+      if (shared) {
+        storeFar(loaded, missing);
+      } else {
+        loaded.forEach((id, value) -> near.put(id,
+            new Versioned<>(missing.get(id), value)));
+      }
+      return loaded;
+    }));
+    return found;
+  }
+
+  /**
+   * Drops the entries of the given ids everywhere. Called after the
+   * write that changed them has committed.
+   *
+   * @param ids the changed ids
+   */
+  public void invalidate(final Collection<UUID> ids) {
+    if (ids.isEmpty()) {
+      return;
+    }
+    Map<UUID, Long> versions = new LinkedHashMap<>();
+    for (UUID id : ids) {
+      versions.put(id, 0L);
+    }
+    if (redis != null) {
+      try {
+        List<?> bumped = redis.execute(INVALIDATE, keys(versions.keySet()),
+            farTtlMs);
+        int i = 0;
+        for (Map.Entry<UUID, Long> version : versions.entrySet()) {
+          version.setValue(((Number) bumped.get(i++)).longValue());
+        }
+      } catch (DataAccessException e) {
+        farErrors.increment();
+        LOGGER.warn("Could not invalidate {} {} entries in Redis, they "
+            + "expire within {} ms", ids.size(), name, farTtlMs, e);
+      }
+    }
+    // After Redis, so a concurrent miss cannot refill from the old entry.
+    near.invalidateAll(versions.keySet());
+    coherence.publish(name, versions);
+  }
+
+  /**
+   * Drops entries another node invalidated, unless they were loaded at or
+   * after the version that node's write produced.
+   *
+   * @param versions the invalidated ids and their new versions, 0 if
+   *                 unknown
+   */
+  private void drop(final Map<UUID, Long> versions) {
+    versions.forEach((id, version) -> near.asMap().computeIfPresent(id,
+        (key, entry) -> version == 0L || entry.version() < version
+            ? null
+            : entry));
+  }
+
+  /**
+   * Looks up near-cache misses in Redis. Hits move from {@code missing}
+   * to {@code found} and into the near-cache; the remaining misses are
+   * mapped to the version their load must be stored under.
+   *
+   * @param missing the near-cache misses and their versions
+   * @param found   the values found so far
+   * @return whether Redis answered
+   */
+  private boolean readFar(final Map<UUID, Long> missing,
+      final Map<UUID, V> found) {
+    List<UUID> ids = new ArrayList<>(missing.keySet());
+    List<String> values;
+    try {
+      values = redis.opsForValue().multiGet(keys(ids));
+    } catch (DataAccessException e) {
+      farErrors.increment();
+      LOGGER.debug("Could not read {} entries from Redis", name, e);
+      return false;
+    }
+    if (values == null) {
+      return false;
+    }
+
+    for (int i = 0; i < ids.size(); i++) {
+      UUID id = ids.get(i);
+      long version = values.get(2 * i + 1) == null
+          ? 0L
+          : Long.parseLong(values.get(2 * i + 1));
+      Versioned<V> entry = decode(values.get(2 * i));
+      if (entry != null && entry.version() == version) {
+        farHits.increment();
+        near.put(id, entry);
+        found.put(id, entry.value());
+        missing.remove(id);
+      } else {
+        farMisses.increment();
+        missing.put(id, version);
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Stores loaded values in Redis under the versions read before loading,
+   * and in the near-cache if Redis accepted them.
+   *
+   * @param loaded   the loaded values
+   * @param versions the version of each id before loading
+   */
+  private void storeFar(final Map<UUID, V> loaded,
+      final Map<UUID, Long> versions) {
+    List<UUID> ids = new ArrayList<>(loaded.size());
+    List<String> args = new ArrayList<>(1 + 2 * loaded.size());
+    args.add(farTtlMs);
+    for (Map.Entry<UUID, V> value : loaded.entrySet()) {
+      long version = versions.get(value.getKey());
+      String encoded = encode(version, value.getValue());
+      if (encoded != null) {
+        ids.add(value.getKey());
+        args.add(Long.toString(version));
+        args.add(encoded);
+      }
+    }
+    if (ids.isEmpty()) {
+      return;
+    }
+
+    List<?> stored;
+    try {
+      stored = redis.execute(STORE, keys(ids), args.toArray());
+    } catch (DataAccessException e) {
+      farErrors.increment();
+      LOGGER.debug("Could not store {} entries in Redis", name, e);
+      return;
+    }
+    for (int i = 0; i < ids.size(); i++) {
+      if (stored != null && ((Number) stored.get(i)).longValue() == 1L) {
+        UUID id = ids.get(i);
+        near.put(id, new Versioned<>(versions.get(id), loaded.get(id)));
+      }
+    }
+  }
+
+  /**
+   * Builds the entry and version key of each id.
+   *
+   * @param ids the ids
+   * @return the keys, two per id
+   */
+  private List<String> keys(final Collection<UUID> ids) {
+    List<String> keys = new ArrayList<>(2 * ids.size());
+    for (UUID id : ids) {
+      String key = KEY_PREFIX + name + ':' + id;
+      keys.add(key);
+      keys.add(key + VERSION_SUFFIX);
+    }
+    return keys;
+  }
+
+  /**
+   * Serializes a Redis entry.
+   *
+   * @param version the version the value was loaded under
+   * @param value   the value
+   * @return the entry, or null if the value cannot be serialized
+   */
+  private String encode(final long version, final V value) {
+    try {
+      return Long.toString(version) + VERSION_SEPARATOR
+          + objectMapper.writeValueAsString(value);
+    } catch (JsonProcessingException e) {
+      LOGGER.warn("Could not serialize {} entry", name, e);
+      return null;
+    }
+  }
+
+  /**
+   * Deserializes a Redis entry.
+   *
+   * @param entry the entry, or null
+   * @return the versioned value, or null if absent or unreadable
+   */
+  private Versioned<V> decode(final String entry) {
+    if (entry == null) {
+      return null;
+    }
+    int separator = entry.indexOf(VERSION_SEPARATOR);
+    try {
+      return new Versioned<>(Long.parseLong(entry.substring(0, separator)),
+          objectMapper.readValue(entry.substring(separator + 1), type));
+    } catch (JsonProcessingException | RuntimeException e) {
+      // Written by an incompatible build; reload it.
+      return null;
+    }
+  }
+
+  /**
+   * Registers a Redis outcome counter.
+   *
+   * @param meter       the meter name
+   * @param result      the result tag, or null for none
+   * @param description the meter description
+   * @param registry    the meter registry
+   * @return the counter
+   */
+  private Counter farCounter(final String meter, final String result,
+      final String description, final MeterRegistry registry) {
+    Counter.Builder builder = Counter.builder(meter)
+        .description(description)
+        .tag("cache", name);
+    if (result != null) {
+      builder.tag("result", result);
+    }
+    return builder.register(registry);
+  }
+
+  /**
+   * A cached value and the version it was loaded under.
+   *
+   * @param version the id's version when the value was loaded
+   * @param value   the value
+   * @param <V>     the value type
+   */
+  private record Versioned<V>(long version, V value) {
+  }
+}
@@ -0,0 +1,90 @@
+package com.bidstream.service.cache;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.bidstream.config.CacheProperties;
+import com.bidstream.event.UserChangedEvent;
+import com.bidstream.model.entity.User;
+import com.bidstream.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Two-tier cache of user profiles, dropped once a JPA update or delete of
+ * the user commits.
+ */
+@Component
+public class UserCache {
+
+  /** Cache name, used in Redis keys and metric tags. */
+  private static final String NAME = "users";
+
+  /** The cached users. */
+  private final TwoTierCache<CachedUser> cache;
+
+  /** Repository loading misses. */
+  private final UserRepository userRepository;
+
+  /**
+   * Creates the cache.
+   *
+   * @param newUserRepository the user repository
+   * @param properties        the cache settings
+   * @param redis             the Redis template
+   * @param coherence         the cross-node invalidation broadcaster
+   * @param objectMapper      the object mapper
+   * @param registry          the meter registry
+   */
+  public UserCache(final UserRepository newUserRepository,
+      final CacheProperties properties, final StringRedisTemplate redis,
+      final CacheCoherence coherence, final ObjectMapper objectMapper,
+      final MeterRegistry registry) {
+    this.userRepository = newUserRepository;
+    this.cache = new TwoTierCache<>(NAME, CachedUser.class, properties,
+        redis, coherence, objectMapper, registry);
+  }
+
+  /**
+   * Reads one user.
+   *
+   * @param userId the user
+   * @return the user, or empty if it does not exist
+   */
+  public Optional<CachedUser> get(final UUID userId) {
+    return Optional.ofNullable(cache.get(userId, this::load));
+  }
+
+  /**
+   * Drops a user changed through JPA.
+   *
+   * @param event the change
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onUserChanged(final UserChangedEvent event) {
+    cache.invalidate(List.of(event.userId()));
+  }
+
+  /**
+   * Loads users from the database.
+   *
+   * @param userIds the users
+   * @return the users that exist, by id
+   */
+  private Map<UUID, CachedUser> load(final Set<UUID> userIds) {
+    Map<UUID, CachedUser> users = new HashMap<>();
+    for (User user : userRepository.findAllById(userIds)) {
+      users.put(user.getId(), CachedUser.from(user));
+    }
+    return users;
+  }
+}
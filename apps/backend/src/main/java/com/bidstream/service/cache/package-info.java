@@ -0,0 +1,12 @@
+/**
+ * Read caches of auctions and users.
+ *
+ * <p>
+ * Each cache keeps a bounded in-process near-cache in front of Redis and
+ * is invalidated by the events every write path raises, so repeated reads
+ * of the same rows stop reaching Postgres. Concurrent misses of the same
+ * rows are coalesced into one query.
+ * </p>
+ */
+
+package com.bidstream.service.cache;
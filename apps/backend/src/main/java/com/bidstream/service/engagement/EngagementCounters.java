@@ -0,0 +1,304 @@
+package com.bidstream.service.engagement;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bidstream.event.AuctionCountersFlushedEvent;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Write-behind view and watch counters.
+ *
+ * <p>
+ * The counters live in the narrow {@code auction_counters} table, which
+ * has a row for every auction and no index on the counted columns, so a
+ * flush rewrites small tuples in place instead of the wide auction row.
+ * </p>
+ *
+ * <p>
+ * Increments land on per-auction {@link LongAdder}s, which stripe
+ * concurrent updates of a popular auction across cells instead of
+ * contending on one row lock. A periodic flush writes the accumulated
+ * delta of every auction that changed in one batched transaction, in
+ * auction id order so concurrent flushes from several nodes cannot
+ * deadlock, and only then subtracts what it wrote. Increments arriving
+ * during a flush are therefore kept for the next one, and a failed flush
+ * leaves every delta in place to be retried.
+ * </p>
+ *
+ * <p>
+ * Loss is bounded: a crash loses at most the increments made since the
+ * last successful flush, normally one {@code flush-interval-ms}. A clean
+ * shutdown flushes first and loses nothing. While Postgres is unreachable
+ * the window grows until a flush succeeds, but the deltas stay in memory.
+ * </p>
+ *
+ * <p>
+ * An auction whose delta was already zero at a flush is unlinked, and its
+ * adders are summed once more by the following flush, a full interval
+ * later, so an increment racing with the unlink is still written.
+ * </p>
+ */
+@Component
+public class EngagementCounters {
+
+  /** Logger for this class. */
+  private static final Logger LOGGER =
+      LoggerFactory.getLogger(EngagementCounters.class);
+
+  /** Reads the persisted counts of one auction. */
+  private static final String SELECT_SQL =
+      "SELECT view_count, watch_count FROM auction_counters "
+          + "WHERE auction_id = ?";
+
+  /** Adds one auction's flushed delta. */
+  private static final String FLUSH_SQL =
+      "UPDATE auction_counters SET view_count = view_count + ?, "
+          + "watch_count = watch_count + ? WHERE auction_id = ?";
+
+  /** Unflushed increments per auction. */
+  private final ConcurrentMap<UUID, Delta> deltas = new ConcurrentHashMap<>();
+
+  /** Idle deltas unlinked by the last flush, summed by the next one. */
+  private final ConcurrentMap<UUID, Delta> retired = new ConcurrentHashMap<>();
+
+  /** JDBC access. */
+  private final JdbcTemplate jdbcTemplate;
+
+  /** Transaction wrapping each flush. */
+  private final TransactionTemplate transactionTemplate;
+
+  /** Publisher of the auctions each flush wrote. */
+  private final ApplicationEventPublisher publisher;
+
+  /**
+   * Creates the counters.
+   *
+   * @param newJdbcTemplate        the JDBC template
+   * @param newTransactionTemplate the transaction template
+   * @param newPublisher           the event publisher
+   * @param registry               the meter registry
+   */
+  public EngagementCounters(final JdbcTemplate newJdbcTemplate,
+      final TransactionTemplate newTransactionTemplate,
+      final ApplicationEventPublisher newPublisher,
+      final MeterRegistry registry) {
+    this.jdbcTemplate = newJdbcTemplate;
+    this.transactionTemplate = newTransactionTemplate;
+    this.publisher = newPublisher;
+    Gauge.builder("bidstream.engagement.pending.auctions", deltas,
+            ConcurrentMap::size)
+        .description("Auctions with buffered view or watch increments")
+        .register(registry);
+  }
+
+  /**
+   * Counts one view of an auction.
+   *
+   * @param auctionId the auction
+   */
+  public void recordView(final UUID auctionId) {
+    delta(auctionId).views.increment();
+  }
+
+  /**
+   * Changes the watcher count of an auction.
+   *
+   * @param auctionId the auction
+   * @param increment the change, negative when watchers leave
+   */
+  public void recordWatch(final UUID auctionId, final int increment) {
+    delta(auctionId).watches.add(increment);
+  }
+
+  /**
+   * Reads the counts of an auction, including unflushed increments.
+   *
+   * @param auctionId the auction
+   * @return the counts, or empty if the auction does not exist
+   */
+  public Optional<EngagementCounts> counts(final UUID auctionId) {
+    List<EngagementCounts> rows = jdbcTemplate.query(SELECT_SQL,
+        (rs, rowNum) -> new EngagementCounts(rs.getLong("view_count"),
+            rs.getLong("watch_count")),
+        auctionId);
+    return rows.isEmpty()
+        ? Optional.empty()
+        : Optional.of(merge(auctionId, rows.get(0).views(),
+            rows.get(0).watches()));
+  }
+
+  /**
+   * Adds the unflushed increments of an auction to persisted counts. The
+   * persisted counts must be read first: a flush in between can then
+   * only make the result briefly low, never count an increment twice.
+   *
+   * @param auctionId the auction
+   * @param views     the persisted view count
+   * @param watches   the persisted watch count
+   * @return the current counts
+   */
+  public EngagementCounts merge(final UUID auctionId, final long views,
+      final long watches) {
+    long pendingViews = 0L;
+    long pendingWatches = 0L;
+    for (Delta delta : new Delta[] {retired.get(auctionId),
+        deltas.get(auctionId)}) {
+      if (delta != null) {
+        pendingViews += delta.views.sum();
+        pendingWatches += delta.watches.sum();
+      }
+    }
+    return new EngagementCounts(views + pendingViews,
+        watches + pendingWatches);
+  }
+
+  /**
+   * Writes every buffered delta in one batch and unlinks idle auctions.
+   */
+  @Scheduled(fixedDelayString =
+      "${bidstream.engagement.flush-interval-ms:2000}")
+  public synchronized void flush() {
+    List<Flushed> batch = new ArrayList<>();
+    retired.forEach((auctionId, delta) -> collect(auctionId, delta, batch));
+    List<UUID> idle = new ArrayList<>();
+    deltas.forEach((auctionId, delta) -> {
+      if (!collect(auctionId, delta, batch)) {
+        idle.add(auctionId);
+      }
+    });
+    batch.sort(Comparator.comparing(Flushed::auctionId));
+
+    if (!batch.isEmpty()) {
+      try {
+        transactionTemplate.executeWithoutResult(tx ->
+            jdbcTemplate.batchUpdate(FLUSH_SQL, batch, batch.size(),
+                (ps, flushed) -> {
+                  ps.setLong(1, flushed.views());
+                  ps.setLong(2, flushed.watches());
+                  ps.setObject(3, flushed.auctionId());
+                }));
+      } catch (RuntimeException ex) {
+        LOGGER.warn("Failed to flush counters of {} auctions, retrying",
+            batch.size(), ex);
+        return;
+      }
+    }
+
+    for (Flushed flushed : batch) {
+      flushed.delta().views.add(-flushed.views());
+      flushed.delta().watches.add(-flushed.watches());
+    }
+    if (!batch.isEmpty()) {
+      publisher.publishEvent(new AuctionCountersFlushedEvent(
+          batch.stream().map(Flushed::auctionId).distinct().toList()));
+    }
+    retired.clear();
+    for (UUID auctionId : idle) {
+      Delta delta = deltas.get(auctionId);
+      if (delta != null && deltas.remove(auctionId, delta)) {
+        retired.put(auctionId, delta);
+      }
+    }
+  }
+
+  /**
+   * Flushes the buffered deltas before the application stops.
+   */
+  @PreDestroy
+  public void shutdown() {
+    flush();
+    long unflushed = Stream.concat(deltas.values().stream(),
+            retired.values().stream())
+        .filter(Delta::isPending)
+        .count();
+    if (unflushed > 0) {
+      LOGGER.warn("{} auctions still had unflushed counters at shutdown",
+          unflushed);
+    }
+  }
+
+  /**
+   * Gets or creates the delta of an auction.
+   *
+   * @param auctionId the auction
+   * @return the delta
+   */
+  private Delta delta(final UUID auctionId) {
+    Delta delta = deltas.get(auctionId);
+    return delta != null
+        ? delta
+        : deltas.computeIfAbsent(auctionId, id -> new Delta());
+  }
+
+  /**
+   * Adds an auction's delta to a batch unless it is zero.
+   *
+   * @param auctionId the auction
+   * @param delta     the delta
+   * @param batch     the batch
+   * @return whether the delta was added
+   */
+  private static boolean collect(final UUID auctionId, final Delta delta,
+      final List<Flushed> batch) {
+    long views = delta.views.sum();
+    long watches = delta.watches.sum();
+    if (views == 0 && watches == 0) {
+      return false;
+    }
+
+    batch.add(new Flushed(auctionId, delta, views, watches));
+    return true;
+  }
+
+  /**
+   * Unflushed increments of one auction.
+   */
+  private static final class Delta {
+
+    /** Views not yet written. */
+    private final LongAdder views = new LongAdder();
+
+    /** Watcher changes not yet written. */
+    private final LongAdder watches = new LongAdder();
+
+    /**
+     * Checks whether anything is left to write.
+     *
+     * @return whether either adder is non-zero
+     */
+    private boolean isPending() {
+      return views.sum() != 0 || watches.sum() != 0;
+    }
+  }
+
+  /**
+   * The part of a delta written by one flush.
+   *
+   * @param auctionId the auction
+   * @param delta     the delta it was read from
+   * @param views     the views written
+   * @param watches   the watcher changes written
+   */
+  private record Flushed(UUID auctionId, Delta delta, long views,
+      long watches) {
+  }
+}
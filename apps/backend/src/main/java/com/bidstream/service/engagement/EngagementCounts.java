@@ -0,0 +1,11 @@
+package com.bidstream.service.engagement;
+
+/**
+ * View and watch counts of one auction, including increments not yet
+ * written to Postgres.
+ *
+ * @param views   the number of views
+ * @param watches the number of watchers
+ */
+public record EngagementCounts(long views, long watches) {
+}
@@ -0,0 +1,10 @@
+/**
+ * Auction view and watch counters.
+ *
+ * <p>
+ * Increments are absorbed in memory and written behind in batches, so a
+ * popular auction does not turn every page view into a row update.
+ * </p>
+ */
+
+package com.bidstream.service.engagement;
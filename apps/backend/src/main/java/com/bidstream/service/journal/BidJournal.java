@@ -0,0 +1,73 @@
+package com.bidstream.service.journal;
+
+import java.util.function.Consumer;
+
+import com.bidstream.service.bidding.AcceptedBid;
+
+/**
+ * Append-only durable log of accepted bids.
+ *
+ * <p>
+ * The bid engine appends every accepted bid and only acknowledges the
+ * bidder once the journal reports it durable, i.e. once the bid survives a
+ * crash. Database writes happen later and are not on the durability path;
+ * on restart the journal tail past the last database checkpoint is
+ * replayed to rebuild the hot auction state.
+ * </p>
+ */
+public interface BidJournal {
+
+  /**
+   * Appends an accepted bid.
+   *
+   * <p>
+   * The callback runs on the journal's committer thread before
+   * {@link #durableSequence()} advances past the bid, so anything it hands
+   * off is visible to a checkpoint that observes the new durable sequence.
+   * </p>
+   *
+   * @param bid      the accepted bid
+   * @param callback notified once the bid is durable or has failed
+   */
+  void append(AcceptedBid bid, DurabilityCallback callback);
+
+  /**
+   * Gets the highest sequence number known to be durable.
+   *
+   * @return the durable sequence, or 0 if nothing was ever written
+   */
+  long durableSequence();
+
+  /**
+   * Replays every durable record with a sequence above the given one, in
+   * sequence order.
+   *
+   * @param afterSequence the last sequence already reflected in Postgres
+   * @param visitor       receives each replayed record
+   * @return the number of records replayed
+   */
+  long replay(long afterSequence, Consumer<JournalRecord> visitor);
+
+  /**
+   * Releases journal space no longer needed for recovery.
+   *
+   * @param checkpoint the last sequence already reflected in Postgres
+   */
+  void release(long checkpoint);
+
+  /**
+   * Outcome callback of an append.
+   */
+  @FunctionalInterface
+  interface DurabilityCallback {
+
+    /**
+     * Called once the append has completed.
+     *
+     * @param sequence the journal sequence assigned to the bid, or 0 if
+     *                 the append failed
+     * @param failure  the failure, or null if the bid is durable
+     */
+    void onComplete(long sequence, Throwable failure);
+  }
+}
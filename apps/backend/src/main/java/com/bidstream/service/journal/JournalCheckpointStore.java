@@ -0,0 +1,130 @@
+package com.bidstream.service.journal;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import com.bidstream.config.JournalProperties;
+import com.bidstream.exceptions.ConfigurationException;
+
+/**
+ * Postgres record of how far the bid journal has been applied.
+ *
+ * <p>
+ * The checkpoint is the highest journal sequence such that every bid up
+ * to it is reflected in the auctions table. Recovery replays only the
+ * records after it, and journal segments wholly below it can be deleted.
+ * </p>
+ *
+ * <p>
+ * Each journal has its own row, keyed by {@code bidstream.journal.id} or,
+ * when that is blank, by an id generated on first start and kept in the
+ * journal directory. Nodes sharing a database therefore never share a
+ * checkpoint, and a node whose journal files are lost starts a new row
+ * instead of inheriting a checkpoint its new journal has not reached.
+ * </p>
+ */
+@Component
+public class JournalCheckpointStore {
+
+  /** Reads the checkpoint of one journal. */
+  private static final String SELECT_SQL =
+      "SELECT sequence FROM bid_journal_checkpoints WHERE journal_id = ?";
+
+  /** Advances the checkpoint of one journal, never moving it back. */
+  private static final String UPSERT_SQL =
+      "INSERT INTO bid_journal_checkpoints (journal_id, sequence) "
+          + "VALUES (?, ?) "
+          + "ON CONFLICT (journal_id) DO UPDATE "
+          + "SET sequence = GREATEST(bid_journal_checkpoints.sequence, "
+          + "EXCLUDED.sequence), updated_at = CURRENT_TIMESTAMP";
+
+  /** File in the journal directory holding the generated journal id. */
+  static final String ID_FILE = "journal.id";
+
+  /** JDBC access. */
+  private final JdbcTemplate jdbcTemplate;
+
+  /** Journal settings, providing the checkpoint key. */
+  private final JournalProperties properties;
+
+  /** Key of this journal's row, resolved on first use. */
+  private String journalId;
+
+  /**
+   * Creates the store.
+   *
+   * @param newJdbcTemplate the JDBC template
+   * @param newProperties   the journal settings
+   */
+  public JournalCheckpointStore(final JdbcTemplate newJdbcTemplate,
+      final JournalProperties newProperties) {
+    this.jdbcTemplate = newJdbcTemplate;
+    this.properties = newProperties;
+  }
+
+  /**
+   * Loads the checkpoint.
+   *
+   * @return the last applied sequence, or 0 if none was recorded
+   */
+  public long load() {
+    List<Long> rows = jdbcTemplate.queryForList(SELECT_SQL, Long.class,
+        journalId());
+    return rows.isEmpty() ? 0L : rows.get(0);
+  }
+
+  /**
+   * Advances the checkpoint.
+   *
+   * @param sequence the new last applied sequence
+   */
+  public void save(final long sequence) {
+    jdbcTemplate.update(UPSERT_SQL, journalId(), sequence);
+  }
+
+  /**
+   * Gets the key of this journal's row.
+   *
+   * @return the configured id, or the one kept in the journal directory
+   */
+  synchronized String journalId() {
+    if (journalId == null) {
+      journalId = StringUtils.hasText(properties.getId())
+          ? properties.getId()
+          : directoryId(Path.of(properties.getDirectory()));
+    }
+    return journalId;
+  }
+
+  /**
+   * Reads the id kept in a journal directory, generating it on first use.
+   *
+   * @param directory the journal directory
+   * @return the id
+   */
+  private static String directoryId(final Path directory) {
+    Path file = directory.resolve(ID_FILE);
+    try {
+      if (Files.exists(file)) {
+        return Files.readString(file).strip();
+      }
+
+      Files.createDirectories(directory);
+      String id = UUID.randomUUID().toString();
+      Files.writeString(file, id, StandardOpenOption.CREATE_NEW,
+          StandardOpenOption.WRITE, StandardOpenOption.SYNC);
+      return id;
+    } catch (IOException ex) {
+      throw new ConfigurationException("Cannot read or create bid journal "
+          + "id in " + directory.toAbsolutePath(), ex);
+    }
+  }
+}
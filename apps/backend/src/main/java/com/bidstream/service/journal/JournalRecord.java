@@ -0,0 +1,20 @@
+package com.bidstream.service.journal;
+
+import java.util.UUID;
+
+/**
+ * One bid read back from the journal during recovery.
+ *
+ * @param sequence    the journal sequence number of the record
+ * @param auctionId   the auction the bid was placed on
+ * @param bidderId    the user who placed the bid
+ * @param amountMinor the bid amount in minor currency units (cents)
+ * @param nanoTime    the {@link System#nanoTime()} at commit
+ */
+public record JournalRecord(
+    long sequence,
+    UUID auctionId,
+    UUID bidderId,
+    long amountMinor,
+    long nanoTime) {
+}
@@ -0,0 +1,330 @@
+package com.bidstream.service.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * One fixed-size, memory-mapped file of the bid journal.
+ *
+ * <p>
+ * A segment holds fixed-size records laid out back to back from offset 0.
+ * Records are encoded straight into the mapping, so an append costs no
+ * copy and no system call; durability comes from forcing the dirty range
+ * of the mapping. Each record is laid out as follows:
+ * </p>
+ *
+ * <pre>
+ *  0  int   magic (written last)
+ *  4  int   CRC32C of bytes 8..63
+ *  8  long  sequence
+ * 16  long  auction id (msb, lsb)
+ * 32  long  bidder id (msb, lsb)
+ * 48  long  amount in minor units
+ * 56  long  System.nanoTime() at commit
+ * </pre>
+ *
+ * <p>
+ * A record only counts once its magic is present, its checksum matches and
+ * its sequence follows the previous one. Opening a segment scans for the
+ * first slot failing that test; it and everything after it is a torn tail
+ * left by a crash, which is cleared and overwritten by the next append.
+ * </p>
+ *
+ * <p>
+ * Instances are not thread-safe; the journal committer owns the active
+ * segment, and read-only scans only run before it starts.
+ * </p>
+ */
+final class JournalSegment implements Closeable {
+
+  /** Size of one record in bytes. */
+  static final int RECORD_SIZE = 64;
+
+  /** File name prefix of every segment. */
+  static final String PREFIX = "bids-";
+
+  /** File name suffix of every segment. */
+  static final String SUFFIX = ".seg";
+
+  /** Marker of a complete record ("BIDS"). */
+  private static final int MAGIC = 0x42494453;
+
+  /** Offset of the checksum within a record. */
+  private static final int CRC_OFFSET = 4;
+
+  /** Offset of the checksummed payload within a record. */
+  private static final int PAYLOAD_OFFSET = 8;
+
+  /** Path of the segment file. */
+  private final Path path;
+
+  /** Sequence of the first record, also encoded in the file name. */
+  private final long firstSequence;
+
+  /** Open file channel backing the mapping. */
+  private final FileChannel channel;
+
+  /** Mapping of the whole segment. */
+  private final MappedByteBuffer buffer;
+
+  /** Reusable view used to checksum record payloads. */
+  private final ByteBuffer payloadView;
+
+  /** Reusable checksum. */
+  private final CRC32C crc = new CRC32C();
+
+  /** Offset of the next record to append. */
+  private int position;
+
+  /** Sequence of the last valid record, or firstSequence - 1 if empty. */
+  private long lastSequence;
+
+  /**
+   * Maps a segment file, creating and sizing it if needed, and locates
+   * its valid tail. An existing file keeps its own size, so changing the
+   * configured size only affects new segments.
+   *
+   * @param newPath          the segment file
+   * @param newFirstSequence the sequence of the segment's first record
+   * @param size             the size of a new segment in bytes
+   * @throws IOException if the file cannot be opened or mapped
+   */
+  private JournalSegment(final Path newPath, final long newFirstSequence,
+      final int size) throws IOException {
+    this.path = newPath;
+    this.firstSequence = newFirstSequence;
+    this.channel = FileChannel.open(newPath, StandardOpenOption.CREATE,
+        StandardOpenOption.READ, StandardOpenOption.WRITE);
+    long mapped = channel.size() > 0 ? channel.size() : size;
+    this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+        mapped - mapped % RECORD_SIZE);
+    this.payloadView = buffer.duplicate();
+    recover();
+  }
+
+  /**
+   * Creates or opens the segment starting at a sequence.
+   *
+   * @param directory     the journal directory
+   * @param firstSequence the sequence of the segment's first record
+   * @param size          the size of a new segment in bytes
+   * @return the mapped segment
+   * @throws IOException if the file cannot be opened or mapped
+   */
+  static JournalSegment open(final Path directory, final long firstSequence,
+      final int size) throws IOException {
+    return new JournalSegment(directory.resolve(fileName(firstSequence)),
+        firstSequence, size);
+  }
+
+  /**
+   * Builds the file name of the segment starting at a sequence. Sequences
+   * are zero-padded so names sort in sequence order.
+   *
+   * @param firstSequence the sequence of the segment's first record
+   * @return the file name
+   */
+  static String fileName(final long firstSequence) {
+    return String.format("%s%020d%s", PREFIX, firstSequence, SUFFIX);
+  }
+
+  /**
+   * Parses the first sequence out of a segment file name.
+   *
+   * @param fileName the file name
+   * @return the first sequence, or -1 if the name is not a segment
+   */
+  static long parseFirstSequence(final String fileName) {
+    if (!fileName.startsWith(PREFIX) || !fileName.endsWith(SUFFIX)) {
+      return -1L;
+    }
+
+    try {
+      return Long.parseLong(fileName.substring(PREFIX.length(),
+          fileName.length() - SUFFIX.length()));
+    } catch (NumberFormatException ex) {
+      return -1L;
+    }
+  }
+
+  /**
+   * Checks whether another record fits.
+   *
+   * @return true if the segment has room for one more record
+   */
+  boolean hasRoom() {
+    return position + RECORD_SIZE <= buffer.capacity();
+  }
+
+  /**
+   * Encodes a record at the tail of the segment. The record is not durable
+   * until {@link #force(int)} covers it.
+   *
+   * @param sequence    the record sequence
+   * @param auctionId   the auction id
+   * @param bidderId    the bidder id
+   * @param amountMinor the amount in minor units
+   * @param nanoTime    the commit time
+   */
+  void append(final long sequence, final UUID auctionId,
+      final UUID bidderId, final long amountMinor, final long nanoTime) {
+    int offset = position;
+    buffer.putLong(offset + PAYLOAD_OFFSET, sequence);
+    buffer.putLong(offset + 16, auctionId.getMostSignificantBits());
+    buffer.putLong(offset + 24, auctionId.getLeastSignificantBits());
+    buffer.putLong(offset + 32, bidderId.getMostSignificantBits());
+    buffer.putLong(offset + 40, bidderId.getLeastSignificantBits());
+    buffer.putLong(offset + 48, amountMinor);
+    buffer.putLong(offset + 56, nanoTime);
+    buffer.putInt(offset + CRC_OFFSET, checksum(offset));
+    buffer.putInt(offset, MAGIC);
+
+    position += RECORD_SIZE;
+    lastSequence = sequence;
+  }
+
+  /**
+   * Flushes the records appended since an offset to the storage device.
+   *
+   * @param from the offset of the first unflushed record
+   */
+  void force(final int from) {
+    if (position > from) {
+      buffer.force(from, position - from);
+    }
+  }
+
+  /**
+   * Visits every record with a sequence above the given one.
+   *
+   * @param afterSequence the last sequence to skip
+   * @param visitor       receives each record
+   * @return the number of records visited
+   */
+  long forEach(final long afterSequence,
+      final Consumer<JournalRecord> visitor) {
+    long visited = 0;
+
+    for (int offset = 0; offset < position; offset += RECORD_SIZE) {
+      long sequence = buffer.getLong(offset + PAYLOAD_OFFSET);
+      if (sequence <= afterSequence) {
+        continue;
+      }
+
+      visitor.accept(new JournalRecord(sequence,
+          new UUID(buffer.getLong(offset + 16), buffer.getLong(offset + 24)),
+          new UUID(buffer.getLong(offset + 32), buffer.getLong(offset + 40)),
+          buffer.getLong(offset + 48), buffer.getLong(offset + 56)));
+      visited++;
+    }
+
+    return visited;
+  }
+
+  /**
+   * Gets the offset of the next record.
+   *
+   * @return the append position
+   */
+  int getPosition() {
+    return position;
+  }
+
+  /**
+   * Gets the sequence of the first record.
+   *
+   * @return the first sequence
+   */
+  long getFirstSequence() {
+    return firstSequence;
+  }
+
+  /**
+   * Gets the sequence of the last valid record.
+   *
+   * @return the last sequence, or the first sequence minus one if empty
+   */
+  long getLastSequence() {
+    return lastSequence;
+  }
+
+  /**
+   * Gets the segment file.
+   *
+   * @return the path
+   */
+  Path getPath() {
+    return path;
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  /**
+   * Scans for the end of the valid records and clears a torn tail.
+   */
+  private void recover() {
+    position = 0;
+    lastSequence = firstSequence - 1;
+
+    while (hasRoom()) {
+      if (buffer.getInt(position) != MAGIC
+          || buffer.getInt(position + CRC_OFFSET) != checksum(position)
+          || buffer.getLong(position + PAYLOAD_OFFSET) != lastSequence + 1) {
+        break;
+      }
+
+      lastSequence++;
+      position += RECORD_SIZE;
+    }
+
+    boolean cleared = false;
+    for (int offset = position; offset < buffer.capacity();
+        offset += RECORD_SIZE) {
+      if (offset == position || buffer.getInt(offset) != 0) {
+        clear(offset);
+        cleared = true;
+      }
+    }
+
+    if (cleared) {
+      buffer.force(position, buffer.capacity() - position);
+    }
+  }
+
+  /**
+   * Zeroes one record slot. Slots past the tail may hold records of a batch
+   * that was never acknowledged, so none of them may survive into the
+   * sequence range the next appends reuse.
+   *
+   * @param offset the slot offset
+   */
+  private void clear(final int offset) {
+    for (int i = 0; i < RECORD_SIZE; i += Long.BYTES) {
+      buffer.putLong(offset + i, 0L);
+    }
+  }
+
+  /**
+   * Computes the checksum of a record's payload.
+   *
+   * @param offset the record offset
+   * @return the CRC32C of bytes 8..63 of the record
+   */
+  private int checksum(final int offset) {
+    crc.reset();
+    payloadView.limit(offset + RECORD_SIZE).position(offset + PAYLOAD_OFFSET);
+    crc.update(payloadView);
+    return (int) crc.getValue();
+  }
+}
@@ -0,0 +1,413 @@
+package com.bidstream.service.journal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.bidstream.config.JournalProperties;
+import com.bidstream.exceptions.ConfigurationException;
+import com.bidstream.exceptions.ExternalServiceException;
+import com.bidstream.service.bidding.AcceptedBid;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Memory-mapped, segmented bid journal with group commit.
+ *
+ * <p>
+ * Appends are queued and a single committer thread collects them into
+ * batches: a batch closes when {@code bidstream.journal.max-batch-size}
+ * bids have accumulated or {@code bidstream.journal.max-linger-micros}
+ * have passed since its first bid. Every bid of the batch is encoded
+ * directly into the mapped {@link JournalSegment} and the dirty range is
+ * forced once, after which every bid of the batch is acknowledged.
+ * </p>
+ *
+ * <p>
+ * When the active segment is full the committer rolls over to a new one
+ * named after its first sequence. Segments wholly covered by the Postgres
+ * checkpoint are deleted by {@link #release(long)}.
+ * </p>
+ *
+ * <p>
+ * Sequences never restart below the checkpoint: if the journal on disk
+ * ends before it, because its files were lost or restored from an older
+ * copy, appends continue from the checkpoint in a new segment. Otherwise
+ * new bids would reuse sequences the checkpoint already covers and be
+ * skipped by the next replay.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(prefix = "bidstream.journal", name = "enabled",
+    havingValue = "true", matchIfMissing = true)
+public class MappedBidJournal implements BidJournal {
+
+  /** Logger for this class. */
+  private static final Logger LOGGER =
+      LoggerFactory.getLogger(MappedBidJournal.class);
+
+  /** Bytes in one mebibyte. */
+  private static final int MEBIBYTE = 1 << 20;
+
+  /** How long the committer waits for work before re-checking shutdown. */
+  private static final long POLL_TIMEOUT_MS = 100L;
+
+  /** Maximum time to wait for the committer on shutdown, in milliseconds. */
+  private static final long SHUTDOWN_TIMEOUT_MS = 5_000L;
+
+  /** Bids waiting to be committed. */
+  private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+
+  /** Segment files by first sequence, including the active one. */
+  private final NavigableMap<Long, Path> segments =
+      new ConcurrentSkipListMap<>();
+
+  /** Journal settings. */
+  private final JournalProperties properties;
+
+  /** Postgres checkpoint, below which sequences are never reused. */
+  private final JournalCheckpointStore checkpointStore;
+
+  /** Number of bids per committed batch. */
+  private final DistributionSummary batchSize;
+
+  /** Time to encode and force one batch. */
+  private final Timer commitLatency;
+
+  /** The committer thread. */
+  private final Thread committer;
+
+  /** Journal directory. */
+  private Path directory;
+
+  /** Segment receiving appends, owned by the committer. */
+  private JournalSegment active;
+
+  /** Highest sequence known to be durable. */
+  private volatile long durableSequence;
+
+  /** Whether the journal accepts appends. */
+  private volatile boolean running;
+
+  /**
+   * Creates the journal.
+   *
+   * @param newProperties      the journal settings
+   * @param newCheckpointStore the Postgres checkpoint
+   * @param registry           the meter registry
+   */
+  public MappedBidJournal(final JournalProperties newProperties,
+      final JournalCheckpointStore newCheckpointStore,
+      final MeterRegistry registry) {
+    this.properties = newProperties;
+    this.checkpointStore = newCheckpointStore;
+    this.batchSize = DistributionSummary
+        .builder("bidstream.journal.batch.size")
+        .description("Bids committed per journal force")
+        .publishPercentileHistogram()
+        .register(registry);
+    this.commitLatency = Timer.builder("bidstream.journal.commit.latency")
+        .description("Time to encode and force one journal batch")
+        .publishPercentileHistogram()
+        .register(registry);
+    Gauge.builder("bidstream.journal.segments", segments, Map::size)
+        .description("Journal segment files retained for recovery")
+        .register(registry);
+    this.committer = new Thread(this::run, "bid-journal-committer");
+    this.committer.setDaemon(true);
+  }
+
+  /**
+   * Maps the newest segment, discarding any torn tail, and starts the
+   * committer. A journal ending before the checkpoint continues from the
+   * checkpoint in a new segment.
+   */
+  @PostConstruct
+  public void start() {
+    directory = Path.of(properties.getDirectory());
+
+    try {
+      Files.createDirectories(directory);
+      try (Stream<Path> files = Files.list(directory)) {
+        files.forEach(file -> {
+          long first = JournalSegment.parseFirstSequence(
+              file.getFileName().toString());
+          if (first > 0) {
+            segments.put(first, file);
+          }
+        });
+      }
+
+      long checkpoint = checkpointStore.load();
+      long first = segments.isEmpty() ? checkpoint + 1 : segments.lastKey();
+      active = JournalSegment.open(directory, first, segmentSize());
+      if (active.getLastSequence() < checkpoint) {
+        LOGGER.warn("Bid journal ends at sequence {} before checkpoint {}, "
+            + "continuing from the checkpoint", active.getLastSequence(),
+            checkpoint);
+        active.close();
+        first = checkpoint + 1;
+        active = JournalSegment.open(directory, first, segmentSize());
+      }
+      segments.put(first, active.getPath());
+    } catch (IOException ex) {
+      throw new ConfigurationException("Cannot open bid journal in "
+          + directory.toAbsolutePath(), ex);
+    }
+
+    durableSequence = active.getLastSequence();
+    LOGGER.info("Bid journal opened at sequence {} with {} segments",
+        durableSequence, segments.size());
+
+    running = true;
+    committer.start();
+  }
+
+  /**
+   * Commits the remaining bids and unmaps the active segment.
+   */
+  @PreDestroy
+  public void stop() {
+    running = false;
+
+    try {
+      committer.join(SHUTDOWN_TIMEOUT_MS);
+      active.close();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    } catch (IOException ex) {
+      LOGGER.warn("Failed to close bid journal", ex);
+    }
+  }
+
+  @Override
+  public void append(final AcceptedBid bid,
+      final DurabilityCallback callback) {
+    if (!running || !queue.offer(new Pending(bid, callback))) {
+      callback.onComplete(0L, new ExternalServiceException("bid-journal",
+          "Bid journal is not accepting appends"));
+    }
+  }
+
+  @Override
+  public long durableSequence() {
+    return durableSequence;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>
+   * Must run before the first append, while the committer is idle.
+   * </p>
+   */
+  @Override
+  public long replay(final long afterSequence,
+      final Consumer<JournalRecord> visitor) {
+    long replayed = 0;
+    Long from = segments.floorKey(afterSequence + 1);
+
+    for (Map.Entry<Long, Path> entry : segments.tailMap(
+        from != null ? from : segments.firstKey(), true).entrySet()) {
+      if (entry.getKey() == active.getFirstSequence()) {
+        replayed += active.forEach(afterSequence, visitor);
+        continue;
+      }
+
+      try (JournalSegment segment = JournalSegment.open(directory,
+          entry.getKey(), segmentSize())) {
+        replayed += segment.forEach(afterSequence, visitor);
+      } catch (IOException ex) {
+        throw new ConfigurationException("Cannot read bid journal segment "
+            + entry.getValue(), ex);
+      }
+    }
+
+    return replayed;
+  }
+
+  @Override
+  public void release(final long checkpoint) {
+    Map.Entry<Long, Path> oldest = segments.firstEntry();
+
+    while (oldest != null) {
+      Long next = segments.higherKey(oldest.getKey());
+      if (next == null || next - 1 > checkpoint) {
+        return;
+      }
+
+      try {
+        Files.deleteIfExists(oldest.getValue());
+        segments.remove(oldest.getKey());
+        LOGGER.debug("Released bid journal segment {}", oldest.getValue());
+      } catch (IOException ex) {
+        LOGGER.warn("Failed to delete bid journal segment {}",
+            oldest.getValue(), ex);
+        return;
+      }
+      oldest = segments.firstEntry();
+    }
+  }
+
+  /**
+   * Committer loop: collects batches and commits them.
+   */
+  private void run() {
+    int maxBatch = properties.getMaxBatchSize();
+    long lingerNanos = TimeUnit.MICROSECONDS.toNanos(
+        properties.getMaxLingerMicros());
+    List<Pending> batch = new ArrayList<>(maxBatch);
+
+    while (running || !queue.isEmpty()) {
+      try {
+        Pending first = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+
+        batch.add(first);
+        fill(batch, maxBatch, System.nanoTime() + lingerNanos);
+        commit(batch);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        return;
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  /**
+   * Adds queued bids to the batch until it is full or the linger deadline
+   * passes.
+   *
+   * @param batch    the batch being collected
+   * @param maxBatch the maximum batch size
+   * @param deadline the linger deadline in {@link System#nanoTime()} units
+   * @throws InterruptedException if interrupted while waiting
+   */
+  private void fill(final List<Pending> batch, final int maxBatch,
+      final long deadline) throws InterruptedException {
+    while (batch.size() < maxBatch) {
+      if (queue.drainTo(batch, maxBatch - batch.size()) > 0) {
+        continue;
+      }
+
+      long remaining = deadline - System.nanoTime();
+      if (remaining <= 0) {
+        return;
+      }
+
+      Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+      if (next == null) {
+        return;
+      }
+      batch.add(next);
+    }
+  }
+
+  /**
+   * Encodes and forces a batch, then acknowledges or fails its bids.
+   *
+   * <p>
+   * After a failed force the state of the mapped pages is unknown, so the
+   * journal stops accepting appends rather than acknowledge bids it cannot
+   * prove durable.
+   * </p>
+   *
+   * @param batch the batch to commit
+   */
+  private void commit(final List<Pending> batch) {
+    long started = System.nanoTime();
+    long firstSequence = durableSequence + 1;
+
+    try {
+      int flushFrom = active.getPosition();
+      long sequence = firstSequence;
+      for (Pending pending : batch) {
+        if (!active.hasRoom()) {
+          roll(flushFrom, sequence);
+          flushFrom = 0;
+        }
+
+        AcceptedBid bid = pending.bid();
+        active.append(sequence++, bid.auctionId(), bid.bidderId(),
+            bid.amount(), started);
+      }
+      active.force(flushFrom);
+    } catch (IOException | UncheckedIOException ex) {
+      running = false;
+      LOGGER.error("Failed to commit {} bids to the journal, refusing "
+          + "further appends", batch.size(), ex);
+      ExternalServiceException failure = new ExternalServiceException(
+          "bid-journal", "Failed to make bid durable", ex);
+      for (Pending pending : batch) {
+        pending.callback().onComplete(0L, failure);
+      }
+      return;
+    }
+
+    commitLatency.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    batchSize.record(batch.size());
+    long sequence = firstSequence;
+    for (Pending pending : batch) {
+      pending.callback().onComplete(sequence++, null);
+    }
+    durableSequence = sequence - 1;
+  }
+
+  /**
+   * Forces and closes the full active segment and starts a new one.
+   *
+   * @param flushFrom     the offset of the first unflushed record
+   * @param nextSequence  the sequence of the new segment's first record
+   * @throws IOException if the new segment cannot be created
+   */
+  private void roll(final int flushFrom, final long nextSequence)
+      throws IOException {
+    active.force(flushFrom);
+    active.close();
+    active = JournalSegment.open(directory, nextSequence, segmentSize());
+    segments.put(nextSequence, active.getPath());
+    LOGGER.info("Bid journal rolled to segment {}", active.getPath());
+  }
+
+  /**
+   * Gets the size of a new segment.
+   *
+   * @return the size in bytes
+   */
+  private int segmentSize() {
+    return properties.getSegmentSizeMb() * MEBIBYTE;
+  }
+
+  /**
+   * A bid waiting for its batch to be committed.
+   *
+   * @param bid      the accepted bid
+   * @param callback notified once the bid is durable or has failed
+   */
+  private record Pending(AcceptedBid bid, DurabilityCallback callback) {
+  }
+}
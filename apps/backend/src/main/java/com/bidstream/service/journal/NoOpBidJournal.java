@@ -0,0 +1,41 @@
+package com.bidstream.service.journal;
+
+import java.util.function.Consumer;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.bidstream.service.bidding.AcceptedBid;
+
+/**
+ * Journal used when {@code bidstream.journal.enabled} is false.
+ * Acknowledges every bid immediately, leaving durability to the
+ * asynchronous database write, and has nothing to replay.
+ */
+@Component
+@ConditionalOnProperty(prefix = "bidstream.journal", name = "enabled",
+    havingValue = "false")
+public class NoOpBidJournal implements BidJournal {
+
+  @Override
+  public void append(final AcceptedBid bid,
+      final DurabilityCallback callback) {
+    callback.onComplete(0L, null);
+  }
+
+  @Override
+  public long durableSequence() {
+    return 0L;
+  }
+
+  @Override
+  public long replay(final long afterSequence,
+      final Consumer<JournalRecord> visitor) {
+    return 0L;
+  }
+
+  @Override
+  public void release(final long checkpoint) {
+    // Nothing is retained
+  }
+}
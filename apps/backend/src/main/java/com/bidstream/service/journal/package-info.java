@@ -0,0 +1,13 @@
+/**
+ * Durable journal of accepted bids.
+ *
+ * <p>
+ * Bids from many auctions are group-committed into memory-mapped segment
+ * files: one force covers a whole batch, and bidders are acknowledged only
+ * once their batch is durable. A checkpoint kept in Postgres marks how far
+ * the journal has been applied to the database; on restart the records
+ * past it are replayed into the bid engine.
+ * </p>
+ */
+
+package com.bidstream.service.journal;
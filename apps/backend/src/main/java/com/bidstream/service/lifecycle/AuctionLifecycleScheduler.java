@@ -0,0 +1,446 @@
+package com.bidstream.service.lifecycle;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.bidstream.config.LifecycleProperties;
+import com.bidstream.event.AuctionChangedEvent;
+import com.bidstream.event.AuctionChangedEvent.ChangeType;
+import com.bidstream.event.AuctionStateChangedEvent;
+import com.bidstream.model.entity.Auction;
+import com.bidstream.model.entity.AuctionStatus;
+import com.bidstream.model.time.EpochClock;
+import com.bidstream.repository.AuctionRepository;
+import com.bidstream.service.bidding.BidEngine;
+import com.bidstream.service.bidding.CloseOutcome;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Drives auction start and end transitions from a {@link TimingWheel}.
+ *
+ * <p>
+ * Every scheduled or active auction has exactly one pending timer: its
+ * start time while scheduled, its end time while active. The wheel is
+ * loaded once at startup and kept in sync through
+ * {@link AuctionChangedEvent}s, so Postgres only sees one conditional
+ * update per transition instead of periodic scans of the whole table.
+ * </p>
+ *
+ * <p>
+ * The wheel is owned by a single thread fed through a mailbox. Fired
+ * transitions are handed to a separate thread, so database latency never
+ * delays the next deadline. An auction is ended through the
+ * {@link BidEngine}, after every bid already queued for it, and the
+ * outcome is decided from its hot state.
+ * </p>
+ *
+ * <p>
+ * Soft-close extensions are not pushed into the wheel. When the original
+ * deadline fires on an extended auction, the engine reports it still open
+ * and the timer is re-armed once for the latest end time.
+ * </p>
+ *
+ * <p>
+ * A transition that fails, for instance because the engine's mailbox is
+ * full or Postgres is unavailable, is re-armed with an exponential backoff
+ * bounded by {@code bidstream.lifecycle.max-retry-backoff-ms}, so an
+ * auction never stays open or unopened past its deadline for good.
+ * </p>
+ */
+@Component
+public class AuctionLifecycleScheduler {
+
+  /** Logger for this class. */
+  private static final Logger LOGGER =
+      LoggerFactory.getLogger(AuctionLifecycleScheduler.class);
+
+  /** Number of auctions read per query while loading the wheel. */
+  private static final int LOAD_BATCH_SIZE = 1_000;
+
+  /** Maximum time to wait for the threads on shutdown, in milliseconds. */
+  private static final long SHUTDOWN_TIMEOUT_MS = 5_000L;
+
+  /** Largest doubling applied to the retry backoff. */
+  private static final int MAX_BACKOFF_SHIFT = 20;
+
+  /** Pending timer per auction, owned by the wheel thread. */
+  private final Map<UUID, TimingWheel.Timeout<Transition>> timers =
+      new HashMap<>();
+
+  /** Schedule and cancel requests for the wheel thread. */
+  private final BlockingQueue<Command> mailbox = new LinkedBlockingQueue<>();
+
+  /** Thread running the transitions that fired. */
+  private final ExecutorService transitions =
+      Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "auction-transitions");
+        thread.setDaemon(true);
+        return thread;
+      });
+
+  /** Repository used to load and transition auctions. */
+  private final AuctionRepository auctionRepository;
+
+  /** Engine that owns the bidding state of active auctions. */
+  private final BidEngine bidEngine;
+
+  /** Scheduler settings. */
+  private final LifecycleProperties properties;
+
+  /** Clock the wheel advances on, shared with the bid engine. */
+  private final EpochClock clock;
+
+  /** Publisher of the status changes this scheduler applies. */
+  private final ApplicationEventPublisher publisher;
+
+  /** Delay between a deadline and the firing of its transition. */
+  private final Timer firingLag;
+
+  /** The wheel thread. */
+  private final Thread thread;
+
+  /** The timing wheel, owned by the wheel thread. */
+  private TimingWheel<Transition> wheel;
+
+  /** Number of pending timers, published for the gauge. */
+  private volatile int pending;
+
+  /** Whether the scheduler is running. */
+  private volatile boolean running;
+
+  /**
+   * Creates the scheduler.
+   *
+   * @param newAuctionRepository the auction repository
+   * @param newBidEngine         the bid engine
+   * @param newProperties        the scheduler settings
+   * @param newClock             the clock
+   * @param newPublisher         the event publisher
+   * @param registry             the meter registry
+   */
+  public AuctionLifecycleScheduler(
+      final AuctionRepository newAuctionRepository,
+      final BidEngine newBidEngine, final LifecycleProperties newProperties,
+      final EpochClock newClock, final ApplicationEventPublisher newPublisher,
+      final MeterRegistry registry) {
+    this.auctionRepository = newAuctionRepository;
+    this.bidEngine = newBidEngine;
+    this.properties = newProperties;
+    this.clock = newClock;
+    this.publisher = newPublisher;
+    this.firingLag = Timer.builder("bidstream.lifecycle.firing.lag")
+        .description("Delay between an auction deadline and its transition")
+        .publishPercentiles(0.5, 0.99)
+        .register(registry);
+    Gauge.builder("bidstream.lifecycle.timers", this, s -> s.pending)
+        .description("Auction transitions waiting in the timing wheel")
+        .register(registry);
+    this.thread = new Thread(this::run, "auction-lifecycle");
+    this.thread.setDaemon(true);
+  }
+
+  /**
+   * Loads the timer of every scheduled and active auction and starts the
+   * wheel thread. Deadlines that passed while the application was down
+   * fire immediately.
+   */
+  @PostConstruct
+  public void start() {
+    wheel = new TimingWheel<>(properties.getTickMs(),
+        properties.getWheelSlots(), properties.getWheelLevels(),
+        clock.millis());
+
+    for (AuctionStatus status
+        : List.of(AuctionStatus.SCHEDULED, AuctionStatus.ACTIVE)) {
+      try (Stream<Auction> auctions =
+          auctionRepository.streamByStatus(status, LOAD_BATCH_SIZE)) {
+        auctions.forEach(auction -> schedule(new Schedule(auction.getId(),
+            auction.getStatus(), auction.getStartMs(), auction.getEndMs(),
+            0)));
+      }
+    }
+    LOGGER.info("Auction lifecycle scheduler loaded {} timers",
+        wheel.size());
+
+    running = true;
+    thread.start();
+  }
+
+  /**
+   * Stops the wheel and waits for running transitions.
+   */
+  @PreDestroy
+  public void stop() {
+    running = false;
+
+    try {
+      thread.join(SHUTDOWN_TIMEOUT_MS);
+      transitions.shutdown();
+      transitions.awaitTermination(SHUTDOWN_TIMEOUT_MS,
+          TimeUnit.MILLISECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Re-arms the timer of an auction after it was created, updated or
+   * deleted. Runs after the surrounding transaction commits.
+   *
+   * @param event the change
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onAuctionChanged(final AuctionChangedEvent event) {
+    Auction auction = event.auction();
+    Command command = event.type() == ChangeType.DELETED
+        ? new Cancel(auction.getId())
+        : new Schedule(auction.getId(), auction.getStatus(),
+            auction.getStartMs(), auction.getEndMs(), 0);
+
+    if (!mailbox.offer(command)) {
+      LOGGER.warn("Could not reschedule auction {}", auction.getId());
+    }
+  }
+
+  /**
+   * Wheel loop: applies requests, advances time and sleeps until the next
+   * tick or request.
+   */
+  private void run() {
+    List<Command> batch = new ArrayList<>();
+
+    while (running) {
+      try {
+        wheel.advance(clock.millis(), this::fire);
+        pending = wheel.size();
+
+        long wait = wheel.nextTickMs() - clock.millis();
+        Command first = mailbox.poll(Math.max(wait, 0L),
+            TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+
+        batch.add(first);
+        mailbox.drainTo(batch);
+        for (Command command : batch) {
+          switch (command) {
+            case Schedule schedule -> schedule(schedule);
+            case Cancel cancel -> cancel(cancel.auctionId());
+          }
+        }
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (RuntimeException ex) {
+        LOGGER.error("Auction lifecycle loop failed", ex);
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  /**
+   * Replaces the pending timer of an auction with the one matching its
+   * status.
+   *
+   * @param schedule the auction's current status and times
+   */
+  private void schedule(final Schedule schedule) {
+    cancel(schedule.auctionId());
+
+    long deadline;
+    switch (schedule.status()) {
+      case SCHEDULED -> deadline = schedule.startMs();
+      case ACTIVE -> deadline = schedule.endMs();
+      default -> {
+        return;
+      }
+    }
+
+    Transition transition = new Transition(schedule.auctionId(),
+        schedule.status(), schedule.attempt());
+    timers.put(schedule.auctionId(), wheel.schedule(deadline, transition));
+  }
+
+  /**
+   * Cancels the pending timer of an auction, if any.
+   *
+   * @param auctionId the auction
+   */
+  private void cancel(final UUID auctionId) {
+    TimingWheel.Timeout<Transition> timeout = timers.remove(auctionId);
+    if (timeout != null) {
+      wheel.cancel(timeout);
+    }
+  }
+
+  /**
+   * Hands a fired timer over to the transition thread.
+   *
+   * @param transition the fired transition
+   */
+  private void fire(final Transition transition) {
+    TimingWheel.Timeout<Transition> timeout =
+        timers.remove(transition.auctionId());
+    if (timeout != null) {
+      firingLag.record(clock.millis() - timeout.getDeadlineMs(),
+          TimeUnit.MILLISECONDS);
+    }
+
+    transitions.execute(() -> {
+      try {
+        switch (transition.from()) {
+          case SCHEDULED -> activate(transition);
+          case ACTIVE -> end(transition);
+          default -> { }
+        }
+      } catch (RuntimeException ex) {
+        retry(transition, ex);
+      }
+    });
+  }
+
+  /**
+   * Re-arms a failed transition after a backoff that doubles with every
+   * attempt.
+   *
+   * @param transition the failed transition
+   * @param failure    the cause
+   */
+  private void retry(final Transition transition, final Throwable failure) {
+    long backoff = Math.min(properties.getMaxRetryBackoffMs(),
+        properties.getRetryBackoffMs()
+            << Math.min(transition.attempt(), MAX_BACKOFF_SHIFT));
+    LOGGER.error("Failed to transition auction {} from {}, retrying in {} "
+        + "ms", transition.auctionId(), transition.from(), backoff, failure);
+
+    long retryAt = clock.millis() + backoff;
+    if (!mailbox.offer(new Schedule(transition.auctionId(),
+        transition.from(), retryAt, retryAt, transition.attempt() + 1))) {
+      LOGGER.warn("Could not reschedule auction {}",
+          transition.auctionId());
+    }
+  }
+
+  /**
+   * Opens a scheduled auction for bidding and arms its end timer. A retry
+   * finishes the work of an attempt that failed after the status update.
+   *
+   * @param transition the fired transition
+   */
+  private void activate(final Transition transition) {
+    UUID auctionId = transition.auctionId();
+    if (auctionRepository.transitionStatus(auctionId,
+        AuctionStatus.SCHEDULED, AuctionStatus.ACTIVE) != 1
+        && transition.attempt() == 0) {
+      return;
+    }
+
+    auctionRepository.findById(auctionId)
+        .filter(auction -> auction.getStatus() == AuctionStatus.ACTIVE)
+        .ifPresent(auction -> {
+          bidEngine.register(auction);
+          mailbox.offer(new Schedule(auctionId, AuctionStatus.ACTIVE,
+              auction.getStartMs(), auction.getEndMs(), 0));
+          publisher.publishEvent(new AuctionStateChangedEvent(auctionId,
+              AuctionStatus.ACTIVE, auction.getEndMs()));
+          LOGGER.info("Auction {} is now active", auctionId);
+        });
+  }
+
+  /**
+   * Closes bidding on an active auction and records its outcome, or
+   * re-arms its timer if soft close extended it.
+   *
+   * @param transition the fired transition
+   */
+  private void end(final Transition transition) {
+    UUID auctionId = transition.auctionId();
+    bidEngine.close(auctionId).whenCompleteAsync((outcome, failure) -> {
+      if (failure != null) {
+        retry(transition, failure);
+        return;
+      }
+
+      try {
+        if (outcome.stillOpen()) {
+          mailbox.offer(new Schedule(auctionId, AuctionStatus.ACTIVE, 0L,
+              outcome.endTimeMs(), 0));
+          return;
+        }
+
+        AuctionStatus status = outcome.status();
+        if ((status == AuctionStatus.COMPLETED
+            || status == AuctionStatus.ENDED_NO_SALE)
+            && auctionRepository.transitionStatus(auctionId,
+                AuctionStatus.ACTIVE, status) == 1) {
+          publisher.publishEvent(new AuctionStateChangedEvent(auctionId,
+              status, outcome.endTimeMs()));
+          LOGGER.info("Auction {} ended as {}", auctionId, status);
+        }
+      } catch (RuntimeException ex) {
+        retry(transition, ex);
+      }
+    }, transitions);
+  }
+
+  /**
+   * A transition waiting in the wheel.
+   *
+   * @param auctionId the auction
+   * @param from      the status the auction leaves
+   * @param attempt   the number of earlier failed attempts
+   */
+  private record Transition(UUID auctionId, AuctionStatus from,
+      int attempt) {
+  }
+
+  /**
+   * Requests to the wheel thread.
+   */
+  private sealed interface Command permits Schedule, Cancel {
+  }
+
+  /**
+   * Re-arms an auction's timer from its current state.
+   *
+   * @param auctionId the auction
+   * @param status    the current status
+   * @param startMs   the start time in epoch milliseconds
+   * @param endMs     the end time in epoch milliseconds
+   * @param attempt   the number of earlier failed attempts of the
+   *                  transition, 0 unless this is a retry
+   */
+  private record Schedule(UUID auctionId, AuctionStatus status,
+      long startMs, long endMs, int attempt) implements Command {
+  }
+
+  /**
+   * Removes an auction's timer.
+   *
+   * @param auctionId the auction
+   */
+  private record Cancel(UUID auctionId) implements Command {
+  }
+}
@@ -0,0 +1,12 @@
+package com.bidstream.service.lifecycle;
+
+import java.util.UUID;
+
+/**
+ * One active auction in end time order.
+ *
+ * @param auctionId the auction
+ * @param endTimeMs the end time in epoch milliseconds
+ */
+public record EndingAuction(UUID auctionId, long endTimeMs) {
+}
@@ -0,0 +1,291 @@
+package com.bidstream.service.lifecycle;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.bidstream.event.AuctionChangedEvent;
+import com.bidstream.event.AuctionChangedEvent.ChangeType;
+import com.bidstream.event.AuctionStateChangedEvent;
+import com.bidstream.model.entity.Auction;
+import com.bidstream.model.entity.AuctionStatus;
+import com.bidstream.model.time.AuctionClock;
+import com.bidstream.model.time.EpochClock;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Active auctions ordered by end time, then id.
+ *
+ * <p>
+ * Answers the "ending soon" and "active now" listings with a seek into a
+ * sorted set and a walk over the {@code k} auctions returned, without
+ * touching the database. The index is loaded once at startup and then
+ * follows the same signals as the lifecycle scheduler: entity changes as
+ * they commit, and the status and end time changes it and the bid
+ * persister publish, which include soft-close extensions.
+ * </p>
+ *
+ * <p>
+ * An auction whose end time passed stays indexed until its end transition
+ * is applied; queries skip it. The age of the oldest such auction is
+ * published as the index staleness.
+ * </p>
+ */
+@Component
+public class EndingSoonIndex {
+
+  /** Logger for this class. */
+  private static final Logger LOGGER =
+      LoggerFactory.getLogger(EndingSoonIndex.class);
+
+  /** Reads every active auction. */
+  private static final String SELECT_ACTIVE_SQL =
+      "SELECT id, start_time, end_time FROM auctions "
+          + "WHERE status = 'ACTIVE'";
+
+  /** End time order, ties by id. */
+  private static final Comparator<Entry> BY_END_TIME =
+      Comparator.comparingLong(Entry::endMs).thenComparing(Entry::auctionId,
+          Comparator.nullsFirst(Comparator.naturalOrder()));
+
+  /** Guards every field below. */
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  /** Active auctions in end time order. */
+  private final TreeSet<Entry> byEndTime = new TreeSet<>(BY_END_TIME);
+
+  /** Entry of each active auction. */
+  private final Map<UUID, Entry> entries = new HashMap<>();
+
+  /** JDBC access. */
+  private final JdbcTemplate jdbcTemplate;
+
+  /** Clock queries and staleness are measured against. */
+  private final EpochClock clock;
+
+  /**
+   * Creates the index.
+   *
+   * @param newJdbcTemplate the JDBC template
+   * @param newClock        the clock
+   * @param registry        the meter registry
+   */
+  public EndingSoonIndex(final JdbcTemplate newJdbcTemplate,
+      final EpochClock newClock, final MeterRegistry registry) {
+    this.jdbcTemplate = newJdbcTemplate;
+    this.clock = newClock;
+    Gauge.builder("bidstream.ending.index.auctions", this,
+            EndingSoonIndex::size)
+        .description("Active auctions in the ending-soon index")
+        .register(registry);
+    Gauge.builder("bidstream.ending.index.staleness", this,
+            EndingSoonIndex::stalenessMs)
+        .description("Time since the end of the oldest indexed auction "
+            + "still awaiting its end transition")
+        .baseUnit("milliseconds")
+        .register(registry);
+  }
+
+  /**
+   * Loads every active auction.
+   */
+  @PostConstruct
+  public void load() {
+    jdbcTemplate.query(SELECT_ACTIVE_SQL, rs -> {
+      LocalDateTime start = rs.getObject("start_time", LocalDateTime.class);
+      LocalDateTime end = rs.getObject("end_time", LocalDateTime.class);
+      if (end == null) {
+        return;
+      }
+
+      lock.writeLock().lock();
+      try {
+        put(rs.getObject("id", UUID.class),
+            start == null ? 0L : AuctionClock.toEpochMs(start),
+            AuctionClock.toEpochMs(end));
+      } finally {
+        lock.writeLock().unlock();
+      }
+    });
+    LOGGER.info("Ending-soon index loaded {} auctions", size());
+  }
+
+  /**
+   * Applies an entity change once its transaction commits.
+   *
+   * @param event the change
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onAuctionChanged(final AuctionChangedEvent event) {
+    Auction auction = event.auction();
+
+    lock.writeLock().lock();
+    try {
+      if (event.type() != ChangeType.DELETED
+          && auction.getStatus() == AuctionStatus.ACTIVE) {
+        put(auction.getId(), auction.getStartMs(), auction.getEndMs());
+      } else {
+        remove(auction.getId());
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Applies an activation, an end or a soft-close extension.
+   *
+   * @param event the change
+   */
+  @EventListener
+  public void onAuctionStateChanged(final AuctionStateChangedEvent event) {
+    lock.writeLock().lock();
+    try {
+      if (event.status() == AuctionStatus.ACTIVE) {
+        Entry previous = entries.get(event.auctionId());
+        put(event.auctionId(), previous == null ? 0L : previous.startMs(),
+            event.endTimeMs());
+      } else {
+        remove(event.auctionId());
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Lists active auctions that have started and end within a window,
+   * soonest first.
+   *
+   * @param nowMs      the current time; auctions ending at or before it
+   *                   are skipped
+   * @param cutoffMs   the latest end time returned
+   * @param afterEndMs end time of the last auction already returned, or
+   *                   {@link Long#MIN_VALUE} for the first page
+   * @param afterId    id of the last auction already returned; ignored on
+   *                   the first page
+   * @param limit      the maximum number of auctions
+   * @return the auctions in end time order
+   */
+  public List<EndingAuction> endingBetween(final long nowMs,
+      final long cutoffMs, final long afterEndMs, final UUID afterId,
+      final int limit) {
+    Entry from = afterEndMs > nowMs
+        ? new Entry(afterId, 0L, afterEndMs)
+        : new Entry(null, 0L, nowMs);
+    List<EndingAuction> page = new ArrayList<>(Math.max(limit, 0));
+
+    lock.readLock().lock();
+    try {
+      for (Entry entry : byEndTime.tailSet(from, false)) {
+        if (page.size() >= limit || entry.endMs() > cutoffMs) {
+          break;
+        }
+        if (entry.endMs() > nowMs && entry.startMs() <= nowMs) {
+          page.add(new EndingAuction(entry.auctionId(), entry.endMs()));
+        }
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+    return page;
+  }
+
+  /**
+   * Lists the active auctions ending soonest.
+   *
+   * @param limit the maximum number of auctions
+   * @return the auctions in end time order
+   */
+  public List<EndingAuction> endingSoonest(final int limit) {
+    return endingBetween(clock.millis(), Long.MAX_VALUE, Long.MIN_VALUE,
+        null, limit);
+  }
+
+  /**
+   * Gets the number of indexed auctions.
+   *
+   * @return the count
+   */
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return entries.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Measures how long the oldest indexed auction has been past its end.
+   *
+   * @return the staleness in milliseconds, zero when none is overdue
+   */
+  private long stalenessMs() {
+    lock.readLock().lock();
+    try {
+      return byEndTime.isEmpty()
+          ? 0L
+          : Math.max(clock.millis() - byEndTime.first().endMs(), 0L);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Indexes an auction at its end time. Requires the write lock.
+   *
+   * @param auctionId the auction
+   * @param startMs   its start time
+   * @param endMs     its end time
+   */
+  private void put(final UUID auctionId, final long startMs,
+      final long endMs) {
+    Entry entry = new Entry(auctionId, startMs, endMs);
+    Entry previous = entries.put(auctionId, entry);
+    if (previous != null) {
+      byEndTime.remove(previous);
+    }
+    byEndTime.add(entry);
+  }
+
+  /**
+   * Removes an auction. Requires the write lock.
+   *
+   * @param auctionId the auction
+   */
+  private void remove(final UUID auctionId) {
+    Entry previous = entries.remove(auctionId);
+    if (previous != null) {
+      byEndTime.remove(previous);
+    }
+  }
+
+  /**
+   * One indexed auction. A null id sorts before every id of the same end
+   * time, for seeking.
+   *
+   * @param auctionId the auction
+   * @param startMs   the start time in epoch milliseconds
+   * @param endMs     the end time in epoch milliseconds
+   */
+  private record Entry(UUID auctionId, long startMs, long endMs) {
+  }
+}
@@ -0,0 +1,313 @@
+package com.bidstream.service.lifecycle;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel.
+ *
+ * <p>
+ * Level 0 has one slot per tick; every higher level has one slot per full
+ * turn of the level below it, so a few levels of a few hundred slots cover
+ * years at millisecond granularity. A timeout is linked into the slot of
+ * the lowest level whose window contains its deadline, which makes both
+ * scheduling and cancellation O(1). When time reaches the start of a slot
+ * on a higher level, that slot is emptied and its timeouts move down to
+ * the finer levels; level 0 slots fire once their tick has fully elapsed,
+ * so a timeout fires at most one tick after its deadline.
+ * </p>
+ *
+ * <p>
+ * Deadlines beyond the top level's window are parked in the top level and
+ * re-placed each time their slot comes round.
+ * </p>
+ *
+ * <p>
+ * Instances are not thread-safe and must be owned by a single thread.
+ * </p>
+ *
+ * @param <T> the payload carried by each timeout
+ */
+final class TimingWheel<T> {
+
+  /** Duration of one slot on each level, in milliseconds. */
+  private final long[] levelTicks;
+
+  /** Slot lists, indexed by level then slot. */
+  private final Slot<T>[][] slots;
+
+  /** Mask selecting a slot index from a tick count. */
+  private final int slotMask;
+
+  /** Start of the current level 0 tick; earlier deadlines have fired. */
+  private long current;
+
+  /** Number of scheduled timeouts. */
+  private int size;
+
+  /**
+   * Creates a wheel.
+   *
+   * @param tickMs    duration of one level 0 slot, in milliseconds
+   * @param slotCount slots per level, a power of two
+   * @param levels    number of levels
+   * @param startMs   the current time, in epoch milliseconds
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  TimingWheel(final long tickMs, final int slotCount, final int levels,
+      final long startMs) {
+    if (Integer.bitCount(slotCount) != 1) {
+      throw new IllegalArgumentException(
+          "Slot count must be a power of two: " + slotCount);
+    }
+
+    this.slotMask = slotCount - 1;
+    this.levelTicks = new long[levels];
+    this.slots = new Slot[levels][slotCount];
+
+    long tick = tickMs;
+    for (int level = 0; level < levels; level++) {
+      levelTicks[level] = tick;
+      for (int slot = 0; slot < slotCount; slot++) {
+        slots[level][slot] = new Slot<>();
+      }
+      tick = Math.multiplyExact(tick, slotCount);
+    }
+
+    this.current = startMs - Math.floorMod(startMs, tickMs);
+  }
+
+  /**
+   * Schedules a payload. A deadline already in the past fires on the next
+   * {@link #advance}.
+   *
+   * @param deadlineMs the deadline, in epoch milliseconds
+   * @param payload    the payload handed back when the timeout fires
+   * @return a handle that can cancel the timeout
+   */
+  Timeout<T> schedule(final long deadlineMs, final T payload) {
+    Timeout<T> timeout = new Timeout<>(deadlineMs, payload);
+    place(timeout);
+    size++;
+    return timeout;
+  }
+
+  /**
+   * Cancels a timeout. Cancelling a timeout that already fired or was
+   * already cancelled has no effect.
+   *
+   * @param timeout the timeout
+   */
+  void cancel(final Timeout<T> timeout) {
+    if (timeout.slot != null) {
+      timeout.unlink();
+      size--;
+    }
+  }
+
+  /**
+   * Moves time forward, firing every timeout whose tick has elapsed.
+   *
+   * @param nowMs   the current time, in epoch milliseconds
+   * @param expired receives the payload of each fired timeout
+   */
+  void advance(final long nowMs, final Consumer<T> expired) {
+    long tick = levelTicks[0];
+
+    while (current + tick <= nowMs) {
+      Timeout<T> timeout = slotAt(0, current).detach();
+      current += tick;
+
+      while (timeout != null) {
+        Timeout<T> next = timeout.next;
+        timeout.next = null;
+        size--;
+        expired.accept(timeout.payload);
+        timeout = next;
+      }
+
+      cascade();
+    }
+  }
+
+  /**
+   * Gets the time at which the current tick elapses.
+   *
+   * @return the next firing opportunity, in epoch milliseconds
+   */
+  long nextTickMs() {
+    return current + levelTicks[0];
+  }
+
+  /**
+   * Gets the number of scheduled timeouts.
+   *
+   * @return the size
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Moves the timeouts of every higher-level slot starting at the current
+   * time down to the finer levels, coarsest level first.
+   */
+  private void cascade() {
+    for (int level = levelTicks.length - 1; level > 0; level--) {
+      if (Math.floorMod(current, levelTicks[level]) != 0) {
+        continue;
+      }
+
+      Timeout<T> timeout = slotAt(level, current).detach();
+      while (timeout != null) {
+        Timeout<T> next = timeout.next;
+        timeout.next = null;
+        place(timeout);
+        timeout = next;
+      }
+    }
+  }
+
+  /**
+   * Links a timeout into the lowest level whose window holds its deadline.
+   *
+   * @param timeout the timeout
+   */
+  private void place(final Timeout<T> timeout) {
+    long deadline = Math.max(timeout.deadlineMs, current);
+    int top = levelTicks.length - 1;
+
+    for (int level = 0; level < top; level++) {
+      long tick = levelTicks[level];
+      long windowStart = current - Math.floorMod(current, tick);
+      if (deadline < windowStart + tick * slots[level].length) {
+        slotAt(level, deadline).link(timeout);
+        return;
+      }
+    }
+    slotAt(top, deadline).link(timeout);
+  }
+
+  /**
+   * Finds the slot of a level that covers a time.
+   *
+   * @param level  the level
+   * @param timeMs the time, in epoch milliseconds
+   * @return the slot
+   */
+  private Slot<T> slotAt(final int level, final long timeMs) {
+    return slots[level][(int) (timeMs / levelTicks[level]) & slotMask];
+  }
+
+  /**
+   * A scheduled payload; doubles as the node of its slot's list.
+   *
+   * @param <T> the payload type
+   */
+  static final class Timeout<T> {
+
+    /** Deadline, in epoch milliseconds. */
+    private final long deadlineMs;
+
+    /** Payload handed back on expiry. */
+    private final T payload;
+
+    /** Slot holding the timeout, or null once fired or cancelled. */
+    private Slot<T> slot;
+
+    /** Previous node in the slot. */
+    private Timeout<T> prev;
+
+    /** Next node in the slot. */
+    private Timeout<T> next;
+
+    /**
+     * Creates a timeout.
+     *
+     * @param newDeadlineMs the deadline
+     * @param newPayload    the payload
+     */
+    private Timeout(final long newDeadlineMs, final T newPayload) {
+      this.deadlineMs = newDeadlineMs;
+      this.payload = newPayload;
+    }
+
+    /**
+     * Gets the deadline.
+     *
+     * @return the deadline, in epoch milliseconds
+     */
+    long getDeadlineMs() {
+      return deadlineMs;
+    }
+
+    /**
+     * Gets the payload.
+     *
+     * @return the payload
+     */
+    T getPayload() {
+      return payload;
+    }
+
+    /**
+     * Removes the timeout from its slot.
+     */
+    private void unlink() {
+      if (prev != null) {
+        prev.next = next;
+      } else {
+        slot.head = next;
+      }
+
+      if (next != null) {
+        next.prev = prev;
+      }
+      slot = null;
+      prev = null;
+      next = null;
+    }
+  }
+
+  /**
+   * Doubly linked list of the timeouts in one slot.
+   *
+   * @param <T> the payload type
+   */
+  private static final class Slot<T> {
+
+    /** First timeout, or null if empty. */
+    private Timeout<T> head;
+
+    /**
+     * Links a timeout at the head of the slot.
+     *
+     * @param timeout the timeout
+     */
+    private void link(final Timeout<T> timeout) {
+      timeout.slot = this;
+      timeout.prev = null;
+      timeout.next = head;
+      if (head != null) {
+        head.prev = timeout;
+      }
+      head = timeout;
+    }
+
+    /**
+     * Empties the slot.
+     *
+     * @return the former timeouts, chained through their next pointers
+     */
+    private Timeout<T> detach() {
+      Timeout<T> first = head;
+      head = null;
+
+      for (Timeout<T> timeout = first; timeout != null;
+          timeout = timeout.next) {
+        timeout.slot = null;
+        timeout.prev = null;
+      }
+      return first;
+    }
+  }
+}
@@ -0,0 +1,13 @@
+/**
+ * Auction lifecycle scheduling.
+ *
+ * <p>
+ * Start and end times of scheduled and active auctions are kept in a
+ * hierarchical timing wheel, which fires each transition within one tick
+ * of its deadline and issues a single conditional update for it. Active
+ * auctions are also kept sorted by end time to serve the ending-soon
+ * listings from memory.
+ * </p>
+ */
+
+package com.bidstream.service.lifecycle;
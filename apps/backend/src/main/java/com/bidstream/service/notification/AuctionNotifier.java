@@ -0,0 +1,137 @@
+package com.bidstream.service.notification;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.stereotype.Component;
+
+import com.bidstream.config.WebSocketConfig;
+import com.bidstream.dto.response.AuctionUpdateMessage;
+import com.bidstream.service.bidding.AcceptedBid;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Pushes accepted bids and soft-close extensions to the watchers of each
+ * auction on {@code /topic/auctions/{auctionId}}.
+ *
+ * <p>
+ * Updates are coalesced per auction and sent from a dedicated thread, so
+ * the bid path only pays for a map insert. When an auction receives bids
+ * faster than they can be sent, watchers get its latest state rather than
+ * every step, and an extension is never lost from the coalesced update.
+ * </p>
+ */
+@Component
+public class AuctionNotifier {
+
+  /** Logger for this class. */
+  private static final Logger LOGGER =
+      LoggerFactory.getLogger(AuctionNotifier.class);
+
+  /** Destination prefix of per-auction topics. */
+  private static final String AUCTION_TOPIC =
+      WebSocketConfig.TOPIC_PREFIX + "/auctions/";
+
+  /** Latest unsent update per auction. */
+  private final ConcurrentMap<UUID, AcceptedBid> pending =
+      new ConcurrentHashMap<>();
+
+  /** Whether a send pass is already queued. */
+  private final AtomicBoolean sendScheduled = new AtomicBoolean();
+
+  /** Single thread that sends the updates. */
+  private final ExecutorService executor =
+      Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "auction-notifier");
+        thread.setDaemon(true);
+        return thread;
+      });
+
+  /** STOMP messaging template. */
+  private final SimpMessageSendingOperations messagingTemplate;
+
+  /**
+   * Creates the notifier.
+   *
+   * @param newMessagingTemplate the STOMP messaging template
+   */
+  public AuctionNotifier(
+      final SimpMessageSendingOperations newMessagingTemplate) {
+    this.messagingTemplate = newMessagingTemplate;
+  }
+
+  /**
+   * Queues an accepted bid for broadcast.
+   *
+   * @param bid the accepted bid
+   */
+  public void bidAccepted(final AcceptedBid bid) {
+    pending.merge(bid.auctionId(), bid, AuctionNotifier::latest);
+
+    if (sendScheduled.compareAndSet(false, true)
+        && !executor.isShutdown()) {
+      executor.execute(this::send);
+    }
+  }
+
+  /**
+   * Stops the sender thread.
+   */
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  /**
+   * Sends every pending update.
+   */
+  private void send() {
+    sendScheduled.set(false);
+
+    for (UUID auctionId : pending.keySet()) {
+      AcceptedBid bid = pending.remove(auctionId);
+      if (bid == null) {
+        continue;
+      }
+
+      try {
+        messagingTemplate.convertAndSend(AUCTION_TOPIC + auctionId,
+            AuctionUpdateMessage.from(bid));
+      } catch (MessagingException ex) {
+        LOGGER.warn("Failed to push update of auction {}", auctionId, ex);
+      }
+    }
+  }
+
+  /**
+   * Merges two unsent updates of the same auction, keeping the newest
+   * state and any extension either carried.
+   *
+   * @param current  the update already pending
+   * @param incoming the new update
+   * @return the update to keep pending
+   */
+  private static AcceptedBid latest(final AcceptedBid current,
+      final AcceptedBid incoming) {
+    AcceptedBid newer = incoming.bidCount() >= current.bidCount()
+        ? incoming
+        : current;
+    if (newer.extended() || !(current.extended() || incoming.extended())) {
+      return newer;
+    }
+
+    return new AcceptedBid(newer.auctionId(), newer.bidderId(),
+        newer.amount(), newer.previousPrice(), newer.bidCount(),
+        newer.reserveMet(), newer.reserveNewlyMet(), newer.status(),
+        newer.endTimeMs(), true, newer.acceptedAtMs());
+  }
+}
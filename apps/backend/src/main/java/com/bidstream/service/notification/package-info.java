@@ -0,0 +1,5 @@
+/**
+ * Live notifications pushed to WebSocket clients.
+ */
+
+package com.bidstream.service.notification;
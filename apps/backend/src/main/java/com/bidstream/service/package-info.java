@@ -0,0 +1,7 @@
+/**
+ * Package containing business services of the application.
+ * Services coordinate repositories and in-memory components and hold
+ * the business rules that controllers delegate to.
+ */
+
+package com.bidstream.service;
@@ -0,0 +1,13 @@
+package com.bidstream.service.ranking;
+
+import java.util.UUID;
+
+/**
+ * One auction's place on a leaderboard.
+ *
+ * @param auctionId the auction
+ * @param score     the popularity score
+ * @param rank      the zero-based rank; zero is the most popular
+ */
+public record LeaderboardEntry(UUID auctionId, long score, int rank) {
+}
@@ -0,0 +1,422 @@
+package com.bidstream.service.ranking;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.bidstream.config.RankingProperties;
+import com.bidstream.event.AuctionChangedEvent;
+import com.bidstream.event.AuctionChangedEvent.ChangeType;
+import com.bidstream.event.AuctionCountersFlushedEvent;
+import com.bidstream.event.AuctionStateChangedEvent;
+import com.bidstream.model.entity.Auction;
+import com.bidstream.model.entity.AuctionStatus;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Auctions ranked by {@link Auction#getPopularityScore()}, per status and
+ * per category.
+ *
+ * <p>
+ * Each auction sits on four {@link RankedSet}s: every auction, its
+ * status, its category, and its category within its status. A score,
+ * status or category change moves it on each in {@code O(log n)}, and
+ * top-k, paging and rank lookups never touch the database.
+ * </p>
+ *
+ * <p>
+ * The boards are loaded once at startup and then maintained like the
+ * autocomplete: entity changes as they commit, bulk status changes from
+ * their events, view and watch counts after each local counter flush, and
+ * bid counts by a periodic pass over the rows whose {@code updated_at}
+ * moved.
+ * </p>
+ */
+@Component
+public class PopularityLeaderboard {
+
+  /** Logger for this class. */
+  private static final Logger LOGGER =
+      LoggerFactory.getLogger(PopularityLeaderboard.class);
+
+  /** Columns read for every auction. */
+  private static final String COLUMNS =
+      "SELECT a.id, a.status, a.category, a.bid_count, c.view_count, "
+          + "c.watch_count, a.updated_at FROM auctions a "
+          + "LEFT JOIN auction_counters c ON c.auction_id = a.id ";
+
+  /** Reads the auctions updated after a timestamp. */
+  private static final String SELECT_CHANGED_SQL =
+      COLUMNS + "WHERE a.updated_at > ?";
+
+  /** Reads the auctions of an id array. */
+  private static final String SELECT_IDS_SQL =
+      COLUMNS + "WHERE a.id = ANY(?)";
+
+  /** Watermark before any row was seen. */
+  private static final LocalDateTime NEVER =
+      LocalDateTime.of(1970, 1, 1, 0, 0);
+
+  /** Guards every field below. */
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  /** Where each auction currently stands. */
+  private final Map<UUID, Standing> standings = new HashMap<>();
+
+  /** Ranked sets by status and category; null in a key means any. */
+  private final Map<Board, RankedSet> boards = new HashMap<>();
+
+  /** JDBC access. */
+  private final JdbcTemplate jdbcTemplate;
+
+  /** Ranking settings. */
+  private final RankingProperties properties;
+
+  /** Latest {@code updated_at} applied, owned by the refresh pass. */
+  private LocalDateTime watermark = NEVER;
+
+  /**
+   * Creates the leaderboard.
+   *
+   * @param newJdbcTemplate the JDBC template
+   * @param newProperties   the ranking settings
+   * @param registry        the meter registry
+   */
+  public PopularityLeaderboard(final JdbcTemplate newJdbcTemplate,
+      final RankingProperties newProperties, final MeterRegistry registry) {
+    this.jdbcTemplate = newJdbcTemplate;
+    this.properties = newProperties;
+    Gauge.builder("bidstream.ranking.auctions", this,
+            PopularityLeaderboard::size)
+        .description("Auctions on the popularity leaderboard")
+        .register(registry);
+  }
+
+  /**
+   * Loads every auction.
+   */
+  @PostConstruct
+  public void load() {
+    jdbcTemplate.query(COLUMNS, applier(true));
+    LOGGER.info("Popularity leaderboard loaded {} auctions", size());
+  }
+
+  /**
+   * Applies the auctions updated since the last pass, including bid
+   * counts written by bulk queries.
+   */
+  @Scheduled(fixedDelayString =
+      "${bidstream.ranking.refresh-interval-ms:1000}")
+  public void refresh() {
+    try {
+      jdbcTemplate.query(SELECT_CHANGED_SQL, applier(true),
+          watermark.minusNanos(TimeUnit.MILLISECONDS.toNanos(
+              properties.getRefreshOverlapMs())));
+    } catch (DataAccessException ex) {
+      LOGGER.warn("Failed to refresh popularity leaderboard", ex);
+    }
+  }
+
+  /**
+   * Applies an entity change once its transaction commits.
+   *
+   * @param event the change
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onAuctionChanged(final AuctionChangedEvent event) {
+    Auction auction = event.auction();
+
+    lock.writeLock().lock();
+    try {
+      if (event.type() == ChangeType.DELETED) {
+        withdraw(auction.getId());
+      } else {
+        place(auction.getId(), auction.getStatus(), auction.getCategory(),
+            auction.getPopularityScore());
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Moves an auction to the boards of its new status.
+   *
+   * @param event the change
+   */
+  @EventListener
+  public void onAuctionStateChanged(final AuctionStateChangedEvent event) {
+    lock.writeLock().lock();
+    try {
+      Standing standing = standings.get(event.auctionId());
+      if (standing != null) {
+        place(event.auctionId(), event.status(), standing.category(),
+            standing.score());
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Re-reads the auctions whose view or watch counts were just written.
+   *
+   * @param event the flushed auctions
+   */
+  @EventListener
+  public void onCountersFlushed(final AuctionCountersFlushedEvent event) {
+    try {
+      jdbcTemplate.query(con -> {
+        PreparedStatement ps = con.prepareStatement(SELECT_IDS_SQL);
+        ps.setArray(1, con.createArrayOf("uuid",
+            event.auctionIds().toArray()));
+        return ps;
+      }, applier(false));
+    } catch (DataAccessException ex) {
+      LOGGER.warn("Failed to rescore {} auctions after a counter flush",
+          event.auctionIds().size(), ex);
+    }
+  }
+
+  /**
+   * Lists the most popular auctions.
+   *
+   * @param status   the status to rank within, or null for any
+   * @param category the category to rank within, or null for any
+   * @param offset   the zero-based rank of the first auction
+   * @param limit    the maximum number of auctions
+   * @return the auctions, most popular first
+   */
+  public List<LeaderboardEntry> top(final AuctionStatus status,
+      final String category, final int offset, final int limit) {
+    lock.readLock().lock();
+    try {
+      RankedSet board = boards.get(new Board(status, category));
+      return board == null ? List.of() : board.range(offset, limit);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Lists the auctions ranked after a position, for keyset paging. The
+   * position need not still be on the board.
+   *
+   * @param status    the status to rank within, or null for any
+   * @param category  the category to rank within, or null for any
+   * @param score     the score of the last auction already returned
+   * @param auctionId the id of the last auction already returned
+   * @param limit     the maximum number of auctions
+   * @return the auctions, most popular first
+   */
+  public List<LeaderboardEntry> after(final AuctionStatus status,
+      final String category, final long score, final UUID auctionId,
+      final int limit) {
+    lock.readLock().lock();
+    try {
+      RankedSet board = boards.get(new Board(status, category));
+      return board == null
+          ? List.of()
+          : board.after(score, auctionId, limit);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Finds where an auction ranks.
+   *
+   * @param auctionId  the auction
+   * @param byStatus   whether to rank within its status rather than among
+   *                   all auctions
+   * @param byCategory whether to rank within its category
+   * @return the auction's entry, or empty if it is not ranked
+   */
+  public Optional<LeaderboardEntry> rank(final UUID auctionId,
+      final boolean byStatus, final boolean byCategory) {
+    lock.readLock().lock();
+    try {
+      Standing standing = standings.get(auctionId);
+      if (standing == null) {
+        return Optional.empty();
+      }
+
+      RankedSet board = boards.get(new Board(
+          byStatus ? standing.status() : null,
+          byCategory ? standing.category() : null));
+      return Optional.of(new LeaderboardEntry(auctionId, standing.score(),
+          board.rank(auctionId, standing.score())));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Gets the number of ranked auctions.
+   *
+   * @return the count
+   */
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return standings.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Builds a row handler placing each row under the write lock.
+   *
+   * @param advance whether to advance the watermark, which only the load
+   *                and the refresh pass own
+   * @return the row handler
+   */
+  private RowCallbackHandler applier(final boolean advance) {
+    return rs -> {
+      LocalDateTime updatedAt = rs.getObject("updated_at",
+          LocalDateTime.class);
+      lock.writeLock().lock();
+      try {
+        place(rs.getObject("id", UUID.class), status(rs),
+            rs.getString("category"),
+            Auction.popularityScore(rs.getInt("bid_count"),
+                rs.getInt("view_count"), rs.getInt("watch_count")));
+      } finally {
+        lock.writeLock().unlock();
+      }
+      if (advance && updatedAt != null && updatedAt.isAfter(watermark)) {
+        watermark = updatedAt;
+      }
+    };
+  }
+
+  /**
+   * Moves an auction to its current place. Requires the write lock.
+   *
+   * @param auctionId the auction
+   * @param status    its status
+   * @param category  its category
+   * @param score     its popularity score
+   */
+  private void place(final UUID auctionId, final AuctionStatus status,
+      final String category, final long score) {
+    Standing current = new Standing(status, category, score);
+    Standing previous = standings.put(auctionId, current);
+    if (current.equals(previous)) {
+      return;
+    }
+
+    if (previous != null) {
+      forEachBoard(previous, key -> unrank(key, auctionId, previous.score()));
+    }
+    forEachBoard(current, key ->
+        boards.computeIfAbsent(key, k -> new RankedSet()).add(auctionId,
+            score));
+  }
+
+  /**
+   * Removes an auction from every board. Requires the write lock.
+   *
+   * @param auctionId the auction
+   */
+  private void withdraw(final UUID auctionId) {
+    Standing previous = standings.remove(auctionId);
+    if (previous != null) {
+      forEachBoard(previous, key -> unrank(key, auctionId, previous.score()));
+    }
+  }
+
+  /**
+   * Removes an auction from one board, dropping the board once empty.
+   *
+   * @param key       the board
+   * @param auctionId the auction
+   * @param score     its score on the board
+   */
+  private void unrank(final Board key, final UUID auctionId,
+      final long score) {
+    RankedSet board = boards.get(key);
+    if (board != null && board.remove(auctionId, score)
+        && board.size() == 0) {
+      boards.remove(key);
+    }
+  }
+
+  /**
+   * Visits the boards an auction sits on: four, fewer when its status or
+   * category is missing.
+   *
+   * @param standing the auction's standing
+   * @param action   the action per board
+   */
+  private static void forEachBoard(final Standing standing,
+      final Consumer<Board> action) {
+    action.accept(new Board(null, null));
+    if (standing.status() != null) {
+      action.accept(new Board(standing.status(), null));
+    }
+    if (standing.category() != null) {
+      action.accept(new Board(null, standing.category()));
+      if (standing.status() != null) {
+        action.accept(new Board(standing.status(), standing.category()));
+      }
+    }
+  }
+
+  /**
+   * Reads the status column.
+   *
+   * @param rs the result set
+   * @return the status, or null when absent
+   * @throws SQLException if the column cannot be read
+   */
+  private static AuctionStatus status(final ResultSet rs)
+      throws SQLException {
+    String status = rs.getString("status");
+    return status == null ? null : AuctionStatus.valueOf(status);
+  }
+
+  /**
+   * Where one auction stands.
+   *
+   * @param status   its status
+   * @param category its category
+   * @param score    its popularity score
+   */
+  private record Standing(AuctionStatus status, String category,
+      long score) {
+  }
+
+  /**
+   * Identifies one board.
+   *
+   * @param status   the status ranked within, or null for any
+   * @param category the category ranked within, or null for any
+   */
+  private record Board(AuctionStatus status, String category) {
+  }
+}
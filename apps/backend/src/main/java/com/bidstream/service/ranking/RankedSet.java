@@ -0,0 +1,281 @@
+package com.bidstream.service.ranking;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Auctions ordered by descending score, then ascending id, with rank
+ * lookups.
+ *
+ * <p>
+ * An indexable skip list: besides its forward pointers, every node keeps
+ * the number of nodes each pointer skips. Insertion, removal, rank of an
+ * auction and access by rank all walk one path from the top level down,
+ * in expected {@code O(log n)}.
+ * </p>
+ *
+ * <p>
+ * Not thread-safe; the owner guards the set with its own lock.
+ * </p>
+ */
+final class RankedSet {
+
+  /** Highest level a node can reach. */
+  private static final int MAX_LEVEL = 32;
+
+  /** One in this many nodes of a level is promoted to the next. */
+  private static final int PROMOTION_ODDS = 4;
+
+  /** Sentinel before the first node, spanning every level. */
+  private final Node head = new Node(null, 0L, MAX_LEVEL);
+
+  /** Number of levels in use. */
+  private int level = 1;
+
+  /** Number of auctions. */
+  private int size;
+
+  /**
+   * Gets the number of auctions.
+   *
+   * @return the size
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Adds an auction. It must not already be in the set.
+   *
+   * @param auctionId the auction
+   * @param score     its score
+   */
+  void add(final UUID auctionId, final long score) {
+    Node[] update = new Node[MAX_LEVEL];
+    int[] rank = new int[MAX_LEVEL];
+    Node x = head;
+    for (int i = level - 1; i >= 0; i--) {
+      rank[i] = i == level - 1 ? 0 : rank[i + 1];
+      while (x.next[i] != null
+          && compare(x.next[i], score, auctionId) < 0) {
+        rank[i] += x.span[i];
+        x = x.next[i];
+      }
+      update[i] = x;
+    }
+
+    int nodeLevel = randomLevel();
+    if (nodeLevel > level) {
+      for (int i = level; i < nodeLevel; i++) {
+        rank[i] = 0;
+        update[i] = head;
+        head.span[i] = size;
+      }
+      level = nodeLevel;
+    }
+
+    Node node = new Node(auctionId, score, nodeLevel);
+    for (int i = 0; i < nodeLevel; i++) {
+      node.next[i] = update[i].next[i];
+      update[i].next[i] = node;
+      node.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+      update[i].span[i] = rank[0] - rank[i] + 1;
+    }
+    for (int i = nodeLevel; i < level; i++) {
+      update[i].span[i]++;
+    }
+    size++;
+  }
+
+  /**
+   * Removes an auction.
+   *
+   * @param auctionId the auction
+   * @param score     the score it was added with
+   * @return whether it was in the set
+   */
+  boolean remove(final UUID auctionId, final long score) {
+    Node[] update = new Node[MAX_LEVEL];
+    Node x = head;
+    for (int i = level - 1; i >= 0; i--) {
+      while (x.next[i] != null
+          && compare(x.next[i], score, auctionId) < 0) {
+        x = x.next[i];
+      }
+      update[i] = x;
+    }
+
+    Node node = x.next[0];
+    if (node == null || node.score != score
+        || !node.auctionId.equals(auctionId)) {
+      return false;
+    }
+
+    for (int i = 0; i < level; i++) {
+      if (update[i].next[i] == node) {
+        update[i].span[i] += node.span[i] - 1;
+        update[i].next[i] = node.next[i];
+      } else {
+        update[i].span[i]--;
+      }
+    }
+    while (level > 1 && head.next[level - 1] == null) {
+      level--;
+    }
+    size--;
+    return true;
+  }
+
+  /**
+   * Finds the rank of an auction.
+   *
+   * @param auctionId the auction
+   * @param score     the score it was added with
+   * @return the zero-based rank, or -1 if it is not in the set
+   */
+  int rank(final UUID auctionId, final long score) {
+    int traversed = 0;
+    Node x = head;
+    for (int i = level - 1; i >= 0; i--) {
+      while (x.next[i] != null
+          && compare(x.next[i], score, auctionId) <= 0) {
+        traversed += x.span[i];
+        x = x.next[i];
+      }
+      if (x != head && x.score == score && x.auctionId.equals(auctionId)) {
+        return traversed - 1;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Lists auctions from a rank on.
+   *
+   * @param offset the zero-based rank of the first auction
+   * @param limit  the maximum number of auctions
+   * @return the auctions, best first
+   */
+  List<LeaderboardEntry> range(final int offset, final int limit) {
+    if (offset < 0 || offset >= size || limit <= 0) {
+      return List.of();
+    }
+
+    int traversed = 0;
+    Node x = head;
+    for (int i = level - 1; i >= 0; i--) {
+      while (x.next[i] != null && traversed + x.span[i] <= offset + 1) {
+        traversed += x.span[i];
+        x = x.next[i];
+      }
+    }
+    return collect(x, offset, limit);
+  }
+
+  /**
+   * Lists the auctions ranked after a position, which need not be in the
+   * set.
+   *
+   * @param score     the score of the position
+   * @param auctionId the id of the position
+   * @param limit     the maximum number of auctions
+   * @return the auctions, best first
+   */
+  List<LeaderboardEntry> after(final long score, final UUID auctionId,
+      final int limit) {
+    int traversed = 0;
+    Node x = head;
+    for (int i = level - 1; i >= 0; i--) {
+      while (x.next[i] != null
+          && compare(x.next[i], score, auctionId) <= 0) {
+        traversed += x.span[i];
+        x = x.next[i];
+      }
+    }
+    return x.next[0] == null || limit <= 0
+        ? List.of()
+        : collect(x.next[0], traversed, limit);
+  }
+
+  /**
+   * Collects consecutive nodes.
+   *
+   * @param first the first node
+   * @param rank  its zero-based rank
+   * @param limit the maximum number of nodes
+   * @return the entries
+   */
+  private static List<LeaderboardEntry> collect(final Node first,
+      final int rank, final int limit) {
+    List<LeaderboardEntry> entries = new ArrayList<>(limit);
+    for (Node x = first; x != null && entries.size() < limit;
+        x = x.next[0]) {
+      entries.add(new LeaderboardEntry(x.auctionId, x.score,
+          rank + entries.size()));
+    }
+    return entries;
+  }
+
+  /**
+   * Orders a node against a position: higher scores first, ties by id.
+   *
+   * @param node      the node
+   * @param score     the score of the position
+   * @param auctionId the id of the position
+   * @return negative if the node comes first, zero if it is the position
+   */
+  private static int compare(final Node node, final long score,
+      final UUID auctionId) {
+    int byScore = Long.compare(score, node.score);
+    return byScore != 0 ? byScore : node.auctionId.compareTo(auctionId);
+  }
+
+  /**
+   * Draws the level of a new node.
+   *
+   * @return a level between 1 and {@link #MAX_LEVEL}
+   */
+  private static int randomLevel() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int nodeLevel = 1;
+    while (nodeLevel < MAX_LEVEL && random.nextInt(PROMOTION_ODDS) == 0) {
+      nodeLevel++;
+    }
+    return nodeLevel;
+  }
+
+  /**
+   * One auction, or the head sentinel.
+   */
+  private static final class Node {
+
+    /** The auction; null for the head. */
+    private final UUID auctionId;
+
+    /** The auction's score. */
+    private final long score;
+
+    /** Following node per level. */
+    private final Node[] next;
+
+    /** Number of nodes each forward pointer advances by. */
+    private final int[] span;
+
+    /**
+     * Creates a node.
+     *
+     * @param newAuctionId the auction
+     * @param newScore     its score
+     * @param nodeLevel    the number of levels
+     */
+    private Node(final UUID newAuctionId, final long newScore,
+        final int nodeLevel) {
+      this.auctionId = newAuctionId;
+      this.score = newScore;
+      this.next = new Node[nodeLevel];
+      this.span = new int[nodeLevel];
+    }
+  }
+}
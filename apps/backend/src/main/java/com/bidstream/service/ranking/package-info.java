@@ -0,0 +1,11 @@
+/**
+ * In-memory auction rankings.
+ *
+ * <p>
+ * Rankings are ordered sets maintained incrementally as auctions change,
+ * so top-k and rank lookups cost a logarithmic walk instead of a sort of
+ * the auctions table.
+ * </p>
+ */
+
+package com.bidstream.service.ranking;
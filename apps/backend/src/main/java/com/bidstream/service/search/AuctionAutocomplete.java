@@ -0,0 +1,430 @@
+package com.bidstream.service.search;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.bidstream.config.SearchProperties;
+import com.bidstream.event.AuctionChangedEvent;
+import com.bidstream.event.AuctionCountersFlushedEvent;
+import com.bidstream.event.AuctionChangedEvent.ChangeType;
+import com.bidstream.model.entity.Auction;
+import com.bidstream.model.entity.AuctionStatus;
+import com.bidstream.service.search.SuggestionTrie.Term;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Prefix autocomplete over the titles and categories of scheduled and
+ * active auctions.
+ *
+ * <p>
+ * Suggestions live in a {@link SuggestionTrie} weighted by popularity:
+ * each auction contributes its {@link Auction#getPopularityScore()} plus
+ * one to its title and to its category, so a category ranks by the
+ * combined popularity of its auctions. A lookup reads the cached best
+ * suggestions of one trie node and never touches the database.
+ * </p>
+ *
+ * <p>
+ * The trie is loaded once at startup and then maintained incrementally.
+ * Entity changes are applied as they commit. Bid and status updates made
+ * by bulk queries are picked up by a periodic pass over the rows whose
+ * {@code updated_at} moved, which the row trigger bumps on every update.
+ * View and watch counts live in their own table and do not move
+ * {@code updated_at}; their auctions are re-read after each local counter
+ * flush.
+ * </p>
+ */
+@Component
+public class AuctionAutocomplete {
+
+  /** Logger for this class. */
+  private static final Logger LOGGER =
+      LoggerFactory.getLogger(AuctionAutocomplete.class);
+
+  /** Columns read for every auction. */
+  private static final String COLUMNS =
+      "SELECT a.id, a.title, a.category, a.status, a.bid_count, "
+          + "c.view_count, c.watch_count, a.updated_at FROM auctions a "
+          + "LEFT JOIN auction_counters c ON c.auction_id = a.id ";
+
+  /** Reads every auction that can be suggested. */
+  private static final String SELECT_LISTED_SQL =
+      COLUMNS + "WHERE a.status IN ('SCHEDULED', 'ACTIVE')";
+
+  /** Reads the auctions updated after a timestamp. */
+  private static final String SELECT_CHANGED_SQL =
+      COLUMNS + "WHERE a.updated_at > ?";
+
+  /** Reads the auctions of an id array. */
+  private static final String SELECT_IDS_SQL =
+      COLUMNS + "WHERE a.id = ANY(?)";
+
+  /** Watermark before any row was seen. */
+  private static final LocalDateTime NEVER =
+      LocalDateTime.of(1970, 1, 1, 0, 0);
+
+  /** Guards every field below. */
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  /** Title terms by normalized text. */
+  private final Map<String, Term> titles = new HashMap<>();
+
+  /** Category terms by normalized text. */
+  private final Map<String, Term> categories = new HashMap<>();
+
+  /** What each listed auction currently contributes. */
+  private final Map<UUID, Contribution> contributions = new HashMap<>();
+
+  /** Weighted suggestions. */
+  private final SuggestionTrie trie;
+
+  /** JDBC access. */
+  private final JdbcTemplate jdbcTemplate;
+
+  /** Autocomplete settings. */
+  private final SearchProperties properties;
+
+  /** Lookup latency. */
+  private final Timer lookupLatency;
+
+  /** Latest {@code updated_at} applied, owned by the refresh pass. */
+  private LocalDateTime watermark = NEVER;
+
+  /**
+   * Creates the autocomplete.
+   *
+   * @param newJdbcTemplate the JDBC template
+   * @param newProperties   the search settings
+   * @param registry        the meter registry
+   */
+  public AuctionAutocomplete(final JdbcTemplate newJdbcTemplate,
+      final SearchProperties newProperties, final MeterRegistry registry) {
+    this.jdbcTemplate = newJdbcTemplate;
+    this.properties = newProperties;
+    this.trie = new SuggestionTrie(newProperties.getSuggestionsPerPrefix());
+    this.lookupLatency = Timer.builder("bidstream.search.suggest")
+        .description("Autocomplete lookup latency")
+        .publishPercentiles(0.5, 0.99)
+        .register(registry);
+  }
+
+  /**
+   * Loads every scheduled and active auction.
+   */
+  @PostConstruct
+  public void load() {
+    jdbcTemplate.query(SELECT_LISTED_SQL, applier(true));
+
+    lock.readLock().lock();
+    try {
+      LOGGER.info("Autocomplete loaded {} titles and {} categories",
+          titles.size(), categories.size());
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Applies the auctions updated since the last pass, including counter
+   * and status changes made by bulk queries.
+   */
+  @Scheduled(fixedDelayString =
+      "${bidstream.search.suggest-refresh-interval-ms:1000}")
+  public void refresh() {
+    try {
+      jdbcTemplate.query(SELECT_CHANGED_SQL, applier(true),
+          watermark.minusNanos(TimeUnit.MILLISECONDS.toNanos(
+              properties.getSuggestRefreshOverlapMs())));
+    } catch (DataAccessException ex) {
+      LOGGER.warn("Failed to refresh autocomplete", ex);
+    }
+  }
+
+  /**
+   * Applies an entity change once its transaction commits.
+   *
+   * @param event the change
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onAuctionChanged(final AuctionChangedEvent event) {
+    Auction auction = event.auction();
+
+    lock.writeLock().lock();
+    try {
+      if (event.type() == ChangeType.DELETED) {
+        withdraw(auction.getId());
+      } else {
+        apply(auction.getId(), auction.getTitle(), auction.getCategory(),
+            auction.getStatus(), auction.getPopularityScore());
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Re-reads the auctions whose view or watch counts were just written.
+   *
+   * @param event the flushed auctions
+   */
+  @EventListener
+  public void onCountersFlushed(final AuctionCountersFlushedEvent event) {
+    try {
+      jdbcTemplate.query(con -> {
+        PreparedStatement ps = con.prepareStatement(SELECT_IDS_SQL);
+        ps.setArray(1, con.createArrayOf("uuid",
+            event.auctionIds().toArray()));
+        return ps;
+      }, applier(false));
+    } catch (DataAccessException ex) {
+      LOGGER.warn("Failed to reweigh {} auctions after a counter flush",
+          event.auctionIds().size(), ex);
+    }
+  }
+
+  /**
+   * Suggests titles and categories with a word starting with a prefix.
+   *
+   * @param prefix the text typed so far
+   * @param limit  the maximum number of suggestions, capped at the
+   *               configured suggestions per prefix
+   * @return the most popular suggestions, best first
+   */
+  public List<Suggestion> suggest(final String prefix, final int limit) {
+    String normalized = SuggestionTrie.normalize(prefix);
+    if (normalized.isEmpty() || limit <= 0) {
+      return List.of();
+    }
+
+    long started = System.nanoTime();
+    lock.readLock().lock();
+    try {
+      Term[] top = trie.top(normalized);
+      int count = Math.min(limit, top.length);
+      List<Suggestion> suggestions = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+        suggestions.add(top[i].toSuggestion());
+      }
+      return suggestions;
+    } finally {
+      lock.readLock().unlock();
+      lookupLatency.record(System.nanoTime() - started,
+          TimeUnit.NANOSECONDS);
+    }
+  }
+
+  /**
+   * Builds a row handler applying each row under the write lock.
+   *
+   * @param advance whether to advance the watermark, which only the load
+   *                and the refresh pass own
+   * @return the row handler
+   */
+  private RowCallbackHandler applier(final boolean advance) {
+    return rs -> {
+      LocalDateTime updatedAt = rs.getObject("updated_at",
+          LocalDateTime.class);
+      lock.writeLock().lock();
+      try {
+        apply(rs.getObject("id", UUID.class), rs.getString("title"),
+            rs.getString("category"), status(rs),
+            Auction.popularityScore(rs.getInt("bid_count"),
+                rs.getInt("view_count"), rs.getInt("watch_count")));
+      } finally {
+        lock.writeLock().unlock();
+      }
+      if (advance && updatedAt != null && updatedAt.isAfter(watermark)) {
+        watermark = updatedAt;
+      }
+    };
+  }
+
+  /**
+   * Brings an auction's contribution up to date. Requires the write lock.
+   *
+   * @param auctionId  the auction
+   * @param title      the title
+   * @param category   the category
+   * @param status     the status
+   * @param popularity the popularity score
+   */
+  private void apply(final UUID auctionId, final String title,
+      final String category, final AuctionStatus status,
+      final long popularity) {
+    if (status != AuctionStatus.SCHEDULED
+        && status != AuctionStatus.ACTIVE) {
+      withdraw(auctionId);
+      return;
+    }
+
+    long weight = popularity + 1;
+    Term titleTerm = term(titles, title, Suggestion.Kind.TITLE);
+    Term categoryTerm = term(categories, category, Suggestion.Kind.CATEGORY);
+    Contribution previous = contributions.put(auctionId,
+        new Contribution(titleTerm, categoryTerm, weight));
+    long previousWeight = previous == null ? 0L : previous.weight();
+    replace(titles, previous == null ? null : previous.title(),
+        previousWeight, titleTerm, weight);
+    replace(categories, previous == null ? null : previous.category(),
+        previousWeight, categoryTerm, weight);
+  }
+
+  /**
+   * Removes an auction's contribution. Requires the write lock.
+   *
+   * @param auctionId the auction
+   */
+  private void withdraw(final UUID auctionId) {
+    Contribution previous = contributions.remove(auctionId);
+    if (previous != null) {
+      release(titles, previous.title(), previous.weight());
+      release(categories, previous.category(), previous.weight());
+    }
+  }
+
+  /**
+   * Moves one auction's weight from the term it contributed to onto its
+   * current term. Requires the write lock.
+   *
+   * @param terms          the terms of both terms' kind
+   * @param previous       the term contributed to so far, may be null
+   * @param previousWeight the weight contributed so far
+   * @param current        the current term, may be null
+   * @param weight         the current weight
+   */
+  private void replace(final Map<String, Term> terms, final Term previous,
+      final long previousWeight, final Term current, final long weight) {
+    if (previous == current) {
+      reweigh(current, weight - previousWeight);
+      return;
+    }
+
+    acquire(current, weight);
+    release(terms, previous, previousWeight);
+  }
+
+  /**
+   * Finds or creates the term of a text. New terms enter the trie on
+   * their first {@link #acquire}.
+   *
+   * @param terms the terms of the text's kind
+   * @param text  the text
+   * @param kind  the kind
+   * @return the term, or null if the text has no words
+   */
+  private static Term term(final Map<String, Term> terms, final String text,
+      final Suggestion.Kind kind) {
+    String key = SuggestionTrie.normalize(text);
+    return key.isEmpty()
+        ? null
+        : terms.computeIfAbsent(key, k -> new Term(k, text, kind));
+  }
+
+  /**
+   * Adds one auction's weight to a term.
+   *
+   * @param term   the term, may be null
+   * @param weight the weight
+   */
+  private void acquire(final Term term, final long weight) {
+    if (term == null) {
+      return;
+    }
+
+    boolean fresh = !term.referenced();
+    term.adjust(weight, 1);
+    if (fresh) {
+      trie.add(term);
+    } else {
+      trie.raise(term);
+    }
+  }
+
+  /**
+   * Removes one auction's weight from a term, dropping the term once no
+   * auction references it.
+   *
+   * @param terms  the terms of the term's kind
+   * @param term   the term, may be null
+   * @param weight the weight
+   */
+  private void release(final Map<String, Term> terms, final Term term,
+      final long weight) {
+    if (term == null) {
+      return;
+    }
+
+    term.adjust(-weight, -1);
+    if (term.referenced()) {
+      trie.lower(term);
+      return;
+    }
+    trie.remove(term);
+    terms.remove(term.key());
+  }
+
+  /**
+   * Changes a term's weight without changing its references.
+   *
+   * @param term  the term, may be null
+   * @param delta the weight change
+   */
+  private void reweigh(final Term term, final long delta) {
+    if (term == null || delta == 0) {
+      return;
+    }
+
+    term.adjust(delta, 0);
+    if (delta > 0) {
+      trie.raise(term);
+    } else {
+      trie.lower(term);
+    }
+  }
+
+  /**
+   * Reads the status column.
+   *
+   * @param rs the result set
+   * @return the status, or null when absent
+   * @throws SQLException if the column cannot be read
+   */
+  private static AuctionStatus status(final ResultSet rs)
+      throws SQLException {
+    String status = rs.getString("status");
+    return status == null ? null : AuctionStatus.valueOf(status);
+  }
+
+  /**
+   * What one auction adds to the suggestions.
+   *
+   * @param title    the title term, or null
+   * @param category the category term, or null
+   * @param weight   the weight added to both
+   */
+  private record Contribution(Term title, Term category, long weight) {
+  }
+}
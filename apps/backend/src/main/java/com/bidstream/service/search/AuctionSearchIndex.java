@@ -0,0 +1,547 @@
+package com.bidstream.service.search;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.bidstream.event.AuctionChangedEvent;
+import com.bidstream.event.AuctionChangedEvent.ChangeType;
+import com.bidstream.event.AuctionStateChangedEvent;
+import com.bidstream.model.entity.Auction;
+import com.bidstream.model.entity.AuctionStatus;
+import com.bidstream.model.time.AuctionClock;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * In-memory inverted index over auction title, description, category,
+ * condition and location.
+ *
+ * <p>
+ * Every indexed auction gets a dense ordinal. Status and end time are
+ * kept in arrays indexed by ordinal, and each term maps to a
+ * {@link PostingList} of the ordinals containing it, weighted by field:
+ * title matches count three times, category twice and the other fields
+ * once. A query intersects the lists of its terms, shortest first, and
+ * keeps the best {@code limit} hits in a bounded heap, so its cost depends
+ * on the rarest term rather than the catalog size.
+ * </p>
+ *
+ * <p>
+ * Posting lists are append-only. A status or end time change published by
+ * the bid engine or lifecycle scheduler is applied in place. An auction
+ * saved through JPA may have new text, so it is always given a new
+ * ordinal and its old one is only marked dead; such saves are rare next
+ * to state changes. Once dead ordinals outnumber live ones, the lists are
+ * rewritten under a compacted numbering.
+ * </p>
+ *
+ * <p>
+ * The index is loaded from Postgres at startup and follows later changes
+ * through {@link AuctionChangedEvent}s and
+ * {@link AuctionStateChangedEvent}s. Queries share a read lock; updates
+ * take the write lock.
+ * </p>
+ */
+@Component
+public class AuctionSearchIndex {
+
+  /** Logger for this class. */
+  private static final Logger LOGGER =
+      LoggerFactory.getLogger(AuctionSearchIndex.class);
+
+  /** Reads the searchable columns of every auction. */
+  private static final String SELECT_ALL_SQL =
+      "SELECT id, title, description, category, item_condition, location, "
+          + "status, end_time FROM auctions";
+
+  /** Weight of a term occurrence in the title. */
+  private static final int TITLE_WEIGHT = 3;
+
+  /** Weight of a term occurrence in the category. */
+  private static final int CATEGORY_WEIGHT = 2;
+
+  /** Weight of a term occurrence in any other field. */
+  private static final int OTHER_WEIGHT = 1;
+
+  /** Minimum number of dead ordinals before compacting. */
+  private static final int COMPACTION_MIN_DEAD = 1_024;
+
+  /** Initial capacity of the per-ordinal arrays. */
+  private static final int INITIAL_ORDINALS = 1_024;
+
+  /** Status code of an auction without a status. */
+  private static final byte NO_STATUS = -1;
+
+  /**
+   * Estimated bytes per allocated ordinal: the id reference and object,
+   * status and end time.
+   */
+  private static final int ORDINAL_BYTES = 8 + 32 + 1 + 8;
+
+  /** Estimated bytes per entry of the id to ordinal map. */
+  private static final int ID_ENTRY_BYTES = 64;
+
+  /** Guards every field below. */
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  /** Posting list per term. */
+  private final Map<String, PostingList> postings = new HashMap<>();
+
+  /** Current ordinal of every indexed auction. */
+  private final Map<UUID, Integer> ordinals = new HashMap<>();
+
+  /** Ordinals that belong to an indexed auction. */
+  private final BitSet live = new BitSet();
+
+  /** JDBC access used for the initial load. */
+  private final JdbcTemplate jdbcTemplate;
+
+  /** Query latency. */
+  private final Timer queryLatency;
+
+  /** Auction id per ordinal. */
+  private UUID[] ids = new UUID[INITIAL_ORDINALS];
+
+  /** Status ordinal per ordinal. */
+  private byte[] statuses = new byte[INITIAL_ORDINALS];
+
+  /** End time per ordinal, in epoch milliseconds. */
+  private long[] endTimes = new long[INITIAL_ORDINALS];
+
+  /** Next ordinal to allocate. */
+  private int nextOrdinal;
+
+  /** Memory held by all posting lists. */
+  private long postingBytes;
+
+  /**
+   * Creates the index.
+   *
+   * @param newJdbcTemplate the JDBC template
+   * @param registry        the meter registry
+   */
+  public AuctionSearchIndex(final JdbcTemplate newJdbcTemplate,
+      final MeterRegistry registry) {
+    this.jdbcTemplate = newJdbcTemplate;
+    this.queryLatency = Timer.builder("bidstream.search.query")
+        .description("In-memory auction search latency")
+        .publishPercentiles(0.5, 0.99)
+        .register(registry);
+    Gauge.builder("bidstream.search.index.auctions", this,
+        index -> index.stats().auctions())
+        .description("Auctions in the in-memory search index")
+        .register(registry);
+    Gauge.builder("bidstream.search.index.bytes.per.auction", this,
+        index -> index.stats().bytesPerAuction())
+        .description("Search index memory divided by indexed auctions")
+        .baseUnit("bytes")
+        .register(registry);
+  }
+
+  /**
+   * Indexes every auction in the database.
+   */
+  @PostConstruct
+  public void load() {
+    lock.writeLock().lock();
+    try {
+      jdbcTemplate.query(SELECT_ALL_SQL, rs -> {
+        put(rs.getObject("id", UUID.class), rs.getString("title"),
+            rs.getString("description"), rs.getString("category"),
+            rs.getString("item_condition"), rs.getString("location"),
+            status(rs), AuctionClock.toEpochMs(
+                rs.getObject("end_time", LocalDateTime.class)));
+      });
+    } finally {
+      lock.writeLock().unlock();
+    }
+
+    SearchIndexStats stats = stats();
+    LOGGER.info("Search index loaded {} auctions, {} terms, {} bytes per "
+        + "auction", stats.auctions(), stats.terms(),
+        Math.round(stats.bytesPerAuction()));
+  }
+
+  /**
+   * Reindexes an auction after it was created, updated or deleted. Runs
+   * after the surrounding transaction commits.
+   *
+   * @param event the change
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onAuctionChanged(final AuctionChangedEvent event) {
+    Auction auction = event.auction();
+
+    lock.writeLock().lock();
+    try {
+      if (event.type() == ChangeType.DELETED) {
+        remove(auction.getId());
+      } else {
+        put(auction.getId(), auction.getTitle(), auction.getDescription(),
+            auction.getCategory(), auction.getCondition(),
+            auction.getLocation(), auction.getStatus(), auction.getEndMs());
+      }
+      compactIfNeeded();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Applies a status or end time change in place.
+   *
+   * @param event the change
+   */
+  @EventListener
+  public void onAuctionStateChanged(final AuctionStateChangedEvent event) {
+    lock.writeLock().lock();
+    try {
+      Integer ordinal = ordinals.get(event.auctionId());
+      if (ordinal != null) {
+        statuses[ordinal] = code(event.status());
+        endTimes[ordinal] = event.endTimeMs();
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Finds the auctions containing every term of a search, optionally
+   * restricted to one status.
+   *
+   * <p>
+   * Unlike the Postgres search, terms are matched exactly, without
+   * stemming or search operators.
+   * </p>
+   *
+   * @param searchTerm the text to search for
+   * @param status     the status to filter by, or null for any status
+   * @param order      the order of the results
+   * @param limit      the maximum number of results
+   * @return the best matches, best first
+   */
+  public List<SearchHit> search(final String searchTerm,
+      final AuctionStatus status, final SearchOrder order, final int limit) {
+    List<String> terms =
+        new ArrayList<>(new LinkedHashSet<>(SearchTokenizer.tokenize(
+            searchTerm)));
+    if (terms.isEmpty() || limit <= 0) {
+      return List.of();
+    }
+
+    long started = System.nanoTime();
+    Comparator<SearchHit> bestFirst = bestFirst(order);
+    PriorityQueue<SearchHit> heap =
+        new PriorityQueue<>(limit + 1, bestFirst.reversed());
+
+    lock.readLock().lock();
+    try {
+      PostingList[] lists = new PostingList[terms.size()];
+      for (int i = 0; i < lists.length; i++) {
+        lists[i] = postings.get(terms.get(i));
+        if (lists[i] == null) {
+          return List.of();
+        }
+      }
+      Arrays.sort(lists, Comparator.comparingInt(PostingList::size));
+
+      int indexed = Math.max(ordinals.size(), 1);
+      double[] idf = new double[lists.length];
+      PostingList.Cursor[] cursors = new PostingList.Cursor[lists.length];
+      for (int i = 0; i < lists.length; i++) {
+        idf[i] = Math.log(1.0 + (double) indexed / lists[i].size());
+        cursors[i] = lists[i].cursor();
+      }
+
+      byte wanted = code(status);
+      PostingList.Cursor lead = cursors[0];
+      boolean more = lead.next();
+      while (more) {
+        int candidate = lead.ordinal();
+        int ahead = candidate;
+        for (int i = 1; i < cursors.length && ahead == candidate; i++) {
+          if (!cursors[i].advance(candidate)) {
+            return sorted(heap, bestFirst);
+          }
+          ahead = cursors[i].ordinal();
+        }
+
+        if (ahead != candidate) {
+          more = lead.advance(ahead);
+          continue;
+        }
+
+        if (live.get(candidate)
+            && (status == null || statuses[candidate] == wanted)) {
+          double score = 0.0;
+          for (int i = 0; i < cursors.length; i++) {
+            score += cursors[i].weight() * idf[i];
+          }
+          offer(heap, bestFirst, limit, ids[candidate], score,
+              endTimes[candidate]);
+        }
+        more = lead.next();
+      }
+      return sorted(heap, bestFirst);
+    } finally {
+      lock.readLock().unlock();
+      queryLatency.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  /**
+   * Reports the size of the index.
+   *
+   * @return the size report
+   */
+  public SearchIndexStats stats() {
+    lock.readLock().lock();
+    try {
+      int auctions = ordinals.size();
+      long forwardBytes = (long) ids.length * ORDINAL_BYTES
+          + (long) auctions * ID_ENTRY_BYTES
+          + live.size() / Byte.SIZE;
+      return new SearchIndexStats(auctions, nextOrdinal, postings.size(),
+          postingBytes, forwardBytes,
+          auctions == 0 ? 0.0
+              : (double) (postingBytes + forwardBytes) / auctions);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Indexes an auction under a new ordinal, retiring its previous one.
+   * Requires the write lock.
+   *
+   * @param auctionId   the auction
+   * @param title       the title
+   * @param description the description
+   * @param category    the category
+   * @param condition   the item condition
+   * @param location    the location
+   * @param status      the status
+   * @param endTimeMs   the end time in epoch milliseconds
+   */
+  private void put(final UUID auctionId, final String title,
+      final String description, final String category,
+      final String condition, final String location,
+      final AuctionStatus status, final long endTimeMs) {
+    Integer existing = ordinals.get(auctionId);
+    if (existing != null) {
+      live.clear(existing);
+    }
+
+    int ordinal = nextOrdinal++;
+    ensureCapacity(nextOrdinal);
+    ids[ordinal] = auctionId;
+    statuses[ordinal] = code(status);
+    endTimes[ordinal] = endTimeMs;
+    live.set(ordinal);
+    ordinals.put(auctionId, ordinal);
+
+    Map<String, Integer> weights = new HashMap<>();
+    addTerms(weights, title, TITLE_WEIGHT);
+    addTerms(weights, category, CATEGORY_WEIGHT);
+    addTerms(weights, description, OTHER_WEIGHT);
+    addTerms(weights, condition, OTHER_WEIGHT);
+    addTerms(weights, location, OTHER_WEIGHT);
+
+    for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+      PostingList list =
+          postings.computeIfAbsent(entry.getKey(), term -> new PostingList());
+      int before = list.size() == 0 ? 0 : list.capacity();
+      list.add(ordinal, entry.getValue());
+      postingBytes += list.capacity() - before;
+    }
+  }
+
+  /**
+   * Removes an auction from the index. Requires the write lock.
+   *
+   * @param auctionId the auction
+   */
+  private void remove(final UUID auctionId) {
+    Integer ordinal = ordinals.remove(auctionId);
+    if (ordinal != null) {
+      live.clear(ordinal);
+      ids[ordinal] = null;
+    }
+  }
+
+  /**
+   * Renumbers live ordinals densely and rewrites every posting list once
+   * dead ordinals outnumber live ones. Requires the write lock.
+   */
+  private void compactIfNeeded() {
+    int dead = nextOrdinal - ordinals.size();
+    if (dead < COMPACTION_MIN_DEAD || dead <= ordinals.size()) {
+      return;
+    }
+
+    int[] remap = new int[nextOrdinal];
+    int compacted = 0;
+    for (int ordinal = 0; ordinal < nextOrdinal; ordinal++) {
+      if (!live.get(ordinal)) {
+        remap[ordinal] = -1;
+        continue;
+      }
+      remap[ordinal] = compacted;
+      ids[compacted] = ids[ordinal];
+      statuses[compacted] = statuses[ordinal];
+      endTimes[compacted] = endTimes[ordinal];
+      compacted++;
+    }
+    Arrays.fill(ids, compacted, nextOrdinal, null);
+
+    postingBytes = 0L;
+    Iterator<Map.Entry<String, PostingList>> it =
+        postings.entrySet().iterator();
+    while (it.hasNext()) {
+      Map.Entry<String, PostingList> entry = it.next();
+      PostingList list = entry.getValue().compact(remap);
+      if (list.size() == 0) {
+        it.remove();
+      } else {
+        entry.setValue(list);
+        postingBytes += list.capacity();
+      }
+    }
+
+    ordinals.replaceAll((auctionId, ordinal) -> remap[ordinal]);
+    live.clear();
+    live.set(0, compacted);
+    LOGGER.debug("Search index compacted {} ordinals to {}", nextOrdinal,
+        compacted);
+    nextOrdinal = compacted;
+  }
+
+  /**
+   * Grows the per-ordinal arrays to hold at least the given count.
+   *
+   * @param required the ordinals needed
+   */
+  private void ensureCapacity(final int required) {
+    if (required > ids.length) {
+      int capacity = Math.max(required, ids.length + (ids.length >> 1));
+      ids = Arrays.copyOf(ids, capacity);
+      statuses = Arrays.copyOf(statuses, capacity);
+      endTimes = Arrays.copyOf(endTimes, capacity);
+    }
+  }
+
+  /**
+   * Adds the weighted terms of one field.
+   *
+   * @param weights the accumulated weight per term
+   * @param text    the field text
+   * @param weight  the weight of one occurrence
+   */
+  private static void addTerms(final Map<String, Integer> weights,
+      final String text, final int weight) {
+    for (String term : SearchTokenizer.tokenize(text)) {
+      weights.merge(term, weight, Integer::sum);
+    }
+  }
+
+  /**
+   * Keeps a hit if it is among the best {@code limit} seen so far.
+   *
+   * @param heap      the best hits, worst on top
+   * @param bestFirst the result order
+   * @param limit     the number of hits to keep
+   * @param auctionId the auction
+   * @param score     the relevance score
+   * @param endTimeMs the end time in epoch milliseconds
+   */
+  private static void offer(final PriorityQueue<SearchHit> heap,
+      final Comparator<SearchHit> bestFirst, final int limit,
+      final UUID auctionId, final double score, final long endTimeMs) {
+    SearchHit hit = new SearchHit(auctionId, score, endTimeMs);
+    if (heap.size() < limit) {
+      heap.offer(hit);
+    } else if (bestFirst.compare(hit, heap.peek()) < 0) {
+      heap.poll();
+      heap.offer(hit);
+    }
+  }
+
+  /**
+   * Drains the heap into a list, best first.
+   *
+   * @param heap      the best hits
+   * @param bestFirst the result order
+   * @return the hits
+   */
+  private static List<SearchHit> sorted(final PriorityQueue<SearchHit> heap,
+      final Comparator<SearchHit> bestFirst) {
+    List<SearchHit> hits = new ArrayList<>(heap);
+    hits.sort(bestFirst);
+    return hits;
+  }
+
+  /**
+   * Builds the result order.
+   *
+   * @param order the requested order
+   * @return comparator placing the better hit first
+   */
+  private static Comparator<SearchHit> bestFirst(final SearchOrder order) {
+    Comparator<SearchHit> byScore =
+        Comparator.comparingDouble(SearchHit::score).reversed();
+    Comparator<SearchHit> byEndTime =
+        Comparator.comparingLong(SearchHit::endTimeMs);
+    return order == SearchOrder.END_TIME
+        ? byEndTime.thenComparing(byScore)
+        : byScore.thenComparing(byEndTime);
+  }
+
+  /**
+   * Encodes a status for the status array.
+   *
+   * @param status the status, may be null
+   * @return the status code
+   */
+  private static byte code(final AuctionStatus status) {
+    return status == null ? NO_STATUS : (byte) status.ordinal();
+  }
+
+  /**
+   * Reads the status column.
+   *
+   * @param rs the result set
+   * @return the status, or null when absent
+   * @throws SQLException if the column cannot be read
+   */
+  private static AuctionStatus status(final ResultSet rs)
+      throws SQLException {
+    String status = rs.getString("status");
+    return status == null ? null : AuctionStatus.valueOf(status);
+  }
+}
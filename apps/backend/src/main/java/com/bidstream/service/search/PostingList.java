@@ -0,0 +1,208 @@
+package com.bidstream.service.search;
+
+import java.util.Arrays;
+
+/**
+ * Append-only posting list of one term.
+ *
+ * <p>
+ * Each entry is the gap to the previous ordinal as a variable-length
+ * integer followed by a one-byte weight, so a dense list costs about two
+ * bytes per auction. Ordinals must be appended in increasing order, which
+ * holds because the index never reuses or reorders them outside of
+ * {@link #compact(int[])}.
+ * </p>
+ *
+ * <p>
+ * Not thread-safe; the index guards every list with its own lock.
+ * </p>
+ */
+final class PostingList {
+
+  /** Initial buffer capacity in bytes. */
+  private static final int INITIAL_CAPACITY = 8;
+
+  /** Largest weight an entry can hold. */
+  static final int MAX_WEIGHT = 0xFF;
+
+  /** Low seven bits of a varint byte. */
+  private static final int PAYLOAD_MASK = 0x7F;
+
+  /** Continuation bit of a varint byte. */
+  private static final int CONTINUATION = 0x80;
+
+  /** Bits carried by each varint byte. */
+  private static final int PAYLOAD_BITS = 7;
+
+  /** Encoded entries. */
+  private byte[] data = new byte[INITIAL_CAPACITY];
+
+  /** Number of bytes used in {@link #data}. */
+  private int length;
+
+  /** Number of entries. */
+  private int size;
+
+  /** Last ordinal appended, or -1 when empty. */
+  private int last = -1;
+
+  /**
+   * Appends an ordinal.
+   *
+   * @param ordinal the ordinal, greater than every ordinal already present
+   * @param weight  the term weight in the auction, capped at
+   *                {@link #MAX_WEIGHT}
+   * @throws IllegalArgumentException if the ordinal is out of order
+   */
+  void add(final int ordinal, final int weight) {
+    if (ordinal <= last) {
+      throw new IllegalArgumentException("Ordinal " + ordinal
+          + " appended after " + last);
+    }
+
+    ensureCapacity(length + Integer.BYTES + 2);
+    int gap = ordinal - last;
+    while ((gap & ~PAYLOAD_MASK) != 0) {
+      data[length++] = (byte) ((gap & PAYLOAD_MASK) | CONTINUATION);
+      gap >>>= PAYLOAD_BITS;
+    }
+    data[length++] = (byte) gap;
+    data[length++] = (byte) Math.min(weight, MAX_WEIGHT);
+
+    last = ordinal;
+    size++;
+  }
+
+  /**
+   * Gets the number of entries, including ordinals since removed from the
+   * index.
+   *
+   * @return the entry count
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Gets the memory held by the list's buffer.
+   *
+   * @return the buffer capacity in bytes
+   */
+  int capacity() {
+    return data.length;
+  }
+
+  /**
+   * Opens a cursor positioned before the first entry.
+   *
+   * @return the cursor
+   */
+  Cursor cursor() {
+    return new Cursor();
+  }
+
+  /**
+   * Rewrites the list under new ordinals, dropping the ones mapped to a
+   * negative value. The mapping must preserve order.
+   *
+   * @param remap new ordinal per old ordinal, negative to drop
+   * @return the rewritten list, trimmed to its size
+   */
+  PostingList compact(final int[] remap) {
+    PostingList compacted = new PostingList();
+    Cursor cursor = cursor();
+    while (cursor.next()) {
+      int ordinal = remap[cursor.ordinal()];
+      if (ordinal >= 0) {
+        compacted.add(ordinal, cursor.weight());
+      }
+    }
+    compacted.data = Arrays.copyOf(compacted.data,
+        Math.max(compacted.length, 1));
+    return compacted;
+  }
+
+  /**
+   * Grows the buffer to hold at least the given number of bytes.
+   *
+   * @param required the bytes needed
+   */
+  private void ensureCapacity(final int required) {
+    if (required > data.length) {
+      data = Arrays.copyOf(data,
+          Math.max(required, data.length + (data.length >> 1)));
+    }
+  }
+
+  /**
+   * Forward-only decoder over a posting list.
+   */
+  final class Cursor {
+
+    /** Read position in the buffer. */
+    private int position;
+
+    /** Current ordinal, or -1 before the first entry. */
+    private int ordinal = -1;
+
+    /** Weight of the current entry. */
+    private int weight;
+
+    /**
+     * Moves to the next entry.
+     *
+     * @return false when the list is exhausted
+     */
+    boolean next() {
+      if (position >= length) {
+        return false;
+      }
+
+      int gap = 0;
+      int shift = 0;
+      byte b;
+      do {
+        b = data[position++];
+        gap |= (b & PAYLOAD_MASK) << shift;
+        shift += PAYLOAD_BITS;
+      } while ((b & CONTINUATION) != 0);
+
+      ordinal += gap;
+      weight = data[position++] & MAX_WEIGHT;
+      return true;
+    }
+
+    /**
+     * Moves to the first entry at or after an ordinal.
+     *
+     * @param target the ordinal to reach
+     * @return false when the list is exhausted before reaching it
+     */
+    boolean advance(final int target) {
+      while (ordinal < target) {
+        if (!next()) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    /**
+     * Gets the current ordinal.
+     *
+     * @return the ordinal
+     */
+    int ordinal() {
+      return ordinal;
+    }
+
+    /**
+     * Gets the weight of the current entry.
+     *
+     * @return the weight
+     */
+    int weight() {
+      return weight;
+    }
+  }
+}
@@ -0,0 +1,13 @@
+package com.bidstream.service.search;
+
+import java.util.UUID;
+
+/**
+ * One auction matched by a search.
+ *
+ * @param auctionId the auction
+ * @param score     the relevance score; higher is a better match
+ * @param endTimeMs the auction end time in epoch milliseconds
+ */
+public record SearchHit(UUID auctionId, double score, long endTimeMs) {
+}
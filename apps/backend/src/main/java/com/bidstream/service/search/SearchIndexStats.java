@@ -0,0 +1,18 @@
+package com.bidstream.service.search;
+
+/**
+ * Size report of the search index.
+ *
+ * @param auctions        the number of indexed auctions
+ * @param ordinals        the number of ordinals allocated, including those
+ *                        of removed or reindexed auctions awaiting
+ *                        compaction
+ * @param terms           the number of distinct terms
+ * @param postingBytes    the memory held by posting lists
+ * @param forwardBytes    the estimated memory held by per-ordinal arrays
+ *                        and the auction id map
+ * @param bytesPerAuction the total of both divided by the auction count
+ */
+public record SearchIndexStats(int auctions, int ordinals, int terms,
+    long postingBytes, long forwardBytes, double bytesPerAuction) {
+}
@@ -0,0 +1,12 @@
+package com.bidstream.service.search;
+
+/**
+ * Order of search results.
+ */
+public enum SearchOrder {
+  /** Best match first. */
+  RELEVANCE,
+
+  /** Soonest end time first. */
+  END_TIME
+}
@@ -0,0 +1,50 @@
+package com.bidstream.service.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Splits text into lower-case terms on every character that is not a
+ * letter or digit. No stemming or stop words are applied, so indexed text
+ * and queries always tokenize the same way.
+ */
+final class SearchTokenizer {
+
+  /** Longest term kept; longer runs are truncated. */
+  static final int MAX_TERM_LENGTH = 32;
+
+  /**
+   * Prevents instantiation.
+   */
+  private SearchTokenizer() {
+  }
+
+  /**
+   * Tokenizes a text.
+   *
+   * @param text the text, may be null
+   * @return the terms in order of appearance, with repetitions
+   */
+  static List<String> tokenize(final String text) {
+    List<String> terms = new ArrayList<>();
+    if (text == null) {
+      return terms;
+    }
+
+    int length = text.length();
+    int start = -1;
+    for (int i = 0; i <= length; i++) {
+      boolean wordChar = i < length
+          && Character.isLetterOrDigit(text.charAt(i));
+      if (wordChar && start < 0) {
+        start = i;
+      } else if (!wordChar && start >= 0) {
+        terms.add(text.substring(start, Math.min(i, start + MAX_TERM_LENGTH))
+            .toLowerCase(Locale.ROOT));
+        start = -1;
+      }
+    }
+    return terms;
+  }
+}
@@ -0,0 +1,22 @@
+package com.bidstream.service.search;
+
+/**
+ * One autocomplete suggestion.
+ *
+ * @param text  the suggested title or category, as first seen
+ * @param kind  what the text is
+ * @param score the popularity of the auctions behind the suggestion
+ */
+public record Suggestion(String text, Kind kind, long score) {
+
+  /**
+   * Source of a suggestion.
+   */
+  public enum Kind {
+    /** An auction title. */
+    TITLE,
+
+    /** An auction category. */
+    CATEGORY
+  }
+}
@@ -0,0 +1,524 @@
+package com.bidstream.service.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Character trie answering "best {@code k} terms under a prefix" with a
+ * single walk.
+ *
+ * <p>
+ * Every term is inserted once per word it contains, keyed by the text from
+ * that word on, so a prefix matches the start of any word. Each node caches
+ * the {@code k} heaviest distinct terms of its subtree, which makes a
+ * lookup cost the length of the prefix plus {@code k}, whatever the number
+ * of terms. Children are kept in sorted parallel arrays rather than maps.
+ * </p>
+ *
+ * <p>
+ * A weight increase only needs each node on the term's paths to admit the
+ * term into its cache. A decrease or removal rebuilds the caches holding
+ * the term from their children, deepest first.
+ * </p>
+ *
+ * <p>
+ * Not thread-safe; the owner guards the trie with its own lock.
+ * </p>
+ */
+final class SuggestionTrie {
+
+  /** Longest key inserted; longer texts are truncated. */
+  static final int MAX_KEY_LENGTH = 48;
+
+  /** Maximum number of word starts a term is inserted under. */
+  static final int MAX_WORD_STARTS = 8;
+
+  /** Heaviest first, then alphabetical. */
+  private static final Comparator<Term> HEAVIEST_FIRST =
+      Comparator.comparingLong((Term term) -> term.weight).reversed()
+          .thenComparing(term -> term.text);
+
+  /** Shared empty label array. */
+  private static final char[] NO_LABELS = new char[0];
+
+  /** Shared empty child array. */
+  private static final Node[] NO_CHILDREN = new Node[0];
+
+  /** Shared empty term array. */
+  private static final Term[] NO_TERMS = new Term[0];
+
+  /** Number of terms cached per node. */
+  private final int k;
+
+  /** Root node, matching the empty prefix. */
+  private final Node root = new Node();
+
+  /**
+   * Creates an empty trie.
+   *
+   * @param newK the number of terms cached per node
+   */
+  SuggestionTrie(final int newK) {
+    this.k = newK;
+  }
+
+  /**
+   * Normalizes a text into the form keys and prefixes are compared in.
+   *
+   * @param text the text
+   * @return the lower-case words joined by single spaces
+   */
+  static String normalize(final String text) {
+    String normalized = String.join(" ", SearchTokenizer.tokenize(text));
+    return normalized.length() > MAX_KEY_LENGTH
+        ? normalized.substring(0, MAX_KEY_LENGTH)
+        : normalized;
+  }
+
+  /**
+   * Inserts a term with its current weight.
+   *
+   * @param term the term
+   */
+  void add(final Term term) {
+    for (String key : term.keys) {
+      Node node = root;
+      admit(node, term);
+      for (int i = 0; i < key.length(); i++) {
+        node = node.childOrCreate(key.charAt(i));
+        admit(node, term);
+      }
+      node.ends = append(node.ends, term);
+    }
+  }
+
+  /**
+   * Applies an increase of a term's weight.
+   *
+   * @param term the term, already holding its new weight
+   */
+  void raise(final Term term) {
+    for (String key : term.keys) {
+      Node node = root;
+      admit(node, term);
+      for (int i = 0; i < key.length() && node != null; i++) {
+        node = node.child(key.charAt(i));
+        if (node != null) {
+          admit(node, term);
+        }
+      }
+    }
+  }
+
+  /**
+   * Applies a decrease of a term's weight.
+   *
+   * @param term the term, already holding its new weight
+   */
+  void lower(final Term term) {
+    rebuild(term);
+  }
+
+  /**
+   * Removes a term and prunes the nodes left empty.
+   *
+   * @param term the term
+   */
+  void remove(final Term term) {
+    for (String key : term.keys) {
+      Node node = walk(key);
+      if (node != null) {
+        node.ends = without(node.ends, term);
+      }
+    }
+    rebuild(term);
+    for (String key : term.keys) {
+      prune(root, key, 0);
+    }
+  }
+
+  /**
+   * Gets the heaviest terms under a normalized prefix.
+   *
+   * @param prefix the normalized prefix
+   * @return the cached terms, heaviest first; must not be modified
+   */
+  Term[] top(final String prefix) {
+    Node node = walk(prefix);
+    return node == null ? NO_TERMS : node.top;
+  }
+
+  /**
+   * Rebuilds, deepest first, every cache on the term's paths that holds
+   * it.
+   *
+   * @param term the term whose weight dropped or that was removed
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private void rebuild(final Term term) {
+    List<Node>[] byDepth = new List[MAX_KEY_LENGTH + 1];
+    Set<Node> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    for (String key : term.keys) {
+      Node node = root;
+      for (int depth = 0; node != null; depth++) {
+        if (contains(node.top, term) && seen.add(node)) {
+          if (byDepth[depth] == null) {
+            byDepth[depth] = new ArrayList<>();
+          }
+          byDepth[depth].add(node);
+        }
+        node = depth < key.length() ? node.child(key.charAt(depth)) : null;
+      }
+    }
+
+    for (int depth = MAX_KEY_LENGTH; depth >= 0; depth--) {
+      if (byDepth[depth] != null) {
+        for (Node node : byDepth[depth]) {
+          recompute(node);
+        }
+      }
+    }
+  }
+
+  /**
+   * Rebuilds a node's cache from the terms ending at it and its children's
+   * caches, which are exact for their subtrees.
+   *
+   * @param node the node
+   */
+  private void recompute(final Node node) {
+    List<Term> candidates = new ArrayList<>(Arrays.asList(node.ends));
+    for (Node child : node.children) {
+      candidates.addAll(Arrays.asList(child.top));
+    }
+    candidates.sort(HEAVIEST_FIRST);
+
+    List<Term> top = new ArrayList<>(k);
+    for (Term candidate : candidates) {
+      if (top.size() == k) {
+        break;
+      }
+      if (!top.contains(candidate)) {
+        top.add(candidate);
+      }
+    }
+    node.top = top.toArray(NO_TERMS);
+  }
+
+  /**
+   * Admits a term into a node's cache if it is heavy enough, keeping the
+   * cache sorted.
+   *
+   * @param node the node
+   * @param term the term
+   */
+  private void admit(final Node node, final Term term) {
+    Term[] top = node.top;
+    int index = indexOf(top, term);
+    if (index < 0) {
+      if (top.length < k) {
+        top = Arrays.copyOf(top, top.length + 1);
+      } else if (HEAVIEST_FIRST.compare(term, top[top.length - 1]) >= 0) {
+        return;
+      }
+      index = top.length - 1;
+      top[index] = term;
+    }
+
+    while (index > 0
+        && HEAVIEST_FIRST.compare(top[index], top[index - 1]) < 0) {
+      Term swap = top[index - 1];
+      top[index - 1] = top[index];
+      top[index] = swap;
+      index--;
+    }
+    node.top = top;
+  }
+
+  /**
+   * Follows a key from the root.
+   *
+   * @param key the key
+   * @return the node reached, or null if the key leaves the trie
+   */
+  private Node walk(final String key) {
+    Node node = root;
+    for (int i = 0; i < key.length() && node != null; i++) {
+      node = node.child(key.charAt(i));
+    }
+    return node;
+  }
+
+  /**
+   * Removes the nodes of a key that no longer end or lead to any term.
+   *
+   * @param node  the current node
+   * @param key   the key
+   * @param depth the depth of the current node
+   * @return whether the current node is now empty
+   */
+  private boolean prune(final Node node, final String key, final int depth) {
+    if (depth < key.length()) {
+      char label = key.charAt(depth);
+      Node child = node.child(label);
+      if (child != null && prune(child, key, depth + 1)) {
+        node.removeChild(label);
+      }
+    }
+    return node != root && node.ends.length == 0
+        && node.children.length == 0;
+  }
+
+  /**
+   * Finds a term in an array by identity.
+   *
+   * @param terms the array
+   * @param term  the term
+   * @return the index, or -1
+   */
+  private static int indexOf(final Term[] terms, final Term term) {
+    for (int i = 0; i < terms.length; i++) {
+      if (terms[i] == term) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Checks whether an array holds a term.
+   *
+   * @param terms the array
+   * @param term  the term
+   * @return true if present
+   */
+  private static boolean contains(final Term[] terms, final Term term) {
+    return indexOf(terms, term) >= 0;
+  }
+
+  /**
+   * Appends a term to an array unless already present.
+   *
+   * @param terms the array
+   * @param term  the term
+   * @return the array holding the term
+   */
+  private static Term[] append(final Term[] terms, final Term term) {
+    if (contains(terms, term)) {
+      return terms;
+    }
+    Term[] grown = Arrays.copyOf(terms, terms.length + 1);
+    grown[terms.length] = term;
+    return grown;
+  }
+
+  /**
+   * Removes a term from an array.
+   *
+   * @param terms the array
+   * @param term  the term
+   * @return the array without the term
+   */
+  private static Term[] without(final Term[] terms, final Term term) {
+    int index = indexOf(terms, term);
+    if (index < 0) {
+      return terms;
+    }
+    if (terms.length == 1) {
+      return NO_TERMS;
+    }
+    Term[] shrunk = new Term[terms.length - 1];
+    System.arraycopy(terms, 0, shrunk, 0, index);
+    System.arraycopy(terms, index + 1, shrunk, index,
+        terms.length - index - 1);
+    return shrunk;
+  }
+
+  /**
+   * A suggestable text and its weight.
+   */
+  static final class Term {
+
+    /** Normalized text identifying the term within its kind. */
+    private final String key;
+
+    /** Text as first seen, returned to clients. */
+    private final String text;
+
+    /** Source of the text. */
+    private final Suggestion.Kind kind;
+
+    /** Keys the term is inserted under, one per word start. */
+    private final String[] keys;
+
+    /** Current weight. */
+    private long weight;
+
+    /** Number of auctions contributing to the weight. */
+    private int references;
+
+    /**
+     * Creates a term with no weight.
+     *
+     * @param newKey  the normalized text
+     * @param newText the display text
+     * @param newKind the source of the text
+     */
+    Term(final String newKey, final String newText,
+        final Suggestion.Kind newKind) {
+      this.key = newKey;
+      this.text = newText;
+      this.kind = newKind;
+      this.keys = keys(SearchTokenizer.tokenize(newText));
+    }
+
+    /**
+     * Builds the keys of a text: the words from each word start on, up to
+     * {@link #MAX_WORD_STARTS} of them.
+     *
+     * @param words the normalized words
+     * @return the keys
+     */
+    private static String[] keys(final List<String> words) {
+      int starts = Math.min(words.size(), MAX_WORD_STARTS);
+      String[] keys = new String[starts];
+      for (int i = 0; i < starts; i++) {
+        String key = String.join(" ", words.subList(i, words.size()));
+        keys[i] = key.length() > MAX_KEY_LENGTH
+            ? key.substring(0, MAX_KEY_LENGTH)
+            : key;
+      }
+      return keys;
+    }
+
+    /**
+     * Converts the term into a suggestion.
+     *
+     * @return the suggestion
+     */
+    Suggestion toSuggestion() {
+      return new Suggestion(text, kind, weight);
+    }
+
+    /**
+     * Gets the normalized text.
+     *
+     * @return the key
+     */
+    String key() {
+      return key;
+    }
+
+    /**
+     * Adds to the weight and reference count.
+     *
+     * @param weightDelta     the weight to add, may be negative
+     * @param referencesDelta the references to add, may be negative
+     */
+    void adjust(final long weightDelta, final int referencesDelta) {
+      this.weight += weightDelta;
+      this.references += referencesDelta;
+    }
+
+    /**
+     * Checks whether any auction still contributes to the term.
+     *
+     * @return true if referenced
+     */
+    boolean referenced() {
+      return references > 0;
+    }
+  }
+
+  /**
+   * Trie node.
+   */
+  private static final class Node {
+
+    /** Child labels, sorted. */
+    private char[] labels = NO_LABELS;
+
+    /** Children, parallel to {@link #labels}. */
+    private Node[] children = NO_CHILDREN;
+
+    /** Terms whose key ends at this node. */
+    private Term[] ends = NO_TERMS;
+
+    /** Heaviest distinct terms of the subtree, heaviest first. */
+    private Term[] top = NO_TERMS;
+
+    /**
+     * Finds a child.
+     *
+     * @param label the label
+     * @return the child, or null
+     */
+    Node child(final char label) {
+      int index = Arrays.binarySearch(labels, label);
+      return index < 0 ? null : children[index];
+    }
+
+    /**
+     * Finds or creates a child.
+     *
+     * @param label the label
+     * @return the child
+     */
+    Node childOrCreate(final char label) {
+      int index = Arrays.binarySearch(labels, label);
+      if (index >= 0) {
+        return children[index];
+      }
+
+      int insert = -index - 1;
+      Node child = new Node();
+      char[] grownLabels = new char[labels.length + 1];
+      Node[] grownChildren = new Node[children.length + 1];
+      System.arraycopy(labels, 0, grownLabels, 0, insert);
+      System.arraycopy(children, 0, grownChildren, 0, insert);
+      grownLabels[insert] = label;
+      grownChildren[insert] = child;
+      System.arraycopy(labels, insert, grownLabels, insert + 1,
+          labels.length - insert);
+      System.arraycopy(children, insert, grownChildren, insert + 1,
+          children.length - insert);
+      labels = grownLabels;
+      children = grownChildren;
+      return child;
+    }
+
+    /**
+     * Removes a child.
+     *
+     * @param label the label
+     */
+    void removeChild(final char label) {
+      int index = Arrays.binarySearch(labels, label);
+      if (index < 0) {
+        return;
+      }
+      if (labels.length == 1) {
+        labels = NO_LABELS;
+        children = NO_CHILDREN;
+        return;
+      }
+
+      char[] shrunkLabels = new char[labels.length - 1];
+      Node[] shrunkChildren = new Node[children.length - 1];
+      System.arraycopy(labels, 0, shrunkLabels, 0, index);
+      System.arraycopy(children, 0, shrunkChildren, 0, index);
+      System.arraycopy(labels, index + 1, shrunkLabels, index,
+          labels.length - index - 1);
+      System.arraycopy(children, index + 1, shrunkChildren, index,
+          children.length - index - 1);
+      labels = shrunkLabels;
+      children = shrunkChildren;
+    }
+  }
+}
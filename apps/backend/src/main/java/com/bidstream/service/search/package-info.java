@@ -0,0 +1,12 @@
+/**
+ * In-process auction search.
+ *
+ * <p>
+ * Auctions are numbered with dense ordinals and their searchable text is
+ * kept in an inverted index of delta-encoded posting lists. The index is
+ * loaded once at startup and follows auction changes through application
+ * events, so queries never touch the database.
+ * </p>
+ */
+
+package com.bidstream.service.search;
@@ -0,0 +1,524 @@
+package com.bidstream.service.stats;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.bidstream.event.AuctionChangedEvent;
+import com.bidstream.event.AuctionChangedEvent.ChangeType;
+import com.bidstream.event.AuctionPriceChangedEvent;
+import com.bidstream.event.AuctionStateChangedEvent;
+import com.bidstream.event.UserRegisteredEvent;
+import com.bidstream.model.entity.Auction;
+import com.bidstream.model.entity.AuctionStatus;
+import com.bidstream.model.money.Money;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Running platform aggregates: auctions per status and per category, the
+ * value of active auctions, and registered and verified users.
+ *
+ * <p>
+ * The aggregates are computed once at startup and then moved by each
+ * change as it happens: entity changes, bulk status changes, written bids
+ * and signups. Every auction's last seen status, category and price is
+ * kept, so a change is applied as the difference from it. Reads are
+ * {@code O(1)}, except the most popular categories, which scan the
+ * category counts rather than the auctions.
+ * </p>
+ *
+ * <p>
+ * Changes that raise no event, such as email verification or updates
+ * made directly in the database, are caught by a periodic
+ * reconciliation. It recomputes every aggregate from Postgres, reports
+ * the ones that drifted and replaces the running values. Changes
+ * committed while it scans may show up as drift and are settled by the
+ * next pass.
+ * </p>
+ */
+@Component
+public class PlatformStatistics {
+
+  /** Logger for this class. */
+  private static final Logger LOGGER =
+      LoggerFactory.getLogger(PlatformStatistics.class);
+
+  /** Reads the aggregated columns of every auction. */
+  private static final String SELECT_AUCTIONS_SQL =
+      "SELECT id, status, category, current_price FROM auctions";
+
+  /** Counts registered and verified users. */
+  private static final String COUNT_USERS_SQL =
+      "SELECT COUNT(*) AS total, "
+          + "COUNT(*) FILTER (WHERE email_verified) AS verified FROM users";
+
+  /** Statuses by ordinal. */
+  private static final AuctionStatus[] STATUSES = AuctionStatus.values();
+
+  /** Guards every field below. */
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  /** JDBC access. */
+  private final JdbcTemplate jdbcTemplate;
+
+  /** Aggregates found to have drifted from Postgres. */
+  private final Counter drift;
+
+  /** Last seen state of each auction. */
+  private Map<UUID, Snapshot> auctions = new HashMap<>();
+
+  /** Running aggregates. */
+  private Totals totals = new Totals();
+
+  /**
+   * Creates the statistics.
+   *
+   * @param newJdbcTemplate the JDBC template
+   * @param registry        the meter registry
+   */
+  public PlatformStatistics(final JdbcTemplate newJdbcTemplate,
+      final MeterRegistry registry) {
+    this.jdbcTemplate = newJdbcTemplate;
+    this.drift = Counter.builder("bidstream.stats.drift")
+        .description("Running aggregates found to differ from Postgres")
+        .register(registry);
+  }
+
+  /**
+   * Computes every aggregate from Postgres.
+   */
+  @PostConstruct
+  public void load() {
+    Map<UUID, Snapshot> loaded = new HashMap<>();
+    Totals computed = compute(loaded);
+
+    lock.writeLock().lock();
+    try {
+      auctions = loaded;
+      totals = computed;
+    } finally {
+      lock.writeLock().unlock();
+    }
+    LOGGER.info("Platform statistics loaded {} auctions and {} users",
+        loaded.size(), computed.users);
+  }
+
+  /**
+   * Recomputes every aggregate from Postgres, reports the ones that
+   * drifted and replaces the running values.
+   */
+  @Scheduled(
+      fixedDelayString = "${bidstream.stats.reconcile-interval-ms:300000}",
+      initialDelayString = "${bidstream.stats.reconcile-interval-ms:300000}")
+  public void reconcile() {
+    Map<UUID, Snapshot> loaded = new HashMap<>();
+    Totals computed;
+    try {
+      computed = compute(loaded);
+    } catch (DataAccessException ex) {
+      LOGGER.warn("Failed to reconcile platform statistics", ex);
+      return;
+    }
+
+    List<String> drifted;
+    lock.writeLock().lock();
+    try {
+      drifted = totals.differences(computed);
+      auctions = loaded;
+      totals = computed;
+    } finally {
+      lock.writeLock().unlock();
+    }
+
+    if (!drifted.isEmpty()) {
+      drift.increment(drifted.size());
+      LOGGER.warn("Platform statistics drifted from Postgres: {}",
+          String.join(", ", drifted));
+    }
+  }
+
+  /**
+   * Applies an entity change once its transaction commits.
+   *
+   * @param event the change
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onAuctionChanged(final AuctionChangedEvent event) {
+    Auction auction = event.auction();
+
+    lock.writeLock().lock();
+    try {
+      if (event.type() == ChangeType.DELETED) {
+        replace(auction.getId(), null);
+      } else {
+        replace(auction.getId(), new Snapshot(auction.getStatus(),
+            auction.getCategory(), cents(auction.getCurrentPrice())));
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Applies a bulk status change.
+   *
+   * @param event the change
+   */
+  @EventListener
+  public void onAuctionStateChanged(final AuctionStateChangedEvent event) {
+    lock.writeLock().lock();
+    try {
+      Snapshot previous = auctions.get(event.auctionId());
+      if (previous != null) {
+        replace(event.auctionId(), new Snapshot(event.status(),
+            previous.category(), previous.priceCents()));
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Applies a written bid.
+   *
+   * @param event the new price
+   */
+  @EventListener
+  public void onAuctionPriceChanged(final AuctionPriceChangedEvent event) {
+    lock.writeLock().lock();
+    try {
+      Snapshot previous = auctions.get(event.auctionId());
+      if (previous != null) {
+        replace(event.auctionId(), new Snapshot(previous.status(),
+            previous.category(), event.priceCents()));
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Counts a signup once its transaction commits.
+   *
+   * @param event the signup
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onUserRegistered(final UserRegisteredEvent event) {
+    lock.writeLock().lock();
+    try {
+      totals.users++;
+      if (event.emailVerified()) {
+        totals.verifiedUsers++;
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Counts the auctions in a status.
+   *
+   * @param status the status
+   * @return the count
+   */
+  public long countByStatus(final AuctionStatus status) {
+    lock.readLock().lock();
+    try {
+      return totals.byStatus[status.ordinal()];
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Counts the active auctions.
+   *
+   * @return the count
+   */
+  public long countActive() {
+    return countByStatus(AuctionStatus.ACTIVE);
+  }
+
+  /**
+   * Counts the auctions in a category, in any status.
+   *
+   * @param category the category
+   * @return the count
+   */
+  public long countByCategory(final String category) {
+    lock.readLock().lock();
+    try {
+      return totals.byCategory.getOrDefault(category, 0L);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Sums the current prices of the active auctions.
+   *
+   * @return the total value
+   */
+  public BigDecimal totalActiveValue() {
+    lock.readLock().lock();
+    try {
+      return Money.toDecimal(totals.activeValueCents);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Averages the current prices of the active auctions.
+   *
+   * @return the average price, or null when none is active
+   */
+  public BigDecimal averageActivePrice() {
+    lock.readLock().lock();
+    try {
+      long active = totals.byStatus[AuctionStatus.ACTIVE.ordinal()];
+      return active == 0
+          ? null
+          : Money.toDecimal(totals.activeValueCents).divide(
+              BigDecimal.valueOf(active), Money.SCALE, RoundingMode.HALF_UP);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Lists the categories with the most auctions.
+   *
+   * @param limit the maximum number of categories
+   * @return the category names, most auctions first
+   */
+  public List<String> mostPopularCategories(final int limit) {
+    if (limit <= 0) {
+      return List.of();
+    }
+
+    Comparator<Map.Entry<String, Long>> byCount =
+        Map.Entry.comparingByValue();
+    PriorityQueue<Map.Entry<String, Long>> top =
+        new PriorityQueue<>(limit + 1, byCount);
+    lock.readLock().lock();
+    try {
+      for (Map.Entry<String, Long> entry : totals.byCategory.entrySet()) {
+        top.add(Map.entry(entry.getKey(), entry.getValue()));
+        if (top.size() > limit) {
+          top.poll();
+        }
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+
+    List<String> categories = new ArrayList<>(top.size());
+    while (!top.isEmpty()) {
+      categories.add(top.poll().getKey());
+    }
+    return categories.reversed();
+  }
+
+  /**
+   * Counts the registered users.
+   *
+   * @return the count
+   */
+  public long countUsers() {
+    lock.readLock().lock();
+    try {
+      return totals.users;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Counts the users with a verified email.
+   *
+   * @return the count
+   */
+  public long countVerifiedUsers() {
+    lock.readLock().lock();
+    try {
+      return totals.verifiedUsers;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Moves an auction's contribution to its new state. Requires the write
+   * lock.
+   *
+   * @param auctionId the auction
+   * @param current   its new state, or null once deleted
+   */
+  private void replace(final UUID auctionId, final Snapshot current) {
+    Snapshot previous = current == null
+        ? auctions.remove(auctionId)
+        : auctions.put(auctionId, current);
+    if (Objects.equals(previous, current)) {
+      return;
+    }
+
+    if (previous != null) {
+      totals.apply(previous, -1);
+    }
+    if (current != null) {
+      totals.apply(current, 1);
+    }
+  }
+
+  /**
+   * Reads every auction and the user counts from Postgres.
+   *
+   * @param snapshots receives the state of every auction
+   * @return the aggregates
+   */
+  private Totals compute(final Map<UUID, Snapshot> snapshots) {
+    Totals computed = new Totals();
+    jdbcTemplate.query(SELECT_AUCTIONS_SQL, rs -> {
+      String status = rs.getString("status");
+      Snapshot snapshot = new Snapshot(
+          status == null ? null : AuctionStatus.valueOf(status),
+          rs.getString("category"), cents(rs.getBigDecimal("current_price")));
+      snapshots.put(rs.getObject("id", UUID.class), snapshot);
+      computed.apply(snapshot, 1);
+    });
+    jdbcTemplate.query(COUNT_USERS_SQL, rs -> {
+      computed.users = rs.getLong("total");
+      computed.verifiedUsers = rs.getLong("verified");
+    });
+    return computed;
+  }
+
+  /**
+   * Converts a price to cents.
+   *
+   * @param price the price, may be null
+   * @return the price in cents, zero when absent
+   */
+  private static long cents(final BigDecimal price) {
+    return price == null ? 0L : Money.toCents(price);
+  }
+
+  /**
+   * The aggregated state of one auction.
+   *
+   * @param status     its status
+   * @param category   its category
+   * @param priceCents its current price in cents
+   */
+  private record Snapshot(AuctionStatus status, String category,
+      long priceCents) {
+  }
+
+  /**
+   * Mutable aggregates.
+   */
+  private static final class Totals {
+
+    /** Auctions per status, by ordinal. */
+    private final long[] byStatus = new long[STATUSES.length];
+
+    /** Auctions per category, in any status. */
+    private final Map<String, Long> byCategory = new HashMap<>();
+
+    /** Sum of the current prices of active auctions, in cents. */
+    private long activeValueCents;
+
+    /** Registered users. */
+    private long users;
+
+    /** Users with a verified email. */
+    private long verifiedUsers;
+
+    /**
+     * Adds or removes one auction.
+     *
+     * @param snapshot the auction's state
+     * @param sign     1 to add, -1 to remove
+     */
+    private void apply(final Snapshot snapshot, final int sign) {
+      if (snapshot.status() != null) {
+        byStatus[snapshot.status().ordinal()] += sign;
+        if (snapshot.status() == AuctionStatus.ACTIVE) {
+          activeValueCents += sign * snapshot.priceCents();
+        }
+      }
+      if (snapshot.category() != null) {
+        byCategory.merge(snapshot.category(), (long) sign,
+            (count, delta) -> count + delta == 0 ? null : count + delta);
+      }
+    }
+
+    /**
+     * Describes the aggregates that differ from another set.
+     *
+     * @param expected the aggregates to compare against
+     * @return one description per differing aggregate
+     */
+    private List<String> differences(final Totals expected) {
+      List<String> differences = new ArrayList<>();
+      for (AuctionStatus status : STATUSES) {
+        compare(differences, status + " auctions",
+            byStatus[status.ordinal()], expected.byStatus[status.ordinal()]);
+      }
+      compare(differences, "active value cents", activeValueCents,
+          expected.activeValueCents);
+      compare(differences, "categories", byCategory.size(),
+          expected.byCategory.size());
+      long categoryDrift = 0L;
+      for (Map.Entry<String, Long> entry : expected.byCategory.entrySet()) {
+        if (!entry.getValue().equals(byCategory.get(entry.getKey()))) {
+          categoryDrift++;
+        }
+      }
+      if (categoryDrift > 0) {
+        differences.add(categoryDrift + " category counts");
+      }
+      compare(differences, "users", users, expected.users);
+      compare(differences, "verified users", verifiedUsers,
+          expected.verifiedUsers);
+      return differences;
+    }
+
+    /**
+     * Records one aggregate if it differs.
+     *
+     * @param differences the descriptions so far
+     * @param name        the aggregate
+     * @param actual      the running value
+     * @param expected    the value in Postgres
+     */
+    private static void compare(final List<String> differences,
+        final String name, final long actual, final long expected) {
+      if (actual != expected) {
+        differences.add(name + " " + actual + " != " + expected);
+      }
+    }
+  }
+}
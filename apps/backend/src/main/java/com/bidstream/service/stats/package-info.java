@@ -0,0 +1,11 @@
+/**
+ * Platform statistics.
+ *
+ * <p>
+ * Dashboard aggregates are maintained incrementally from application
+ * events and periodically reconciled against Postgres, so reading them
+ * never runs an aggregate query.
+ * </p>
+ */
+
+package com.bidstream.service.stats;
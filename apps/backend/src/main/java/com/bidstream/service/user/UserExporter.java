@@ -0,0 +1,121 @@
+package com.bidstream.service.user;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Streams every user as newline-delimited JSON.
+ *
+ * <p>
+ * Rows come off a server-side cursor: the Postgres driver only fetches in
+ * batches inside a transaction, so the read runs in a read-only one, with
+ * a bounded fetch size. Each row is written to the output as soon as it
+ * is read and nothing is collected, so memory stays constant whatever the
+ * size of the table. Only the summary columns are exported; credentials
+ * never leave the database.
+ * </p>
+ */
+@Component
+public class UserExporter {
+
+  /** Reads the exported columns in registration order. */
+  private static final String SELECT_SQL =
+      "SELECT id, username, email, first_name, last_name, email_verified, "
+          + "created_at FROM users ORDER BY created_at, id";
+
+  /** Rows fetched from the cursor per round trip. */
+  private static final int FETCH_SIZE = 1_000;
+
+  /** JDBC access with a bounded fetch size. */
+  private final JdbcTemplate jdbcTemplate;
+
+  /** Read-only transaction holding the cursor open. */
+  private final TransactionTemplate transactionTemplate;
+
+  /** Source of the JSON generator configuration. */
+  private final ObjectMapper objectMapper;
+
+  /**
+   * Creates the exporter.
+   *
+   * @param dataSource         the data source
+   * @param transactionManager the transaction manager
+   * @param newObjectMapper    the object mapper
+   */
+  public UserExporter(final DataSource dataSource,
+      final PlatformTransactionManager transactionManager,
+      final ObjectMapper newObjectMapper) {
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setReadOnly(true);
+    this.objectMapper = newObjectMapper;
+  }
+
+  /**
+   * Writes every user to a stream, one JSON object per line.
+   *
+   * @param out the stream to write to; not closed
+   * @throws IOException if writing fails
+   */
+  public void export(final OutputStream out) throws IOException {
+    try (JsonGenerator generator =
+        objectMapper.getFactory().createGenerator(out)) {
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+
+      transactionTemplate.executeWithoutResult(tx ->
+          jdbcTemplate.query(SELECT_SQL, rs -> {
+            try {
+              write(generator, rs);
+            } catch (IOException ex) {
+              throw new UncheckedIOException(ex);
+            }
+          }));
+      generator.writeRaw('\n');
+    } catch (UncheckedIOException ex) {
+      throw ex.getCause();
+    }
+  }
+
+  /**
+   * Writes one row as a JSON object.
+   *
+   * @param generator the generator
+   * @param rs        the result set, positioned on the row
+   * @throws IOException  if writing fails
+   * @throws SQLException if a column cannot be read
+   */
+  private static void write(final JsonGenerator generator,
+      final ResultSet rs) throws IOException, SQLException {
+    Timestamp createdAt = rs.getTimestamp("created_at");
+
+    generator.writeStartObject();
+    generator.writeStringField("id", rs.getString("id"));
+    generator.writeStringField("username", rs.getString("username"));
+    generator.writeStringField("email", rs.getString("email"));
+    generator.writeStringField("firstName", rs.getString("first_name"));
+    generator.writeStringField("lastName", rs.getString("last_name"));
+    generator.writeBooleanField("emailVerified",
+        rs.getBoolean("email_verified"));
+    generator.writeStringField("createdAt", createdAt == null
+        ? null
+        : createdAt.toLocalDateTime().toString());
+    generator.writeEndObject();
+  }
+}
@@ -0,0 +1,10 @@
+/**
+ * User data services.
+ *
+ * <p>
+ * Bulk reads of the users table go through JDBC cursors with a bounded
+ * fetch size, so their memory use does not grow with the number of users.
+ * </p>
+ */
+
+package com.bidstream.service.user;
@@ -0,0 +1,6 @@
+-- Auction search is served by the in-memory index, so nothing reads the
+-- tsvector any more; stop paying for it on every insert and text update
+DROP TRIGGER IF EXISTS trigger_auctions_search_vector ON auctions;
+DROP FUNCTION IF EXISTS auctions_search_vector();
+DROP INDEX IF EXISTS idx_auctions_search_vector;
+ALTER TABLE auctions DROP COLUMN IF EXISTS search_vector;
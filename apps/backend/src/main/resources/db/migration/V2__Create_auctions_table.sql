@@ -0,0 +1,38 @@
+-- Create auctions table matching the Auction entity
+CREATE TABLE auctions (
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    title VARCHAR(200) NOT NULL,
+    description TEXT,
+    category VARCHAR(100) NOT NULL,
+    item_condition VARCHAR(50),
+    location VARCHAR(200),
+    starting_price NUMERIC(19, 2) NOT NULL,
+    current_price NUMERIC(19, 2),
+    reserve_price NUMERIC(19, 2),
+    buy_now_price NUMERIC(19, 2),
+    bid_count INTEGER DEFAULT 0,
+    watch_count INTEGER DEFAULT 0,
+    view_count INTEGER DEFAULT 0,
+    start_time TIMESTAMP NOT NULL,
+    end_time TIMESTAMP NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'DRAFT',
+    is_featured BOOLEAN DEFAULT FALSE,
+    reserve_met BOOLEAN DEFAULT FALSE,
+    seller_id UUID NOT NULL REFERENCES users(id),
+    highest_bidder_id UUID REFERENCES users(id),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Create indexes for the most common lookups
+CREATE INDEX idx_auctions_status_end_time ON auctions(status, end_time);
+CREATE INDEX idx_auctions_status_start_time ON auctions(status, start_time);
+CREATE INDEX idx_auctions_category ON auctions(category);
+CREATE INDEX idx_auctions_seller ON auctions(seller_id);
+CREATE INDEX idx_auctions_highest_bidder ON auctions(highest_bidder_id);
+
+-- Create trigger for updated_at
+CREATE TRIGGER trigger_auctions_updated_at
+BEFORE UPDATE ON auctions
+FOR EACH ROW
+EXECUTE FUNCTION update_updated_at();
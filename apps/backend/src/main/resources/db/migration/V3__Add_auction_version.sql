@@ -0,0 +1,2 @@
+-- Add optimistic locking version to auctions
+ALTER TABLE auctions ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,6 @@
+-- Last bid journal sequence whose bids are reflected in the auctions table
+CREATE TABLE bid_journal_checkpoints (
+    journal_id VARCHAR(100) PRIMARY KEY,
+    sequence BIGINT NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,9 @@
+-- Hidden proxy (max-bid) maxima, kept out of the auctions table
+CREATE TABLE proxy_bids (
+    auction_id UUID NOT NULL REFERENCES auctions(id) ON DELETE CASCADE,
+    bidder_id UUID NOT NULL REFERENCES users(id),
+    max_amount NUMERIC(19, 2) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (auction_id, bidder_id)
+);
@@ -0,0 +1,28 @@
+-- Full-text search over auctions, served by a GIN index instead of LIKE scans
+ALTER TABLE auctions ADD COLUMN search_vector TSVECTOR;
+
+-- Weighted document: title ranks above category, category above description
+CREATE OR REPLACE FUNCTION auctions_search_vector()
+RETURNS TRIGGER AS $$
+BEGIN
+  NEW.search_vector =
+      setweight(to_tsvector('english', COALESCE(NEW.title, '')), 'A')
+      || setweight(to_tsvector('english', COALESCE(NEW.category, '')), 'B')
+      || setweight(to_tsvector('english', COALESCE(NEW.description, '')), 'C');
+  RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Only recompute when a searchable column changes, not on every bid
+CREATE TRIGGER trigger_auctions_search_vector
+BEFORE INSERT OR UPDATE OF title, category, description ON auctions
+FOR EACH ROW
+EXECUTE FUNCTION auctions_search_vector();
+
+-- Backfill existing rows
+UPDATE auctions SET search_vector =
+    setweight(to_tsvector('english', COALESCE(title, '')), 'A')
+    || setweight(to_tsvector('english', COALESCE(category, '')), 'B')
+    || setweight(to_tsvector('english', COALESCE(description, '')), 'C');
+
+CREATE INDEX idx_auctions_search_vector ON auctions USING GIN (search_vector);
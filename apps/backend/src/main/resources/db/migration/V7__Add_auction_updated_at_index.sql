@@ -0,0 +1,2 @@
+-- Lets in-memory indexes fetch only the rows changed since their last pass
+CREATE INDEX idx_auctions_updated_at ON auctions(updated_at);
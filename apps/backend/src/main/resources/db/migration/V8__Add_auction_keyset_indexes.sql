@@ -0,0 +1,16 @@
+-- Keyset pagination seeks on (sort key, id); include the id so a page
+-- boundary is a single index range scan
+DROP INDEX IF EXISTS idx_auctions_status_end_time;
+CREATE INDEX idx_auctions_status_end_time_id ON auctions(status, end_time, id);
+
+DROP INDEX IF EXISTS idx_auctions_category;
+CREATE INDEX idx_auctions_category_end_time_id
+    ON auctions(category, end_time, id);
+
+DROP INDEX IF EXISTS idx_auctions_seller;
+CREATE INDEX idx_auctions_seller_created_at_id
+    ON auctions(seller_id, created_at, id);
+
+DROP INDEX IF EXISTS idx_auctions_highest_bidder;
+CREATE INDEX idx_auctions_highest_bidder_end_time_id
+    ON auctions(highest_bidder_id, end_time, id);
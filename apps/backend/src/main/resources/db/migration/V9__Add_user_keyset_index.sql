@@ -0,0 +1,2 @@
+-- Keyset pagination and exports walk users in registration order
+CREATE INDEX idx_users_created_at_id ON users(created_at, id);
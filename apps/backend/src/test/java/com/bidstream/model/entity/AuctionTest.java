@@ -0,0 +1,107 @@
+package com.bidstream.model.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.bidstream.model.time.AuctionClock;
+
+/**
+ * Checks the time-dependent state of an auction on a clock stepped by
+ * hand across its start and end.
+ */
+class AuctionTest {
+
+  /** Start of the auction, in epoch milliseconds. */
+  private static final long START = 1_700_000_000_000L;
+
+  /** End of the auction, in epoch milliseconds. */
+  private static final long END = START + 60_000L;
+
+  /** The current time, read through the installed clock. */
+  private final AtomicLong now = new AtomicLong(START - 1_000L);
+
+  /** The auction under test. */
+  private Auction auction;
+
+  @BeforeEach
+  void setUp() {
+    AuctionClock.install(now::get);
+    auction = new Auction("Clock", "home", new BigDecimal("10.00"),
+        AuctionClock.toLocalDateTime(START),
+        AuctionClock.toLocalDateTime(END), null);
+    auction.setStatus(AuctionStatus.ACTIVE);
+  }
+
+  @AfterEach
+  void tearDown() {
+    AuctionClock.install(System::currentTimeMillis);
+  }
+
+  @Test
+  void followsTheClockThroughTheBiddingWindow() {
+    assertThat(auction.getStartMs()).isEqualTo(START);
+    assertThat(auction.getEndMs()).isEqualTo(END);
+    assertState(false, false, Duration.ofMillis(61_000L));
+
+    now.set(START);
+    assertState(false, false, Duration.ofMillis(60_000L));
+
+    now.set(START + 1L);
+    assertState(true, false, Duration.ofMillis(59_999L));
+
+    now.set(END - 1L);
+    assertState(true, false, Duration.ofMillis(1L));
+
+    now.set(END);
+    assertState(false, false, Duration.ZERO);
+
+    now.set(END + 1L);
+    assertState(false, true, null);
+  }
+
+  @Test
+  void onlyAnActiveAuctionIsOpen() {
+    now.set(START + 1_000L);
+    auction.setStatus(AuctionStatus.SCHEDULED);
+
+    assertThat(auction.isActive()).isFalse();
+    assertThat(auction.hasBuyNowOption()).isFalse();
+
+    auction.setStatus(AuctionStatus.ACTIVE);
+    auction.setBuyNowPrice(new BigDecimal("50.00"));
+
+    assertThat(auction.isActive()).isTrue();
+    assertThat(auction.hasBuyNowOption()).isTrue();
+  }
+
+  @Test
+  void movingTheEndTimeMovesTheDeadline() {
+    now.set(END + 1L);
+    assertThat(auction.hasEnded()).isTrue();
+
+    auction.setEndTime(AuctionClock.toLocalDateTime(END + 30_000L));
+
+    assertState(true, false, Duration.ofMillis(29_999L));
+  }
+
+  /**
+   * Checks the auction's state at the current time.
+   *
+   * @param active    whether it should be open for bidding
+   * @param ended     whether it should have ended
+   * @param remaining the time it should have left, or null
+   */
+  private void assertState(final boolean active, final boolean ended,
+      final Duration remaining) {
+    assertThat(auction.isActive()).isEqualTo(active);
+    assertThat(auction.hasEnded()).isEqualTo(ended);
+    assertThat(auction.getTimeRemaining()).isEqualTo(remaining);
+  }
+}
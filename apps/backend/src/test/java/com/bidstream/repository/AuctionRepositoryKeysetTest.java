@@ -0,0 +1,141 @@
+package com.bidstream.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.bidstream.model.entity.Auction;
+import com.bidstream.model.entity.AuctionStatus;
+import com.bidstream.model.entity.User;
+
+/**
+ * Walks keyset listings whose sort key is shared by more rows than fit on
+ * a page, checking that the id breaks the tie: every row is listed once,
+ * in order, however the page boundaries fall within the tie.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AuctionRepositoryKeysetTest {
+
+  /** Auctions sharing the tied sort key. */
+  private static final int TIED = 5;
+
+  /** Listing page size, smaller than the tie. */
+  private static final int PAGE_SIZE = 2;
+
+  /** The repository under test. */
+  @Autowired
+  private AuctionRepository auctionRepository;
+
+  /** Stores the seller. */
+  @Autowired
+  private UserRepository userRepository;
+
+  /** Sets creation times, which the entity stamps itself. */
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  /** The seller of every auction. */
+  private User seller;
+
+  /** The tied end time. */
+  private final LocalDateTime tie =
+      LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+
+  /** Ids of the stored auctions. */
+  private final List<UUID> stored = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    seller = userRepository.save(new User("seller@example.com", "seller",
+        "hash", "First", "Last"));
+    save(tie.minusMinutes(1));
+    for (int i = 0; i < TIED; i++) {
+      save(tie);
+    }
+    save(tie.plusMinutes(1));
+  }
+
+  @AfterEach
+  void tearDown() {
+    auctionRepository.deleteAll();
+    userRepository.deleteAll();
+  }
+
+  @Test
+  void ascendingWalkPagesThroughATieOnEndTime() {
+    List<Auction> listed = new ArrayList<>();
+    LocalDateTime afterEndTime = KeysetCursor.MIN_TIME;
+    UUID afterId = KeysetCursor.MIN_ID;
+    boolean hasNext = true;
+    while (hasNext) {
+      Slice<Auction> page = auctionRepository.findByStatus(
+          AuctionStatus.ACTIVE, afterEndTime, afterId,
+          PageRequest.ofSize(PAGE_SIZE));
+      List<Auction> content = page.getContent();
+      listed.addAll(content);
+      afterEndTime = content.get(content.size() - 1).getEndTime();
+      afterId = content.get(content.size() - 1).getId();
+      hasNext = page.hasNext();
+    }
+
+    assertThat(listed).extracting(Auction::getId)
+        .doesNotHaveDuplicates()
+        .containsExactlyInAnyOrderElementsOf(stored);
+    assertThat(listed).extracting(Auction::getEndTime).isSorted();
+    assertThat(listed.get(0).getEndTime()).isEqualTo(tie.minusMinutes(1));
+  }
+
+  @Test
+  void descendingWalkPagesThroughATieOnCreationTime() {
+    jdbcTemplate.update("UPDATE auctions SET created_at = ?", tie);
+
+    List<UUID> listed = new ArrayList<>();
+    LocalDateTime beforeCreatedAt = KeysetCursor.MAX_TIME;
+    UUID beforeId = KeysetCursor.MAX_ID;
+    boolean hasNext = true;
+    while (hasNext) {
+      Slice<AuctionListView> page = auctionRepository.findBySeller(seller,
+          beforeCreatedAt, beforeId, PageRequest.ofSize(PAGE_SIZE));
+      List<AuctionListView> content = page.getContent();
+      content.forEach(view -> listed.add(view.id()));
+      beforeCreatedAt = tie;
+      beforeId = content.get(content.size() - 1).id();
+      hasNext = page.hasNext();
+    }
+
+    assertThat(listed).doesNotHaveDuplicates()
+        .containsExactlyInAnyOrderElementsOf(stored);
+  }
+
+  /**
+   * Stores an active auction of the seller.
+   *
+   * @param endTime the end time
+   */
+  private void save(final LocalDateTime endTime) {
+    Auction auction = new Auction("Auction " + stored.size(), "art",
+        new BigDecimal("10.00"), LocalDateTime.now().plusHours(1), endTime,
+        seller);
+    auction.setStatus(AuctionStatus.ACTIVE);
+    stored.add(auctionRepository.save(auction).getId());
+  }
+}
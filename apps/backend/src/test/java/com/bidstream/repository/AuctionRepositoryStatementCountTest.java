@@ -0,0 +1,189 @@
+package com.bidstream.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.bidstream.dto.response.AuctionResponse;
+import com.bidstream.dto.response.AuctionSummaryResponse;
+import com.bidstream.model.entity.Auction;
+import com.bidstream.model.entity.AuctionStatus;
+import com.bidstream.model.entity.User;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Counts the SQL statements of the listing and detail reads: a listing
+ * page is one statement however many auctions, sellers and bidders it
+ * shows, and a detail page is one statement including its seller and
+ * highest bidder.
+ *
+ * <p>
+ * Runs without a test transaction, so every read runs and closes its own
+ * persistence context as in the application, and anything left lazy
+ * would fail when the response is built.
+ * </p>
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AuctionRepositoryStatementCountTest {
+
+  /** Auctions stored, each with its own seller. */
+  private static final int AUCTIONS = 24;
+
+  /** Listing page size. */
+  private static final int PAGE_SIZE = 10;
+
+  /** The repository under test. */
+  @Autowired
+  private AuctionRepository auctionRepository;
+
+  /** Stores the sellers and bidders. */
+  @Autowired
+  private UserRepository userRepository;
+
+  /** The entity manager factory, for its statistics. */
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  /** Hibernate statistics. */
+  private Statistics statistics;
+
+  /** The stored auctions, in end time order. */
+  private final List<Auction> auctions = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    statistics = entityManagerFactory.unwrap(SessionFactory.class)
+        .getStatistics();
+    User bidder = userRepository.save(user("bidder"));
+    LocalDateTime start = LocalDateTime.now().plusHours(1);
+    for (int i = 0; i < AUCTIONS; i++) {
+      Auction auction = new Auction("Auction " + i, "art",
+          new BigDecimal("10.00"), start, start.plusMinutes(60 + i),
+          userRepository.save(user("seller" + i)));
+      auction.setDescription("Long description " + i);
+      auction.setStatus(AuctionStatus.ACTIVE);
+      auction.setFeatured(true);
+      if (i % 2 == 0) {
+        auction.setHighestBidder(bidder);
+        auction.setBidCount(1);
+      }
+      auctions.add(auctionRepository.save(auction));
+    }
+  }
+
+  @AfterEach
+  void tearDown() {
+    auctionRepository.deleteAll();
+    userRepository.deleteAll();
+    entityManagerFactory.getCache().evictAll();
+  }
+
+  @Test
+  void everyListingPageIsOneStatement() {
+    LocalDateTime afterEndTime = KeysetCursor.MIN_TIME;
+    UUID afterId = KeysetCursor.MIN_ID;
+    int listed = 0;
+    boolean hasNext = true;
+    while (hasNext) {
+      LocalDateTime endTime = afterEndTime;
+      UUID id = afterId;
+      Slice<AuctionListView> page = countOne(() ->
+          auctionRepository.findViewsByStatus(AuctionStatus.ACTIVE,
+              endTime, id, PageRequest.ofSize(PAGE_SIZE)));
+      page.map(AuctionSummaryResponse::from);
+      List<AuctionListView> content = page.getContent();
+      AuctionListView last = content.get(content.size() - 1);
+      afterEndTime = last.endTime();
+      afterId = last.id();
+      listed += page.getNumberOfElements();
+      hasNext = page.hasNext();
+    }
+    assertThat(listed).isEqualTo(AUCTIONS);
+  }
+
+  @Test
+  void filteredListingsAreOneStatement() {
+    User seller = auctions.get(0).getSeller();
+    PageRequest page = PageRequest.ofSize(PAGE_SIZE);
+
+    assertThat(countOne(() -> auctionRepository.findBySeller(seller,
+        KeysetCursor.MAX_TIME, KeysetCursor.MAX_ID, page))).hasSize(1);
+    assertThat(countOne(() -> auctionRepository.findByCategoryAndStatus(
+        "art", AuctionStatus.ACTIVE, KeysetCursor.MIN_TIME,
+        KeysetCursor.MIN_ID, page))).hasSize(PAGE_SIZE);
+    assertThat(countOne(() -> auctionRepository.findFeaturedActiveAuctions(
+        KeysetCursor.MIN_TIME, KeysetCursor.MIN_ID, page)))
+        .hasSize(PAGE_SIZE);
+    assertThat(countOne(() -> auctionRepository.findNoBidAuctions(
+        KeysetCursor.MIN_TIME, KeysetCursor.MIN_ID, page)))
+        .hasSize(PAGE_SIZE);
+  }
+
+  @Test
+  void listingsByIdAreOneStatement() {
+    List<UUID> ids = auctions.stream().map(Auction::getId).toList();
+
+    assertThat(countOne(() -> auctionRepository.findViewsByIdIn(ids)))
+        .hasSize(AUCTIONS);
+  }
+
+  @Test
+  void detailIsOneStatementWithSellerAndHighestBidder() {
+    Auction withBid = auctions.get(0);
+
+    AuctionResponse detail = countOne(() -> auctionRepository
+        .findDetailById(withBid.getId()).map(AuctionResponse::from)
+        .orElseThrow());
+
+    assertThat(detail.getSellerUsername()).isEqualTo("seller0");
+    assertThat(detail.getHighestBidderUsername()).isEqualTo("bidder");
+    assertThat(detail.getDescription()).isEqualTo("Long description 0");
+  }
+
+  /**
+   * Runs a read with cold caches and checks it issued one statement.
+   *
+   * @param <T>  the result type
+   * @param read the read
+   * @return its result
+   */
+  private <T> T countOne(final Supplier<T> read) {
+    entityManagerFactory.getCache().evictAll();
+    statistics.clear();
+    T result = read.get();
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    return result;
+  }
+
+  /**
+   * Creates an unsaved user.
+   *
+   * @param username the username
+   * @return the user
+   */
+  private static User user(final String username) {
+    return new User(username + "@example.com", username, "hash",
+        "First", "Last");
+  }
+}
@@ -0,0 +1,118 @@
+package com.bidstream.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.bidstream.model.entity.User;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Checks that repeated user reads are served by the second-level and
+ * query caches, so their SQL statement count does not grow with the
+ * number of reads.
+ *
+ * <p>
+ * Runs without a test transaction: every repository call commits on its
+ * own, as in the application, so the caches see committed data.
+ * </p>
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserRepositoryCacheTest {
+
+  /** Reads per lookup in the warm phase. */
+  private static final int READS = 20;
+
+  /** The repository under test. */
+  @Autowired
+  private UserRepository userRepository;
+
+  /** The entity manager factory, for its statistics. */
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  /** Hibernate statistics. */
+  private Statistics statistics;
+
+  /** The stored user. */
+  private User user;
+
+  @BeforeEach
+  void setUp() {
+    statistics = entityManagerFactory.unwrap(SessionFactory.class)
+        .getStatistics();
+    user = userRepository.save(new User("ada@example.com", "ada",
+        "hash", "Ada", "Lovelace"));
+    statistics.clear();
+  }
+
+  @AfterEach
+  void tearDown() {
+    userRepository.deleteAll();
+    entityManagerFactory.getCache().evictAll();
+  }
+
+  @Test
+  void findByIdIsServedFromTheSecondLevelCache() {
+    UUID id = user.getId();
+    userRepository.findById(id);
+    long afterFirstRead = statistics.getPrepareStatementCount();
+
+    for (int i = 0; i < READS; i++) {
+      assertThat(userRepository.findById(id)).isPresent();
+    }
+
+    assertThat(statistics.getPrepareStatementCount())
+        .isEqualTo(afterFirstRead);
+    assertThat(statistics.getSecondLevelCacheHitCount())
+        .isGreaterThanOrEqualTo(READS);
+  }
+
+  @Test
+  void finderResultsAreServedFromTheQueryCache() {
+    userRepository.findByEmail("ada@example.com");
+    userRepository.findByUsername("ada");
+    userRepository.findByEmailOrUsername("ada");
+    long afterFirstReads = statistics.getPrepareStatementCount();
+
+    for (int i = 0; i < READS; i++) {
+      assertThat(userRepository.findByEmail("ada@example.com")).isPresent();
+      assertThat(userRepository.findByUsername("ada")).isPresent();
+      assertThat(userRepository.findByEmailOrUsername("ada")).isPresent();
+    }
+
+    assertThat(statistics.getPrepareStatementCount())
+        .isEqualTo(afterFirstReads);
+    assertThat(statistics.getQueryCacheHitCount())
+        .isEqualTo(3L * READS);
+  }
+
+  @Test
+  void userWriteInvalidatesCachedFinderResults() {
+    userRepository.findByEmail("ada@example.com");
+    user.setFirstName("Augusta");
+    userRepository.save(user);
+    long afterWrite = statistics.getPrepareStatementCount();
+
+    assertThat(userRepository.findByEmail("ada@example.com"))
+        .get()
+        .extracting(User::getFirstName)
+        .isEqualTo("Augusta");
+    assertThat(statistics.getPrepareStatementCount())
+        .isGreaterThan(afterWrite);
+  }
+}
@@ -0,0 +1,80 @@
+package com.bidstream.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.bidstream.dto.response.UserSummaryResponse;
+import com.bidstream.model.entity.User;
+
+/**
+ * Walks the user listing through users registered at the same instant,
+ * checking that the id breaks the tie across page boundaries.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserRepositoryKeysetTest {
+
+  /** Users stored, all registered at the same instant. */
+  private static final int USERS = 5;
+
+  /** Listing page size, smaller than the tie. */
+  private static final int PAGE_SIZE = 2;
+
+  /** The repository under test. */
+  @Autowired
+  private UserRepository userRepository;
+
+  /** Sets registration times, which the entity stamps itself. */
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @AfterEach
+  void tearDown() {
+    userRepository.deleteAll();
+  }
+
+  @Test
+  void summariesPageThroughATieOnRegistrationTime() {
+    List<UUID> stored = new ArrayList<>();
+    for (int i = 0; i < USERS; i++) {
+      stored.add(userRepository.save(new User("user" + i + "@example.com",
+          "user" + i, "hash", "First", "Last")).getId());
+    }
+    LocalDateTime tie = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    jdbcTemplate.update("UPDATE users SET created_at = ?", tie);
+
+    List<UUID> listed = new ArrayList<>();
+    LocalDateTime afterCreatedAt = KeysetCursor.MIN_TIME;
+    UUID afterId = KeysetCursor.MIN_ID;
+    boolean hasNext = true;
+    while (hasNext) {
+      Slice<UserSummaryResponse> page = userRepository.findSummaries(
+          afterCreatedAt, afterId, PageRequest.ofSize(PAGE_SIZE));
+      List<UserSummaryResponse> content = page.getContent();
+      content.forEach(user -> listed.add(user.getId()));
+      afterCreatedAt = content.get(content.size() - 1).getCreatedAt();
+      afterId = content.get(content.size() - 1).getId();
+      hasNext = page.hasNext();
+    }
+
+    assertThat(listed).doesNotHaveDuplicates()
+        .containsExactlyInAnyOrderElementsOf(stored);
+  }
+}
@@ -0,0 +1,116 @@
+package com.bidstream.service.bidding;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bidstream.model.entity.Auction;
+import com.bidstream.model.entity.AuctionStatus;
+import com.bidstream.model.entity.User;
+import com.bidstream.model.time.AuctionClock;
+
+/**
+ * Cost and allocation of applying a bid to the hot state of an auction,
+ * with and without a proxy answering it.
+ *
+ * <p>
+ * Run with the default {@code gc} profiler and read
+ * {@code gc.alloc.rate.norm}, the bytes allocated per bid: the only
+ * allocation expected is the {@link AcceptedBid} result.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AuctionStateBenchmark {
+
+  /** Bid increment in cents. */
+  private static final long INCREMENT = 100L;
+
+  /** Rules with a 1.00 increment and soft close off. */
+  private static final BidRules RULES = new BidRules(INCREMENT, 0L, 0L);
+
+  /** Two direct bidders taking turns. */
+  private final UUID[] bidders = {UUID.randomUUID(), UUID.randomUUID()};
+
+  /** Time the bids are processed. */
+  private final long now = AuctionClock.toEpochMs(LocalDateTime.now());
+
+  /** Auction without proxies. */
+  private AuctionState direct;
+
+  /** Auction whose proxy answers every direct bid. */
+  private AuctionState proxied;
+
+  /** Amount of the next bid, in cents. */
+  private long amount;
+
+  /** Number of bids placed. */
+  private int bids;
+
+  /**
+   * Creates fresh auctions, so prices stay far from the proxy maximum.
+   */
+  @Setup(Level.Iteration)
+  public void create() {
+    direct = new AuctionState(auction());
+    proxied = new AuctionState(auction());
+    proxied.restoreProxy(UUID.randomUUID(), Long.MAX_VALUE / 2);
+    amount = 1_000L;
+  }
+
+  /**
+   * Applies an outbidding direct bid.
+   *
+   * @return the accepted bid
+   */
+  @Benchmark
+  public AcceptedBid directBid() {
+    amount += INCREMENT;
+    return direct.apply(bidders[bids++ & 1], amount, RULES, now);
+  }
+
+  /**
+   * Applies a direct bid that the leading proxy answers in the same step.
+   *
+   * @return the accepted bid, the proxy's
+   */
+  @Benchmark
+  public AcceptedBid proxyAnswer() {
+    amount = proxied.getCurrentPrice() + INCREMENT;
+    return proxied.apply(bidders[bids++ & 1], amount, RULES, now);
+  }
+
+  /**
+   * Creates an active auction open for the whole run.
+   *
+   * @return the auction
+   */
+  private static Auction auction() {
+    User seller = new User("seller@example.com", "seller", "hash", "First",
+        "Last");
+    seller.setId(UUID.randomUUID());
+    LocalDateTime start = LocalDateTime.now().minusHours(1);
+    Auction auction = new Auction("Auction", "art", new BigDecimal("10.00"),
+        start, start.plusDays(1), seller);
+    auction.setId(UUID.randomUUID());
+    auction.setStatus(AuctionStatus.ACTIVE);
+    return auction;
+  }
+}
@@ -0,0 +1,176 @@
+package com.bidstream.service.bidding;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.bidstream.exceptions.BiddingException;
+import com.bidstream.model.entity.Auction;
+import com.bidstream.model.entity.AuctionStatus;
+import com.bidstream.model.entity.User;
+import com.bidstream.model.time.AuctionClock;
+
+/**
+ * Checks how proxy bids settle the price: the leading proxy beats the
+ * runner-up by one increment, a tie goes to the earlier proxy, and the
+ * price never passes the leading maximum.
+ */
+class AuctionStateTest {
+
+  /** Starting price in cents. */
+  private static final long STARTING = 1_000L;
+
+  /** Bid increment in cents. */
+  private static final long INCREMENT = 100L;
+
+  /** Rules with a 1.00 increment and soft close off. */
+  private static final BidRules RULES = new BidRules(INCREMENT, 0L, 0L);
+
+  /** Time the bids are processed, within the auction's bidding window. */
+  private final long now = AuctionClock.toEpochMs(LocalDateTime.now());
+
+  /** First proxy bidder. */
+  private final UUID alice = UUID.randomUUID();
+
+  /** Second proxy bidder. */
+  private final UUID bob = UUID.randomUUID();
+
+  /** Direct bidder. */
+  private final UUID carol = UUID.randomUUID();
+
+  @Test
+  void firstProxyOpensAtTheStartingPrice() {
+    AuctionState state = state(null);
+
+    AcceptedBid bid = state.applyProxy(alice, 5_000L, RULES, now);
+
+    assertThat(bid.bidderId()).isEqualTo(alice);
+    assertThat(bid.amount()).isEqualTo(STARTING);
+  }
+
+  @Test
+  void leaderBeatsRunnerUpByOneIncrement() {
+    AuctionState state = state(null);
+    state.applyProxy(alice, 5_000L, RULES, now);
+
+    AcceptedBid bid = state.applyProxy(bob, 3_000L, RULES, now);
+
+    assertThat(bid.bidderId()).isEqualTo(alice);
+    assertThat(bid.amount()).isEqualTo(3_000L + INCREMENT);
+    assertThat(bid.previousPrice()).isEqualTo(STARTING);
+  }
+
+  @Test
+  void laterHigherProxyTakesTheLead() {
+    AuctionState state = state(null);
+    state.applyProxy(alice, 3_000L, RULES, now);
+
+    AcceptedBid bid = state.applyProxy(bob, 5_000L, RULES, now);
+
+    assertThat(bid.bidderId()).isEqualTo(bob);
+    assertThat(bid.amount()).isEqualTo(3_000L + INCREMENT);
+  }
+
+  @Test
+  void tieGoesToTheEarlierProxy() {
+    AuctionState state = state(null);
+    state.applyProxy(alice, 3_000L, RULES, now);
+
+    AcceptedBid bid = state.applyProxy(bob, 3_000L, RULES, now);
+
+    assertThat(bid.bidderId()).isEqualTo(alice);
+    assertThat(bid.amount()).isEqualTo(3_000L);
+  }
+
+  @Test
+  void restoredTieGoesToTheEarlierProxy() {
+    AuctionState state = state(null);
+    state.restoreProxy(alice, 3_000L);
+    state.restoreProxy(bob, 3_000L);
+
+    AcceptedBid bid = state.apply(carol, 2_000L, RULES, now);
+
+    assertThat(bid.bidderId()).isEqualTo(alice);
+    assertThat(bid.amount()).isEqualTo(3_000L);
+  }
+
+  @Test
+  void proxyAnswerIsCappedAtItsMaximum() {
+    AuctionState state = state(null);
+    state.applyProxy(alice, 3_000L, RULES, now);
+
+    AcceptedBid bid = state.apply(carol, 2_950L, RULES, now);
+
+    assertThat(bid.bidderId()).isEqualTo(alice);
+    assertThat(bid.amount()).isEqualTo(3_000L);
+  }
+
+  @Test
+  void directBidEqualToTheMaximumLosesToTheProxy() {
+    AuctionState state = state(null);
+    state.applyProxy(alice, 3_000L, RULES, now);
+
+    AcceptedBid bid = state.apply(carol, 3_000L, RULES, now);
+
+    assertThat(bid.bidderId()).isEqualTo(alice);
+    assertThat(bid.amount()).isEqualTo(3_000L);
+  }
+
+  @Test
+  void directBidAboveTheMaximumWins() {
+    AuctionState state = state(null);
+    state.applyProxy(alice, 3_000L, RULES, now);
+
+    AcceptedBid bid = state.apply(carol, 3_100L, RULES, now);
+
+    assertThat(bid.bidderId()).isEqualTo(carol);
+    assertThat(bid.amount()).isEqualTo(3_100L);
+  }
+
+  @Test
+  void proxyJumpsToTheReserveWhenItsMaximumAllows() {
+    AuctionState state = state(new BigDecimal("25.00"));
+
+    AcceptedBid bid = state.applyProxy(alice, 4_000L, RULES, now);
+
+    assertThat(bid.amount()).isEqualTo(2_500L);
+    assertThat(bid.reserveMet()).isTrue();
+    assertThat(bid.reserveNewlyMet()).isTrue();
+  }
+
+  @Test
+  void raisingTheLeadingMaximumDoesNotMoveThePrice() {
+    AuctionState state = state(null);
+    state.applyProxy(alice, 3_000L, RULES, now);
+    state.applyProxy(bob, 2_000L, RULES, now);
+
+    assertThat(state.applyProxy(alice, 6_000L, RULES, now)).isNull();
+    assertThat(state.getCurrentPrice()).isEqualTo(2_000L + INCREMENT);
+    assertThatThrownBy(() -> state.applyProxy(alice, 6_000L, RULES, now))
+        .isInstanceOf(BiddingException.class);
+  }
+
+  /**
+   * Creates the hot state of an active auction with a 10.00 start.
+   *
+   * @param reserve the reserve price, or null
+   * @return the state
+   */
+  private static AuctionState state(final BigDecimal reserve) {
+    User seller = new User("seller@example.com", "seller", "hash", "First",
+        "Last");
+    seller.setId(UUID.randomUUID());
+    LocalDateTime start = LocalDateTime.now().minusHours(1);
+    Auction auction = new Auction("Auction", "art", new BigDecimal("10.00"),
+        start, start.plusHours(2), seller);
+    auction.setId(UUID.randomUUID());
+    auction.setReservePrice(reserve);
+    auction.setStatus(AuctionStatus.ACTIVE);
+    return new AuctionState(auction);
+  }
+}
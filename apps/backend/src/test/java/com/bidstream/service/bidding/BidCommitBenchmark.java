@@ -0,0 +1,277 @@
+package com.bidstream.service.bidding;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Bid commit throughput of 64 bidders on one auction row: the
+ * compare-and-set of {@code AuctionRepository.compareAndSetBid}, retried
+ * against the re-read price when it loses, versus a
+ * {@code SELECT ... FOR UPDATE} transaction.
+ *
+ * <p>
+ * Runs against an in-memory H2 database by default; pass
+ * {@code -p url=jdbc:postgresql://...} with {@code -p user} and
+ * {@code -p password} to measure Postgres, which needs the driver on the
+ * test classpath. The {@code retries} counter reports compare-and-set
+ * writes that lost.
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(64)
+public class BidCommitBenchmark {
+
+  /** Creates the auction table. */
+  private static final String CREATE = "CREATE TABLE IF NOT EXISTS "
+      + "bench_auctions (id UUID PRIMARY KEY, "
+      + "current_price DECIMAL(12, 2) NOT NULL, bid_count INT NOT NULL, "
+      + "version BIGINT NOT NULL)";
+
+  /** Reads the price. */
+  private static final String SELECT =
+      "SELECT current_price FROM bench_auctions WHERE id = ?";
+
+  /** Reads and locks the price. */
+  private static final String SELECT_FOR_UPDATE = SELECT + " FOR UPDATE";
+
+  /** Commits a bid unconditionally. */
+  private static final String UPDATE = "UPDATE bench_auctions "
+      + "SET current_price = ?, bid_count = bid_count + 1, "
+      + "version = version + 1 WHERE id = ?";
+
+  /** Commits a bid if the price is still the expected one. */
+  private static final String COMPARE_AND_SET = UPDATE
+      + " AND current_price = ? AND current_price < ?";
+
+  /** The bid increment. */
+  private static final BigDecimal INCREMENT = new BigDecimal("0.01");
+
+  /**
+   * The database and the auction row every bidder bids on.
+   */
+  @State(Scope.Benchmark)
+  public static class Auction {
+
+    /** JDBC URL. */
+    @Param("jdbc:h2:mem:bids;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=30000")
+    private String url;
+
+    /** Database user. */
+    @Param("sa")
+    private String user;
+
+    /** Database password. */
+    @Param("")
+    private String password;
+
+    /** The auction id. */
+    private final UUID id = UUID.randomUUID();
+
+    /**
+     * Creates the auction.
+     *
+     * @throws SQLException if the database fails
+     */
+    @Setup(Level.Trial)
+    public void create() throws SQLException {
+      try (Connection connection = connect();
+          Statement statement = connection.createStatement()) {
+        statement.execute(CREATE);
+        try (PreparedStatement insert = connection.prepareStatement(
+            "INSERT INTO bench_auctions VALUES (?, 1.00, 0, 0)")) {
+          insert.setObject(1, id);
+          insert.executeUpdate();
+        }
+      }
+    }
+
+    /**
+     * Deletes the auction.
+     *
+     * @throws SQLException if the database fails
+     */
+    @TearDown(Level.Trial)
+    public void delete() throws SQLException {
+      try (Connection connection = connect();
+          PreparedStatement delete = connection.prepareStatement(
+              "DELETE FROM bench_auctions WHERE id = ?")) {
+        delete.setObject(1, id);
+        delete.executeUpdate();
+      }
+    }
+
+    /**
+     * Opens a connection.
+     *
+     * @return the connection
+     * @throws SQLException if the database fails
+     */
+    Connection connect() throws SQLException {
+      return DriverManager.getConnection(url, user, password);
+    }
+  }
+
+  /**
+   * One bidder's connection and statements.
+   */
+  @State(Scope.Thread)
+  public static class Bidder {
+
+    /** The connection. */
+    private Connection connection;
+
+    /** Reads the price. */
+    private PreparedStatement select;
+
+    /** Reads and locks the price. */
+    private PreparedStatement selectForUpdate;
+
+    /** Commits unconditionally. */
+    private PreparedStatement update;
+
+    /** Commits conditionally. */
+    private PreparedStatement compareAndSet;
+
+    /**
+     * Connects.
+     *
+     * @param auction the auction
+     * @throws SQLException if the database fails
+     */
+    @Setup(Level.Trial)
+    public void connect(final Auction auction) throws SQLException {
+      connection = auction.connect();
+      select = prepare(SELECT, auction);
+      selectForUpdate = prepare(SELECT_FOR_UPDATE, auction);
+      update = prepare(UPDATE, auction);
+      compareAndSet = prepare(COMPARE_AND_SET, auction);
+    }
+
+    /**
+     * Disconnects.
+     *
+     * @throws SQLException if the database fails
+     */
+    @TearDown(Level.Trial)
+    public void close() throws SQLException {
+      connection.close();
+    }
+
+    /**
+     * Prepares a statement whose id parameter is bound.
+     *
+     * @param sql     the statement
+     * @param auction the auction
+     * @return the statement
+     * @throws SQLException if the database fails
+     */
+    private PreparedStatement prepare(final String sql,
+        final Auction auction) throws SQLException {
+      PreparedStatement statement = connection.prepareStatement(sql);
+      statement.setObject(sql.startsWith("SELECT") ? 1 : 2, auction.id);
+      return statement;
+    }
+  }
+
+  /**
+   * Compare-and-set writes that lost, per thread.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Retries {
+
+    /** Lost writes. */
+    public long retries;
+  }
+
+  /**
+   * Commits one bid with compare-and-set, re-reading the price and
+   * retrying while it loses.
+   *
+   * @param bidder  the bidder
+   * @param retries the lost write counter
+   * @return the committed price
+   * @throws SQLException if the database fails
+   */
+  @Benchmark
+  public BigDecimal compareAndSet(final Bidder bidder, final Retries retries)
+      throws SQLException {
+    bidder.connection.setAutoCommit(true);
+    while (true) {
+      BigDecimal price = read(bidder.select);
+      BigDecimal bid = price.add(INCREMENT);
+      bidder.compareAndSet.setBigDecimal(1, bid);
+      bidder.compareAndSet.setBigDecimal(3, price);
+      bidder.compareAndSet.setBigDecimal(4, bid);
+      if (bidder.compareAndSet.executeUpdate() == 1) {
+        return bid;
+      }
+      retries.retries++;
+    }
+  }
+
+  /**
+   * Commits one bid under a row lock.
+   *
+   * @param bidder the bidder
+   * @return the committed price
+   * @throws SQLException if the database fails
+   */
+  @Benchmark
+  public BigDecimal pessimisticLock(final Bidder bidder)
+      throws SQLException {
+    bidder.connection.setAutoCommit(false);
+    try {
+      BigDecimal bid = read(bidder.selectForUpdate).add(INCREMENT);
+      bidder.update.setBigDecimal(1, bid);
+      bidder.update.executeUpdate();
+      bidder.connection.commit();
+      return bid;
+    } catch (SQLException ex) {
+      bidder.connection.rollback();
+      throw ex;
+    }
+  }
+
+  /**
+   * Reads the price.
+   *
+   * @param select the query
+   * @return the price
+   * @throws SQLException if the database fails
+   */
+  private static BigDecimal read(final PreparedStatement select)
+      throws SQLException {
+    try (ResultSet result = select.executeQuery()) {
+      result.next();
+      return result.getBigDecimal(1);
+    }
+  }
+}
@@ -0,0 +1,283 @@
+package com.bidstream.service.bidding;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.bidstream.config.AuctionProperties;
+import com.bidstream.config.BiddingProperties;
+import com.bidstream.exceptions.BiddingException;
+import com.bidstream.model.entity.Auction;
+import com.bidstream.model.entity.AuctionStatus;
+import com.bidstream.model.time.AuctionClock;
+import com.bidstream.repository.AuctionRepository;
+import com.bidstream.service.journal.BidJournal;
+import com.bidstream.service.journal.BidJournal.DurabilityCallback;
+import com.bidstream.service.journal.JournalCheckpointStore;
+import com.bidstream.service.notification.AuctionNotifier;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Runs concurrent bidders against the engine while a rebalance migrates
+ * one of their auctions to another shard, and checks that no bid is lost
+ * or applied out of order. Also checks the routing and the per-shard
+ * meters.
+ */
+class BidEngineTest {
+
+  /** Number of shards. */
+  private static final int SHARDS = 4;
+
+  /** Number of concurrent bidders. */
+  private static final int BIDDERS = 8;
+
+  /** Bids each bidder places after the migration. */
+  private static final int BIDS_AFTER_MIGRATION = 200;
+
+  /** Bid increment in cents. */
+  private static final long INCREMENT = 100L;
+
+  /** Longest wait for the migration, in milliseconds. */
+  private static final long WAIT_MS = 10_000L;
+
+  /** Auctions in the mocked database. */
+  private final Map<UUID, Auction> auctions = new ConcurrentHashMap<>();
+
+  /** Last journal sequence handed out. */
+  private final AtomicLong sequence = new AtomicLong();
+
+  /** Metrics of the engine. */
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  /** The engine under test. */
+  private BidEngine engine;
+
+  @BeforeEach
+  void setUp() {
+    BiddingProperties properties = new BiddingProperties();
+    properties.setShards(SHARDS);
+    properties.setHotShardFactor(0.0);
+    properties.setHotShardMinUtilization(0.0);
+    properties.setHotShardPasses(1);
+
+    AuctionRepository repository = mock(AuctionRepository.class);
+    when(repository.findById(any())).thenAnswer(invocation ->
+        Optional.ofNullable(auctions.get(invocation.<UUID>getArgument(0))));
+    BidJournal journal = mock(BidJournal.class);
+    doAnswer(invocation -> {
+      invocation.<DurabilityCallback>getArgument(1)
+          .onComplete(sequence.incrementAndGet(), null);
+      return null;
+    }).when(journal).append(any(), any());
+
+    engine = new BidEngine(new AuctionProperties(), properties, repository,
+        mock(BidPersister.class), journal,
+        mock(JournalCheckpointStore.class), mock(AuctionNotifier.class),
+        mock(ProxyBidStore.class), AuctionClock::millis, registry);
+    engine.start();
+  }
+
+  @AfterEach
+  void tearDown() {
+    engine.stop();
+  }
+
+  @Test
+  void concurrentBidsSurviveAForcedRebalance() throws Exception {
+    UUID first = auction();
+    UUID second = auction();
+    while (engine.shardFor(second) != engine.shardFor(first)) {
+      auctions.remove(second);
+      second = auction();
+    }
+    BidShard home = engine.shardFor(first);
+    List<UUID> bidOn = List.of(first, second);
+
+    Map<UUID, Queue<AcceptedBid>> accepted = Map.of(
+        first, new ConcurrentLinkedQueue<>(),
+        second, new ConcurrentLinkedQueue<>());
+    AtomicLong nextAmount = new AtomicLong(1_000L);
+    AtomicInteger placed = new AtomicInteger();
+    AtomicBoolean migrated = new AtomicBoolean();
+
+    ExecutorService bidders = Executors.newFixedThreadPool(BIDDERS);
+    List<Future<?>> done = new ArrayList<>();
+    try {
+      for (int b = 0; b < BIDDERS; b++) {
+        UUID bidderId = UUID.randomUUID();
+        done.add(bidders.submit(() -> {
+          int remaining = BIDS_AFTER_MIGRATION;
+          for (int i = 0; remaining > 0; i++) {
+            if (migrated.get()) {
+              remaining--;
+            }
+            UUID auctionId = bidOn.get(i % 2);
+            long amount = nextAmount.addAndGet(INCREMENT);
+            try {
+              accepted.get(auctionId).add(engine.placeBid(auctionId,
+                  bidderId, BigDecimal.valueOf(amount, 2)).join());
+            } catch (CompletionException ex) {
+              assertThat(ex).hasCauseInstanceOf(BiddingException.class);
+            }
+            placed.incrementAndGet();
+          }
+        }));
+      }
+
+      long deadline = System.currentTimeMillis() + WAIT_MS;
+      while (placed.get() < 100 && System.currentTimeMillis() < deadline) {
+        Thread.sleep(1L);
+      }
+      engine.rebalance();
+      while (migrations(home) == 0 && System.currentTimeMillis() < deadline) {
+        Thread.sleep(1L);
+      }
+      migrated.set(true);
+
+      for (Future<?> bidder : done) {
+        bidder.get();
+      }
+    } finally {
+      bidders.shutdownNow();
+    }
+
+    assertThat(migrations(home)).isEqualTo(1.0);
+    assertThat(engine.shardFor(first) == home
+        ^ engine.shardFor(second) == home).isTrue();
+    assertSerialized(first, accepted.get(first));
+    assertSerialized(second, accepted.get(second));
+  }
+
+  @Test
+  void anAuctionAlwaysRoutesToOneShard() {
+    List<BidShard> used = new ArrayList<>();
+    for (int i = 0; i < 1_000; i++) {
+      UUID auctionId = UUID.randomUUID();
+      BidShard shard = engine.shardFor(auctionId);
+      assertThat(engine.shardFor(new UUID(auctionId.getMostSignificantBits(),
+          auctionId.getLeastSignificantBits()))).isSameAs(shard);
+      if (!used.contains(shard)) {
+        used.add(shard);
+      }
+    }
+    assertThat(used).hasSize(SHARDS);
+
+    UUID auctionId = UUID.randomUUID();
+    BidShard home = engine.shardFor(auctionId);
+    BidShard other = used.get((used.indexOf(home) + 1) % SHARDS);
+
+    engine.reroute(auctionId, other);
+
+    assertThat(engine.shardFor(auctionId)).isSameAs(other);
+    assertThat(registry.get("bidstream.bid.shard.overrides").gauge().value())
+        .isEqualTo(1.0);
+
+    engine.reroute(auctionId, home);
+
+    assertThat(engine.shardFor(auctionId)).isSameAs(home);
+    assertThat(registry.get("bidstream.bid.shard.overrides").gauge().value())
+        .isZero();
+  }
+
+  @Test
+  void everyShardRegistersItsMeters() {
+    UUID auctionId = auction();
+    engine.placeBid(auctionId, UUID.randomUUID(), new BigDecimal("10.00"))
+        .join();
+    String shard = Integer.toString(engine.shardFor(auctionId).getIndex());
+    engine.stop();
+
+    for (int i = 0; i < SHARDS; i++) {
+      String tag = Integer.toString(i);
+      assertThat(registry.get("bidstream.bid.shard.queue.depth")
+          .tag("shard", tag).gauge().value()).isZero();
+      assertThat(registry.get("bidstream.bid.shard.service.time")
+          .tag("shard", tag).timer().count())
+          .isEqualTo(tag.equals(shard) ? 1L : 0L);
+      assertThat(registry.get("bidstream.bid.shard.migrations")
+          .tag("shard", tag).counter()).isNotNull();
+    }
+    assertThat(engine.getQueueDepth()).isZero();
+  }
+
+  /**
+   * Checks that an auction's accepted bids were applied one at a time, in
+   * rising order, and that its hot state holds the last of them.
+   *
+   * @param auctionId the auction
+   * @param bids      its accepted bids
+   */
+  private void assertSerialized(final UUID auctionId,
+      final Queue<AcceptedBid> bids) {
+    List<AcceptedBid> ordered = new ArrayList<>(bids);
+    ordered.sort(Comparator.comparingInt(AcceptedBid::bidCount));
+    for (int i = 0; i < ordered.size(); i++) {
+      assertThat(ordered.get(i).bidCount()).isEqualTo(i + 1);
+      if (i > 0) {
+        assertThat(ordered.get(i).amount())
+            .isGreaterThan(ordered.get(i - 1).amount());
+      }
+    }
+    AcceptedBid last = ordered.get(ordered.size() - 1);
+
+    assertThatThrownBy(() -> engine.placeBid(auctionId, UUID.randomUUID(),
+        BigDecimal.valueOf(last.amount(), 2)).join())
+        .hasCauseInstanceOf(BiddingException.class);
+    AcceptedBid probe = engine.placeBid(auctionId, UUID.randomUUID(),
+        BigDecimal.valueOf(last.amount() + INCREMENT, 2)).join();
+    assertThat(probe.bidCount()).isEqualTo(ordered.size() + 1);
+  }
+
+  /**
+   * Reads the migrations counter of a shard.
+   *
+   * @param shard the shard
+   * @return its count
+   */
+  private double migrations(final BidShard shard) {
+    return registry.get("bidstream.bid.shard.migrations")
+        .tag("shard", Integer.toString(shard.getIndex())).counter().count();
+  }
+
+  /**
+   * Adds an active auction with a 10.00 start to the mocked database.
+   *
+   * @return its id
+   */
+  private UUID auction() {
+    LocalDateTime start = LocalDateTime.now().minusHours(1);
+    Auction auction = new Auction("Auction", "art", new BigDecimal("10.00"),
+        start, start.plusHours(2), null);
+    auction.setId(UUID.randomUUID());
+    auction.setStatus(AuctionStatus.ACTIVE);
+    auctions.put(auction.getId(), auction);
+    return auction.getId();
+  }
+}
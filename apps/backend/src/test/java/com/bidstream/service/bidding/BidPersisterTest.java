@@ -0,0 +1,153 @@
+package com.bidstream.service.bidding;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bidstream.event.AuctionPriceChangedEvent;
+import com.bidstream.model.entity.AuctionStatus;
+import com.bidstream.repository.AuctionRepository;
+import com.bidstream.repository.UserRepository;
+import com.bidstream.service.journal.BidJournal;
+import com.bidstream.service.journal.JournalCheckpointStore;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Checks that a bid whose compare-and-set loses is retried, kept pending
+ * or dropped depending on the price stored by the concurrent write, and
+ * that the journal checkpoint never passes a bid that was not written.
+ */
+class BidPersisterTest {
+
+  /** Journal sequence of the bid under test. */
+  private static final long SEQUENCE = 3L;
+
+  /** Durable journal sequence. */
+  private static final long DURABLE = 5L;
+
+  /** Price the bid was validated against. */
+  private static final BigDecimal PREVIOUS = new BigDecimal("10.00");
+
+  /** Amount of the bid. */
+  private static final BigDecimal AMOUNT = new BigDecimal("12.00");
+
+  /** The auction. */
+  private final UUID auctionId = UUID.randomUUID();
+
+  /** The auction repository. */
+  private final AuctionRepository auctionRepository =
+      mock(AuctionRepository.class);
+
+  /** The checkpoint store. */
+  private final JournalCheckpointStore checkpointStore =
+      mock(JournalCheckpointStore.class);
+
+  /** The event publisher. */
+  private final ApplicationEventPublisher publisher =
+      mock(ApplicationEventPublisher.class);
+
+  /** Auctions handed to the conflict handler. */
+  private final List<UUID> conflicts = new ArrayList<>();
+
+  /** The persister under test. */
+  private BidPersister persister;
+
+  @BeforeEach
+  void setUp() {
+    BidJournal journal = mock(BidJournal.class);
+    when(journal.durableSequence()).thenReturn(DURABLE);
+    persister = new BidPersister(auctionRepository,
+        mock(UserRepository.class),
+        new TransactionTemplate(mock(PlatformTransactionManager.class)),
+        journal, checkpointStore, mock(ProxyBidStore.class), publisher,
+        new SimpleMeterRegistry());
+    persister.onConflict(conflicts::add);
+  }
+
+  @Test
+  void lostWriteIsRetriedAgainstTheStoredPrice() {
+    BigDecimal stored = new BigDecimal("11.00");
+    when(commit(PREVIOUS)).thenReturn(false);
+    when(auctionRepository.findCommittedPrice(auctionId))
+        .thenReturn(Optional.of(stored));
+    when(commit(stored)).thenReturn(true);
+
+    persister.enqueue(bid(), SEQUENCE);
+    persister.shutdown();
+
+    verify(publisher).publishEvent(any(AuctionPriceChangedEvent.class));
+    verify(checkpointStore).save(DURABLE);
+    assertThat(conflicts).isEmpty();
+  }
+
+  @Test
+  void outbidWriteIsDroppedAndTheAuctionReloaded() {
+    when(commit(PREVIOUS)).thenReturn(false);
+    when(auctionRepository.findCommittedPrice(auctionId))
+        .thenReturn(Optional.of(new BigDecimal("15.00")));
+
+    persister.enqueue(bid(), SEQUENCE);
+    persister.shutdown();
+
+    verify(publisher, never()).publishEvent(any());
+    verify(checkpointStore).save(DURABLE);
+    assertThat(conflicts).containsExactly(auctionId);
+  }
+
+  @Test
+  void writeLosingEveryAttemptHoldsBackTheCheckpoint() {
+    when(auctionRepository.tryCommitBid(eq(auctionId), any(), eq(AMOUNT),
+        any(), anyInt())).thenReturn(false);
+    when(auctionRepository.findCommittedPrice(auctionId))
+        .thenReturn(Optional.of(new BigDecimal("10.50")),
+            Optional.of(new BigDecimal("11.00")),
+            Optional.of(new BigDecimal("11.50")));
+
+    persister.enqueue(bid(), SEQUENCE);
+    persister.shutdown();
+
+    verify(checkpointStore).save(SEQUENCE - 1);
+    verify(checkpointStore, never()).save(DURABLE);
+    verify(publisher, never()).publishEvent(any());
+    assertThat(conflicts).isEmpty();
+  }
+
+  /**
+   * Stubs the compare-and-set of the bid against an expected price.
+   *
+   * @param expected the expected price
+   * @return the stubbed call's result
+   */
+  private boolean commit(final BigDecimal expected) {
+    return auctionRepository.tryCommitBid(eq(auctionId), eq(expected),
+        eq(AMOUNT), any(), anyInt());
+  }
+
+  /**
+   * Creates the bid under test.
+   *
+   * @return the bid
+   */
+  private AcceptedBid bid() {
+    return new AcceptedBid(auctionId, UUID.randomUUID(), 1_200L, 1_000L, 1,
+        false, false, AuctionStatus.ACTIVE, 0L, false, 0L);
+  }
+}
@@ -0,0 +1,148 @@
+package com.bidstream.service.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.bidstream.config.CoherenceProperties;
+
+/**
+ * Checks that the listener survives a failing receiver and unsubscribes
+ * its connection before handing it back to the pool.
+ */
+class PostgresInvalidationChannelTest {
+
+  /** How long to wait for the listener thread, in milliseconds. */
+  private static final long WAIT_MS = 5_000L;
+
+  /** The pooled connection handed to the listener. */
+  private final Connection connection = mock(Connection.class);
+
+  /** Its notification interface. */
+  private final PGConnection notifications = mock(PGConnection.class);
+
+  /** Statements run on it. */
+  private final Statement statement = mock(Statement.class);
+
+  /** Messages the receiver was handed. */
+  private final List<String> received = new CopyOnWriteArrayList<>();
+
+  /** The channel under test. */
+  private PostgresInvalidationChannel channel;
+
+  @BeforeEach
+  void setUp() throws SQLException {
+    DataSource dataSource = mock(DataSource.class);
+    when(dataSource.getConnection()).thenReturn(connection);
+    when(connection.unwrap(PGConnection.class)).thenReturn(notifications);
+    when(connection.createStatement()).thenReturn(statement);
+
+    CoherenceProperties properties = new CoherenceProperties();
+    properties.setReconnectIntervalMs(10L);
+    channel = new PostgresInvalidationChannel(dataSource,
+        mock(JdbcTemplate.class), properties);
+    channel.subscribe(payload -> {
+      received.add(payload);
+      if (payload.startsWith("bad")) {
+        throw new IllegalArgumentException("Unreadable " + payload);
+      }
+    });
+  }
+
+  @AfterEach
+  void tearDown() {
+    channel.stop();
+  }
+
+  @Test
+  void failingReceiverDropsOnlyItsMessage() throws Exception {
+    PGNotification[] first = {
+        notification("bad:1"), notification("auction:1")};
+    PGNotification[] second = {notification("auction:2")};
+    when(notifications.getNotifications(anyInt()))
+        .thenReturn(first)
+        .thenReturn(second)
+        .thenAnswer(invocation -> idle());
+
+    channel.start();
+
+    long deadline = System.currentTimeMillis() + WAIT_MS;
+    while (received.size() < 3 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(1L);
+    }
+    assertThat(received).containsExactly("bad:1", "auction:1", "auction:2");
+    assertThat(channel.isConnected()).isTrue();
+
+    channel.stop();
+
+    InOrder order = inOrder(statement, connection);
+    order.verify(statement).execute("UNLISTEN *");
+    order.verify(connection).close();
+    assertThat(channel.isConnected()).isFalse();
+  }
+
+  @Test
+  void brokenConnectionIsUnsubscribedBeforeItIsReturned() throws Exception {
+    PGNotification[] afterReconnect = {notification("auction:1")};
+    when(notifications.getNotifications(anyInt()))
+        .thenThrow(new SQLException("Connection reset"))
+        .thenReturn(afterReconnect)
+        .thenAnswer(invocation -> idle());
+
+    channel.start();
+
+    long deadline = System.currentTimeMillis() + WAIT_MS;
+    while (received.isEmpty() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(1L);
+    }
+    assertThat(received).containsExactly("auction:1");
+    verify(statement, times(2)).execute(
+        "LISTEN " + new CoherenceProperties().getChannel());
+    InOrder order = inOrder(statement, connection);
+    order.verify(statement).execute("UNLISTEN *");
+    order.verify(connection).close();
+  }
+
+  /**
+   * Stands in for a poll that found nothing.
+   *
+   * @return no notifications
+   * @throws InterruptedException if interrupted
+   */
+  private static PGNotification[] idle() throws InterruptedException {
+    Thread.sleep(1L);
+    return null;
+  }
+
+  /**
+   * Mocks a notification.
+   *
+   * @param payload its payload
+   * @return the notification
+   */
+  private static PGNotification notification(final String payload) {
+    PGNotification notification = mock(PGNotification.class);
+    when(notification.getParameter()).thenReturn(payload);
+    return notification;
+  }
+}
@@ -0,0 +1,130 @@
+package com.bidstream.service.cache;
+
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Throughput of 64 readers stampeding one cold key, each lookup going to
+ * a simulated database, directly or through a {@link SingleFlight}.
+ *
+ * <p>
+ * The database serves {@code connections} loads at a time, each taking
+ * {@code loadMicros}, like a Hikari pool in front of Postgres. Nothing is
+ * cached, so the key stays cold: every lookup either starts a load or
+ * joins one in flight. The {@code loads} counter reports the database
+ * loads each lookup cost.
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(64)
+public class SingleFlightBenchmark {
+
+  /**
+   * The database and the key every reader looks up.
+   */
+  @State(Scope.Benchmark)
+  public static class Database {
+
+    /** Loads the database serves at a time. */
+    @Param("10")
+    private int connections;
+
+    /** Duration of one load, in microseconds. */
+    @Param("500")
+    private long loadMicros;
+
+    /** The cold key. */
+    private final UUID key = UUID.randomUUID();
+
+    /** The group coalescing loads. */
+    private final SingleFlight<UUID, String> flight =
+        new SingleFlight<>("benchmark", new SimpleMeterRegistry());
+
+    /** Free connections. */
+    private Semaphore pool;
+
+    /**
+     * Opens the pool.
+     */
+    @Setup(Level.Trial)
+    public void open() {
+      pool = new Semaphore(connections, true);
+    }
+
+    /**
+     * Loads the key, waiting for a free connection.
+     *
+     * @param loads the load counter of the calling reader
+     * @return the value
+     */
+    String load(final Loads loads) {
+      pool.acquireUninterruptibly();
+      try {
+        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(loadMicros));
+        loads.loads++;
+        return "value";
+      } finally {
+        pool.release();
+      }
+    }
+  }
+
+  /**
+   * Database loads, per thread.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Loads {
+
+    /** Loads run. */
+    public long loads;
+  }
+
+  /**
+   * Looks the key up in the database.
+   *
+   * @param database the database
+   * @param loads    the load counter
+   * @return the value
+   */
+  @Benchmark
+  public String direct(final Database database, final Loads loads) {
+    return database.load(loads);
+  }
+
+  /**
+   * Looks the key up through the single-flight group.
+   *
+   * @param database the database
+   * @param loads    the load counter
+   * @return the value
+   */
+  @Benchmark
+  public String coalesced(final Database database, final Loads loads) {
+    return database.flight.execute(database.key,
+        () -> database.load(loads));
+  }
+}
@@ -0,0 +1,181 @@
+package com.bidstream.service.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Checks that concurrent lookups of a cold key share one call, its result
+ * and its exception, and that nothing outlives the call.
+ */
+class SingleFlightTest {
+
+  /** Concurrent callers. */
+  private static final int CALLERS = 16;
+
+  /** Longest wait for the callers, in seconds. */
+  private static final long TIMEOUT_SECONDS = 10;
+
+  /** Metrics of the group under test. */
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  /** The group under test. */
+  private final SingleFlight<String, String> flight =
+      new SingleFlight<>("test", registry);
+
+  /** Runs the callers. */
+  private final ExecutorService callers =
+      Executors.newFixedThreadPool(CALLERS);
+
+  /** Releases the call once every other caller has joined it. */
+  private final CountDownLatch release = new CountDownLatch(1);
+
+  /** Calls run. */
+  private final AtomicInteger runs = new AtomicInteger();
+
+  @AfterEach
+  void stopCallers() {
+    callers.shutdownNow();
+  }
+
+  @Test
+  void concurrentCallersOfAColdKeyShareOneCall() throws Exception {
+    List<Future<String>> results = herd(() -> {
+      awaitRelease();
+      return "value " + runs.incrementAndGet();
+    });
+
+    for (Future<String> result : results) {
+      assertThat(result.get(TIMEOUT_SECONDS, TimeUnit.SECONDS))
+          .isEqualTo("value 1");
+    }
+    assertThat(runs).hasValue(1);
+    assertThat(count("bidstream.singleflight.calls")).isEqualTo(1);
+    assertThat(count("bidstream.singleflight.coalesced"))
+        .isEqualTo(CALLERS - 1);
+  }
+
+  @Test
+  void everyWaiterGetsTheCallsException() throws Exception {
+    IllegalStateException failure = new IllegalStateException("down");
+    List<Future<String>> results = herd(() -> {
+      awaitRelease();
+      runs.incrementAndGet();
+      throw failure;
+    });
+
+    for (Future<String> result : results) {
+      assertThatThrownBy(() -> result.get(TIMEOUT_SECONDS, TimeUnit.SECONDS))
+          .isInstanceOf(ExecutionException.class)
+          .cause().isSameAs(failure);
+    }
+    assertThat(runs).hasValue(1);
+  }
+
+  @Test
+  void keyIsCalledAgainOnceTheCallReturns() {
+    assertThat(flight.execute("key", () -> "first")).isEqualTo("first");
+    assertThat(flight.execute("key", () -> "second")).isEqualTo("second");
+    assertThat(count("bidstream.singleflight.calls")).isEqualTo(2);
+  }
+
+  @Test
+  void batchRunsOnlyTheKeysNotInFlight() throws Exception {
+    Future<String> leader = callers.submit(() -> flight.execute("a", () -> {
+      awaitRelease();
+      return "a from leader";
+    }));
+    awaitCount("bidstream.singleflight.calls", 1);
+
+    List<Set<String>> batches = new ArrayList<>();
+    Future<Map<String, String>> batch = callers.submit(() ->
+        flight.executeAll(List.of("a", "b"), keys -> {
+          batches.add(keys);
+          return Map.of("b", "b from batch");
+        }));
+    awaitCount("bidstream.singleflight.coalesced", 1);
+    release.countDown();
+
+    assertThat(batch.get(TIMEOUT_SECONDS, TimeUnit.SECONDS))
+        .containsExactlyInAnyOrderEntriesOf(
+            Map.of("a", "a from leader", "b", "b from batch"));
+    assertThat(leader.get(TIMEOUT_SECONDS, TimeUnit.SECONDS))
+        .isEqualTo("a from leader");
+    assertThat(batches).containsExactly(Set.of("b"));
+  }
+
+  /**
+   * Sends every caller after one cold key, releasing the call once the
+   * others have joined it.
+   *
+   * @param call the call
+   * @return each caller's result
+   * @throws InterruptedException if interrupted while waiting
+   */
+  private List<Future<String>> herd(final Supplier<String> call)
+      throws InterruptedException {
+    List<Future<String>> results = new ArrayList<>();
+    for (int i = 0; i < CALLERS; i++) {
+      results.add(callers.submit(() -> flight.execute("cold", call)));
+    }
+    awaitCount("bidstream.singleflight.coalesced", CALLERS - 1);
+    release.countDown();
+    return results;
+  }
+
+  /**
+   * Blocks the call until released.
+   */
+  private void awaitRelease() {
+    try {
+      assertThat(release.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  /**
+   * Waits for a counter to reach a value.
+   *
+   * @param meter the counter name
+   * @param value the value
+   * @throws InterruptedException if interrupted while waiting
+   */
+  private void awaitCount(final String meter, final double value)
+      throws InterruptedException {
+    long deadline = System.nanoTime()
+        + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+    while (count(meter) < value && System.nanoTime() < deadline) {
+      Thread.sleep(1);
+    }
+    assertThat(count(meter)).isEqualTo(value);
+  }
+
+  /**
+   * Reads a counter of the group.
+   *
+   * @param meter the counter name
+   * @return its count
+   */
+  private double count(final String meter) {
+    return registry.get(meter).tag("flight", "test").counter().count();
+  }
+}
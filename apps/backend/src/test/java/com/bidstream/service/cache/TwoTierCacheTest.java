@@ -0,0 +1,269 @@
+package com.bidstream.service.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import com.bidstream.config.CacheProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Checks near-cache coherence between two nodes sharing one Redis and one
+ * invalidation channel: an invalidation on one node evicts the other's
+ * near-cache entry, a late message for a version already reloaded does not
+ * evict it again, and an invalidation without a version always does.
+ */
+class TwoTierCacheTest {
+
+  /** Cache name on both nodes. */
+  private static final String NAME = "auctions";
+
+  /** The cached id. */
+  private final UUID id = UUID.randomUUID();
+
+  /** Entries and versions of the shared Redis, by key. */
+  private final Map<String, String> entries = new ConcurrentHashMap<>();
+
+  /** Whether the shared Redis fails every call. */
+  private volatile boolean redisDown;
+
+  /** Database loads, across both nodes. */
+  private final AtomicInteger loads = new AtomicInteger();
+
+  /** Loads the id as the number of loads so far. */
+  private final Function<Set<UUID>, Map<UUID, String>> loader =
+      ids -> Map.of(id, "load " + loads.incrementAndGet());
+
+  /** The channel both nodes share. */
+  private final InMemoryChannel channel = new InMemoryChannel();
+
+  /** The broadcaster of the first node. */
+  private CacheCoherence coherenceA;
+
+  /** The broadcaster of the second node. */
+  private CacheCoherence coherenceB;
+
+  /** The cache of the first node. */
+  private TwoTierCache<String> nodeA;
+
+  /** The cache of the second node. */
+  private TwoTierCache<String> nodeB;
+
+  @BeforeEach
+  void startNodes() {
+    StringRedisTemplate redis = redis();
+    coherenceA = new CacheCoherence(channel, new SimpleMeterRegistry());
+    coherenceB = new CacheCoherence(channel, new SimpleMeterRegistry());
+    nodeA = cache(redis, coherenceA);
+    nodeB = cache(redis, coherenceB);
+  }
+
+  @Test
+  void invalidationOnOneNodeEvictsTheOthersNearCache() {
+    assertThat(nodeB.get(id, loader)).isEqualTo("load 1");
+    assertThat(nodeB.get(id, loader)).isEqualTo("load 1");
+
+    nodeA.invalidate(List.of(id));
+    coherenceA.flush();
+
+    assertThat(nodeB.get(id, loader)).isEqualTo("load 2");
+    assertThat(nodeA.get(id, loader)).isEqualTo("load 2");
+    assertThat(loads).hasValue(2);
+  }
+
+  @Test
+  void lateMessageDoesNotEvictAnEntryLoadedAtItsVersion() {
+    nodeB.get(id, loader);
+    nodeA.invalidate(List.of(id));
+    coherenceA.flush();
+    assertThat(nodeB.get(id, loader)).isEqualTo("load 2");
+
+    coherenceA.publish(NAME, Map.of(id, 1L));
+    coherenceA.flush();
+
+    redisDown = true;
+    assertThat(nodeB.get(id, loader)).isEqualTo("load 2");
+    assertThat(loads).hasValue(2);
+
+    redisDown = false;
+    nodeA.invalidate(List.of(id));
+    coherenceA.flush();
+
+    assertThat(nodeB.get(id, loader)).isEqualTo("load 3");
+  }
+
+  @Test
+  void invalidationWithoutAVersionAlwaysEvicts() {
+    nodeB.get(id, loader);
+    nodeA.invalidate(List.of(id));
+    coherenceA.flush();
+    assertThat(nodeB.get(id, loader)).isEqualTo("load 2");
+
+    redisDown = true;
+    nodeA.invalidate(List.of(id));
+    coherenceA.flush();
+
+    assertThat(nodeB.get(id, loader)).isEqualTo("load 3");
+  }
+
+  @Test
+  void ownMessagesAreIgnored() {
+    nodeA.get(id, loader);
+
+    coherenceA.publish(NAME, Map.of(id, 0L));
+    coherenceA.flush();
+
+    assertThat(nodeA.get(id, loader)).isEqualTo("load 1");
+    assertThat(channel.messages).hasSize(1);
+  }
+
+  /**
+   * Creates one node's cache.
+   *
+   * @param redis     the shared Redis
+   * @param coherence the node's broadcaster
+   * @return the cache
+   */
+  private static TwoTierCache<String> cache(final StringRedisTemplate redis,
+      final CacheCoherence coherence) {
+    return new TwoTierCache<>(NAME, String.class, new CacheProperties(),
+        redis, coherence, new ObjectMapper(), new SimpleMeterRegistry());
+  }
+
+  /**
+   * Mocks a Redis holding {@link #entries}, running the cache's scripts
+   * by what they modify.
+   *
+   * @return the template
+   */
+  @SuppressWarnings("unchecked")
+  private StringRedisTemplate redis() {
+    StringRedisTemplate redis = mock(StringRedisTemplate.class);
+    ValueOperations<String, String> values = mock(ValueOperations.class);
+    when(redis.opsForValue()).thenReturn(values);
+    when(values.multiGet(anyCollection())).thenAnswer(invocation -> {
+      checkUp();
+      List<String> found = new ArrayList<>();
+      for (String key : invocation.<Collection<String>>getArgument(0)) {
+        found.add(entries.get(key));
+      }
+      return found;
+    });
+    doAnswer(invocation -> {
+      checkUp();
+      RedisScript<?> script = invocation.getArgument(0);
+      List<String> keys = invocation.getArgument(1);
+      Object[] arguments = invocation.getArguments();
+      return script.getScriptAsString().contains("INCR")
+          ? bump(keys)
+          : store(keys, arguments);
+    }).when(redis).execute(any(RedisScript.class), anyList(),
+        any(Object[].class));
+    return redis;
+  }
+
+  /**
+   * Fails the call if Redis is down.
+   */
+  private void checkUp() {
+    if (redisDown) {
+      throw new QueryTimeoutException("Redis is down");
+    }
+  }
+
+  /**
+   * Runs the invalidation script.
+   *
+   * @param keys entry and version key pairs
+   * @return the new versions
+   */
+  private List<Long> bump(final List<String> keys) {
+    List<Long> versions = new ArrayList<>();
+    for (int i = 0; i < keys.size(); i += 2) {
+      entries.remove(keys.get(i));
+      long version = Long.parseLong(entries.getOrDefault(keys.get(i + 1),
+          "0")) + 1;
+      entries.put(keys.get(i + 1), Long.toString(version));
+      versions.add(version);
+    }
+    return versions;
+  }
+
+  /**
+   * Runs the conditional store script.
+   *
+   * @param keys      entry and version key pairs
+   * @param arguments the script, the keys, the lifetime, then the expected
+   *                  version and entry of each pair
+   * @return 1 for each stored entry, 0 for each refused one
+   */
+  private List<Long> store(final List<String> keys,
+      final Object[] arguments) {
+    List<Long> stored = new ArrayList<>();
+    for (int i = 0; i < keys.size(); i += 2) {
+      Object expected = arguments[3 + i];
+      if (entries.getOrDefault(keys.get(i + 1), "0").equals(expected)) {
+        entries.put(keys.get(i), (String) arguments[4 + i]);
+        stored.add(1L);
+      } else {
+        stored.add(0L);
+      }
+    }
+    return stored;
+  }
+
+  /**
+   * Channel delivering every message to every subscriber on the
+   * publishing thread.
+   */
+  private static final class InMemoryChannel implements InvalidationChannel {
+
+    /** The subscribers. */
+    private final List<Consumer<String>> receivers =
+        new CopyOnWriteArrayList<>();
+
+    /** Every message published. */
+    private final List<String> messages = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(final String payload) {
+      messages.add(payload);
+      receivers.forEach(receiver -> receiver.accept(payload));
+    }
+
+    @Override
+    public void subscribe(final Consumer<String> receiver) {
+      receivers.add(receiver);
+    }
+
+    @Override
+    public boolean isConnected() {
+      return true;
+    }
+  }
+}
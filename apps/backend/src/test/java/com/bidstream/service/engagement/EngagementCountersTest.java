@@ -0,0 +1,251 @@
+package com.bidstream.service.engagement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bidstream.event.AuctionCountersFlushedEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Checks the write-behind bookkeeping of the counters against a mocked
+ * database: a flush subtracts only what it wrote, a failed flush keeps
+ * every delta, and an auction unlinked while idle still has a racing
+ * increment written.
+ */
+class EngagementCountersTest {
+
+  /** An auction. */
+  private final UUID lamp = new UUID(0L, 1L);
+
+  /** Another auction. */
+  private final UUID chair = new UUID(0L, 2L);
+
+  /** Persisted views and watches by auction, as the mock wrote them. */
+  private final Map<UUID, long[]> table = new HashMap<>();
+
+  /** Auctions of each batch written, in order. */
+  private final List<List<UUID>> batches = new ArrayList<>();
+
+  /** Runs inside the next batch write, before it is applied. */
+  private Runnable duringWrite = () -> { };
+
+  /** Whether the next batch write fails. */
+  private boolean failWrite;
+
+  /** The mocked database. */
+  private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+  /** Receives the flushed auctions. */
+  private final ApplicationEventPublisher publisher =
+      mock(ApplicationEventPublisher.class);
+
+  /** Metrics of the counters. */
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  /** The counters under test. */
+  private EngagementCounters counters;
+
+  @BeforeEach
+  void setUp() {
+    doAnswer(this::write).when(jdbcTemplate).batchUpdate(anyString(),
+        anyCollection(), anyInt(),
+        any(ParameterizedPreparedStatementSetter.class));
+    counters = new EngagementCounters(jdbcTemplate,
+        new TransactionTemplate(mock(PlatformTransactionManager.class)),
+        publisher, registry);
+  }
+
+  @Test
+  void flushWritesEachAuctionsDeltaOnce() {
+    counters.recordView(lamp);
+    counters.recordView(lamp);
+    counters.recordWatch(lamp, 1);
+    counters.recordView(chair);
+
+    counters.flush();
+    counters.flush();
+
+    assertThat(table.get(lamp)).containsExactly(2L, 1L);
+    assertThat(table.get(chair)).containsExactly(1L, 0L);
+    assertThat(batches).containsExactly(List.of(lamp, chair));
+    verify(publisher).publishEvent(
+        new AuctionCountersFlushedEvent(List.of(lamp, chair)));
+    assertThat(counters.merge(lamp, 2L, 1L))
+        .isEqualTo(new EngagementCounts(2L, 1L));
+  }
+
+  @Test
+  void incrementsDuringAFlushAreKeptForTheNext() {
+    counters.recordView(lamp);
+    duringWrite = () -> {
+      counters.recordView(lamp);
+      counters.recordWatch(lamp, -1);
+    };
+
+    counters.flush();
+
+    assertThat(table.get(lamp)).containsExactly(1L, 0L);
+    assertThat(counters.merge(lamp, 1L, 0L))
+        .isEqualTo(new EngagementCounts(2L, -1L));
+
+    counters.flush();
+
+    assertThat(table.get(lamp)).containsExactly(2L, -1L);
+  }
+
+  @Test
+  void failedFlushKeepsEveryDelta() {
+    counters.recordView(lamp);
+    counters.recordWatch(chair, 2);
+    failWrite = true;
+
+    counters.flush();
+
+    assertThat(table).isEmpty();
+    verify(publisher, never()).publishEvent(any(Object.class));
+    assertThat(counters.merge(lamp, 0L, 0L))
+        .isEqualTo(new EngagementCounts(1L, 0L));
+
+    failWrite = false;
+    counters.flush();
+
+    assertThat(table.get(lamp)).containsExactly(1L, 0L);
+    assertThat(table.get(chair)).containsExactly(0L, 2L);
+  }
+
+  @Test
+  void idleAuctionIsUnlinkedAndARacingIncrementStillWritten() {
+    counters.recordView(lamp);
+    counters.flush();
+    counters.recordView(chair);
+    duringWrite = () -> counters.recordView(lamp);
+
+    counters.flush();
+
+    assertThat(table.get(lamp)).containsExactly(1L, 0L);
+    assertThat(pendingAuctions()).isEqualTo(1.0);
+    assertThat(counters.merge(lamp, 1L, 0L))
+        .isEqualTo(new EngagementCounts(2L, 0L));
+
+    counters.flush();
+
+    assertThat(table.get(lamp)).containsExactly(2L, 0L);
+    assertThat(batches.get(batches.size() - 1)).containsExactly(lamp);
+  }
+
+  @Test
+  void mergeSumsRetiredAndLiveDeltas() {
+    counters.recordView(lamp);
+    counters.flush();
+    counters.recordView(chair);
+    duringWrite = () -> counters.recordView(lamp);
+    counters.flush();
+
+    counters.recordView(lamp);
+    counters.recordWatch(lamp, 3);
+
+    assertThat(pendingAuctions()).isEqualTo(2.0);
+    assertThat(counters.merge(lamp, 1L, 0L))
+        .isEqualTo(new EngagementCounts(3L, 3L));
+
+    counters.flush();
+
+    assertThat(table.get(lamp)).containsExactly(3L, 3L);
+    assertThat(counters.merge(lamp, 3L, 3L))
+        .isEqualTo(new EngagementCounts(3L, 3L));
+  }
+
+  @Test
+  void shutdownWritesEverythingBuffered() {
+    counters.recordView(lamp);
+    failWrite = true;
+    counters.flush();
+    counters.recordView(lamp);
+    failWrite = false;
+
+    counters.shutdown();
+
+    assertThat(table.get(lamp)).containsExactly(2L, 0L);
+    assertThat(counters.merge(lamp, 2L, 0L))
+        .isEqualTo(new EngagementCounts(2L, 0L));
+  }
+
+  /**
+   * Reads the gauge of auctions with buffered increments.
+   *
+   * @return its value
+   */
+  private double pendingAuctions() {
+    return registry.get("bidstream.engagement.pending.auctions").gauge()
+        .value();
+  }
+
+  /**
+   * Applies a batch write to {@link #table}, running
+   * {@link #duringWrite} first.
+   *
+   * @param invocation the batch update call
+   * @return the update counts
+   * @throws SQLException never
+   */
+  private int[][] write(final InvocationOnMock invocation)
+      throws SQLException {
+    Runnable hook = duringWrite;
+    duringWrite = () -> { };
+    hook.run();
+    if (failWrite) {
+      throw new DataAccessResourceFailureException("Postgres is down");
+    }
+
+    Collection<Object> rows = invocation.getArgument(1);
+    ParameterizedPreparedStatementSetter<Object> setter =
+        invocation.getArgument(3);
+    List<UUID> written = new ArrayList<>();
+    for (Object row : rows) {
+      PreparedStatement ps = mock(PreparedStatement.class);
+      setter.setValues(ps, row);
+      ArgumentCaptor<Long> counts = ArgumentCaptor.forClass(Long.class);
+      ArgumentCaptor<Object> id = ArgumentCaptor.forClass(Object.class);
+      verify(ps, times(2)).setLong(anyInt(), counts.capture());
+      verify(ps).setObject(eq(3), id.capture());
+
+      UUID auctionId = (UUID) id.getValue();
+      long[] persisted = table.computeIfAbsent(auctionId, k -> new long[2]);
+      persisted[0] += counts.getAllValues().get(0);
+      persisted[1] += counts.getAllValues().get(1);
+      written.add(auctionId);
+    }
+    batches.add(written);
+    return new int[][] {new int[rows.size()]};
+  }
+}
@@ -0,0 +1,62 @@
+package com.bidstream.service.journal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.bidstream.config.JournalProperties;
+
+/**
+ * Checks that each journal directory gets its own checkpoint key unless
+ * one is configured.
+ */
+class JournalCheckpointStoreTest {
+
+  /** The journal directory. */
+  @TempDir
+  private Path directory;
+
+  @Test
+  void blankIdIsGeneratedOnceAndKeptInTheDirectory() throws Exception {
+    String id = store("").journalId();
+
+    assertThat(id).isNotBlank();
+    assertThat(Files.readString(directory.resolve(
+        JournalCheckpointStore.ID_FILE))).isEqualTo(id);
+    assertThat(store("").journalId()).isEqualTo(id);
+  }
+
+  @Test
+  void lostDirectoryGetsANewId() throws Exception {
+    String id = store("").journalId();
+    Files.delete(directory.resolve(JournalCheckpointStore.ID_FILE));
+
+    assertThat(store("").journalId()).isNotEqualTo(id);
+  }
+
+  @Test
+  void configuredIdWins() {
+    assertThat(store("node-1").journalId()).isEqualTo("node-1");
+    assertThat(directory.resolve(JournalCheckpointStore.ID_FILE))
+        .doesNotExist();
+  }
+
+  /**
+   * Creates a store over the journal directory.
+   *
+   * @param id the configured journal id
+   * @return the store
+   */
+  private JournalCheckpointStore store(final String id) {
+    JournalProperties properties = new JournalProperties();
+    properties.setDirectory(directory.toString());
+    properties.setId(id);
+    return new JournalCheckpointStore(mock(JdbcTemplate.class), properties);
+  }
+}
@@ -0,0 +1,154 @@
+package com.bidstream.service.journal;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.bidstream.config.JournalProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Recovery throughput of the bid journal, in records per second: opening
+ * the journal, which scans the newest segment for its torn tail, then
+ * replaying every record from the start.
+ *
+ * <p>
+ * The journal is written once per trial into a temporary directory split
+ * into segments of {@code segmentSizeMb}. Replays read from the page
+ * cache, so this measures decoding and scanning rather than the disk.
+ * The {@code records} counter reports records replayed per second.
+ * </p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JournalReplayBenchmark {
+
+  /** Bytes in one mebibyte. */
+  private static final int MEBIBYTE = 1 << 20;
+
+  /** Records in the journal. */
+  @Param("1000000")
+  private int records;
+
+  /** Size of one segment, in mebibytes. */
+  @Param("16")
+  private int segmentSizeMb;
+
+  /** Journal settings. */
+  private final JournalProperties properties = new JournalProperties();
+
+  /** Checkpoint store reporting that nothing was applied yet. */
+  private final JournalCheckpointStore checkpointStore =
+      new JournalCheckpointStore(null, properties) {
+        @Override
+        public long load() {
+          return 0L;
+        }
+      };
+
+  /** The journal directory. */
+  private Path directory;
+
+  /** The journal opened by the current invocation. */
+  private MappedBidJournal journal;
+
+  /**
+   * Records replayed, reported as a rate.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  public static class Replayed {
+
+    /** Records replayed. */
+    public long records;
+  }
+
+  /**
+   * Writes the journal.
+   *
+   * @throws IOException if the journal cannot be written
+   */
+  @Setup(Level.Trial)
+  public void write() throws IOException {
+    directory = Files.createTempDirectory("journal-replay");
+    properties.setDirectory(directory.toString());
+    properties.setSegmentSizeMb(segmentSizeMb);
+
+    int size = segmentSizeMb * MEBIBYTE;
+    UUID auctionId = UUID.randomUUID();
+    JournalSegment segment = JournalSegment.open(directory, 1L, size);
+    for (long sequence = 1; sequence <= records; sequence++) {
+      if (!segment.hasRoom()) {
+        segment.force(0);
+        segment.close();
+        segment = JournalSegment.open(directory, sequence, size);
+      }
+      segment.append(sequence, auctionId, UUID.randomUUID(), sequence,
+          System.nanoTime());
+    }
+    segment.force(0);
+    segment.close();
+  }
+
+  /**
+   * Deletes the journal.
+   *
+   * @throws IOException if a file cannot be deleted
+   */
+  @TearDown(Level.Trial)
+  public void delete() throws IOException {
+    try (Stream<Path> files = Files.walk(directory)) {
+      for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+        Files.delete(file);
+      }
+    }
+  }
+
+  /**
+   * Stops the journal opened by the invocation, outside the measurement:
+   * its committer only notices on its next poll.
+   */
+  @TearDown(Level.Invocation)
+  public void close() {
+    journal.stop();
+  }
+
+  /**
+   * Opens the journal and replays it.
+   *
+   * @param blackhole consumes the records
+   * @param replayed  the replayed record counter
+   */
+  @Benchmark
+  public void replay(final Blackhole blackhole, final Replayed replayed) {
+    journal = new MappedBidJournal(properties, checkpointStore,
+        new SimpleMeterRegistry());
+    journal.start();
+    replayed.records += journal.replay(0L, blackhole::consume);
+  }
+}
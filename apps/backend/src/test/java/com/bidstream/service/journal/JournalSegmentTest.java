@@ -0,0 +1,153 @@
+package com.bidstream.service.journal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Checks that reopening a segment after a crash keeps every complete
+ * record and stops at the first torn one, whatever tore it.
+ */
+class JournalSegmentTest {
+
+  /** First sequence of the segment under test. */
+  private static final long FIRST = 100L;
+
+  /** Records written before the simulated crash. */
+  private static final int RECORDS = 5;
+
+  /** Size of the segment under test. */
+  private static final int SIZE = 16 * JournalSegment.RECORD_SIZE;
+
+  /** The journal directory. */
+  @TempDir
+  private Path directory;
+
+  /** The auction every record is on. */
+  private final UUID auctionId = UUID.randomUUID();
+
+  @Test
+  void reopenedSegmentKeepsEveryRecord() throws IOException {
+    write();
+
+    assertThat(sequences()).containsExactly(100L, 101L, 102L, 103L, 104L);
+  }
+
+  @Test
+  void corruptRecordEndsTheScan() throws IOException {
+    write();
+    overwrite(3 * JournalSegment.RECORD_SIZE + 20, (byte) 0x7f);
+
+    assertThat(sequences()).containsExactly(100L, 101L, 102L);
+  }
+
+  @Test
+  void recordWithoutMagicEndsTheScan() throws IOException {
+    write();
+    overwrite(4 * JournalSegment.RECORD_SIZE, (byte) 0);
+
+    assertThat(sequences()).containsExactly(100L, 101L, 102L, 103L);
+  }
+
+  @Test
+  void truncatedRecordEndsTheScan() throws IOException {
+    write();
+    try (FileChannel channel = FileChannel.open(path(),
+        StandardOpenOption.WRITE)) {
+      channel.truncate(4 * JournalSegment.RECORD_SIZE + 10);
+    }
+
+    assertThat(sequences()).containsExactly(100L, 101L, 102L, 103L);
+  }
+
+  @Test
+  void appendAfterATornTailOverwritesIt() throws IOException {
+    write();
+    overwrite(2 * JournalSegment.RECORD_SIZE + 50, (byte) 0x7f);
+
+    try (JournalSegment segment = open()) {
+      assertThat(segment.getLastSequence()).isEqualTo(101L);
+      assertThat(segment.getPosition())
+          .isEqualTo(2 * JournalSegment.RECORD_SIZE);
+      segment.append(102L, auctionId, UUID.randomUUID(), 1L, 0L);
+      segment.force(0);
+    }
+
+    assertThat(sequences()).containsExactly(100L, 101L, 102L);
+  }
+
+  /**
+   * Writes and forces the records, then closes the segment.
+   *
+   * @throws IOException if the segment cannot be written
+   */
+  private void write() throws IOException {
+    try (JournalSegment segment = open()) {
+      for (int i = 0; i < RECORDS; i++) {
+        segment.append(FIRST + i, auctionId, UUID.randomUUID(), 1_000L + i,
+            System.nanoTime());
+      }
+      segment.force(0);
+    }
+  }
+
+  /**
+   * Overwrites one byte of the segment file, as a torn write would.
+   *
+   * @param offset the byte offset
+   * @param value  the byte written
+   * @throws IOException if the file cannot be written
+   */
+  private void overwrite(final int offset, final byte value)
+      throws IOException {
+    try (FileChannel channel = FileChannel.open(path(),
+        StandardOpenOption.WRITE)) {
+      channel.write(ByteBuffer.wrap(new byte[] {value}), offset);
+    }
+  }
+
+  /**
+   * Reopens the segment and lists the sequences it replays.
+   *
+   * @return the replayed sequences
+   * @throws IOException if the segment cannot be opened
+   */
+  private List<Long> sequences() throws IOException {
+    List<Long> sequences = new ArrayList<>();
+    try (JournalSegment segment = open()) {
+      segment.forEach(0L, journaled -> sequences.add(journaled.sequence()));
+      assertThat(segment.getLastSequence())
+          .isEqualTo(FIRST + sequences.size() - 1);
+    }
+    return sequences;
+  }
+
+  /**
+   * Opens the segment under test.
+   *
+   * @return the segment
+   * @throws IOException if it cannot be opened
+   */
+  private JournalSegment open() throws IOException {
+    return JournalSegment.open(directory, FIRST, SIZE);
+  }
+
+  /**
+   * Gets the segment file.
+   *
+   * @return the path
+   */
+  private Path path() {
+    return directory.resolve(JournalSegment.fileName(FIRST));
+  }
+}
@@ -0,0 +1,131 @@
+package com.bidstream.service.journal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.bidstream.config.JournalProperties;
+import com.bidstream.model.entity.AuctionStatus;
+import com.bidstream.service.bidding.AcceptedBid;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Checks that the journal never hands out a sequence the Postgres
+ * checkpoint already covers, even when its files are gone or behind.
+ */
+class MappedBidJournalTest {
+
+  /** The Postgres checkpoint. */
+  private static final long CHECKPOINT = 41L;
+
+  /** The journal directory. */
+  @TempDir
+  private Path directory;
+
+  /** The checkpoint store. */
+  private final JournalCheckpointStore checkpointStore =
+      mock(JournalCheckpointStore.class);
+
+  /** Journals opened by the test, stopped afterwards. */
+  private final List<MappedBidJournal> journals = new ArrayList<>();
+
+  @AfterEach
+  void tearDown() {
+    journals.forEach(MappedBidJournal::stop);
+  }
+
+  @Test
+  void emptyJournalContinuesFromTheCheckpoint() throws Exception {
+    when(checkpointStore.load()).thenReturn(CHECKPOINT);
+    MappedBidJournal journal = start();
+
+    assertThat(journal.durableSequence()).isEqualTo(CHECKPOINT);
+    assertThat(append(journal)).isEqualTo(CHECKPOINT + 1);
+  }
+
+  @Test
+  void journalBehindTheCheckpointContinuesFromIt() throws Exception {
+    when(checkpointStore.load()).thenReturn(0L);
+    MappedBidJournal old = start();
+    append(old);
+    append(old);
+    old.stop();
+    journals.remove(old);
+
+    when(checkpointStore.load()).thenReturn(CHECKPOINT);
+    MappedBidJournal journal = start();
+    long sequence = append(journal);
+
+    List<Long> replayed = new ArrayList<>();
+    journal.replay(CHECKPOINT, journaled ->
+        replayed.add(journaled.sequence()));
+    assertThat(sequence).isEqualTo(CHECKPOINT + 1);
+    assertThat(replayed).containsExactly(CHECKPOINT + 1);
+  }
+
+  @Test
+  void journalAheadOfTheCheckpointKeepsItsSequence() throws Exception {
+    when(checkpointStore.load()).thenReturn(0L);
+    MappedBidJournal old = start();
+    append(old);
+    append(old);
+    old.stop();
+    journals.remove(old);
+
+    when(checkpointStore.load()).thenReturn(1L);
+    MappedBidJournal journal = start();
+
+    assertThat(journal.durableSequence()).isEqualTo(2L);
+    assertThat(append(journal)).isEqualTo(3L);
+  }
+
+  /**
+   * Starts a journal over the test directory.
+   *
+   * @return the started journal
+   */
+  private MappedBidJournal start() {
+    JournalProperties properties = new JournalProperties();
+    properties.setDirectory(directory.toString());
+    properties.setSegmentSizeMb(1);
+    MappedBidJournal journal = new MappedBidJournal(properties,
+        checkpointStore, new SimpleMeterRegistry());
+    journal.start();
+    journals.add(journal);
+    return journal;
+  }
+
+  /**
+   * Appends a bid and waits for it to be durable.
+   *
+   * @param journal the journal
+   * @return the bid's sequence
+   * @throws Exception if the append fails
+   */
+  private static long append(final MappedBidJournal journal)
+      throws Exception {
+    CompletableFuture<Long> durable = new CompletableFuture<>();
+    journal.append(new AcceptedBid(UUID.randomUUID(), UUID.randomUUID(),
+        1_200L, 1_000L, 1, false, false, AuctionStatus.ACTIVE, 0L, false,
+        0L), (sequence, failure) -> {
+          if (failure != null) {
+            durable.completeExceptionally(failure);
+          } else {
+            durable.complete(sequence);
+          }
+        });
+    return durable.get(5, TimeUnit.SECONDS);
+  }
+}
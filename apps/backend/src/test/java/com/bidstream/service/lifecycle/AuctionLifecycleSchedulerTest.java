@@ -0,0 +1,258 @@
+package com.bidstream.service.lifecycle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.QueryTimeoutException;
+
+import com.bidstream.config.LifecycleProperties;
+import com.bidstream.exceptions.RateLimitException;
+import com.bidstream.model.entity.Auction;
+import com.bidstream.model.entity.AuctionStatus;
+import com.bidstream.model.time.AuctionClock;
+import com.bidstream.repository.AuctionRepository;
+import com.bidstream.service.bidding.BidEngine;
+import com.bidstream.service.bidding.CloseOutcome;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Checks that a start or end transition that fails is retried until it
+ * applies, instead of leaving the auction in its old status, and that
+ * auctions end as the clock reaches their deadlines.
+ *
+ * <p>
+ * The scheduler and the auctions read one clock stepped by the test, so
+ * no deadline or backoff passes on its own. Wall time only bounds the wait
+ * for the scheduler threads to act on a step.
+ * </p>
+ */
+class AuctionLifecycleSchedulerTest {
+
+  /** The time the scheduler starts at, in epoch milliseconds. */
+  private static final long NOW = 1_700_000_000_000L;
+
+  /** Tick of the timing wheel, and the step of the clock. */
+  private static final long TICK_MS = 5L;
+
+  /** Backoff before the first retry, in milliseconds. */
+  private static final long BACKOFF_MS = 100L;
+
+  /** How long to wait for the scheduler threads, in milliseconds. */
+  private static final long WAIT_MS = 5_000L;
+
+  /** The current time. */
+  private final AtomicLong now = new AtomicLong(NOW);
+
+  /** The auction, whose deadline has passed. */
+  private final UUID auctionId = UUID.randomUUID();
+
+  /** The auction repository. */
+  private final AuctionRepository auctionRepository =
+      mock(AuctionRepository.class);
+
+  /** The bid engine. */
+  private final BidEngine bidEngine = mock(BidEngine.class);
+
+  /** The scheduler under test. */
+  private AuctionLifecycleScheduler scheduler;
+
+  @BeforeEach
+  void setUp() {
+    AuctionClock.install(now::get);
+    when(auctionRepository.streamByStatus(AuctionStatus.SCHEDULED,
+        1_000)).thenReturn(Stream.empty());
+    when(auctionRepository.streamByStatus(AuctionStatus.ACTIVE, 1_000))
+        .thenReturn(Stream.empty());
+  }
+
+  @AfterEach
+  void tearDown() {
+    scheduler.stop();
+    AuctionClock.install(System::currentTimeMillis);
+  }
+
+  @Test
+  void failedEndIsRetried() {
+    Auction auction = auction(AuctionStatus.ACTIVE);
+    when(auctionRepository.streamByStatus(AuctionStatus.ACTIVE, 1_000))
+        .thenReturn(Stream.of(auction));
+    when(bidEngine.close(auctionId))
+        .thenReturn(CompletableFuture.failedFuture(
+            new RateLimitException("Bid engine is saturated.")))
+        .thenReturn(CompletableFuture.completedFuture(
+            new CloseOutcome(AuctionStatus.COMPLETED, 0L)));
+    when(auctionRepository.transitionStatus(auctionId,
+        AuctionStatus.ACTIVE, AuctionStatus.COMPLETED)).thenReturn(1);
+
+    start();
+
+    advanceUntil(() -> verify(auctionRepository, timeout(TICK_MS))
+        .transitionStatus(auctionId, AuctionStatus.ACTIVE,
+            AuctionStatus.COMPLETED));
+    verify(bidEngine, times(2)).close(auctionId);
+    assertThat(now.get() - NOW).isGreaterThan(BACKOFF_MS);
+  }
+
+  @Test
+  void failedActivationIsRetried() {
+    Auction scheduled = auction(AuctionStatus.SCHEDULED);
+    Auction active = auction(AuctionStatus.ACTIVE);
+    when(active.getEndMs()).thenReturn(Long.MAX_VALUE / 2);
+    when(auctionRepository.streamByStatus(AuctionStatus.SCHEDULED, 1_000))
+        .thenReturn(Stream.of(scheduled));
+    when(auctionRepository.transitionStatus(auctionId,
+        AuctionStatus.SCHEDULED, AuctionStatus.ACTIVE))
+        .thenThrow(new QueryTimeoutException("timeout"))
+        .thenReturn(1);
+    when(auctionRepository.findById(auctionId))
+        .thenReturn(Optional.of(active));
+
+    start();
+
+    advanceUntil(() -> verify(bidEngine, timeout(TICK_MS)).register(active));
+    assertThat(now.get() - NOW).isGreaterThan(BACKOFF_MS);
+  }
+
+  @Test
+  void activationFailingAfterTheUpdateIsCompletedByTheRetry() {
+    Auction scheduled = auction(AuctionStatus.SCHEDULED);
+    Auction active = auction(AuctionStatus.ACTIVE);
+    when(active.getEndMs()).thenReturn(Long.MAX_VALUE / 2);
+    when(auctionRepository.streamByStatus(AuctionStatus.SCHEDULED, 1_000))
+        .thenReturn(Stream.of(scheduled));
+    when(auctionRepository.transitionStatus(auctionId,
+        AuctionStatus.SCHEDULED, AuctionStatus.ACTIVE))
+        .thenReturn(1)
+        .thenReturn(0);
+    when(auctionRepository.findById(auctionId))
+        .thenThrow(new QueryTimeoutException("timeout"))
+        .thenReturn(Optional.of(active));
+
+    start();
+
+    advanceUntil(() -> verify(bidEngine, timeout(TICK_MS)).register(active));
+    assertThat(now.get() - NOW).isGreaterThan(BACKOFF_MS);
+  }
+
+  @Test
+  void auctionsEndAsTheClockPassesTheirDeadlines() {
+    List<List<Auction>> waves = new ArrayList<>();
+    List<Auction> all = new ArrayList<>();
+    for (int wave = 0; wave < 4; wave++) {
+      List<Auction> auctions = new ArrayList<>();
+      for (int i = 0; i < 25; i++) {
+        auctions.add(endingAt(NOW + 1_000L * wave + 500L));
+      }
+      waves.add(auctions);
+      all.addAll(auctions);
+    }
+    when(auctionRepository.streamByStatus(AuctionStatus.ACTIVE, 1_000))
+        .thenReturn(all.stream());
+    when(bidEngine.close(any())).thenReturn(CompletableFuture
+        .completedFuture(new CloseOutcome(AuctionStatus.COMPLETED, 0L)));
+    when(auctionRepository.transitionStatus(any(),
+        eq(AuctionStatus.ACTIVE), eq(AuctionStatus.COMPLETED)))
+        .thenReturn(1);
+
+    start();
+
+    for (int wave = 0; wave < waves.size(); wave++) {
+      now.set(NOW + 1_000L * (wave + 1));
+
+      for (Auction ended : waves.get(wave)) {
+        assertThat(ended.hasEnded()).isTrue();
+        verify(auctionRepository, timeout(WAIT_MS)).transitionStatus(
+            ended.getId(), AuctionStatus.ACTIVE, AuctionStatus.COMPLETED);
+      }
+      for (Auction open : waves.subList(wave + 1, waves.size()).stream()
+          .flatMap(List::stream).toList()) {
+        assertThat(open.isActive()).isTrue();
+        verify(bidEngine, never()).close(open.getId());
+      }
+    }
+    verify(bidEngine, times(all.size())).close(any());
+  }
+
+  /**
+   * Starts the scheduler with a {@link #TICK_MS} tick and a
+   * {@link #BACKOFF_MS} first retry.
+   */
+  private void start() {
+    LifecycleProperties properties = new LifecycleProperties();
+    properties.setTickMs(TICK_MS);
+    properties.setRetryBackoffMs(BACKOFF_MS);
+    scheduler = new AuctionLifecycleScheduler(auctionRepository, bidEngine,
+        properties, AuctionClock::millis,
+        mock(ApplicationEventPublisher.class), new SimpleMeterRegistry());
+    scheduler.start();
+  }
+
+  /**
+   * Steps the clock one tick at a time until a verification passes.
+   *
+   * @param verification the verification, waiting up to a tick each step
+   */
+  private void advanceUntil(final Runnable verification) {
+    long deadline = System.currentTimeMillis() + WAIT_MS;
+    while (true) {
+      now.addAndGet(TICK_MS);
+      try {
+        verification.run();
+        return;
+      } catch (AssertionError ex) {
+        if (System.currentTimeMillis() > deadline) {
+          throw ex;
+        }
+      }
+    }
+  }
+
+  /**
+   * Mocks the auction in a status, with deadlines that have passed.
+   *
+   * @param status the status
+   * @return the auction
+   */
+  private Auction auction(final AuctionStatus status) {
+    Auction auction = mock(Auction.class);
+    when(auction.getId()).thenReturn(auctionId);
+    when(auction.getStatus()).thenReturn(status);
+    return auction;
+  }
+
+  /**
+   * Creates an active auction that started an hour ago.
+   *
+   * @param endMs its end time
+   * @return the auction
+   */
+  private static Auction endingAt(final long endMs) {
+    Auction auction = new Auction("Auction", "art", new BigDecimal("10.00"),
+        AuctionClock.toLocalDateTime(NOW - 3_600_000L),
+        AuctionClock.toLocalDateTime(endMs), null);
+    auction.setId(UUID.randomUUID());
+    auction.setStatus(AuctionStatus.ACTIVE);
+    return auction;
+  }
+}
@@ -0,0 +1,205 @@
+package com.bidstream.service.lifecycle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.bidstream.event.AuctionChangedEvent;
+import com.bidstream.event.AuctionChangedEvent.ChangeType;
+import com.bidstream.event.AuctionStateChangedEvent;
+import com.bidstream.model.entity.Auction;
+import com.bidstream.model.entity.AuctionStatus;
+import com.bidstream.model.time.AuctionClock;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Checks the ending-soon index on a clock stepped by hand: keyset paging
+ * through equal end times, skipping of ended and unstarted auctions,
+ * soft-close moves, removal and the staleness gauge.
+ */
+class EndingSoonIndexTest {
+
+  /** The starting time of every test, in epoch milliseconds. */
+  private static final long NOW = 1_700_000_000_000L;
+
+  /** The current time. */
+  private final AtomicLong now = new AtomicLong(NOW);
+
+  /** Metrics of the index. */
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  /** The index under test, never loaded from the database. */
+  private final EndingSoonIndex index = new EndingSoonIndex(
+      mock(JdbcTemplate.class), now::get, registry);
+
+  @Test
+  void pagesThroughEqualEndTimesByIdOnce() {
+    List<UUID> tied = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      tied.add(activate(NOW + 60_000L));
+    }
+    UUID later = activate(NOW + 120_000L);
+    tied.sort(Comparator.naturalOrder());
+
+    List<EndingAuction> listed = new ArrayList<>();
+    long afterEndMs = Long.MIN_VALUE;
+    UUID afterId = null;
+    List<EndingAuction> page;
+    do {
+      page = index.endingBetween(NOW, Long.MAX_VALUE, afterEndMs, afterId,
+          2);
+      listed.addAll(page);
+      if (!page.isEmpty()) {
+        afterEndMs = page.get(page.size() - 1).endTimeMs();
+        afterId = page.get(page.size() - 1).auctionId();
+      }
+    } while (!page.isEmpty());
+
+    List<UUID> expected = new ArrayList<>(tied);
+    expected.add(later);
+    assertThat(listed).extracting(EndingAuction::auctionId)
+        .containsExactlyElementsOf(expected);
+  }
+
+  @Test
+  void skipsEndedAndUnstartedAuctionsAndStopsAtTheCutoff() {
+    UUID ended = activate(NOW);
+    UUID soon = activate(NOW + 1_000L);
+    UUID unstarted = save(auction(NOW + 500L, NOW + 2_000L));
+    UUID late = activate(NOW + 10_000L);
+
+    assertThat(index.endingBetween(NOW, NOW + 5_000L, Long.MIN_VALUE, null,
+        10)).extracting(EndingAuction::auctionId).containsExactly(soon);
+
+    now.set(NOW + 600L);
+
+    assertThat(index.endingSoonest(10)).extracting(EndingAuction::auctionId)
+        .containsExactly(soon, unstarted, late)
+        .doesNotContain(ended);
+  }
+
+  @Test
+  void softCloseExtensionMovesTheAuction() {
+    UUID extended = activate(NOW + 1_000L);
+    UUID other = activate(NOW + 2_000L);
+
+    index.onAuctionStateChanged(new AuctionStateChangedEvent(extended,
+        AuctionStatus.ACTIVE, NOW + 3_000L));
+
+    assertThat(index.endingSoonest(10)).containsExactly(
+        new EndingAuction(other, NOW + 2_000L),
+        new EndingAuction(extended, NOW + 3_000L));
+    assertThat(index.size()).isEqualTo(2);
+  }
+
+  @Test
+  void softCloseKeepsTheStartTime() {
+    UUID unstarted = save(auction(NOW + 500L, NOW + 2_000L));
+
+    index.onAuctionStateChanged(new AuctionStateChangedEvent(unstarted,
+        AuctionStatus.ACTIVE, NOW + 3_000L));
+
+    assertThat(index.endingSoonest(10)).isEmpty();
+  }
+
+  @Test
+  void endAndDeleteRemoveTheAuction() {
+    UUID ended = activate(NOW + 1_000L);
+    Auction deleted = auction(NOW - 1_000L, NOW + 2_000L);
+    save(deleted);
+    Auction cancelled = auction(NOW - 1_000L, NOW + 3_000L);
+    save(cancelled);
+
+    index.onAuctionStateChanged(new AuctionStateChangedEvent(ended,
+        AuctionStatus.COMPLETED, NOW + 1_000L));
+    index.onAuctionChanged(new AuctionChangedEvent(deleted,
+        ChangeType.DELETED));
+    cancelled.setStatus(AuctionStatus.CANCELLED);
+    index.onAuctionChanged(new AuctionChangedEvent(cancelled,
+        ChangeType.UPDATED));
+
+    assertThat(index.endingSoonest(10)).isEmpty();
+    assertThat(index.size()).isZero();
+    assertThat(gauge("bidstream.ending.index.auctions")).isZero();
+  }
+
+  @Test
+  void stalenessIsTheAgeOfTheOldestOverdueAuction() {
+    UUID first = activate(NOW + 1_000L);
+    activate(NOW + 2_000L);
+
+    assertThat(gauge("bidstream.ending.index.staleness")).isZero();
+
+    now.set(NOW + 2_500L);
+
+    assertThat(gauge("bidstream.ending.index.staleness")).isEqualTo(1_500.0);
+    assertThat(index.endingSoonest(10)).isEmpty();
+
+    index.onAuctionStateChanged(new AuctionStateChangedEvent(first,
+        AuctionStatus.COMPLETED, NOW + 1_000L));
+
+    assertThat(gauge("bidstream.ending.index.staleness")).isEqualTo(500.0);
+  }
+
+  /**
+   * Activates a new auction through a state change, as the scheduler
+   * does.
+   *
+   * @param endMs the end time
+   * @return the auction id
+   */
+  private UUID activate(final long endMs) {
+    UUID auctionId = UUID.randomUUID();
+    index.onAuctionStateChanged(new AuctionStateChangedEvent(auctionId,
+        AuctionStatus.ACTIVE, endMs));
+    return auctionId;
+  }
+
+  /**
+   * Publishes a save of an auction to the index.
+   *
+   * @param auction the auction
+   * @return the auction id
+   */
+  private UUID save(final Auction auction) {
+    index.onAuctionChanged(new AuctionChangedEvent(auction,
+        ChangeType.UPDATED));
+    return auction.getId();
+  }
+
+  /**
+   * Creates an active auction.
+   *
+   * @param startMs the start time
+   * @param endMs   the end time
+   * @return the auction
+   */
+  private static Auction auction(final long startMs, final long endMs) {
+    Auction auction = new Auction("Clock", "home", new BigDecimal("10.00"),
+        AuctionClock.toLocalDateTime(startMs),
+        AuctionClock.toLocalDateTime(endMs), null);
+    auction.setId(UUID.randomUUID());
+    auction.setStatus(AuctionStatus.ACTIVE);
+    return auction;
+  }
+
+  /**
+   * Reads a gauge of the index.
+   *
+   * @param name the gauge name
+   * @return its value
+   */
+  private double gauge(final String name) {
+    return registry.get(name).gauge().value();
+  }
+}
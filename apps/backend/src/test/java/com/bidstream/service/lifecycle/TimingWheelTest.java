@@ -0,0 +1,173 @@
+package com.bidstream.service.lifecycle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that timeouts fire within one tick after their deadline on every
+ * level, including after cascading down from coarser levels or being
+ * parked beyond the top level, and that cancelled and re-armed timeouts
+ * fire only at their latest deadline.
+ */
+class TimingWheelTest {
+
+  /** Duration of one level 0 slot. */
+  private static final long TICK_MS = 10L;
+
+  /** Slots per level. */
+  private static final int SLOTS = 8;
+
+  /** Levels; together they span 8 * 8 * 8 ticks. */
+  private static final int LEVELS = 3;
+
+  /** The wheel under test, starting at time 0. */
+  private final TimingWheel<String> wheel =
+      new TimingWheel<>(TICK_MS, SLOTS, LEVELS, 0L);
+
+  /** Payloads fired so far, in order. */
+  private final List<String> fired = new ArrayList<>();
+
+  @Test
+  void levelZeroTimeoutFiresOnceItsTickElapses() {
+    wheel.schedule(25L, "a");
+
+    wheel.advance(29L, fired::add);
+    assertThat(fired).isEmpty();
+
+    wheel.advance(30L, fired::add);
+    assertThat(fired).containsExactly("a");
+    assertThat(wheel.size()).isZero();
+  }
+
+  @Test
+  void timeoutCascadesDownFromHigherLevels() {
+    wheel.schedule(500L, "level1");
+    wheel.schedule(3_000L, "level2");
+
+    stepTo(499L);
+    assertThat(fired).isEmpty();
+    stepTo(510L);
+    assertThat(fired).containsExactly("level1");
+
+    stepTo(2_999L);
+    assertThat(fired).containsExactly("level1");
+    stepTo(3_010L);
+    assertThat(fired).containsExactly("level1", "level2");
+  }
+
+  @Test
+  void timeoutBeyondTheTopLevelIsParkedUntilItsDeadline() {
+    wheel.schedule(20_005L, "far");
+
+    stepTo(20_009L);
+    assertThat(fired).isEmpty();
+    stepTo(20_010L);
+    assertThat(fired).containsExactly("far");
+  }
+
+  @Test
+  void singleAdvanceFiresEveryElapsedTimeoutInDeadlineOrder() {
+    wheel.schedule(7_000L, "c");
+    wheel.schedule(40L, "a");
+    wheel.schedule(900L, "b");
+
+    wheel.advance(10_000L, fired::add);
+
+    assertThat(fired).containsExactly("a", "b", "c");
+  }
+
+  @Test
+  void pastDeadlineFiresOnTheNextTick() {
+    wheel.advance(1_000L, fired::add);
+    wheel.schedule(5L, "late");
+
+    wheel.advance(wheel.nextTickMs(), fired::add);
+
+    assertThat(fired).containsExactly("late");
+  }
+
+  @Test
+  void cancelledTimeoutNeverFires() {
+    TimingWheel.Timeout<String> timeout = wheel.schedule(600L, "a");
+    wheel.cancel(timeout);
+    wheel.cancel(timeout);
+
+    stepTo(1_000L);
+
+    assertThat(fired).isEmpty();
+    assertThat(wheel.size()).isZero();
+  }
+
+  @Test
+  void reArmedTimeoutFiresOnlyAtItsNewDeadline() {
+    TimingWheel.Timeout<String> first = wheel.schedule(100L, "a");
+    wheel.cancel(first);
+    TimingWheel.Timeout<String> later = wheel.schedule(700L, "a");
+
+    stepTo(200L);
+    assertThat(fired).isEmpty();
+
+    wheel.cancel(later);
+    wheel.schedule(300L, "a");
+    stepTo(310L);
+    assertThat(fired).containsExactly("a");
+    assertThat(wheel.size()).isZero();
+  }
+
+  @Test
+  void timeoutReArmedFromItsCallbackFiresAgainLater() {
+    wheel.schedule(50L, "a");
+
+    wheel.advance(60L, payload -> {
+      fired.add(payload);
+      wheel.schedule(1_000L, payload);
+    });
+    assertThat(fired).containsExactly("a");
+    assertThat(wheel.size()).isEqualTo(1);
+
+    stepTo(1_010L);
+    assertThat(fired).containsExactly("a", "a");
+  }
+
+  @Test
+  void randomDeadlinesFireWithinOneTick() {
+    Random random = new Random(42L);
+    Map<String, Long> deadlines = new HashMap<>();
+    for (int i = 0; i < 2_000; i++) {
+      long deadline = random.nextLong(100_000L);
+      deadlines.put("t" + i, deadline);
+      wheel.schedule(deadline, "t" + i);
+    }
+
+    Map<String, Long> firedAt = new HashMap<>();
+    for (long now = 0; now <= 100_000L + TICK_MS; now += TICK_MS) {
+      long at = now;
+      wheel.advance(now, payload ->
+          assertThat(firedAt.put(payload, at)).isNull());
+    }
+
+    assertThat(firedAt).hasSameSizeAs(deadlines);
+    deadlines.forEach((payload, deadline) ->
+        assertThat(firedAt.get(payload)).isGreaterThan(deadline)
+            .isLessThanOrEqualTo(deadline + TICK_MS));
+  }
+
+  /**
+   * Advances the wheel one tick at a time, as the scheduler thread does.
+   *
+   * @param nowMs the time to advance to
+   */
+  private void stepTo(final long nowMs) {
+    for (long time = wheel.nextTickMs(); time <= nowMs; time += TICK_MS) {
+      wheel.advance(time, fired::add);
+    }
+    wheel.advance(nowMs, fired::add);
+  }
+}
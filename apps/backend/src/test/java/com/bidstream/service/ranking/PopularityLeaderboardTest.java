@@ -0,0 +1,127 @@
+package com.bidstream.service.ranking;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.bidstream.config.RankingProperties;
+import com.bidstream.event.AuctionChangedEvent;
+import com.bidstream.event.AuctionChangedEvent.ChangeType;
+import com.bidstream.event.AuctionStateChangedEvent;
+import com.bidstream.model.entity.Auction;
+import com.bidstream.model.entity.AuctionStatus;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Checks that auction changes move auctions between the boards of their
+ * status and category, and that score changes reorder them.
+ */
+class PopularityLeaderboardTest {
+
+  /** The leaderboard under test, never loaded from the database. */
+  private final PopularityLeaderboard leaderboard = new PopularityLeaderboard(
+      mock(JdbcTemplate.class), new RankingProperties(),
+      new SimpleMeterRegistry());
+
+  @Test
+  void bidsMoveAnAuctionUpItsBoards() {
+    Auction lamp = save(auction("home", 2));
+    Auction chair = save(auction("home", 1));
+    Auction print = save(auction("art", 3));
+
+    chair.setBidCount(5);
+    save(chair);
+
+    assertThat(leaderboard.top(null, null, 0, 10))
+        .extracting(LeaderboardEntry::auctionId)
+        .containsExactly(chair.getId(), print.getId(), lamp.getId());
+    assertThat(leaderboard.top(AuctionStatus.ACTIVE, "home", 0, 10))
+        .extracting(LeaderboardEntry::auctionId)
+        .containsExactly(chair.getId(), lamp.getId());
+    assertThat(leaderboard.rank(lamp.getId(), false, false))
+        .hasValueSatisfying(entry -> assertThat(entry.rank()).isEqualTo(2));
+    assertThat(leaderboard.rank(lamp.getId(), true, true))
+        .hasValueSatisfying(entry -> assertThat(entry.rank()).isEqualTo(1));
+  }
+
+  @Test
+  void statusChangeMovesAnAuctionToItsNewStatusBoards() {
+    Auction lamp = save(auction("home", 2));
+    Auction chair = save(auction("home", 1));
+
+    leaderboard.onAuctionStateChanged(new AuctionStateChangedEvent(
+        lamp.getId(), AuctionStatus.COMPLETED, 0L));
+
+    assertThat(leaderboard.top(AuctionStatus.ACTIVE, "home", 0, 10))
+        .extracting(LeaderboardEntry::auctionId)
+        .containsExactly(chair.getId());
+    assertThat(leaderboard.top(AuctionStatus.COMPLETED, null, 0, 10))
+        .extracting(LeaderboardEntry::auctionId)
+        .containsExactly(lamp.getId());
+    assertThat(leaderboard.top(null, "home", 0, 10)).hasSize(2);
+  }
+
+  @Test
+  void deletedAuctionLeavesEveryBoard() {
+    Auction lamp = save(auction("home", 2));
+
+    leaderboard.onAuctionChanged(new AuctionChangedEvent(lamp,
+        ChangeType.DELETED));
+
+    assertThat(leaderboard.size()).isZero();
+    assertThat(leaderboard.top(null, null, 0, 10)).isEmpty();
+    assertThat(leaderboard.top(AuctionStatus.ACTIVE, "home", 0, 10))
+        .isEmpty();
+    assertThat(leaderboard.rank(lamp.getId(), false, false)).isEmpty();
+  }
+
+  @Test
+  void afterPagesByScoreThenId() {
+    for (int i = 0; i < 5; i++) {
+      save(auction("art", 1));
+    }
+    save(auction("art", 2));
+
+    LeaderboardEntry first = leaderboard.top(null, "art", 0, 2).get(1);
+    assertThat(leaderboard.after(null, "art", first.score(),
+        first.auctionId(), 10))
+        .extracting(LeaderboardEntry::rank)
+        .containsExactly(2, 3, 4, 5);
+  }
+
+  /**
+   * Publishes a save of an auction to the leaderboard.
+   *
+   * @param auction the auction
+   * @return the auction
+   */
+  private Auction save(final Auction auction) {
+    leaderboard.onAuctionChanged(new AuctionChangedEvent(auction,
+        ChangeType.UPDATED));
+    return auction;
+  }
+
+  /**
+   * Creates an active auction.
+   *
+   * @param category the category
+   * @param bids     the bid count
+   * @return the auction
+   */
+  private static Auction auction(final String category, final int bids) {
+    LocalDateTime start = LocalDateTime.now();
+    Auction auction = new Auction("Auction", category,
+        new BigDecimal("10.00"), start, start.plusDays(1), null);
+    auction.setId(UUID.randomUUID());
+    auction.setStatus(AuctionStatus.ACTIVE);
+    auction.setBidCount(bids);
+    return auction;
+  }
+}
@@ -0,0 +1,164 @@
+package com.bidstream.service.ranking;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the span bookkeeping of the skip list against a sorted reference
+ * list through random adds and removes, then ties, stale scores and
+ * cursor paging.
+ */
+class RankedSetTest {
+
+  /** Order of the set: higher scores first, ties by ascending id. */
+  private static final Comparator<LeaderboardEntry> ORDER =
+      Comparator.comparingLong(LeaderboardEntry::score).reversed()
+          .thenComparing(LeaderboardEntry::auctionId);
+
+  /** The set under test. */
+  private final RankedSet set = new RankedSet();
+
+  @Test
+  void randomAddsAndRemovesMatchASortedList() {
+    Random random = new Random(42L);
+    List<LeaderboardEntry> reference = new ArrayList<>();
+
+    for (int step = 0; step < 3_000; step++) {
+      if (reference.isEmpty() || random.nextInt(3) > 0) {
+        LeaderboardEntry entry = new LeaderboardEntry(UUID.randomUUID(),
+            random.nextInt(50), 0);
+        set.add(entry.auctionId(), entry.score());
+        reference.add(entry);
+      } else {
+        LeaderboardEntry entry =
+            reference.remove(random.nextInt(reference.size()));
+        assertThat(set.remove(entry.auctionId(), entry.score())).isTrue();
+      }
+      reference.sort(ORDER);
+
+      if (step % 100 == 0) {
+        assertMatches(reference);
+      }
+    }
+    assertMatches(reference);
+  }
+
+  @Test
+  void tiesAreOrderedById() {
+    UUID low = new UUID(0L, 1L);
+    UUID middle = new UUID(0L, 2L);
+    UUID high = new UUID(0L, 3L);
+    set.add(high, 7L);
+    set.add(low, 7L);
+    set.add(new UUID(0L, 9L), 8L);
+    set.add(middle, 7L);
+
+    assertThat(set.range(1, 3)).extracting(LeaderboardEntry::auctionId)
+        .containsExactly(low, middle, high);
+    assertThat(set.rank(middle, 7L)).isEqualTo(2);
+  }
+
+  @Test
+  void scoreUpdateMovesTheEntry() {
+    UUID first = new UUID(0L, 1L);
+    UUID second = new UUID(0L, 2L);
+    UUID climber = new UUID(0L, 3L);
+    set.add(first, 30L);
+    set.add(second, 20L);
+    set.add(climber, 10L);
+
+    assertThat(set.remove(climber, 10L)).isTrue();
+    set.add(climber, 25L);
+
+    assertThat(set.range(0, 3)).containsExactly(
+        new LeaderboardEntry(first, 30L, 0),
+        new LeaderboardEntry(climber, 25L, 1),
+        new LeaderboardEntry(second, 20L, 2));
+  }
+
+  @Test
+  void staleScoreFindsNothing() {
+    UUID auction = new UUID(0L, 1L);
+    set.add(auction, 10L);
+    set.add(new UUID(0L, 2L), 5L);
+
+    assertThat(set.rank(auction, 7L)).isEqualTo(-1);
+    assertThat(set.rank(auction, 12L)).isEqualTo(-1);
+    assertThat(set.remove(auction, 4L)).isFalse();
+    assertThat(set.remove(new UUID(0L, 3L), 10L)).isFalse();
+    assertThat(set.size()).isEqualTo(2);
+  }
+
+  @Test
+  void rangeOutsideTheSetIsEmpty() {
+    set.add(UUID.randomUUID(), 1L);
+
+    assertThat(set.range(1, 5)).isEmpty();
+    assertThat(set.range(-1, 5)).isEmpty();
+    assertThat(set.range(0, 0)).isEmpty();
+    assertThat(set.range(0, 5)).hasSize(1);
+  }
+
+  @Test
+  void afterPagesThroughEveryEntryOnce() {
+    Random random = new Random(7L);
+    for (int i = 0; i < 100; i++) {
+      set.add(UUID.randomUUID(), random.nextInt(10));
+    }
+
+    List<LeaderboardEntry> paged = new ArrayList<>(set.range(0, 7));
+    List<LeaderboardEntry> page = paged;
+    while (!page.isEmpty()) {
+      LeaderboardEntry last = page.get(page.size() - 1);
+      page = set.after(last.score(), last.auctionId(), 7);
+      paged.addAll(page);
+    }
+
+    assertThat(paged).isEqualTo(set.range(0, 100));
+  }
+
+  @Test
+  void afterContinuesFromAPositionNoLongerInTheSet() {
+    UUID first = new UUID(0L, 1L);
+    UUID gone = new UUID(0L, 2L);
+    UUID third = new UUID(0L, 3L);
+    set.add(first, 5L);
+    set.add(gone, 5L);
+    set.add(third, 5L);
+    set.remove(gone, 5L);
+
+    assertThat(set.after(5L, gone, 10)).containsExactly(
+        new LeaderboardEntry(third, 5L, 1));
+    assertThat(set.after(6L, third, 10)).hasSize(2);
+    assertThat(set.after(5L, third, 10)).isEmpty();
+  }
+
+  /**
+   * Checks size, every rank and several ranges against the reference.
+   *
+   * @param reference the expected entries, in order
+   */
+  private void assertMatches(final List<LeaderboardEntry> reference) {
+    assertThat(set.size()).isEqualTo(reference.size());
+
+    List<LeaderboardEntry> ranked = new ArrayList<>();
+    for (int i = 0; i < reference.size(); i++) {
+      LeaderboardEntry entry = reference.get(i);
+      ranked.add(new LeaderboardEntry(entry.auctionId(), entry.score(), i));
+      assertThat(set.rank(entry.auctionId(), entry.score())).isEqualTo(i);
+    }
+
+    assertThat(set.range(0, reference.size())).isEqualTo(ranked);
+    for (int offset = 0; offset < reference.size(); offset += 37) {
+      assertThat(set.range(offset, 10)).isEqualTo(ranked.subList(offset,
+          Math.min(offset + 10, ranked.size())));
+    }
+  }
+}
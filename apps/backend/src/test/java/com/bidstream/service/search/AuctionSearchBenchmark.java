@@ -0,0 +1,146 @@
+package com.bidstream.service.search;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bidstream.event.AuctionChangedEvent;
+import com.bidstream.event.AuctionChangedEvent.ChangeType;
+import com.bidstream.model.entity.Auction;
+import com.bidstream.model.entity.AuctionStatus;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Query latency of the in-memory search index over a synthetic catalog.
+ *
+ * <p>
+ * Titles and descriptions draw from a skewed vocabulary of
+ * {@value #VOCABULARY} words, so {@code w0} is in most auctions and
+ * {@code w4000} in few. The queries cover a common term, a rare term, a
+ * rare term intersected with a common one and two common terms, each by
+ * relevance, by end time and filtered to active auctions.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuctionSearchBenchmark {
+
+  /** Distinct words in the catalog. */
+  private static final int VOCABULARY = 5_000;
+
+  /** Words per title. */
+  private static final int TITLE_WORDS = 4;
+
+  /** Words per description. */
+  private static final int DESCRIPTION_WORDS = 20;
+
+  /** Categories in the catalog. */
+  private static final String[] CATEGORIES =
+      {"art", "books", "electronics", "fashion", "home", "music"};
+
+  /** Results per query. */
+  private static final int LIMIT = 20;
+
+  /** Auctions in the catalog. */
+  @Param("100000")
+  private int auctions;
+
+  /** The query. */
+  @Param({"w0", "w4000", "w4000 w0", "w0 w1"})
+  private String query;
+
+  /** The index under test. */
+  private AuctionSearchIndex index;
+
+  /**
+   * Builds the catalog, three quarters of it active.
+   */
+  @Setup(Level.Trial)
+  public void index() {
+    index = new AuctionSearchIndex(null, new SimpleMeterRegistry());
+    Random random = new Random(42L);
+    LocalDateTime now = LocalDateTime.now();
+
+    for (int i = 0; i < auctions; i++) {
+      Auction auction = new Auction(words(random, TITLE_WORDS),
+          CATEGORIES[random.nextInt(CATEGORIES.length)],
+          BigDecimal.TEN, now, now.plusMinutes(random.nextInt(10_000)),
+          null);
+      auction.setId(UUID.randomUUID());
+      auction.setDescription(words(random, DESCRIPTION_WORDS));
+      auction.setStatus(i % 4 == 0
+          ? AuctionStatus.COMPLETED
+          : AuctionStatus.ACTIVE);
+      index.onAuctionChanged(new AuctionChangedEvent(auction,
+          ChangeType.CREATED));
+    }
+  }
+
+  /**
+   * Searches by relevance.
+   *
+   * @return the hits
+   */
+  @Benchmark
+  public List<SearchHit> byRelevance() {
+    return index.search(query, null, SearchOrder.RELEVANCE, LIMIT);
+  }
+
+  /**
+   * Searches by end time.
+   *
+   * @return the hits
+   */
+  @Benchmark
+  public List<SearchHit> byEndTime() {
+    return index.search(query, null, SearchOrder.END_TIME, LIMIT);
+  }
+
+  /**
+   * Searches active auctions by relevance.
+   *
+   * @return the hits
+   */
+  @Benchmark
+  public List<SearchHit> activeByRelevance() {
+    return index.search(query, AuctionStatus.ACTIVE, SearchOrder.RELEVANCE,
+        LIMIT);
+  }
+
+  /**
+   * Draws words from the skewed vocabulary.
+   *
+   * @param random the random source
+   * @param count  the number of words
+   * @return the words, space separated
+   */
+  private static String words(final Random random, final int count) {
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < count; i++) {
+      double skewed = Math.pow(random.nextDouble(), 3);
+      text.append(" w").append((int) (skewed * VOCABULARY));
+    }
+    return text.toString();
+  }
+}
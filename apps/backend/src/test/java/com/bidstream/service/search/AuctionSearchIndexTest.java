@@ -0,0 +1,154 @@
+package com.bidstream.service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.bidstream.event.AuctionChangedEvent;
+import com.bidstream.event.AuctionChangedEvent.ChangeType;
+import com.bidstream.event.AuctionStateChangedEvent;
+import com.bidstream.model.entity.Auction;
+import com.bidstream.model.entity.AuctionStatus;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Checks that the index follows auction changes: saved auctions are
+ * reindexed even when their text hashes alike, state changes apply in
+ * place, and compaction keeps every live auction findable.
+ */
+class AuctionSearchIndexTest {
+
+  /** The index under test, never loaded from the database. */
+  private final AuctionSearchIndex index = new AuctionSearchIndex(
+      mock(JdbcTemplate.class), new SimpleMeterRegistry());
+
+  @Test
+  void queryMatchesEveryTermWithTitleWeightedHighest() {
+    Auction inTitle = save(auction("Vintage guitar", "music"));
+    Auction inDescription = auction("Amplifier", "music");
+    inDescription.setDescription("Fits any vintage guitar");
+    save(inDescription);
+    save(auction("Vintage lamp", "home"));
+
+    assertThat(ids(index.search("guitar vintage", null,
+        SearchOrder.RELEVANCE, 10)))
+        .containsExactly(inTitle.getId(), inDescription.getId());
+  }
+
+  @Test
+  void textChangeIsReindexedEvenWhenItsHashCollides() {
+    Auction auction = save(auction("Aa", "art"));
+    auction.setTitle("BB");
+    assertThat("Aa".hashCode()).isEqualTo("BB".hashCode());
+
+    save(auction);
+
+    assertThat(ids(index.search("bb", null, SearchOrder.RELEVANCE, 10)))
+        .containsExactly(auction.getId());
+    assertThat(index.search("aa", null, SearchOrder.RELEVANCE, 10))
+        .isEmpty();
+  }
+
+  @Test
+  void stateChangeAppliesInPlace() {
+    Auction auction = save(auction("Clock", "home"));
+
+    index.onAuctionStateChanged(new AuctionStateChangedEvent(
+        auction.getId(), AuctionStatus.COMPLETED, 42L));
+
+    assertThat(index.search("clock", AuctionStatus.ACTIVE,
+        SearchOrder.RELEVANCE, 10)).isEmpty();
+    assertThat(index.search("clock", AuctionStatus.COMPLETED,
+        SearchOrder.RELEVANCE, 10))
+        .extracting(SearchHit::endTimeMs).containsExactly(42L);
+    assertThat(index.stats().ordinals()).isEqualTo(1);
+  }
+
+  @Test
+  void deletedAuctionIsNotFound() {
+    Auction auction = save(auction("Clock", "home"));
+
+    index.onAuctionChanged(new AuctionChangedEvent(auction,
+        ChangeType.DELETED));
+
+    assertThat(index.search("clock", null, SearchOrder.RELEVANCE, 10))
+        .isEmpty();
+  }
+
+  @Test
+  void compactionKeepsLiveAuctionsFindable() {
+    Auction kept = save(auction("Kept clock", "home"));
+    Auction edited = save(auction("Edited 0", "home"));
+    for (int i = 1; i <= 3_000; i++) {
+      edited.setTitle("Edited " + i);
+      save(edited);
+    }
+
+    assertThat(index.stats().ordinals()).isLessThan(3_000);
+    assertThat(ids(index.search("clock", null, SearchOrder.RELEVANCE, 10)))
+        .containsExactly(kept.getId());
+    assertThat(ids(index.search("edited 3000", null, SearchOrder.RELEVANCE,
+        10))).containsExactly(edited.getId());
+    assertThat(index.search("edited 2999", null, SearchOrder.RELEVANCE, 10))
+        .isEmpty();
+  }
+
+  @Test
+  void endTimeOrderPutsTheSoonestFirst() {
+    Auction later = save(auction("Chair", "home"));
+    Auction sooner = save(auction("Chair", "home"));
+    index.onAuctionStateChanged(new AuctionStateChangedEvent(
+        later.getId(), AuctionStatus.ACTIVE, 2_000L));
+    index.onAuctionStateChanged(new AuctionStateChangedEvent(
+        sooner.getId(), AuctionStatus.ACTIVE, 1_000L));
+
+    assertThat(ids(index.search("chair", null, SearchOrder.END_TIME, 1)))
+        .containsExactly(sooner.getId());
+  }
+
+  /**
+   * Publishes a save of an auction to the index.
+   *
+   * @param auction the auction
+   * @return the auction
+   */
+  private Auction save(final Auction auction) {
+    index.onAuctionChanged(new AuctionChangedEvent(auction,
+        ChangeType.UPDATED));
+    return auction;
+  }
+
+  /**
+   * Creates an active auction.
+   *
+   * @param title    the title
+   * @param category the category
+   * @return the auction
+   */
+  private static Auction auction(final String title, final String category) {
+    LocalDateTime start = LocalDateTime.now();
+    Auction auction = new Auction(title, category, new BigDecimal("10.00"),
+        start, start.plusDays(1), null);
+    auction.setId(UUID.randomUUID());
+    auction.setStatus(AuctionStatus.ACTIVE);
+    return auction;
+  }
+
+  /**
+   * Extracts the auction ids of hits.
+   *
+   * @param hits the hits
+   * @return the ids, in order
+   */
+  private static List<UUID> ids(final List<SearchHit> hits) {
+    return hits.stream().map(SearchHit::auctionId).toList();
+  }
+}
@@ -0,0 +1,134 @@
+package com.bidstream.service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the gap encoding of posting lists across varint widths, cursor
+ * leapfrogging and compaction.
+ */
+class PostingListTest {
+
+  @Test
+  void entriesRoundTripAcrossEveryVarintWidth() {
+    int[] ordinals = {0, 1, 128, 129, 16_512, 2_113_664, 270_549_120,
+        Integer.MAX_VALUE};
+    PostingList list = new PostingList();
+    for (int i = 0; i < ordinals.length; i++) {
+      list.add(ordinals[i], i + 1);
+    }
+
+    assertThat(list.size()).isEqualTo(ordinals.length);
+    assertThat(entries(list)).containsExactly(0, 1, 1, 2, 128, 3, 129, 4,
+        16_512, 5, 2_113_664, 6, 270_549_120, 7, Integer.MAX_VALUE, 8);
+  }
+
+  @Test
+  void denseListCostsAboutTwoBytesPerEntry() {
+    PostingList list = new PostingList();
+    for (int ordinal = 0; ordinal < 10_000; ordinal++) {
+      list.add(ordinal, 1);
+    }
+
+    assertThat(list.capacity()).isLessThan(3 * 10_000);
+  }
+
+  @Test
+  void weightIsCappedAtOneByte() {
+    PostingList list = new PostingList();
+    list.add(5, 1_000);
+
+    assertThat(entries(list)).containsExactly(5, PostingList.MAX_WEIGHT);
+  }
+
+  @Test
+  void outOfOrderOrdinalIsRejected() {
+    PostingList list = new PostingList();
+    list.add(7, 1);
+
+    assertThatThrownBy(() -> list.add(7, 1))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> list.add(3, 1))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void advanceStopsAtOrAfterTheTarget() {
+    PostingList list = new PostingList();
+    for (int ordinal : new int[] {2, 5, 9, 300}) {
+      list.add(ordinal, 1);
+    }
+    PostingList.Cursor cursor = list.cursor();
+
+    assertThat(cursor.advance(5)).isTrue();
+    assertThat(cursor.ordinal()).isEqualTo(5);
+    assertThat(cursor.advance(5)).isTrue();
+    assertThat(cursor.ordinal()).isEqualTo(5);
+    assertThat(cursor.advance(6)).isTrue();
+    assertThat(cursor.ordinal()).isEqualTo(9);
+    assertThat(cursor.advance(200)).isTrue();
+    assertThat(cursor.ordinal()).isEqualTo(300);
+    assertThat(cursor.advance(301)).isFalse();
+  }
+
+  @Test
+  void emptyListHasNoEntries() {
+    PostingList list = new PostingList();
+
+    assertThat(list.cursor().next()).isFalse();
+    assertThat(list.cursor().advance(0)).isFalse();
+  }
+
+  @Test
+  void compactRenumbersAndDropsDeadOrdinals() {
+    PostingList list = new PostingList();
+    list.add(1, 3);
+    list.add(4, 1);
+    list.add(6, 2);
+    list.add(200, 5);
+    int[] remap = new int[201];
+    Arrays.fill(remap, -1);
+    remap[1] = 0;
+    remap[6] = 1;
+    remap[200] = 2;
+
+    PostingList compacted = list.compact(remap);
+
+    assertThat(compacted.size()).isEqualTo(3);
+    assertThat(entries(compacted)).containsExactly(0, 3, 1, 2, 2, 5);
+    assertThat(compacted.capacity()).isEqualTo(6);
+  }
+
+  @Test
+  void compactingEveryOrdinalAwayLeavesAnEmptyList() {
+    PostingList list = new PostingList();
+    list.add(3, 1);
+
+    PostingList compacted = list.compact(new int[] {-1, -1, -1, -1});
+
+    assertThat(compacted.size()).isZero();
+    assertThat(compacted.cursor().next()).isFalse();
+  }
+
+  /**
+   * Decodes a list.
+   *
+   * @param list the list
+   * @return ordinal and weight of every entry, interleaved
+   */
+  private static List<Integer> entries(final PostingList list) {
+    List<Integer> entries = new ArrayList<>();
+    PostingList.Cursor cursor = list.cursor();
+    while (cursor.next()) {
+      entries.add(cursor.ordinal());
+      entries.add(cursor.weight());
+    }
+    return entries;
+  }
+}
@@ -0,0 +1,147 @@
+package com.bidstream.service.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.bidstream.service.search.SuggestionTrie.Term;
+
+/**
+ * Checks that the trie finds terms by the start of any word and keeps each
+ * prefix's heaviest terms in order as weights rise, fall and terms leave.
+ */
+class SuggestionTrieTest {
+
+  /** The trie under test, caching three terms per prefix. */
+  private final SuggestionTrie trie = new SuggestionTrie(3);
+
+  @Test
+  void prefixMatchesTheStartOfAnyWord() {
+    add("Vintage Fender guitar", 5);
+
+    assertThat(texts("vin")).containsExactly("Vintage Fender guitar");
+    assertThat(texts("fender gu")).containsExactly("Vintage Fender guitar");
+    assertThat(texts("GUITAR")).containsExactly("Vintage Fender guitar");
+    assertThat(texts("tage")).isEmpty();
+    assertThat(texts("guitar vintage")).isEmpty();
+  }
+
+  @Test
+  void onlyTheFirstWordStartsAreKeys() {
+    add("a b c d e f g h i j", 1);
+
+    assertThat(texts("h")).containsExactly("a b c d e f g h i j");
+    assertThat(texts("i")).isEmpty();
+  }
+
+  @Test
+  void heaviestComeFirstThenAlphabetical() {
+    add("camera bag", 2);
+    add("camera lens", 7);
+    add("camera strap", 2);
+
+    assertThat(texts("cam"))
+        .containsExactly("camera lens", "camera bag", "camera strap");
+  }
+
+  @Test
+  void eachPrefixKeepsOnlyItsHeaviestTerms() {
+    add("lamp", 1);
+    add("lathe", 4);
+    add("lace", 3);
+    add("ladder", 2);
+
+    assertThat(texts("la")).containsExactly("lathe", "lace", "ladder");
+    assertThat(texts("lam")).containsExactly("lamp");
+  }
+
+  @Test
+  void raisedTermMovesUpAndEvictsTheLightest() {
+    Term lamp = add("lamp", 1);
+    add("lathe", 4);
+    add("lace", 3);
+    add("ladder", 2);
+
+    lamp.adjust(9, 0);
+    trie.raise(lamp);
+
+    assertThat(texts("la")).containsExactly("lamp", "lathe", "lace");
+  }
+
+  @Test
+  void loweredTermLetsAnEvictedOneBackIn() {
+    add("lamp", 1);
+    Term lathe = add("lathe", 4);
+    add("lace", 3);
+    add("ladder", 2);
+
+    lathe.adjust(-4, 0);
+    trie.lower(lathe);
+
+    assertThat(texts("la")).containsExactly("lace", "ladder", "lamp");
+    assertThat(texts("lat")).containsExactly("lathe");
+  }
+
+  @Test
+  void removedTermIsGoneFromEveryPrefix() {
+    add("lamp", 1);
+    Term oldLathe = add("old lathe", 4);
+    add("lace", 3);
+    add("ladder", 2);
+
+    trie.remove(oldLathe);
+
+    assertThat(texts("la")).containsExactly("lace", "ladder", "lamp");
+    assertThat(texts("lat")).isEmpty();
+    assertThat(texts("old")).isEmpty();
+    assertThat(texts("")).containsExactly("lace", "ladder", "lamp");
+  }
+
+  @Test
+  void removedPrefixCanBeAddedAgain() {
+    Term lamp = add("lamp", 1);
+    trie.remove(lamp);
+
+    add("lamp shade", 2);
+
+    assertThat(texts("lamp")).containsExactly("lamp shade");
+  }
+
+  @Test
+  void normalizeLowerCasesAndCapsTheKey() {
+    assertThat(SuggestionTrie.normalize("  Vintage,  GUITAR! "))
+        .isEqualTo("vintage guitar");
+    assertThat(SuggestionTrie.normalize("word ".repeat(20)))
+        .hasSize(SuggestionTrie.MAX_KEY_LENGTH);
+  }
+
+  /**
+   * Adds a title with a weight.
+   *
+   * @param text   the title
+   * @param weight the weight
+   * @return the term
+   */
+  private Term add(final String text, final long weight) {
+    Term term = new Term(SuggestionTrie.normalize(text), text,
+        Suggestion.Kind.TITLE);
+    term.adjust(weight, 1);
+    trie.add(term);
+    return term;
+  }
+
+  /**
+   * Gets the cached texts under a prefix.
+   *
+   * @param prefix the prefix, not yet normalized
+   * @return the texts, in order
+   */
+  private List<String> texts(final String prefix) {
+    return Arrays.stream(trie.top(SuggestionTrie.normalize(prefix)))
+        .map(term -> term.toSuggestion().text())
+        .toList();
+  }
+}
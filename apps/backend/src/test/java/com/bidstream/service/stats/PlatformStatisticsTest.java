@@ -0,0 +1,280 @@
+package com.bidstream.service.stats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import com.bidstream.event.AuctionChangedEvent;
+import com.bidstream.event.AuctionChangedEvent.ChangeType;
+import com.bidstream.event.AuctionPriceChangedEvent;
+import com.bidstream.event.AuctionStateChangedEvent;
+import com.bidstream.event.UserRegisteredEvent;
+import com.bidstream.model.entity.Auction;
+import com.bidstream.model.entity.AuctionStatus;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Checks that the running aggregates follow auction and user changes, and
+ * that reconciliation counts and replaces aggregates that drifted from a
+ * mocked database.
+ */
+class PlatformStatisticsTest {
+
+  /** Auctions in the mocked database. */
+  private final List<Auction> rows = new ArrayList<>();
+
+  /** Registered users in the mocked database. */
+  private long users;
+
+  /** Verified users in the mocked database. */
+  private long verifiedUsers;
+
+  /** Whether the mocked database is down. */
+  private boolean databaseDown;
+
+  /** The mocked database. */
+  private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+  /** Metrics of the statistics. */
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  /** The statistics under test. */
+  private PlatformStatistics statistics;
+
+  @BeforeEach
+  void setUp() {
+    doAnswer(this::query).when(jdbcTemplate).query(anyString(),
+        any(RowCallbackHandler.class));
+    statistics = new PlatformStatistics(jdbcTemplate, registry);
+    statistics.load();
+  }
+
+  @Test
+  void changesMoveCountsAndValues() {
+    Auction lamp = save(auction("home", "10.00"), ChangeType.CREATED);
+    Auction chair = save(auction("home", "20.00"), ChangeType.CREATED);
+    Auction print = save(auction("art", "30.00"), ChangeType.CREATED);
+
+    assertThat(statistics.countActive()).isEqualTo(3L);
+    assertThat(statistics.countByCategory("home")).isEqualTo(2L);
+    assertThat(statistics.totalActiveValue()).isEqualByComparingTo("60.00");
+    assertThat(statistics.averageActivePrice())
+        .isEqualByComparingTo("20.00");
+
+    statistics.onAuctionPriceChanged(new AuctionPriceChangedEvent(
+        chair.getId(), 2_500L, 1));
+
+    assertThat(statistics.totalActiveValue()).isEqualByComparingTo("65.00");
+
+    statistics.onAuctionStateChanged(new AuctionStateChangedEvent(
+        lamp.getId(), AuctionStatus.COMPLETED, 0L));
+
+    assertThat(statistics.countActive()).isEqualTo(2L);
+    assertThat(statistics.countByStatus(AuctionStatus.COMPLETED))
+        .isEqualTo(1L);
+    assertThat(statistics.countByCategory("home")).isEqualTo(2L);
+    assertThat(statistics.averageActivePrice())
+        .isEqualByComparingTo("27.50");
+
+    save(print, ChangeType.DELETED);
+
+    assertThat(statistics.countActive()).isEqualTo(1L);
+    assertThat(statistics.countByCategory("art")).isZero();
+    assertThat(statistics.totalActiveValue()).isEqualByComparingTo("25.00");
+    assertThat(statistics.mostPopularCategories(5)).containsExactly("home");
+  }
+
+  @Test
+  void repeatedChangeIsAppliedOnce() {
+    Auction lamp = save(auction("home", "10.00"), ChangeType.CREATED);
+    save(lamp, ChangeType.UPDATED);
+
+    lamp.setStatus(AuctionStatus.CANCELLED);
+    save(lamp, ChangeType.UPDATED);
+    save(lamp, ChangeType.UPDATED);
+
+    assertThat(statistics.countActive()).isZero();
+    assertThat(statistics.countByStatus(AuctionStatus.CANCELLED))
+        .isEqualTo(1L);
+    assertThat(statistics.countByCategory("home")).isEqualTo(1L);
+    assertThat(statistics.totalActiveValue()).isEqualByComparingTo("0");
+    assertThat(statistics.averageActivePrice()).isNull();
+  }
+
+  @Test
+  void eventsForUnknownAuctionsAreIgnored() {
+    statistics.onAuctionPriceChanged(new AuctionPriceChangedEvent(
+        UUID.randomUUID(), 1_000L, 1));
+    statistics.onAuctionStateChanged(new AuctionStateChangedEvent(
+        UUID.randomUUID(), AuctionStatus.ACTIVE, 0L));
+
+    assertThat(statistics.countActive()).isZero();
+    assertThat(statistics.totalActiveValue()).isEqualByComparingTo("0");
+  }
+
+  @Test
+  void mostPopularCategoriesAreOrderedByCount() {
+    for (int i = 0; i < 3; i++) {
+      save(auction("home", "1.00"), ChangeType.CREATED);
+    }
+    save(auction("toys", "1.00"), ChangeType.CREATED);
+    for (int i = 0; i < 2; i++) {
+      save(auction("art", "1.00"), ChangeType.CREATED);
+    }
+
+    assertThat(statistics.mostPopularCategories(2))
+        .containsExactly("home", "art");
+    assertThat(statistics.mostPopularCategories(10))
+        .containsExactly("home", "art", "toys");
+    assertThat(statistics.mostPopularCategories(0)).isEmpty();
+  }
+
+  @Test
+  void loadReadsTheDatabase() {
+    rows.add(auction("home", "10.00"));
+    rows.add(auction("art", "5.00"));
+    users = 4L;
+    verifiedUsers = 3L;
+
+    statistics.load();
+
+    assertThat(statistics.countActive()).isEqualTo(2L);
+    assertThat(statistics.totalActiveValue()).isEqualByComparingTo("15.00");
+    assertThat(statistics.countUsers()).isEqualTo(4L);
+    assertThat(statistics.countVerifiedUsers()).isEqualTo(3L);
+  }
+
+  @Test
+  void reconcileCountsDriftAndReplacesTheRunningValues() {
+    Auction lamp = save(auction("home", "10.00"), ChangeType.CREATED);
+    rows.add(lamp);
+    statistics.onUserRegistered(new UserRegisteredEvent(UUID.randomUUID(),
+        false));
+    users = 1L;
+
+    statistics.reconcile();
+
+    assertThat(drift()).isZero();
+
+    Auction missed = auction("art", "5.00");
+    rows.add(missed);
+    verifiedUsers = 1L;
+
+    statistics.reconcile();
+
+    assertThat(drift()).isEqualTo(5.0);
+    assertThat(statistics.countActive()).isEqualTo(2L);
+    assertThat(statistics.countByCategory("art")).isEqualTo(1L);
+    assertThat(statistics.totalActiveValue()).isEqualByComparingTo("15.00");
+    assertThat(statistics.countVerifiedUsers()).isEqualTo(1L);
+
+    statistics.onAuctionPriceChanged(new AuctionPriceChangedEvent(
+        missed.getId(), 700L, 1));
+
+    assertThat(statistics.totalActiveValue()).isEqualByComparingTo("17.00");
+  }
+
+  @Test
+  void failedReconcileKeepsTheRunningValues() {
+    save(auction("home", "10.00"), ChangeType.CREATED);
+    databaseDown = true;
+
+    statistics.reconcile();
+
+    assertThat(drift()).isZero();
+    assertThat(statistics.countActive()).isEqualTo(1L);
+    assertThat(statistics.totalActiveValue()).isEqualByComparingTo("10.00");
+  }
+
+  /**
+   * Reads the drift counter.
+   *
+   * @return its count
+   */
+  private double drift() {
+    return registry.get("bidstream.stats.drift").counter().count();
+  }
+
+  /**
+   * Publishes a change of an auction to the statistics.
+   *
+   * @param auction the auction
+   * @param type    the kind of change
+   * @return the auction
+   */
+  private Auction save(final Auction auction, final ChangeType type) {
+    statistics.onAuctionChanged(new AuctionChangedEvent(auction, type));
+    return auction;
+  }
+
+  /**
+   * Creates an active auction.
+   *
+   * @param category the category
+   * @param price    the current price
+   * @return the auction
+   */
+  private static Auction auction(final String category, final String price) {
+    LocalDateTime start = LocalDateTime.now();
+    Auction auction = new Auction("Auction", category, new BigDecimal(price),
+        start, start.plusDays(1), null);
+    auction.setId(UUID.randomUUID());
+    auction.setStatus(AuctionStatus.ACTIVE);
+    return auction;
+  }
+
+  /**
+   * Answers a query of the statistics from {@link #rows} and the user
+   * counts.
+   *
+   * @param invocation the query call
+   * @return nothing
+   * @throws SQLException never
+   */
+  private Object query(final InvocationOnMock invocation)
+      throws SQLException {
+    if (databaseDown) {
+      throw new DataAccessResourceFailureException("Postgres is down");
+    }
+
+    String sql = invocation.getArgument(0);
+    RowCallbackHandler handler = invocation.getArgument(1);
+    if (sql.contains("FROM users")) {
+      ResultSet rs = mock(ResultSet.class);
+      when(rs.getLong("total")).thenReturn(users);
+      when(rs.getLong("verified")).thenReturn(verifiedUsers);
+      handler.processRow(rs);
+      return null;
+    }
+
+    for (Auction row : rows) {
+      ResultSet rs = mock(ResultSet.class);
+      when(rs.getObject("id", UUID.class)).thenReturn(row.getId());
+      when(rs.getString("status")).thenReturn(row.getStatus().name());
+      when(rs.getString("category")).thenReturn(row.getCategory());
+      when(rs.getBigDecimal("current_price"))
+          .thenReturn(row.getCurrentPrice());
+      handler.processRow(rs);
+    }
+    return null;
+  }
+}
@@ -0,0 +1,2 @@
+-- Tables no entity maps, run by Hibernate after it creates the schema
+CREATE TABLE auction_counters (auction_id UUID PRIMARY KEY, view_count INTEGER NOT NULL DEFAULT 0, watch_count INTEGER NOT NULL DEFAULT 0);